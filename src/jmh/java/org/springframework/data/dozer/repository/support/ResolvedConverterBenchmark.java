@@ -0,0 +1,52 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+/**
+ * Compares the identifier conversion through the {@link ConversionService}
+ * with the {@link ResolvedConverter}.
+ *
+ * @author kchobantonov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolvedConverterBenchmark {
+
+	private ConversionService conversionService;
+	private ResolvedConverter resolvedConverter;
+	private String id;
+
+	@Setup
+	public void setUp() {
+		conversionService = new DefaultConversionService();
+		resolvedConverter = ResolvedConverter.of(conversionService, String.class, Long.class);
+		id = "42";
+	}
+
+	@Benchmark
+	public Object conversionService() {
+		return conversionService.convert(id, Long.class);
+	}
+
+	@Benchmark
+	public Object resolvedConverter() {
+		return resolvedConverter.convert(id);
+	}
+}
@@ -0,0 +1,38 @@
+package org.springframework.data.dozer.annotation;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Delegates a dozer repository method to a method of the adapted repository.
+ * Arguments are mapped to the parameter types of the adapted method, returned
+ * adapted entities (single, {@link java.util.Optional}, collections,
+ * {@link org.springframework.data.domain.Page},
+ * {@link org.springframework.data.domain.Slice} or
+ * {@link java.util.stream.Stream}) are mapped to dozer entities.
+ * 
+ * <pre class="code">
+ * &#64;AdaptedMethod("findByStatusAndRegion")
+ * List&lt;Customer&gt; findActive(Status status, String region);
+ * </pre>
+ * 
+ * The adapted method is resolved and validated when the application context is
+ * refreshed.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface AdaptedMethod {
+
+	/**
+	 * The name of the adapted repository method. Defaults to the name of the
+	 * annotated method.
+	 * 
+	 * @return
+	 */
+	String value() default "";
+}
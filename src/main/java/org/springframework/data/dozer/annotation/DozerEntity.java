@@ -58,4 +58,62 @@ public @interface DozerEntity {
 	 */
 	boolean mapEntityIdUsingConvertionService() default true;
 
+	/**
+	 * Named alternative dozer mappings used when reading the entity, e.g. a lighter
+	 * mapping for list views. Each profile is validated like the default mapping.
+	 * 
+	 * @return the fetch profiles.
+	 * @see WithFetchProfile
+	 */
+	FetchProfile[] fetchProfiles() default {};
+
+	/**
+	 * Additional adapted entities composed into properties of the entity. Reads
+	 * load the rows of all sources with one batched {@code findAllById} per
+	 * source, in parallel outside of transactions, saves write them back.
+	 * 
+	 * @return the secondary sources.
+	 */
+	SecondarySource[] secondarySources() default {};
+
+	/**
+	 * Should the repository serve the entity from an immutable in-memory snapshot
+	 * of the whole adapted table, e.g. for small reference tables that are read
+	 * often and rarely changed. The snapshot is loaded on first read, writes
+	 * through the repository reload the written entities into it once committed.
+	 * Reads return copies of the snapshot entities. Reads within a read-write
+	 * transaction and with a fetch profile still go to the adapted repository.
+	 * 
+	 * @return true to serve reads from the snapshot.
+	 */
+	boolean referenceData() default false;
+
+	/**
+	 * The properties of the dozer entity the snapshot keeps sorted, so that reads
+	 * sorted by a single indexed property do not need to sort the snapshot.
+	 * 
+	 * @return the indexed property names.
+	 */
+	String[] referenceDataIndexes() default {};
+
+	/**
+	 * The interval in milliseconds in which the snapshot is reloaded to pick up
+	 * changes not written through the repository, {@code 0} to never reload the
+	 * whole snapshot.
+	 * 
+	 * @return the refresh interval.
+	 */
+	long referenceDataRefreshInterval() default 0;
+
+	/**
+	 * The local file the reference data snapshot is persisted to after each
+	 * reload. On startup a file written for the same dozer mapping is read and
+	 * served until the first reload from the adapted repository has completed.
+	 * Entities with associations or properties of other than simple types are
+	 * not persisted. Empty to keep the snapshot in memory only.
+	 * 
+	 * @return the snapshot file path.
+	 */
+	String referenceDataSnapshotFile() default "";
+
 }
@@ -7,6 +7,10 @@ import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
+import org.springframework.data.dozer.repository.ShardKeyResolver;
+import org.springframework.data.dozer.repository.ShardKeyResolver.HashShardKeyResolver;
+import org.springframework.data.dozer.repository.WriteBehindFailureHandler;
+import org.springframework.data.dozer.repository.WriteBehindFailureHandler.LoggingWriteBehindFailureHandler;
 import org.springframework.stereotype.Repository;
 
 @Documented
@@ -23,6 +27,296 @@ public @interface DozerRepository {
 	 * 
 	 * @return the adapted repository class.
 	 */
-	Class<?> adaptedRepositoryClass();
+	Class<?> adaptedRepositoryClass() default Object.class;
+
+	/**
+	 * The adapted repository class serving the read operations ({@code findById},
+	 * {@code findAll*}, {@code existsById} and {@code count}), e.g. a replica
+	 * backed or in memory repository of the adapted domain class. Writes always go
+	 * to the repository selected by {@link #adaptedRepositoryClass()}. The default
+	 * is to read from that repository as well.
+	 * 
+	 * @return the adapted read repository class.
+	 * @see org.springframework.data.dozer.repository.PrimaryReads
+	 */
+	Class<?> adaptedReadRepositoryClass() default void.class;
+
+	/**
+	 * Should reads go to the primary adapted repository while a read-write
+	 * transaction is active, so that the transaction reads its own writes. Only
+	 * used together with {@link #adaptedReadRepositoryClass()}.
+	 * 
+	 * @return true to read from the primary repository in read-write
+	 *         transactions.
+	 */
+	boolean readFromPrimaryInTransaction() default true;
+
+	/**
+	 * Should the transactional defaults of the repository implementation apply to
+	 * this repository, i.e. read-only transactions for finders and read-write
+	 * transactions for saves and deletes. Only used if default transactions are
+	 * enabled on
+	 * {@link org.springframework.data.dozer.repository.config.EnableDozerRepositories}.
+	 * 
+	 * @return false to disable the default transactions of this repository.
+	 */
+	boolean enableDefaultTransactions() default true;
+
+	/**
+	 * The name of the transaction manager bean used by this repository. Defaults
+	 * to the transaction manager configured on
+	 * {@link org.springframework.data.dozer.repository.config.EnableDozerRepositories}.
+	 * 
+	 * @return the transaction manager bean name.
+	 */
+	String transactionManagerRef() default "";
+
+	/**
+	 * The maximum number of identifiers sent to the adapted repository in a single
+	 * {@code findAllById} call. Larger requests are split into chunks to stay below
+	 * the IN clause limits of the backing store. A value less than or equal to zero
+	 * disables chunking.
+	 * 
+	 * @return the chunk size.
+	 */
+	int findAllByIdChunkSize() default 1000;
+
+	/**
+	 * Should the chunks of a {@code findAllById} call be dispatched in parallel
+	 * using the executor configured by {@link #executorRef()}, which is required.
+	 * Chunks are loaded one after another inside a transaction.
+	 * 
+	 * @return true to load the chunks in parallel.
+	 */
+	boolean findAllByIdParallel() default false;
+
+	/**
+	 * Should {@code findAllById} return the entities in the order of the requested
+	 * identifiers.
+	 * 
+	 * @return true to preserve the order of the requested identifiers.
+	 */
+	boolean findAllByIdPreserveOrder() default false;
+
+	/**
+	 * How identifiers that can not be mapped to the adapted identifier type are
+	 * handled by {@code findAllById}.
+	 * 
+	 * @return the policy.
+	 */
+	UnmappedIdPolicy unmappedIdPolicy() default UnmappedIdPolicy.LOG;
+
+	/**
+	 * Should the dozer entities be spread over all adapted repositories matching
+	 * {@link #adaptedRepositoryClass()}. Single entity operations are routed to
+	 * one repository by the {@link #shardKeyResolver()}, while {@code findAll},
+	 * {@code count} and {@code findAllById} fan out to all repositories in
+	 * parallel and merge the results. The shards are ordered by their bean name.
+	 * 
+	 * @return true to enable the sharded mode.
+	 */
+	boolean sharded() default false;
+
+	/**
+	 * The strategy routing a dozer entity identifier to a shard. Looked up as a
+	 * bean of that type, or instantiated if no such bean exists.
+	 * 
+	 * @return the shard key resolver type.
+	 */
+	Class<? extends ShardKeyResolver> shardKeyResolver() default HashShardKeyResolver.class;
+
+	/**
+	 * The name of the dedicated, bounded {@link java.util.concurrent.Executor} bean
+	 * used for parallel and background work of the repository. Reads are only
+	 * split across threads outside of a transaction, inside a transaction they
+	 * run on the calling thread to see its state and return entities attached to
+	 * it. Without executor all work runs on the calling thread, which
+	 * {@link #findAllByIdParallel()} does not allow.
+	 * 
+	 * @return the executor bean name.
+	 */
+	String executorRef() default "";
+
+	/**
+	 * Should saves be buffered and written to the adapted repository in batches.
+	 * Saves of the same identifier are coalesced, the identifier and version are
+	 * written back to the dozer entity once the batch has been written. Reads do
+	 * not see buffered saves until they are flushed.
+	 * <p>
+	 * {@code save} and {@code saveAll} return before the batch is written and
+	 * therefore require dozer entities with an assigned identifier, the version of
+	 * the returned entities is not refreshed until the flush. Use
+	 * {@code saveBuffered} to obtain the generated identifier and version. Batches
+	 * are written in a transaction of the default transaction manager of the
+	 * repository. Inside a transaction of the caller saves are written immediately
+	 * so that they take part in its commit or rollback, and {@code flush} rethrows
+	 * the failure of a batch.
+	 * 
+	 * @return true to enable write-behind.
+	 * @see org.springframework.data.dozer.repository.DozerRepository#saveBuffered(Object)
+	 * @see org.springframework.data.dozer.repository.DozerRepository#flush()
+	 */
+	boolean writeBehind() default false;
+
+	/**
+	 * The maximum number of buffered identifiers of a write-behind repository.
+	 * Saves block while writing a full part of the buffer.
+	 * 
+	 * @return the buffer size.
+	 */
+	int writeBehindBufferSize() default 1000;
+
+	/**
+	 * The interval in milliseconds in which buffered saves of a write-behind
+	 * repository are written.
+	 * 
+	 * @return the flush interval.
+	 */
+	long writeBehindFlushInterval() default 1000;
+
+	/**
+	 * The callback notified about buffered saves that could not be written. Looked
+	 * up as a bean of that type, or instantiated if no such bean exists.
+	 * 
+	 * @return the failure handler type.
+	 */
+	Class<? extends WriteBehindFailureHandler> writeBehindFailureHandler() //
+	default LoggingWriteBehindFailureHandler.class;
+
+	/**
+	 * Should the mappings of the repository be exercised in the background after
+	 * the application context refresh, so that the dozer caches are built and the
+	 * mapping code is compiled before the first requests. Synthetic dozer and
+	 * adapted entities are mapped in both directions together with their
+	 * identifiers and versions.
+	 * 
+	 * @return true to warm up the mappings.
+	 * @see org.springframework.data.dozer.repository.DozerRepositoryWarmedUpEvent
+	 */
+	boolean warmUp() default false;
+
+	/**
+	 * The number of round trips of a warm-up.
+	 * 
+	 * @return the warm-up iterations.
+	 */
+	int warmUpIterations() default 1000;
+
+	/**
+	 * The maximum duration in milliseconds of a warm-up. The warm-up stops after
+	 * this time budget even if not all iterations are done.
+	 * 
+	 * @return the warm-up time budget.
+	 */
+	long warmUpTimeBudget() default 10000;
+
+	/**
+	 * Should the invocation count and latency distribution of every repository
+	 * method be recorded, e.g. to validate the behaviour of the repository under
+	 * concurrent load. Off by default, all repositories record statistics with
+	 * {@link org.springframework.data.dozer.repository.config.EnableDozerRepositories#recordStatistics()}.
+	 * 
+	 * @return true to record statistics.
+	 * @see org.springframework.data.dozer.repository.DozerRepositoryStatistics
+	 */
+	boolean recordStatistics() default false;
+
+	/**
+	 * Should dozer entities read by identifier be cached. The cache has an on-heap
+	 * tier of the most recently used dozer entities and an optional off-heap tier
+	 * holding encoded dozer entities in direct memory. Every hit returns a copy
+	 * which the caller can modify. Writes through the repository evict the written
+	 * identifiers, reads within a read-write transaction bypass the cache. Changes
+	 * made without the repository are picked up once the cached dozer entities
+	 * expire or have been evicted from the
+	 * {@link org.springframework.data.dozer.repository.support.MappedEntityCache}.
+	 * 
+	 * @return true to cache dozer entities.
+	 * @see #entityCacheHeapSize()
+	 * @see #entityCacheOffHeapCapacity()
+	 * @see #entityCacheTimeToLive()
+	 */
+	boolean entityCache() default false;
+
+	/**
+	 * The maximum number of dozer entities in the on-heap tier of the entity
+	 * cache, {@code 0} to return new instances from the off-heap tier only.
+	 * 
+	 * @return the on-heap tier size.
+	 */
+	int entityCacheHeapSize() default 1000;
+
+	/**
+	 * The capacity in bytes of the off-heap tier of the entity cache, {@code 0} to
+	 * cache on-heap only. The tier is split into segments with their own least
+	 * recently used eviction, which take direct memory from a pool shared by all
+	 * repositories as they fill up and give it back when the repository is
+	 * destroyed. Only dozer entities with simple persistent properties can be
+	 * stored off-heap.
+	 * 
+	 * @return the off-heap tier capacity.
+	 */
+	long entityCacheOffHeapCapacity() default 0;
+
+	/**
+	 * The time in milliseconds a dozer entity stays in the entity cache after it
+	 * was read, {@code 0} to keep it until it is evicted.
+	 * 
+	 * @return the time to live.
+	 */
+	long entityCacheTimeToLive() default 0;
+
+	/**
+	 * Should concurrent {@code findById} calls be coalesced. Calls for an
+	 * identifier that is already being read wait for that read, distinct
+	 * identifiers requested within {@link #batchFindByIdWindow()} are read with
+	 * one {@code findAllById} of at most {@link #batchFindByIdSize()} identifiers.
+	 * Every dozer entity is mapped once, each further caller of its identifier
+	 * receives a copy. Identifiers are coalesced by their adapted identifier, so
+	 * equal identifiers of different types are read once. Calls within a
+	 * transaction or a transaction synchronization scope or reading from the
+	 * primary adapted repository are not coalesced. The batch windows of all
+	 * repositories are timed by one shared daemon thread.
+	 * 
+	 * @return true to coalesce {@code findById} calls.
+	 */
+	boolean batchFindById() default false;
+
+	/**
+	 * The time in milliseconds identifiers of coalesced {@code findById} calls are
+	 * collected before they are read.
+	 * 
+	 * @return the batch window.
+	 */
+	long batchFindByIdWindow() default 2;
+
+	/**
+	 * The maximum number of identifiers read at once by coalesced {@code findById}
+	 * calls. A full batch is read right away by the caller completing it.
+	 * 
+	 * @return the batch size.
+	 */
+	int batchFindByIdSize() default 100;
+
+	/**
+	 * The number of adapted entities read at once when a sort or filter has to be
+	 * applied to the dozer entities in memory, because it uses properties that
+	 * only exist on the dozer entity, e.g. properties computed by a custom
+	 * converter.
+	 * 
+	 * @return the chunk size.
+	 */
+	int inMemorySortChunkSize() default 500;
+
+	/**
+	 * The maximum number of dozer entities kept in memory by a sort or filter
+	 * applied to the dozer entities. Larger pages are sorted in runs of sort keys
+	 * and adapted identifiers spilled to temp files and merged, which requires
+	 * sort properties and adapted identifiers of simple value types. Unpaged
+	 * reads of more dozer entities are rejected.
+	 * 
+	 * @return the in memory threshold.
+	 */
+	int inMemorySortThreshold() default 10000;
 
 }
@@ -0,0 +1,36 @@
+package org.springframework.data.dozer.annotation;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * A named alternative dozer mapping used when reading a {@link DozerEntity},
+ * e.g. a lighter mapping for list views. Saves always use the
+ * {@link DozerEntity#dozerMapId() default mapping}.
+ *
+ * @see DozerEntity#fetchProfiles()
+ * @see WithFetchProfile
+ * @see org.springframework.data.dozer.repository.FetchProfiles
+ */
+@Documented
+@Target({})
+@Retention(RUNTIME)
+public @interface FetchProfile {
+
+	/**
+	 * The name of the profile.
+	 * 
+	 * @return
+	 */
+	String name();
+
+	/**
+	 * Dozer mapping context id used to map the adapted entity to the dozer entity.
+	 * 
+	 * @return
+	 */
+	String dozerMapId();
+}
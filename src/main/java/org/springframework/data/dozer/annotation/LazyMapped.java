@@ -0,0 +1,31 @@
+package org.springframework.data.dozer.annotation;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a collection or association property of a {@link DozerEntity} to be
+ * mapped from the adapted entity on first access instead of when the dozer
+ * entity is read. The property holds a lazy collection or a class based proxy
+ * that maps, and if the adapted store loads lazily also loads, the adapted value
+ * when it is used for the first time.
+ * <p>
+ * Collection properties have to be declared as {@link java.util.Collection},
+ * {@link java.util.List} or {@link java.util.Set}. Association types must not
+ * be final.
+ * <p>
+ * Properties are only mapped lazily inside of a transaction and have to be
+ * accessed before it completes, outside of a transaction they are mapped right
+ * away. The dozer mapper of the repository has to be built with a
+ * {@link org.springframework.data.dozer.repository.support.LazyMappingFieldMapper}.
+ */
+@Documented
+@Target({ FIELD, METHOD })
+@Retention(RUNTIME)
+public @interface LazyMapped {
+}
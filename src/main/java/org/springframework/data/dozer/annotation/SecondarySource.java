@@ -0,0 +1,71 @@
+package org.springframework.data.dozer.annotation;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * An additional adapted entity composed into a property of a
+ * {@link DozerEntity}, e.g. the profile or the settings of a user. The rows of
+ * all dozer entities read together are read with one {@code findAllById} per
+ * source, saves write the property back to the source.
+ * <p>
+ * The row is joined either by the identifier of the adapted entity, then it
+ * shares its identifier and is saved after and deleted before the adapted
+ * entity, or by a {@link #joinProperty() property} of the adapted entity
+ * holding the identifier of the row, then it is saved before the adapted
+ * entity, which receives the identifier of a new row, and is never deleted.
+ * Saving the dozer entity with the property set to {@literal null} deletes a
+ * row sharing the identifier or clears the join property.
+ *
+ * @see DozerEntity#secondarySources()
+ */
+@Documented
+@Target({})
+@Retention(RUNTIME)
+public @interface SecondarySource {
+
+	/**
+	 * The property of the dozer entity holding the data of the source. Not mapped
+	 * by the dozer mapping of the dozer entity.
+	 * 
+	 * @return
+	 */
+	String property();
+
+	/**
+	 * The adapted domain class of the source, for which a Spring repository of
+	 * type {@code org.springframework.data.repository.PagingAndSortingRepository}
+	 * should exist in the context.
+	 * 
+	 * @return
+	 */
+	Class<?> adaptedDomainClass();
+
+	/**
+	 * The bean name of the adapted repository of the source, required if there are
+	 * multiple repositories for the adapted domain class.
+	 * 
+	 * @return
+	 */
+	String adaptedRepositoryName() default "";
+
+	/**
+	 * The property of the adapted entity of the dozer entity holding the
+	 * identifier of the row, empty to join by the identifier of the adapted
+	 * entity.
+	 * 
+	 * @return
+	 */
+	String joinProperty() default "";
+
+	/**
+	 * Dozer mapping context id used to map between the row and the property,
+	 * unless the property type is the adapted domain class of the source.
+	 * 
+	 * @return
+	 */
+	String dozerMapId() default "";
+}
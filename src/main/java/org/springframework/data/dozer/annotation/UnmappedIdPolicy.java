@@ -0,0 +1,21 @@
+package org.springframework.data.dozer.annotation;
+
+/**
+ * Defines how a dozer repository treats identifiers that can not be mapped to
+ * the identifier type of the adapted entity in bulk operations like
+ * {@code findAllById}.
+ */
+public enum UnmappedIdPolicy {
+	/**
+	 * Silently skip the identifier.
+	 */
+	IGNORE,
+	/**
+	 * Skip the identifier and log a warning.
+	 */
+	LOG,
+	/**
+	 * Fail the whole operation with an {@link IllegalArgumentException}.
+	 */
+	FAIL
+}
@@ -0,0 +1,25 @@
+package org.springframework.data.dozer.annotation;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the {@link FetchProfile} used by a dozer repository method. Dozer
+ * entities without a profile of that name use their default mapping.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface WithFetchProfile {
+
+	/**
+	 * The name of the fetch profile.
+	 * 
+	 * @return
+	 */
+	String value();
+}
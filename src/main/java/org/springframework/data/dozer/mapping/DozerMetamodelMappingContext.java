@@ -53,7 +53,7 @@ public class DozerMetamodelMappingContext
 	 */
 	@Override
 	protected boolean shouldCreatePersistentEntityFor(TypeInformation<?> type) {
-		return hasDozerEntityAnnotation(type.getType());
+		return AnnotatedElementUtils.findMergedAnnotation(type.getType(), DozerEntity.class) != null;
 	}
 
 	/*
@@ -64,10 +64,8 @@ public class DozerMetamodelMappingContext
 	 */
 	@Override
 	public boolean hasPersistentEntityFor(Class<?> type) {
-		return super.hasPersistentEntityFor(type) || hasDozerEntityAnnotation(type);
-	}
-
-	private boolean hasDozerEntityAnnotation(Class<?> type) {
-		return AnnotatedElementUtils.findMergedAnnotation(type, DozerEntity.class) != null;
+		// the persistent entity cache holds the negative results as well, so the
+		// annotation lookup is done once per type
+		return super.hasPersistentEntityFor(type) || getPersistentEntity(type) != null;
 	}
 }
@@ -0,0 +1,32 @@
+package org.springframework.data.dozer.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+/**
+ * Optional fragment interface for adapted (backing) repositories that are able
+ * to seek after a given set of sort keys instead of skipping an offset. Dozer
+ * repositories use it to serve
+ * {@link DozerRepository#findAllAfter(Sort, int, String)} in O(page) instead of
+ * O(offset).
+ *
+ * @param <T> the adapted domain type.
+ */
+public interface AdaptedKeysetExecutor<T> {
+
+	/**
+	 * Returns at most {@code limit} entities ordered by {@code sort} that follow
+	 * the row described by the given keyset.
+	 *
+	 * @param sort   the adapted sort, never {@literal null} and always unique
+	 *               since it ends with the identifier property.
+	 * @param keyset adapted property name to value of the last returned row, in
+	 *               sort order, or {@literal null} to start from the first row.
+	 * @param limit  the maximum number of entities to return.
+	 * @return the entities, never {@literal null}.
+	 */
+	List<T> findAllAfter(Sort sort, @Nullable Map<String, Object> keyset, int limit);
+}
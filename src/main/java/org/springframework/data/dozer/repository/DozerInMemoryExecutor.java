@@ -0,0 +1,31 @@
+package org.springframework.data.dozer.repository;
+
+import java.util.function.Predicate;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Optional fragment interface for dozer repositories that filter and sort the
+ * mapped dozer entities in memory. A dozer repository interface extending it
+ * opts in to reading all adapted entities for a single page, so the read cost
+ * grows with the table and not with the page.
+ *
+ * @param <T> the dozer domain type.
+ * @see org.springframework.data.dozer.annotation.DozerRepository#inMemorySortThreshold()
+ */
+public interface DozerInMemoryExecutor<T> {
+
+	/**
+	 * Returns a {@link Page} of the entities matching the given filter. The
+	 * adapted entities are read in chunks and mapped, the filter and the sort of
+	 * the {@code Pageable} are applied to the dozer entities in memory, so both
+	 * can use properties the adapted entity does not have, e.g. properties
+	 * computed by a custom converter.
+	 *
+	 * @param filter   must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return a page of entities
+	 */
+	Page<T> findAllInMemory(Predicate<? super T> filter, Pageable pageable);
+}
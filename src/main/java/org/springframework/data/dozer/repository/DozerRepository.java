@@ -1,9 +1,83 @@
 package org.springframework.data.dozer.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.lang.Nullable;
 
 @NoRepositoryBean
 public interface DozerRepository<T, ID> extends PagingAndSortingRepository<T, ID> {
 
+	/**
+	 * Returns a {@link Slice} of entities meeting the paging restriction provided
+	 * in the {@code Pageable} object. Unlike {@link #findAll(Pageable)} no total
+	 * count is required, so the adapted repository is not asked to run a count
+	 * query when it declares a {@code Slice<T> findAllBy(Pageable)} query method.
+	 *
+	 * @param pageable must not be {@literal null}.
+	 * @return a slice of entities
+	 */
+	Slice<T> findAllSlice(Pageable pageable);
+
+	/**
+	 * Returns the next {@link KeysetSlice} of entities following the row described
+	 * by the given opaque cursor. The cursor is obtained from
+	 * {@link KeysetSlice#getNextCursor()} of the previous slice and is only valid
+	 * for the same {@link Sort}. The identifier of the adapted entity is always
+	 * appended to the sort so that the ordering is unique.
+	 * <p>
+	 * When the adapted repository implements {@link AdaptedKeysetExecutor} the
+	 * next slice is looked up by seeking after the last row's sort keys, otherwise
+	 * the cursor falls back to offset based slicing.
+	 *
+	 * @param sort   must not be {@literal null}.
+	 * @param size   the maximum number of entities to return, must be greater
+	 *               than zero.
+	 * @param cursor the cursor of the previous slice or {@literal null} to start
+	 *               from the first entity.
+	 * @return the next slice of entities
+	 */
+	KeysetSlice<T> findAllAfter(Sort sort, int size, @Nullable String cursor);
+
+	/**
+	 * Returns all instances of the type {@code T} with the given IDs. Identifiers
+	 * that can not be mapped to the identifier type of the adapted entity are added
+	 * to {@code unmappedIds} instead of being dropped silently.
+	 *
+	 * @param ids         must not be {@literal null} nor contain any
+	 *                    {@literal null} values.
+	 * @param unmappedIds collects the identifiers that could not be mapped, can be
+	 *                    {@literal null}.
+	 * @return the found entities
+	 * @see org.springframework.data.dozer.annotation.DozerRepository#findAllByIdChunkSize()
+	 */
+	List<T> findAllById(Iterable<ID> ids, @Nullable Collection<? super ID> unmappedIds);
+
+	/**
+	 * Saves the given entity. Repositories in write-behind mode buffer the save and
+	 * complete the returned future once the entity has been written to the adapted
+	 * repository and its identifier and version have been applied, all other
+	 * repositories and saves inside a transaction of the caller save the entity
+	 * immediately.
+	 *
+	 * @param entity must not be {@literal null}.
+	 * @return a future of the saved entity
+	 * @see org.springframework.data.dozer.annotation.DozerRepository#writeBehind()
+	 */
+	<S extends T> CompletableFuture<S> saveBuffered(S entity);
+
+	/**
+	 * Writes all buffered saves of a write-behind repository to the adapted
+	 * repository. Does nothing for other repositories.
+	 *
+	 * @throws RuntimeException the failure of the first batch that could not be
+	 *                          written
+	 */
+	void flush();
 }
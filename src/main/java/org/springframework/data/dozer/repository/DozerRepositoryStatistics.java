@@ -0,0 +1,136 @@
+package org.springframework.data.dozer.repository;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+import lombok.Value;
+
+/**
+ * Invocation counts and latency distributions of the operations of a dozer
+ * repository, recorded under concurrent load with striped counters. Latencies
+ * are kept in a log-linear histogram with a relative error below 12.5%, so that
+ * percentiles can be read at any time without storing single samples.
+ *
+ * @see org.springframework.data.dozer.annotation.DozerRepository#recordStatistics()
+ */
+public class DozerRepositoryStatistics {
+
+	private static final int SUB_BUCKETS = 8;
+	private static final int BUCKETS = (63 - 2) * SUB_BUCKETS;
+
+	private static class Operation {
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+	}
+
+	/**
+	 * A snapshot of the statistics of one operation.
+	 */
+	@Value
+	public static class OperationStatistics {
+		long invocations;
+		long failures;
+		long totalNanos;
+		long maxNanos;
+		long p50Nanos;
+		long p90Nanos;
+		long p99Nanos;
+		long p999Nanos;
+
+		public long getMeanNanos() {
+			return invocations == 0 ? 0 : totalNanos / invocations;
+		}
+	}
+
+	private final Map<String, Operation> operations = new ConcurrentHashMap<String, Operation>();
+
+	/**
+	 * Records an invocation of the given operation.
+	 *
+	 * @param operation must not be {@literal null}.
+	 * @param nanos     the duration of the invocation
+	 * @param failed    whether the invocation failed
+	 */
+	public void record(String operation, long nanos, boolean failed) {
+		Assert.notNull(operation, "Operation must not be null!");
+
+		Operation result = operations.computeIfAbsent(operation, it -> new Operation());
+		result.invocations.increment();
+		if (failed) {
+			result.failures.increment();
+		}
+		result.totalNanos.add(nanos);
+		result.maxNanos.accumulate(nanos);
+		result.histogram.incrementAndGet(bucket(nanos));
+	}
+
+	/**
+	 * Returns a snapshot of the statistics by operation name.
+	 *
+	 * @return the statistics sorted by operation name
+	 */
+	public Map<String, OperationStatistics> getOperations() {
+		Map<String, OperationStatistics> result = new TreeMap<String, OperationStatistics>();
+		operations.forEach((name, operation) -> {
+			long[] counts = new long[BUCKETS];
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				counts[i] = operation.histogram.get(i);
+				total += counts[i];
+			}
+			result.put(name,
+					new OperationStatistics(operation.invocations.sum(), operation.failures.sum(),
+							operation.totalNanos.sum(), operation.maxNanos.get(), percentile(counts, total, 0.5),
+							percentile(counts, total, 0.9), percentile(counts, total, 0.99),
+							percentile(counts, total, 0.999)));
+		});
+		return Collections.unmodifiableMap(result);
+	}
+
+	/**
+	 * Discards all recorded invocations, e.g. after a warm-up phase.
+	 */
+	public void reset() {
+		operations.clear();
+	}
+
+	private static long percentile(long[] counts, long total, double percentile) {
+		long rank = (long) Math.ceil(total * percentile);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank && seen > 0) {
+				return upperBound(i);
+			}
+		}
+		return 0;
+	}
+
+	static int bucket(long nanos) {
+		if (nanos < SUB_BUCKETS) {
+			return (int) Math.max(nanos, 0);
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		int subBucket = (int) (nanos >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+		return (exponent - 2) * SUB_BUCKETS + subBucket;
+	}
+
+	static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + 2;
+		long subBucket = bucket % SUB_BUCKETS;
+		return ((SUB_BUCKETS + subBucket + 1) << (exponent - 3)) - 1;
+	}
+}
@@ -0,0 +1,27 @@
+package org.springframework.data.dozer.repository;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published once the mappings of a dozer repository have been warmed up after
+ * the application context refresh, e.g. to report the application as ready
+ * only after all repositories with
+ * {@link org.springframework.data.dozer.annotation.DozerRepository#warmUp()
+ * warm-up} enabled have published this event.
+ *
+ * @see org.springframework.data.dozer.annotation.DozerRepository#warmUp()
+ */
+@SuppressWarnings("serial")
+public class DozerRepositoryWarmedUpEvent extends ApplicationEvent {
+
+	/**
+	 * @param repositoryInterface the warmed up dozer repository interface
+	 */
+	public DozerRepositoryWarmedUpEvent(Class<?> repositoryInterface) {
+		super(repositoryInterface);
+	}
+
+	public Class<?> getRepositoryInterface() {
+		return (Class<?>) getSource();
+	}
+}
@@ -0,0 +1,236 @@
+package org.springframework.data.dozer.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * Records saves and deletes across multiple {@link DozerRepository dozer
+ * repositories} and writes them on {@link #commit()} in a single transaction.
+ * The operations of each repository are issued as one {@code saveAll} and one
+ * {@code deleteAll} call, which read and write the adapted entities in batches
+ * per adapted repository and write each identifier once.
+ * <p>
+ * Repositories are written in the order of the declared
+ * {@link #dependsOn(Class, Class...) dependencies}: saves of a dependency come
+ * before saves of its dependents, deletes of a dependent come before deletes of
+ * its dependencies. Deletes are issued after all saves.
+ *
+ * <pre class="code">
+ * new DozerUnitOfWork(transactionManager).dependsOn(Order.class, Customer.class) //
+ * 		.save(customerRepository, customer) //
+ * 		.save(orderRepository, order) //
+ * 		.commit();
+ * </pre>
+ *
+ * Instances are not thread-safe.
+ */
+public class DozerUnitOfWork {
+
+	private static class Operations {
+		private final DozerRepository<Object, ?> repository;
+		private final Set<Class<?>> domainTypes = new LinkedHashSet<Class<?>>();
+		// last operation recorded for an entity instance wins
+		private final Map<Object, Boolean> saveByEntity = new IdentityHashMap<Object, Boolean>();
+		private final List<Object> entities = new ArrayList<Object>();
+
+		Operations(DozerRepository<Object, ?> repository) {
+			this.repository = repository;
+		}
+
+		void record(Object entity, boolean save) {
+			domainTypes.add(entity.getClass());
+			if (saveByEntity.put(entity, save) == null) {
+				entities.add(entity);
+			}
+		}
+
+		List<Object> getEntities(boolean save) {
+			List<Object> result = new ArrayList<Object>();
+			for (Object entity : entities) {
+				if (saveByEntity.get(entity) == save) {
+					result.add(entity);
+				}
+			}
+			return result;
+		}
+
+		boolean handles(Class<?> type) {
+			for (Class<?> domainType : domainTypes) {
+				if (type.isAssignableFrom(domainType)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private final @Nullable TransactionTemplate transactionTemplate;
+	private final Map<DozerRepository<?, ?>, Operations> operations = new IdentityHashMap<>();
+	private final List<Operations> operationsInRecordOrder = new ArrayList<Operations>();
+	private final Map<Class<?>, Set<Class<?>>> dependencies = new LinkedHashMap<Class<?>, Set<Class<?>>>();
+
+	/**
+	 * Creates a unit of work committing in a transaction of the given transaction
+	 * manager.
+	 *
+	 * @param transactionManager can be {@literal null} to commit without starting
+	 *                           a transaction, e.g. inside an already running one.
+	 */
+	public DozerUnitOfWork(@Nullable PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Declares that entities of {@code dependentType} reference entities of the
+	 * given dependency types.
+	 *
+	 * @param dependentType    must not be {@literal null}.
+	 * @param dependencyTypes  must not be {@literal null}.
+	 * @return this unit of work
+	 */
+	public DozerUnitOfWork dependsOn(Class<?> dependentType, Class<?>... dependencyTypes) {
+		Assert.notNull(dependentType, "Dependent type must not be null!");
+		Assert.noNullElements(dependencyTypes, "Dependency types must not be null!");
+
+		Set<Class<?>> types = dependencies.computeIfAbsent(dependentType, it -> new LinkedHashSet<Class<?>>());
+		Collections.addAll(types, dependencyTypes);
+		return this;
+	}
+
+	/**
+	 * Records the save of the given entity.
+	 *
+	 * @param repository must not be {@literal null}.
+	 * @param entity     must not be {@literal null}.
+	 * @return this unit of work
+	 */
+	public <T> DozerUnitOfWork save(DozerRepository<T, ?> repository, T entity) {
+		getOperations(repository, entity).record(entity, true);
+		return this;
+	}
+
+	/**
+	 * Records the delete of the given entity.
+	 *
+	 * @param repository must not be {@literal null}.
+	 * @param entity     must not be {@literal null}.
+	 * @return this unit of work
+	 */
+	public <T> DozerUnitOfWork delete(DozerRepository<T, ?> repository, T entity) {
+		getOperations(repository, entity).record(entity, false);
+		return this;
+	}
+
+	/**
+	 * Writes all recorded operations and clears this unit of work. The
+	 * transaction is rolled back and the failure rethrown if any write fails.
+	 */
+	public void commit() {
+		List<Operations> ordered = sortByDependencies();
+		try {
+			if (transactionTemplate == null) {
+				write(ordered);
+			} else {
+				transactionTemplate.executeWithoutResult(status -> write(ordered));
+			}
+		} finally {
+			clear();
+		}
+	}
+
+	/**
+	 * Discards all recorded operations.
+	 */
+	public void clear() {
+		operations.clear();
+		operationsInRecordOrder.clear();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Operations getOperations(DozerRepository<?, ?> repository, Object entity) {
+		Assert.notNull(repository, "Repository must not be null!");
+		Assert.notNull(entity, "Entity must not be null!");
+
+		return operations.computeIfAbsent(repository, it -> {
+			Operations result = new Operations((DozerRepository<Object, ?>) it);
+			operationsInRecordOrder.add(result);
+			return result;
+		});
+	}
+
+	private static void write(List<Operations> ordered) {
+		for (Operations it : ordered) {
+			List<Object> entities = it.getEntities(true);
+			if (!entities.isEmpty()) {
+				// write-behind repositories bypass their buffer inside the transaction,
+				// saves buffered without transaction are flushed into it and a failure
+				// rolls it back
+				it.repository.saveAll(entities);
+				it.repository.flush();
+			}
+		}
+
+		for (int i = ordered.size() - 1; i >= 0; i--) {
+			List<Object> entities = ordered.get(i).getEntities(false);
+			if (!entities.isEmpty()) {
+				ordered.get(i).repository.deleteAll(entities);
+			}
+		}
+	}
+
+	/**
+	 * Orders the repositories so that dependencies come first, keeping the record
+	 * order otherwise.
+	 */
+	private List<Operations> sortByDependencies() {
+		Map<Operations, Set<Operations>> dependenciesOf = new IdentityHashMap<Operations, Set<Operations>>();
+		for (Operations dependent : operationsInRecordOrder) {
+			Set<Operations> result = Collections.newSetFromMap(new IdentityHashMap<Operations, Boolean>());
+			dependencies.forEach((dependentType, dependencyTypes) -> {
+				if (!dependent.handles(dependentType)) {
+					return;
+				}
+				for (Operations dependency : operationsInRecordOrder) {
+					if (dependency != dependent && dependencyTypes.stream().anyMatch(dependency::handles)) {
+						result.add(dependency);
+					}
+				}
+			});
+			dependenciesOf.put(dependent, result);
+		}
+
+		List<Operations> ordered = new ArrayList<Operations>(operationsInRecordOrder.size());
+		Set<Operations> visiting = Collections.newSetFromMap(new IdentityHashMap<Operations, Boolean>());
+		for (Operations it : operationsInRecordOrder) {
+			visit(it, dependenciesOf, visiting, ordered);
+		}
+		return ordered;
+	}
+
+	private static void visit(Operations operations, Map<Operations, Set<Operations>> dependenciesOf,
+			Set<Operations> visiting, List<Operations> ordered) {
+		if (ordered.contains(operations)) {
+			return;
+		}
+		Assert.state(visiting.add(operations),
+				"Cyclic dependency between the entity types " + operations.domainTypes + " of the unit of work!");
+
+		for (Operations dependency : dependenciesOf.get(operations)) {
+			visit(dependency, dependenciesOf, visiting, ordered);
+		}
+
+		visiting.remove(operations);
+		ordered.add(operations);
+	}
+}
@@ -0,0 +1,74 @@
+package org.springframework.data.dozer.repository;
+
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Scope selecting the {@link org.springframework.data.dozer.annotation.FetchProfile
+ * fetch profile} used by dozer repositories to map the entities they read.
+ * Dozer entities without a profile of that name use their default mapping.
+ * 
+ * <pre class="code">
+ * List&lt;Customer&gt; customers = FetchProfiles.call("summary", () -&gt; customerRepository.findAll(sort));
+ * </pre>
+ *
+ * @see org.springframework.data.dozer.annotation.WithFetchProfile
+ */
+public final class FetchProfiles {
+
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<String>();
+
+	private FetchProfiles() {
+	}
+
+	/**
+	 * Returns the name of the fetch profile of the current thread.
+	 *
+	 * @return the name or {@literal null} outside of a fetch profile scope
+	 */
+	@Nullable
+	public static String getCurrent() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Invokes the given callback with the given fetch profile.
+	 *
+	 * @param profile  must not be {@literal null}.
+	 * @param callback must not be {@literal null}.
+	 * @return the result of the callback
+	 */
+	public static <R> R call(String profile, Supplier<R> callback) {
+		Assert.hasText(profile, "Profile must not be empty!");
+		Assert.notNull(callback, "Callback must not be null!");
+
+		String previous = CURRENT.get();
+		CURRENT.set(profile);
+		try {
+			return callback.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Runs the given callback with the given fetch profile.
+	 *
+	 * @param profile  must not be {@literal null}.
+	 * @param callback must not be {@literal null}.
+	 */
+	public static void run(String profile, Runnable callback) {
+		Assert.notNull(callback, "Callback must not be null!");
+
+		call(profile, () -> {
+			callback.run();
+			return null;
+		});
+	}
+}
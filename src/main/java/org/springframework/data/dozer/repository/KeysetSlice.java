@@ -0,0 +1,59 @@
+package org.springframework.data.dozer.repository;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link org.springframework.data.domain.Slice} returned by
+ * {@link DozerRepository#findAllAfter(org.springframework.data.domain.Sort, int, String)}
+ * that carries the opaque cursor pointing to the next slice.
+ *
+ * @param <T> the type of which the slice consists.
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final @Nullable String nextCursor;
+
+	/**
+	 * Creates a new {@link KeysetSlice}.
+	 *
+	 * @param content    must not be {@literal null}.
+	 * @param pageable   must not be {@literal null}.
+	 * @param nextCursor the cursor for the next slice, {@literal null} if this is
+	 *                   the last slice.
+	 */
+	public KeysetSlice(List<T> content, Pageable pageable, @Nullable String nextCursor) {
+		super(content, pageable, nextCursor != null);
+		this.nextCursor = nextCursor;
+	}
+
+	/**
+	 * Returns the cursor to be passed to
+	 * {@link DozerRepository#findAllAfter(org.springframework.data.domain.Sort, int, String)}
+	 * to obtain the next slice.
+	 *
+	 * @return the cursor or {@literal null} if there is no next slice.
+	 */
+	@Nullable
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.springframework.data.domain.SliceImpl#map(java.util.function.Function)
+	 */
+	@Override
+	public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+		return new KeysetSlice<U>(getContent().stream().map(converter).collect(Collectors.toList()), getPageable(),
+				nextCursor);
+	}
+}
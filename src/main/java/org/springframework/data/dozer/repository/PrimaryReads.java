@@ -0,0 +1,66 @@
+package org.springframework.data.dozer.repository;
+
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Scope forcing dozer repositories with a separate adapted read repository to
+ * read from the primary adapted repository, e.g. to read your own writes.
+ * 
+ * <pre class="code">
+ * Customer customer = PrimaryReads.call(() -&gt; customerRepository.findById(id)).get();
+ * </pre>
+ *
+ * @see org.springframework.data.dozer.annotation.DozerRepository#adaptedReadRepositoryClass()
+ */
+public final class PrimaryReads {
+
+	private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<Boolean>();
+
+	private PrimaryReads() {
+	}
+
+	/**
+	 * Returns whether the current thread runs inside a primary reads scope.
+	 *
+	 * @return
+	 */
+	public static boolean isActive() {
+		return ACTIVE.get() != null;
+	}
+
+	/**
+	 * Invokes the given callback reading from the primary adapted repositories.
+	 *
+	 * @param callback must not be {@literal null}.
+	 * @return the result of the callback
+	 */
+	public static <R> R call(Supplier<R> callback) {
+		Assert.notNull(callback, "Callback must not be null!");
+
+		Boolean previous = ACTIVE.get();
+		ACTIVE.set(Boolean.TRUE);
+		try {
+			return callback.get();
+		} finally {
+			if (previous == null) {
+				ACTIVE.remove();
+			}
+		}
+	}
+
+	/**
+	 * Runs the given callback reading from the primary adapted repositories.
+	 *
+	 * @param callback must not be {@literal null}.
+	 */
+	public static void run(Runnable callback) {
+		Assert.notNull(callback, "Callback must not be null!");
+
+		call(() -> {
+			callback.run();
+			return null;
+		});
+	}
+}
@@ -0,0 +1,48 @@
+package org.springframework.data.dozer.repository;
+
+/**
+ * Strategy routing a dozer entity to one of the adapted (backing) repositories
+ * of a sharded dozer repository.
+ *
+ * @param <ID> the type of the dozer entity identifier
+ * @see org.springframework.data.dozer.annotation.DozerRepository#sharded()
+ */
+public interface ShardKeyResolver<ID> {
+
+	/**
+	 * Returns the index of the shard holding the entity with the given id.
+	 *
+	 * @param id         the dozer entity identifier, never {@literal null}.
+	 * @param shardCount the number of shards.
+	 * @return the shard index, between {@literal 0} inclusive and
+	 *         {@code shardCount} exclusive.
+	 */
+	int resolveShard(ID id, int shardCount);
+
+	/**
+	 * Returns the index of the shard a new entity without an identifier should be
+	 * stored in.
+	 *
+	 * @param entity     the dozer entity, never {@literal null}.
+	 * @param shardCount the number of shards.
+	 * @return the shard index, between {@literal 0} inclusive and
+	 *         {@code shardCount} exclusive.
+	 */
+	default int resolveShardForNew(Object entity, int shardCount) {
+		throw new IllegalArgumentException("Unable to route new entity " + entity
+				+ " without an id to a shard. Assign the id before save or override resolveShardForNew in "
+				+ getClass());
+	}
+
+	/**
+	 * {@link ShardKeyResolver} distributing entities by the hash code of their
+	 * identifier.
+	 */
+	class HashShardKeyResolver implements ShardKeyResolver<Object> {
+
+		@Override
+		public int resolveShard(Object id, int shardCount) {
+			return Math.floorMod(id.hashCode(), shardCount);
+		}
+	}
+}
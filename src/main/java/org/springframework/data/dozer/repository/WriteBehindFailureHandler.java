@@ -0,0 +1,37 @@
+package org.springframework.data.dozer.repository;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Callback notified when buffered saves of a write-behind dozer repository
+ * could not be written to the adapted repository. The futures returned by
+ * {@link DozerRepository#saveBuffered(Object)} complete exceptionally as well.
+ *
+ * @see org.springframework.data.dozer.annotation.DozerRepository#writeBehind()
+ */
+public interface WriteBehindFailureHandler {
+
+	/**
+	 * Invoked after a batch of buffered saves failed.
+	 *
+	 * @param domainType the dozer entity type
+	 * @param resources  the dozer entities of the failed batch
+	 * @param failure    the failure
+	 */
+	void onFailure(Class<?> domainType, List<?> resources, RuntimeException failure);
+
+	/**
+	 * Logs the failed saves.
+	 */
+	class LoggingWriteBehindFailureHandler implements WriteBehindFailureHandler {
+		private static final Logger LOG = LoggerFactory.getLogger(LoggingWriteBehindFailureHandler.class);
+
+		@Override
+		public void onFailure(Class<?> domainType, List<?> resources, RuntimeException failure) {
+			LOG.error("Unable to write {} buffered {} entities", resources.size(), domainType.getName(), failure);
+		}
+	}
+}
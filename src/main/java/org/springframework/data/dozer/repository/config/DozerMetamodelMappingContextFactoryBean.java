@@ -1,5 +1,8 @@
 package org.springframework.data.dozer.repository.config;
 
+import java.util.Collections;
+import java.util.Set;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -9,6 +12,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.data.dozer.mapping.DozerMetamodelMappingContext;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 public class DozerMetamodelMappingContextFactoryBean extends AbstractFactoryBean<DozerMetamodelMappingContext>
 		implements ApplicationContextAware {
@@ -16,6 +20,19 @@ public class DozerMetamodelMappingContextFactoryBean extends AbstractFactoryBean
 	private static final Logger LOG = LoggerFactory.getLogger(DozerMetamodelMappingContextFactoryBean.class);
 
 	private @Nullable ListableBeanFactory beanFactory;
+	private Set<Class<?>> initialEntitySet = Collections.emptySet();
+
+	/**
+	 * Configures the {@link org.springframework.data.dozer.annotation.DozerEntity}
+	 * types to create the persistent entities for when the mapping context is
+	 * initialized, instead of on first use.
+	 * 
+	 * @param initialEntitySet must not be {@literal null}.
+	 */
+	public void setInitialEntitySet(Set<Class<?>> initialEntitySet) {
+		Assert.notNull(initialEntitySet, "Initial entity set must not be null!");
+		this.initialEntitySet = initialEntitySet;
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -54,10 +71,11 @@ public class DozerMetamodelMappingContextFactoryBean extends AbstractFactoryBean
 		}
 
 		DozerMetamodelMappingContext context = new DozerMetamodelMappingContext();
+		context.setInitialEntitySet(initialEntitySet);
 		context.initialize();
 
 		if (LOG.isDebugEnabled()) {
-			LOG.debug("Finished initializing DozerMetamodelMappingContext!");
+			LOG.debug("Finished initializing DozerMetamodelMappingContext with {} entities!", initialEntitySet.size());
 		}
 
 		return context;
@@ -4,12 +4,19 @@ import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.env.EnvironmentCapable;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.data.dozer.annotation.DozerEntity;
 import org.springframework.data.dozer.repository.DozerRepository;
 import org.springframework.data.dozer.repository.support.DozerEvaluationContextExtension;
@@ -19,12 +26,19 @@ import org.springframework.data.dozer.repository.support.Repositories;
 import org.springframework.data.repository.config.AnnotationRepositoryConfigurationSource;
 import org.springframework.data.repository.config.RepositoryConfigurationExtensionSupport;
 import org.springframework.data.repository.config.RepositoryConfigurationSource;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
 public class DozerRepositoryConfigExtension extends RepositoryConfigurationExtensionSupport {
 	private static final String MAPPING_CONTEXT_BEAN_NAME = "dozerMappingContext";
 	private static final String DEFAULT_DOZER_MAPPER_BEAN_NAME = "dozerMapper";
 	private static final String DEFAULT_CONVERSION_SERVICE_BEAN_NAME = "defaultConversionService";
 	private static final String ESCAPE_CHARACTER_PROPERTY = "escapeCharacter";
+	private static final String ENABLE_DEFAULT_TRANSACTIONS_ATTRIBUTE = "enableDefaultTransactions";
+	private static final String DEFAULT_TRANSACTION_MANAGER_BEAN_NAME = "transactionManager";
+	private static final String RECORD_STATISTICS_ATTRIBUTE = "recordStatistics";
+	private static final String ENTITY_PACKAGES_ATTRIBUTE = "entityPackages";
+	private static final String ENTITY_PACKAGE_CLASSES_ATTRIBUTE = "entityPackageClasses";
 
 	/*
 	 * (non-Javadoc)
@@ -100,6 +114,28 @@ public class DozerRepositoryConfigExtension extends RepositoryConfigurationExten
 				defaultConversionServiceRef.orElse(DEFAULT_CONVERSION_SERVICE_BEAN_NAME));
 		builder.addPropertyValue(ESCAPE_CHARACTER_PROPERTY, getEscapeCharacter(source).orElse('\\'));
 		builder.addPropertyReference("mappingContext", MAPPING_CONTEXT_BEAN_NAME);
+
+		Optional<String> transactionManagerRef = source.getAttribute("transactionManagerRef");
+		builder.addPropertyValue("transactionManager",
+				transactionManagerRef.orElse(DEFAULT_TRANSACTION_MANAGER_BEAN_NAME));
+		builder.addPropertyValue(ENABLE_DEFAULT_TRANSACTIONS_ATTRIBUTE,
+				getBooleanAttribute(source, ENABLE_DEFAULT_TRANSACTIONS_ATTRIBUTE).orElse(Boolean.TRUE));
+		builder.addPropertyValue(RECORD_STATISTICS_ATTRIBUTE,
+				getBooleanAttribute(source, RECORD_STATISTICS_ATTRIBUTE).orElse(Boolean.FALSE));
+		builder.addPropertyValue("bootstrapMode", source.getBootstrapMode());
+	}
+
+	/**
+	 * XML configurations do not support {@link Boolean} values. This method parses
+	 * the attribute value instead.
+	 */
+	private static Optional<Boolean> getBooleanAttribute(RepositoryConfigurationSource source, String name) {
+
+		try {
+			return source.getAttribute(name, Boolean.class);
+		} catch (IllegalArgumentException ___) {
+			return source.getAttribute(name).map(Boolean::valueOf);
+		}
 	}
 
 	/**
@@ -130,8 +166,11 @@ public class DozerRepositoryConfigExtension extends RepositoryConfigurationExten
 
 		Object source = config.getSource();
 
-		registerLazyIfNotAlreadyRegistered(() -> new RootBeanDefinition(DozerMetamodelMappingContextFactoryBean.class),
-				registry, MAPPING_CONTEXT_BEAN_NAME, source);
+		registerLazyIfNotAlreadyRegistered(() -> {
+			RootBeanDefinition definition = new RootBeanDefinition(DozerMetamodelMappingContextFactoryBean.class);
+			definition.getPropertyValues().add("initialEntitySet", scanDozerEntities(registry, config));
+			return definition;
+		}, registry, MAPPING_CONTEXT_BEAN_NAME, source);
 
 		// EvaluationContextExtension for DOZER specific SpEL functions
 
@@ -156,4 +195,68 @@ public class DozerRepositoryConfigExtension extends RepositoryConfigurationExten
 
 	}
 
+	/**
+	 * Returns the names of the {@link DozerEntity} classes in the
+	 * {@link EnableDozerRepositories#entityPackages() entity packages}, defaulting
+	 * to the base packages of the repository scan.
+	 * 
+	 * @param registry
+	 * @param config
+	 * @return
+	 */
+	protected Set<String> scanDozerEntities(BeanDefinitionRegistry registry, RepositoryConfigurationSource config) {
+		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+		scanner.addIncludeFilter(new AnnotationTypeFilter(DozerEntity.class, true, true));
+		if (registry instanceof ResourceLoader) {
+			scanner.setResourceLoader((ResourceLoader) registry);
+		}
+		if (registry instanceof EnvironmentCapable) {
+			scanner.setEnvironment(((EnvironmentCapable) registry).getEnvironment());
+		}
+
+		Set<String> result = new LinkedHashSet<String>();
+		for (String entityPackage : getEntityPackages(config)) {
+			for (BeanDefinition candidate : scanner.findCandidateComponents(entityPackage)) {
+				result.add(candidate.getBeanClassName());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the packages of the {@code entityPackages} and
+	 * {@code entityPackageClasses} attributes or the base packages of the
+	 * repository scan if neither is set.
+	 */
+	private static Set<String> getEntityPackages(RepositoryConfigurationSource config) {
+
+		Set<String> result = new LinkedHashSet<String>();
+		for (Object value : getArrayAttribute(config, ENTITY_PACKAGES_ATTRIBUTE)) {
+			result.add(value.toString());
+		}
+		for (Object value : getArrayAttribute(config, ENTITY_PACKAGE_CLASSES_ATTRIBUTE)) {
+			result.add(value instanceof Class ? ClassUtils.getPackageName((Class<?>) value)
+					: ClassUtils.getPackageName(value.toString()));
+		}
+		result.remove("");
+
+		if (result.isEmpty()) {
+			config.getBasePackages().forEach(result::add);
+		}
+		return result;
+	}
+
+	/**
+	 * XML configurations do not support array values. This method returns the
+	 * comma delimited attribute value instead.
+	 */
+	private static Object[] getArrayAttribute(RepositoryConfigurationSource source, String name) {
+
+		try {
+			return source.getAttribute(name, Object[].class).orElse(new Object[0]);
+		} catch (IllegalArgumentException ___) {
+			return source.getAttribute(name).map(StringUtils::commaDelimitedListToStringArray).orElse(new String[0]);
+		}
+	}
+
 }
@@ -17,6 +17,7 @@ import org.springframework.data.repository.config.BootstrapMode;
 import org.springframework.data.repository.config.DefaultRepositoryBaseClass;
 import org.springframework.data.repository.query.QueryLookupStrategy;
 import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.github.dozermapper.core.Mapper;
 
@@ -49,6 +50,21 @@ public @interface EnableDozerRepositories {
 	 */
 	Class<?>[] basePackageClasses() default {};
 
+	/**
+	 * Packages to scan for {@link org.springframework.data.dozer.annotation.DozerEntity}
+	 * classes, e.g. if they are not located in the packages of the repositories.
+	 * Defaults to the {@link #basePackages() base packages} of the repository scan
+	 * if neither this attribute nor {@link #entityPackageClasses()} is set.
+	 */
+	String[] entityPackages() default {};
+
+	/**
+	 * Type-safe alternative to {@link #entityPackages()} for specifying the
+	 * packages to scan for {@link org.springframework.data.dozer.annotation.DozerEntity}
+	 * classes. The package of each class specified will be scanned.
+	 */
+	Class<?>[] entityPackageClasses() default {};
+
 	/**
 	 * Specifies which types are eligible for component scanning. Further narrows
 	 * the set of candidate components from everything in {@link #basePackages()} to
@@ -140,6 +156,35 @@ public @interface EnableDozerRepositories {
 	 */
 	BootstrapMode bootstrapMode() default BootstrapMode.DEFAULT;
 
+	/**
+	 * Configures the name of the {@link PlatformTransactionManager} bean
+	 * definition to be used to create repositories discovered through this
+	 * annotation. Defaults to {@code transactionManager}.
+	 *
+	 * @return
+	 */
+	String transactionManagerRef() default "transactionManager";
+
+	/**
+	 * Configures whether to enable default transactions for Spring Data Dozer
+	 * repositories, i.e. read-only transactions for finders and read-write
+	 * transactions for saves and deletes. Repositories are created without
+	 * default transactions if the transaction manager bean does not exist.
+	 *
+	 * @return whether to enable default transactions, defaults to {@literal true}.
+	 */
+	boolean enableDefaultTransactions() default true;
+
+	/**
+	 * Configures whether all repositories record the invocation count and latency
+	 * distribution of their methods, e.g. for a load test. Single repositories
+	 * opt in with
+	 * {@link org.springframework.data.dozer.annotation.DozerRepository#recordStatistics()}.
+	 *
+	 * @return whether to record statistics, defaults to {@literal false}.
+	 */
+	boolean recordStatistics() default false;
+
 	/**
 	 * Configures what character is used to escape the wildcards {@literal _} and
 	 * {@literal %} in derived queries with {@literal contains},
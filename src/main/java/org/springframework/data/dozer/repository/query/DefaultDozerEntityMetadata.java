@@ -1,7 +1,12 @@
 package org.springframework.data.dozer.repository.query;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.dozer.annotation.DozerEntity;
+import org.springframework.data.dozer.annotation.FetchProfile;
+import org.springframework.data.dozer.annotation.SecondarySource;
 import org.springframework.util.Assert;
 
 public class DefaultDozerEntityMetadata<T> implements DozerEntityMetadata<T> {
@@ -51,4 +56,45 @@ public class DefaultDozerEntityMetadata<T> implements DozerEntityMetadata<T> {
 		DozerEntity entity = AnnotatedElementUtils.findMergedAnnotation(domainType, DozerEntity.class);
 		return entity.mapEntityIdUsingConvertionService();
 	}
+
+	@Override
+	public Map<String, String> getFetchProfiles() {
+		DozerEntity entity = AnnotatedElementUtils.findMergedAnnotation(domainType, DozerEntity.class);
+		Map<String, String> result = new LinkedHashMap<String, String>();
+		for (FetchProfile profile : entity.fetchProfiles()) {
+			Assert.isTrue(result.put(profile.name(), profile.dozerMapId()) == null,
+					"Duplicate fetch profile " + profile.name() + " on " + domainType);
+		}
+		return result;
+	}
+
+	@Override
+	public SecondarySource[] getSecondarySources() {
+		DozerEntity entity = AnnotatedElementUtils.findMergedAnnotation(domainType, DozerEntity.class);
+		return entity.secondarySources();
+	}
+
+	@Override
+	public boolean isReferenceData() {
+		DozerEntity entity = AnnotatedElementUtils.findMergedAnnotation(domainType, DozerEntity.class);
+		return entity.referenceData();
+	}
+
+	@Override
+	public String[] getReferenceDataIndexes() {
+		DozerEntity entity = AnnotatedElementUtils.findMergedAnnotation(domainType, DozerEntity.class);
+		return entity.referenceDataIndexes();
+	}
+
+	@Override
+	public long getReferenceDataRefreshInterval() {
+		DozerEntity entity = AnnotatedElementUtils.findMergedAnnotation(domainType, DozerEntity.class);
+		return entity.referenceDataRefreshInterval();
+	}
+
+	@Override
+	public String getReferenceDataSnapshotFile() {
+		DozerEntity entity = AnnotatedElementUtils.findMergedAnnotation(domainType, DozerEntity.class);
+		return entity.referenceDataSnapshotFile();
+	}
 }
@@ -1,6 +1,9 @@
 package org.springframework.data.dozer.repository.query;
 
+import java.util.Map;
+
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.dozer.annotation.SecondarySource;
 import org.springframework.data.repository.core.EntityMetadata;
 
 public interface DozerEntityMetadata<T> extends EntityMetadata<T> {
@@ -38,4 +41,46 @@ public interface DozerEntityMetadata<T> extends EntityMetadata<T> {
 	 *         Either explicit dozer mapping or {@link Converter} must exist.
 	 */
 	boolean getMapEntityIdUsingConvertionService();
+
+	/**
+	 * Dozer mapping context ids of the fetch profiles by profile name.
+	 * 
+	 * @return
+	 */
+	Map<String, String> getFetchProfiles();
+
+	/**
+	 * The additional adapted entities composed into the entity.
+	 * 
+	 * @return
+	 */
+	SecondarySource[] getSecondarySources();
+
+	/**
+	 * Should reads be served from an in-memory snapshot of all entities.
+	 * 
+	 * @return
+	 */
+	boolean isReferenceData();
+
+	/**
+	 * The property names the reference data snapshot keeps sorted.
+	 * 
+	 * @return
+	 */
+	String[] getReferenceDataIndexes();
+
+	/**
+	 * The reload interval of the reference data snapshot in milliseconds.
+	 * 
+	 * @return
+	 */
+	long getReferenceDataRefreshInterval();
+
+	/**
+	 * The local file the reference data snapshot is persisted to, empty if none.
+	 * 
+	 * @return
+	 */
+	String getReferenceDataSnapshotFile();
 }
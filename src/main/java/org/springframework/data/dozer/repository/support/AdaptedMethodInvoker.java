@@ -0,0 +1,85 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Invokes a method of the adapted repository through a {@link MethodHandle}
+ * bound to the adapted repository, with the mapping of the arguments and of
+ * the result resolved up front.
+ *
+ * @author kchobantonov
+ * @see org.springframework.data.dozer.annotation.AdaptedMethod
+ */
+public class AdaptedMethodInvoker {
+
+	private final Method adaptedMethod;
+	private final MethodHandle handle;
+	private final Function<Object, Object>[] argumentMappers;
+	private final BiFunction<Object, Object[], Object> resultMapper;
+
+	/**
+	 * @param adaptedRepository the adapted repository
+	 * @param adaptedMethod     the method of the adapted repository
+	 * @param argumentMappers   maps each argument to the parameter type of the
+	 *                          adapted method
+	 * @param resultMapper      maps the result of the adapted method, receives the
+	 *                          original arguments
+	 */
+	@SuppressWarnings("unchecked")
+	AdaptedMethodInvoker(Object adaptedRepository, Method adaptedMethod, List<Function<Object, Object>> argumentMappers,
+			BiFunction<Object, Object[], Object> resultMapper) {
+		Assert.isTrue(argumentMappers.size() == adaptedMethod.getParameterCount(),
+				"Each parameter of " + adaptedMethod + " requires an argument mapper!");
+
+		this.adaptedMethod = adaptedMethod;
+		this.argumentMappers = argumentMappers.toArray(new Function[argumentMappers.size()]);
+		this.resultMapper = resultMapper;
+
+		ReflectionUtils.makeAccessible(adaptedMethod);
+		try {
+			this.handle = MethodHandles.lookup().unreflect(adaptedMethod).bindTo(adaptedRepository)
+					.asSpreader(Object[].class, adaptedMethod.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object[].class));
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Unable to access adapted method " + adaptedMethod, e);
+		}
+	}
+
+	public Method getAdaptedMethod() {
+		return adaptedMethod;
+	}
+
+	/**
+	 * Invokes the adapted method with the mapped arguments and maps its result.
+	 *
+	 * @param parameters the arguments of the dozer repository method
+	 * @return
+	 */
+	public Object invoke(Object[] parameters) {
+		Object[] arguments = new Object[argumentMappers.length];
+		for (int i = 0; i < arguments.length; i++) {
+			arguments[i] = parameters[i] == null ? null : argumentMappers[i].apply(parameters[i]);
+		}
+
+		Object result;
+		try {
+			result = (Object) handle.invokeExact(arguments);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new UndeclaredThrowableException(e);
+		}
+
+		return resultMapper.apply(result, parameters);
+	}
+}
@@ -1,6 +1,9 @@
 package org.springframework.data.dozer.repository.support;
 
+import java.util.Map;
+
 import org.springframework.data.domain.Persistable;
+import org.springframework.data.dozer.annotation.SecondarySource;
 import org.springframework.data.dozer.repository.query.DefaultDozerEntityMetadata;
 import org.springframework.data.dozer.repository.query.DozerEntityMetadata;
 import org.springframework.data.mapping.context.MappingContext;
@@ -63,4 +66,34 @@ public abstract class DozerEntityInformationSupport<T, ID> extends AbstractEntit
 
 	}
 
+	@Override
+	public Map<String, String> getFetchProfiles() {
+		return metadata.getFetchProfiles();
+	}
+
+	@Override
+	public SecondarySource[] getSecondarySources() {
+		return metadata.getSecondarySources();
+	}
+
+	@Override
+	public boolean isReferenceData() {
+		return metadata.isReferenceData();
+	}
+
+	@Override
+	public String[] getReferenceDataIndexes() {
+		return metadata.getReferenceDataIndexes();
+	}
+
+	@Override
+	public long getReferenceDataRefreshInterval() {
+		return metadata.getReferenceDataRefreshInterval();
+	}
+
+	@Override
+	public String getReferenceDataSnapshotFile() {
+		return metadata.getReferenceDataSnapshotFile();
+	}
+
 }
@@ -0,0 +1,131 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.springframework.data.dozer.annotation.UnmappedIdPolicy;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.lang.Nullable;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable result of validating a {@link SimpleDozerRepository} after the
+ * application context refresh. Holds the resolved adapted repository together
+ * with the mapping functions chosen for entities, identifiers and versions so
+ * that repository operations only read final fields.
+ *
+ * @author kchobantonov
+ */
+@Value
+@Builder(toBuilder = true)
+public class DozerRepositoryBinding {
+
+	/**
+	 * The strategy chosen to map between a dozer entity (or its id) and the
+	 * adapted entity (or its id).
+	 */
+	public enum MappingStrategy {
+		DOZER, CONVERSION_SERVICE
+	}
+
+	@Nullable
+	String adaptedRepositoryName;
+	PagingAndSortingRepository<Object, Object> adaptedRepository;
+	RepositoryInformation adaptedRepositoryInformation;
+	@Nullable
+	String adaptedReadRepositoryName;
+	@Nullable
+	PagingAndSortingRepository<Object, Object> adaptedReadRepository;
+	boolean readFromPrimaryInTransaction;
+	PersistentEntity<?, ?> adaptedPersistentEntity;
+	Class<?> idType;
+	Class<?> adaptedIdType;
+	@Nullable
+	String dozerMapId;
+
+	MappingStrategy entityToAdaptedEntityStrategy;
+	MappingStrategy adaptedEntityToEntityStrategy;
+	@Nullable
+	MappingStrategy entityIdToAdaptedEntityIdStrategy;
+	@Nullable
+	MappingStrategy adaptedEntityIdToEntityIdStrategy;
+	TypeCompatibility.Kind entityIdToAdaptedEntityIdCompatibility;
+	TypeCompatibility.Kind adaptedEntityIdToEntityIdCompatibility;
+	@Nullable
+	TypeCompatibility.Kind versionCompatibility;
+
+	Function<Object, Object> toDozerEntity;
+	/**
+	 * {@link #toDozerEntity} without reading the secondary sources,
+	 * {@literal null} without secondary sources.
+	 */
+	@Nullable
+	Function<Object, Object> toDozerEntityWithoutSecondarySources;
+	Function<List<?>, List<Object>> toDozerEntities;
+	Function<Object, Object> toAdaptedEntity;
+	Function<Object, Object> toAdaptedId;
+	Function<Object, Object> toResourceId;
+
+	Method entityIdSetter;
+	@Nullable
+	Field versionField;
+	@Nullable
+	Field adaptedVersionField;
+	@Nullable
+	Function<Object, Object> toResourceVersion;
+
+	@Nullable
+	Method adaptedSliceMethod;
+	@Nullable
+	Method adaptedReadSliceMethod;
+	Map<String, String> dozerEntityFieldNameToAdaptedFieldName;
+	Set<String> lazyMappedProperties;
+	/**
+	 * The bindings reading with an alternative dozer mapping by fetch profile name.
+	 */
+	Map<String, DozerRepositoryBinding> fetchProfiles;
+	Map<Method, AdaptedMethodInvoker> adaptedMethodInvokers;
+
+	int findAllByIdChunkSize;
+	boolean findAllByIdParallel;
+	boolean findAllByIdPreserveOrder;
+	UnmappedIdPolicy unmappedIdPolicy;
+	/**
+	 * The dedicated executor of the repository, {@literal null} to do all work on
+	 * the calling thread.
+	 */
+	@Nullable
+	Executor executor;
+	@Nullable
+	ShardedAdaptedRepositories shards;
+	@Nullable
+	SecondaryAdaptedSources secondarySources;
+	@Nullable
+	WriteBehindBuffer writeBehindBuffer;
+	@Nullable
+	ReferenceDataCache referenceData;
+	@Nullable
+	MappedEntityCache entityCache;
+	@Nullable
+	FindByIdBatcher findByIdBatcher;
+	InMemorySortFallback inMemorySort;
+
+	/**
+	 * Returns whether the dozer entity and the adapted entity both declare a
+	 * version property that has to be written back after save.
+	 *
+	 * @return
+	 */
+	public boolean hasVersion() {
+		return versionField != null && adaptedVersionField != null;
+	}
+}
@@ -6,19 +6,29 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.context.ApplicationContext;
-import org.springframework.data.dozer.repository.DozerRepository;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.dozer.annotation.AdaptedMethod;
+import org.springframework.data.dozer.annotation.DozerRepository;
+import org.springframework.data.dozer.repository.DozerRepositoryStatistics;
 import org.springframework.data.dozer.repository.query.EscapeCharacter;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.context.PersistentEntities;
 import org.springframework.data.querydsl.EntityPathResolver;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.SimpleEntityPathResolver;
+import org.springframework.data.repository.config.BootstrapMode;
 import org.springframework.data.repository.core.RepositoryInformation;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.core.support.RepositoryComposition;
@@ -26,7 +36,10 @@ import org.springframework.data.repository.core.support.RepositoryFactorySupport
 import org.springframework.data.repository.core.support.SurroundingTransactionDetectorMethodInterceptor;
 import org.springframework.data.repository.query.QueryLookupStrategy;
 import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.util.Lazy;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
@@ -41,7 +54,16 @@ public class DozerRepositoryFactory extends RepositoryFactorySupport {
 	protected EntityPathResolver entityPathResolver;
 	protected EscapeCharacter escapeCharacter = EscapeCharacter.DEFAULT;
 
-	private List<DozerRepositoryImplementation> repositoriesToValidateAfterRefresh = new ArrayList<DozerRepositoryImplementation>();
+	private static final Logger LOG = LoggerFactory.getLogger(DozerRepositoryFactory.class);
+
+	private BootstrapMode bootstrapMode = BootstrapMode.DEFAULT;
+	private boolean recordStatistics;
+	private @Nullable String transactionManager;
+	private @Nullable Lazy<PersistentEntities> persistentEntities;
+	private List<DozerRepositoryImplementation<?, ?>> repositoriesToValidateAfterRefresh = new ArrayList<DozerRepositoryImplementation<?, ?>>();
+	private List<DozerRepositoryImplementation<?, ?>> repositories = new ArrayList<DozerRepositoryImplementation<?, ?>>();
+	private Map<Class<?>, DozerRepositoryStatistics> statistics = new ConcurrentHashMap<Class<?>, DozerRepositoryStatistics>();
+	private Map<Class<?>, DozerRepositoryImplementation<?, ?>> repositoriesByInterface = new ConcurrentHashMap<Class<?>, DozerRepositoryImplementation<?, ?>>();
 
 	/**
 	 * Creates a new {@link DozerRepositoryFactory}.
@@ -62,6 +84,18 @@ public class DozerRepositoryFactory extends RepositoryFactorySupport {
 			if (hasMethodReturningStream(repositoryInformation.getRepositoryInterface())) {
 				factory.addAdvice(SurroundingTransactionDetectorMethodInterceptor.INSTANCE);
 			}
+
+			if (FetchProfileMethodInterceptor.hasFetchProfileMethods(repositoryInformation.getRepositoryInterface())) {
+				factory.addAdvice(new FetchProfileMethodInterceptor());
+			}
+
+			DozerRepository dozerRepository = AnnotatedElementUtils
+					.findMergedAnnotation(repositoryInformation.getRepositoryInterface(), DozerRepository.class);
+			if (recordStatistics || dozerRepository != null && dozerRepository.recordStatistics()) {
+				DozerRepositoryStatistics repositoryStatistics = new DozerRepositoryStatistics();
+				statistics.put(repositoryInformation.getRepositoryInterface(), repositoryStatistics);
+				factory.addAdvice(new StatisticsMethodInterceptor(repositoryStatistics));
+			}
 		});
 	}
 
@@ -78,6 +112,43 @@ public class DozerRepositoryFactory extends RepositoryFactorySupport {
 		this.entityPathResolver = entityPathResolver;
 	}
 
+	/**
+	 * Configures when the repositories are validated and bound to their adapted
+	 * repositories. {@link BootstrapMode#DEFAULT} validates all repositories when
+	 * the application context is refreshed, {@link BootstrapMode#DEFERRED}
+	 * validates them in the background after the refresh and
+	 * {@link BootstrapMode#LAZY} on first use.
+	 *
+	 * @param bootstrapMode must not be {@literal null}.
+	 */
+	public void setBootstrapMode(BootstrapMode bootstrapMode) {
+
+		Assert.notNull(bootstrapMode, "BootstrapMode must not be null!");
+
+		this.bootstrapMode = bootstrapMode;
+	}
+
+	/**
+	 * Configures whether all repositories record statistics. Off by default,
+	 * single repositories opt in with {@link DozerRepository#recordStatistics()}.
+	 * 
+	 * @param recordStatistics
+	 */
+	public void setRecordStatistics(boolean recordStatistics) {
+		this.recordStatistics = recordStatistics;
+	}
+
+	/**
+	 * Configures the name of the transaction manager of the default transactions
+	 * of the repositories.
+	 *
+	 * @param transactionManager the bean name or {@literal null} if the
+	 *                           repositories have no default transactions
+	 */
+	public void setTransactionManager(@Nullable String transactionManager) {
+		this.transactionManager = transactionManager;
+	}
+
 	/**
 	 * Configures the escape character to be used for like-expressions created for
 	 * derived queries.
@@ -103,12 +174,14 @@ public class DozerRepositoryFactory extends RepositoryFactorySupport {
 		DozerRepositoryImplementation<?, ?> repository = getTargetRepository(information, dozerMapper,
 				conversionServiceName, beanFactory);
 		repository.setEscapeCharacter(escapeCharacter);
+		repository.setTransactionManager(transactionManager);
 
 		return repository;
 	}
 
 	/**
-	 * Callback to create a {@link DozerRepository} instance with the given
+	 * Callback to create a
+	 * {@link org.springframework.data.dozer.repository.DozerRepository} instance with the given
 	 * {@link Mapper}
 	 *
 	 * @param information will never be {@literal null}.
@@ -125,7 +198,15 @@ public class DozerRepositoryFactory extends RepositoryFactorySupport {
 		Assert.isInstanceOf(DozerRepositoryImplementation.class, repository);
 
 		DozerRepositoryImplementation<?, ?> result = (DozerRepositoryImplementation<?, ?>) repository;
-		repositoriesToValidateAfterRefresh.add(result);
+		synchronized (this) {
+			if (persistentEntities == null) {
+				repositoriesToValidateAfterRefresh.add(result);
+			} else {
+				result.validateOnDemand(persistentEntities);
+			}
+			repositories.add(result);
+		}
+		repositoriesByInterface.put(information.getRepositoryInterface(), result);
 
 		return result;
 	}
@@ -160,8 +241,42 @@ public class DozerRepositoryFactory extends RepositoryFactorySupport {
 		// extractor, evaluationContextProvider,
 		// escapeCharacter));
 
-		return Optional.empty();
+		return Optional.of((method, metadata, factory, namedQueries) -> {
+			Assert.state(AnnotatedElementUtils.hasAnnotation(method, AdaptedMethod.class), "Query method " + method
+					+ " is not supported, annotate it with @" + AdaptedMethod.class.getSimpleName() + "!");
+
+			DozerRepositoryImplementation<?, ?> repository = repositoriesByInterface
+					.get(metadata.getRepositoryInterface());
+			Assert.state(repository != null, "No dozer repository found for " + metadata.getRepositoryInterface());
+
+			return new AdaptedMethodQuery(new QueryMethod(method, metadata, factory), method, repository);
+		});
+	}
+
+	/**
+	 * {@link RepositoryQuery} delegating to the adapted repository method resolved
+	 * for a method annotated with {@link AdaptedMethod}.
+	 */
+	private static class AdaptedMethodQuery implements RepositoryQuery {
+		private final QueryMethod queryMethod;
+		private final Method method;
+		private final DozerRepositoryImplementation<?, ?> repository;
+
+		AdaptedMethodQuery(QueryMethod queryMethod, Method method, DozerRepositoryImplementation<?, ?> repository) {
+			this.queryMethod = queryMethod;
+			this.method = method;
+			this.repository = repository;
+		}
+
+		@Override
+		public Object execute(Object[] parameters) {
+			return repository.invokeAdaptedMethod(method, parameters);
+		}
 
+		@Override
+		public QueryMethod getQueryMethod() {
+			return queryMethod;
+		}
 	}
 
 	/*
@@ -215,7 +330,70 @@ public class DozerRepositoryFactory extends RepositoryFactorySupport {
 		return false;
 	}
 
-	public void validateAfterRefresh(ApplicationContext applicationContext) {
+	/**
+	 * Validates the repositories created since the last refresh according to the
+	 * {@link #setBootstrapMode(BootstrapMode) bootstrap mode} and starts their
+	 * warm-up. Repositories created after the first refresh, e.g. lazy
+	 * repositories, are validated on first use.
+	 * 
+	 * @param applicationContext
+	 * @return a future completed once the warm-up of the validated repositories is
+	 *         done or {@literal null} if the context has already been refreshed
+	 *         before
+	 */
+	@Nullable
+	public CompletableFuture<Void> validateAfterRefresh(ApplicationContext applicationContext) {
+		List<DozerRepositoryImplementation<?, ?>> pending;
+		synchronized (this) {
+			if (persistentEntities != null && repositoriesToValidateAfterRefresh.isEmpty()) {
+				return null;
+			}
+			if (persistentEntities == null) {
+				persistentEntities = Lazy.of(() -> getPersistentEntities(applicationContext));
+			}
+			pending = new ArrayList<DozerRepositoryImplementation<?, ?>>(repositoriesToValidateAfterRefresh);
+			repositoriesToValidateAfterRefresh.clear();
+		}
+
+		for (DozerRepositoryImplementation<?, ?> repo : pending) {
+			repo.validateOnDemand(persistentEntities);
+		}
+
+		switch (bootstrapMode) {
+		case LAZY:
+			return CompletableFuture.completedFuture(null);
+		case DEFERRED:
+			// a thread of its own instead of the common pool shared with the application
+			return CompletableFuture.supplyAsync(() -> validate(pending), runnable -> {
+				Thread thread = new Thread(runnable, "dozer-repository-bootstrap");
+				thread.setDaemon(true);
+				thread.start();
+			}).thenCompose(Function.identity());
+		default:
+			return validate(pending);
+		}
+	}
+
+	private CompletableFuture<Void> validate(List<DozerRepositoryImplementation<?, ?>> repositories) {
+		List<CompletableFuture<Void>> warmUps = new ArrayList<CompletableFuture<Void>>();
+		for (DozerRepositoryImplementation<?, ?> repo : repositories) {
+			try {
+				repo.validateAfterRefresh(persistentEntities.get());
+			} catch (RuntimeException e) {
+				if (bootstrapMode == BootstrapMode.DEFAULT) {
+					throw e;
+				}
+				// validated again on first use
+				LOG.error("Unable to validate dozer repository {}", repo, e);
+				continue;
+			}
+			warmUps.add(repo.warmUp());
+		}
+
+		return CompletableFuture.allOf(warmUps.toArray(new CompletableFuture[warmUps.size()]));
+	}
+
+	private static PersistentEntities getPersistentEntities(ApplicationContext applicationContext) {
 		List<MappingContext<?, ?>> arrayList = new ArrayList<MappingContext<?, ?>>();
 
 		for (MappingContext<?, ?> context : BeanFactoryUtils
@@ -223,13 +401,39 @@ public class DozerRepositoryFactory extends RepositoryFactorySupport {
 			arrayList.add(context);
 		}
 
-		PersistentEntities persistenceEntites = new PersistentEntities(arrayList);
+		return new PersistentEntities(arrayList);
+	}
 
-		for (DozerRepositoryImplementation<?, ?> repo : repositoriesToValidateAfterRefresh) {
-			repo.validateAfterRefresh(persistenceEntites);
-		}
+	/**
+	 * Returns the statistics of the given repository interface.
+	 * 
+	 * @param repositoryInterface
+	 * @return the statistics or {@literal null} if the repository does not record
+	 *         statistics
+	 * @see DozerRepository#recordStatistics()
+	 */
+	@Nullable
+	public DozerRepositoryStatistics getStatistics(Class<?> repositoryInterface) {
+		return statistics.get(repositoryInterface);
+	}
+
+	/**
+	 * Returns the entity cache of the given repository interface.
+	 * 
+	 * @param repositoryInterface
+	 * @return the entity cache or {@literal null} if the repository does not cache
+	 * @see DozerRepository#entityCache()
+	 */
+	@Nullable
+	public MappedEntityCache getEntityCache(Class<?> repositoryInterface) {
+		DozerRepositoryImplementation<?, ?> repository = repositoriesByInterface.get(repositoryInterface);
+		return repository == null ? null : repository.getEntityCache();
+	}
 
-		repositoriesToValidateAfterRefresh.clear();
+	public void destroy() {
+		for (DozerRepositoryImplementation<?, ?> repo : repositories) {
+			repo.destroy();
+		}
 	}
 
 }
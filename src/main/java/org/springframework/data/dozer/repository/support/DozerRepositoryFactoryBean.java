@@ -1,25 +1,36 @@
 package org.springframework.data.dozer.repository.support;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.dozer.annotation.DozerRepository;
+import org.springframework.data.dozer.repository.DozerRepositoryStatistics;
+import org.springframework.data.dozer.repository.DozerRepositoryWarmedUpEvent;
 import org.springframework.data.dozer.repository.query.EscapeCharacter;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.querydsl.EntityPathResolver;
 import org.springframework.data.querydsl.SimpleEntityPathResolver;
 import org.springframework.data.repository.Repository;
-import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
-import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.data.repository.core.support.TransactionalRepositoryFactoryBeanSupport;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 import com.github.dozermapper.core.Mapper;
 
 public class DozerRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
-		extends RepositoryFactoryBeanSupport<T, S, ID> implements ApplicationListener<ContextRefreshedEvent> {
+		extends TransactionalRepositoryFactoryBeanSupport<T, S, ID> implements ApplicationListener<ContextRefreshedEvent>,
+		DisposableBean {
 
 	protected @Nullable Mapper dozerMapper;
 	protected String conversionServiceName;
@@ -27,8 +38,18 @@ public class DozerRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
 	protected EscapeCharacter escapeCharacter = EscapeCharacter.DEFAULT;
 	protected BeanFactory beanFactory;
 	protected MappingContext<?, ?> mappingContext;
+	protected BootstrapMode bootstrapMode = BootstrapMode.DEFAULT;
+	protected boolean recordStatistics;
+
+	private static final Logger LOG = LoggerFactory.getLogger(DozerRepositoryFactoryBean.class);
+	private static final String DEFAULT_TRANSACTION_MANAGER_BEAN_NAME = "transactionManager";
 
+	private final Class<? extends T> repositoryInterface;
+	private String transactionManager = DEFAULT_TRANSACTION_MANAGER_BEAN_NAME;
+	private boolean enableDefaultTransactions = true;
 	private DozerRepositoryFactory dozerRepositoryFactory;
+	private final CompletableFuture<Void> warmUp = new CompletableFuture<Void>();
+	private volatile boolean warmUpStarted;
 
 	/**
 	 * Creates a new {@link DozerRepositoryFactoryBean} for the given repository
@@ -38,6 +59,7 @@ public class DozerRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
 	 */
 	public DozerRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
 		super(repositoryInterface);
+		this.repositoryInterface = repositoryInterface;
 	}
 
 	/*
@@ -65,28 +87,171 @@ public class DozerRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
 		this.entityPathResolver = resolver.getIfAvailable(() -> SimpleEntityPathResolver.INSTANCE);
 	}
 
-	protected DozerRepositoryFactory doCreateRepositoryFactory() {
+	/**
+	 * Creates the {@link DozerRepositoryFactory}, the factory is configured with
+	 * the settings of this factory bean afterwards.
+	 * 
+	 * @return the repository factory
+	 */
+	protected DozerRepositoryFactory createDozerRepositoryFactory() {
 		return new DozerRepositoryFactory(dozerMapper, conversionServiceName, beanFactory, mappingContext);
 	}
 
+	/**
+	 * Creates and configures the {@link DozerRepositoryFactory}.
+	 * 
+	 * @deprecated as a hook to create the repository factory, override
+	 *             {@link #createDozerRepositoryFactory()} instead. Overrides have
+	 *             to call this method to get a configured factory.
+	 */
+	@Deprecated
 	@Override
-	protected final RepositoryFactorySupport createRepositoryFactory() {
-		dozerRepositoryFactory = doCreateRepositoryFactory();
+	protected DozerRepositoryFactory doCreateRepositoryFactory() {
+		dozerRepositoryFactory = createDozerRepositoryFactory();
 		dozerRepositoryFactory.setEntityPathResolver(entityPathResolver);
 		dozerRepositoryFactory.setEscapeCharacter(escapeCharacter);
+		dozerRepositoryFactory.setBootstrapMode(bootstrapMode);
+		dozerRepositoryFactory.setRecordStatistics(recordStatistics);
+		dozerRepositoryFactory.setTransactionManager(enableDefaultTransactions ? transactionManager : null);
 		return dozerRepositoryFactory;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.repository.core.support.
+	 * TransactionalRepositoryFactoryBeanSupport#setTransactionManager(java.lang.
+	 * String)
+	 */
+	@Override
+	public void setTransactionManager(String transactionManager) {
+		super.setTransactionManager(transactionManager);
+		this.transactionManager = transactionManager;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.repository.core.support.
+	 * TransactionalRepositoryFactoryBeanSupport#setEnableDefaultTransactions(
+	 * boolean)
+	 */
+	@Override
+	public void setEnableDefaultTransactions(boolean enableDefaultTransactions) {
+		super.setEnableDefaultTransactions(enableDefaultTransactions);
+		this.enableDefaultTransactions = enableDefaultTransactions;
+	}
+
+	/**
+	 * Applies the transaction settings of the {@link DozerRepository} annotation of
+	 * the repository interface. Without a {@code transactionManager} bean the
+	 * default transactions are disabled with a warning, e.g. for non
+	 * transactional adapted stores, a missing transaction manager configured
+	 * explicitly fails the startup.
+	 */
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		DozerRepository dozerRepository = AnnotatedElementUtils.findMergedAnnotation(repositoryInterface,
+				DozerRepository.class);
+		if (dozerRepository != null) {
+			if (StringUtils.hasText(dozerRepository.transactionManagerRef())) {
+				setTransactionManager(dozerRepository.transactionManagerRef());
+			}
+			if (!dozerRepository.enableDefaultTransactions()) {
+				setEnableDefaultTransactions(false);
+			}
+		}
+
+		if (enableDefaultTransactions && !beanFactory.containsBean(transactionManager)) {
+			Assert.state(DEFAULT_TRANSACTION_MANAGER_BEAN_NAME.equals(transactionManager), "Transaction manager "
+					+ transactionManager + " of dozer repository " + repositoryInterface.getName() + " not found!");
+			LOG.warn("No transaction manager {} found, creating {} without default transactions",
+					transactionManager, repositoryInterface.getName());
+			setEnableDefaultTransactions(false);
+		}
+
 		super.setBeanFactory(beanFactory);
 		this.beanFactory = beanFactory;
 	}
 
+	/**
+	 * Validates the repository and starts its warm-up. A
+	 * {@link DozerRepositoryWarmedUpEvent} is published once the warm-up is done.
+	 */
 	@Override
 	public void onApplicationEvent(ContextRefreshedEvent event) {
+		CompletableFuture<Void> result;
+		try {
+			result = dozerRepositoryFactory == null ? null
+					: dozerRepositoryFactory.validateAfterRefresh(event.getApplicationContext());
+		} catch (RuntimeException e) {
+			warmUp.completeExceptionally(e);
+			throw e;
+		}
+
+		if (result == null) {
+			// nothing to validate, e.g. on the refresh of a child context
+			if (!warmUpStarted) {
+				warmUp.complete(null);
+			}
+			return;
+		}
+
+		warmUpStarted = true;
+		result.whenComplete((ignored, failure) -> {
+			if (failure != null) {
+				warmUp.completeExceptionally(failure);
+				return;
+			}
+			warmUp.complete(null);
+			event.getApplicationContext().publishEvent(new DozerRepositoryWarmedUpEvent(repositoryInterface));
+		});
+	}
+
+	/**
+	 * Returns the warm-up of the repository started after the application context
+	 * refresh, e.g. to gate the readiness of the application on it.
+	 * 
+	 * @return a future completed once the warm-up is done, or exceptionally if the
+	 *         repository could not be validated
+	 * @see DozerRepository#warmUp()
+	 */
+	public CompletableFuture<Void> getWarmUp() {
+		return warmUp;
+	}
+
+	/**
+	 * Returns the statistics of the repository.
+	 * 
+	 * @return the statistics or {@literal null} if the repository does not record
+	 *         statistics
+	 * @see DozerRepository#recordStatistics()
+	 */
+	@Nullable
+	public DozerRepositoryStatistics getStatistics() {
+		return dozerRepositoryFactory == null ? null : dozerRepositoryFactory.getStatistics(repositoryInterface);
+	}
+
+	/**
+	 * Returns the entity cache of the repository.
+	 * 
+	 * @return the entity cache or {@literal null} if the repository does not cache
+	 * @see DozerRepository#entityCache()
+	 */
+	@Nullable
+	public MappedEntityCache getEntityCache() {
+		return dozerRepositoryFactory == null ? null : dozerRepositoryFactory.getEntityCache(repositoryInterface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
 		if (dozerRepositoryFactory != null) {
-			dozerRepositoryFactory.validateAfterRefresh(event.getApplicationContext());
+			dozerRepositoryFactory.destroy();
 		}
 	}
 
@@ -111,6 +276,29 @@ public class DozerRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
 		this.conversionServiceName = conversionServiceName;
 	}
 
+	/**
+	 * Configures when the repository is validated and bound to its adapted
+	 * repository.
+	 * 
+	 * @param bootstrapMode must not be {@literal null}.
+	 * @see DozerRepositoryFactory#setBootstrapMode(BootstrapMode)
+	 */
+	public void setBootstrapMode(BootstrapMode bootstrapMode) {
+		Assert.notNull(bootstrapMode, "BootstrapMode must not be null!");
+		this.bootstrapMode = bootstrapMode;
+	}
+
+	/**
+	 * Configures whether the repository records statistics even if its
+	 * {@link DozerRepository} annotation does not ask for it.
+	 * 
+	 * @param recordStatistics
+	 * @see DozerRepositoryFactory#setRecordStatistics(boolean)
+	 */
+	public void setRecordStatistics(boolean recordStatistics) {
+		this.recordStatistics = recordStatistics;
+	}
+
 	public void setEscapeCharacter(char escapeCharacter) {
 
 		this.escapeCharacter = EscapeCharacter.of(escapeCharacter);
@@ -1,9 +1,14 @@
 package org.springframework.data.dozer.repository.support;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 import org.springframework.data.dozer.repository.DozerRepository;
 import org.springframework.data.dozer.repository.query.EscapeCharacter;
 import org.springframework.data.mapping.context.PersistentEntities;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
 
 @NoRepositoryBean
 public interface DozerRepositoryImplementation<T, ID>
@@ -15,7 +20,70 @@ public interface DozerRepositoryImplementation<T, ID>
 	 */
 	default void setEscapeCharacter(EscapeCharacter escapeCharacter) {
 
+	}
+
+	/**
+	 * Configures the name of the transaction manager of the default transactions
+	 * of the repository, e.g. to write buffered saves in a transaction.
+	 *
+	 * @param transactionManager the bean name or {@literal null} if the repository
+	 *                           has no default transactions
+	 */
+	default void setTransactionManager(@Nullable String transactionManager) {
+
 	}
 	
 	void validateAfterRefresh(PersistentEntities persistentEntities);
+
+	/**
+	 * Enables the validation on first use for repositories that are not validated
+	 * by {@link #validateAfterRefresh(PersistentEntities)}, e.g. lazy
+	 * repositories created after the application context refresh.
+	 *
+	 * @param persistentEntities supplies the persistent entities of the
+	 *                           application context
+	 */
+	default void validateOnDemand(Supplier<PersistentEntities> persistentEntities) {
+
+	}
+
+	/**
+	 * Starts the warm-up of the mappings after
+	 * {@link #validateAfterRefresh(PersistentEntities)}.
+	 *
+	 * @return a future completed once the warm-up is done
+	 * @see org.springframework.data.dozer.annotation.DozerRepository#warmUp()
+	 */
+	default CompletableFuture<Void> warmUp() {
+		return CompletableFuture.completedFuture(null);
+	}
+
+	/**
+	 * Invokes the adapted repository method backing the given query method.
+	 *
+	 * @param method     the query method of the repository interface
+	 * @param parameters the arguments of the query method
+	 * @return the mapped result
+	 * @see org.springframework.data.dozer.annotation.AdaptedMethod
+	 */
+	Object invokeAdaptedMethod(Method method, Object[] parameters);
+
+	/**
+	 * Returns the cache of dozer entities read by identifier.
+	 *
+	 * @return the cache or {@literal null} if the repository does not cache
+	 * @see org.springframework.data.dozer.annotation.DozerRepository#entityCache()
+	 */
+	@Nullable
+	default MappedEntityCache getEntityCache() {
+		return null;
+	}
+
+	/**
+	 * Invoked when the application context is closed, e.g. to write buffered
+	 * saves.
+	 */
+	default void destroy() {
+
+	}
 }
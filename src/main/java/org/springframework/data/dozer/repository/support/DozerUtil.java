@@ -10,6 +10,8 @@ import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
+import com.github.dozermapper.core.CustomFieldMapper;
+import com.github.dozermapper.core.DozerBeanMapper;
 import com.github.dozermapper.core.Mapper;
 import com.github.dozermapper.core.cache.CacheKeyFactory;
 import com.github.dozermapper.core.classmap.ClassMap;
@@ -30,20 +32,25 @@ public class DozerUtil {
 	}
 
 	public Map<String, String> getDozerEntityFieldNameToAdaptedFieldNameMap(DozerEntityMetadata<?> entityInformation) {
+		return getDozerEntityFieldNameToAdaptedFieldNameMap(entityInformation, entityInformation.getDozerMapId());
+	}
+
+	public Map<String, String> getDozerEntityFieldNameToAdaptedFieldNameMap(DozerEntityMetadata<?> entityInformation,
+			String dozerMapId) {
 		ClassMappings classMappings = getClassMappings();
 
 		boolean entityToAdaptedEntity = true;
 
-		ClassMap mapping = StringUtils.isEmpty(entityInformation.getDozerMapId())
+		ClassMap mapping = StringUtils.isEmpty(dozerMapId)
 				? classMappings.find(entityInformation.getJavaType(), entityInformation.getAdaptedJavaType())
 				: classMappings.find(entityInformation.getJavaType(), entityInformation.getAdaptedJavaType(),
-						entityInformation.getDozerMapId());
+						dozerMapId);
 
 		if (mapping == null) {
-			mapping = StringUtils.isEmpty(entityInformation.getDozerMapId())
+			mapping = StringUtils.isEmpty(dozerMapId)
 					? classMappings.find(entityInformation.getAdaptedJavaType(), entityInformation.getJavaType())
 					: classMappings.find(entityInformation.getAdaptedJavaType(), entityInformation.getJavaType(),
-							entityInformation.getDozerMapId());
+							dozerMapId);
 
 			if (mapping == null || (mapping != null && MappingDirection.ONE_WAY == mapping.getType())) {
 				return null;
@@ -73,8 +80,7 @@ public class DozerUtil {
 		for (Class<?> superSrcClass : superSrcClasses) {
 			for (Class<?> superDestClass : superDestClasses) {
 				if (!(superSrcClass.equals(srcClass) && superDestClass.equals(destClass))) {
-					ClassMap superMapping = classMappings.find(superSrcClass, superDestClass,
-							entityInformation.getDozerMapId());
+					ClassMap superMapping = classMappings.find(superSrcClass, superDestClass, dozerMapId);
 					if (superMapping != null) {
 						processDozerFieldMapping(entityToAdaptedEntity, superMapping, result);
 					}
@@ -102,6 +108,42 @@ public class DozerUtil {
 		}
 	}
 
+	/**
+	 * Describes the dozer mappings between the dozer entity and the adapted entity
+	 * in both directions, so that a change of the mapping configuration changes
+	 * the description.
+	 * 
+	 * @param entityInformation the dozer entity metadata
+	 * @return the mapping description, empty if there is no class mapping
+	 */
+	public String getMappingFingerprint(DozerEntityMetadata<?> entityInformation) {
+		StringBuilder result = new StringBuilder();
+		appendMappingFingerprint(result, getClassMap(entityInformation.getJavaType(),
+				entityInformation.getAdaptedJavaType(), entityInformation.getDozerMapId()));
+		appendMappingFingerprint(result, getClassMap(entityInformation.getAdaptedJavaType(),
+				entityInformation.getJavaType(), entityInformation.getDozerMapId()));
+		return result.toString();
+	}
+
+	private static void appendMappingFingerprint(StringBuilder result, ClassMap mapping) {
+		if (mapping == null) {
+			return;
+		}
+
+		result.append(mapping.getSrcClassName()).append("->").append(mapping.getDestClassName()).append('[')
+				.append(mapping.getMapId()).append(',').append(mapping.getType()).append(',')
+				.append(mapping.isWildcard()).append(',').append(mapping.isWildcardCaseInsensitive()).append(',')
+				.append(mapping.getDateFormat()).append("]{");
+		for (FieldMap fieldMap : mapping.getFieldMaps()) {
+			result.append(fieldMap.getClass().getSimpleName()).append('(').append(fieldMap.getSrcFieldName())
+					.append("->").append(fieldMap.getDestFieldName()).append(',').append(fieldMap.getType())
+					.append(',').append(fieldMap.getCustomConverter()).append(',').append(fieldMap.getMapId())
+					.append(',').append(fieldMap.isCopyByReference()).append(',').append(fieldMap.getDateFormat())
+					.append(')');
+		}
+		result.append('}');
+	}
+
 	/**
 	 * check if dozer can convert object of srcClass to object of destClass
 	 * 
@@ -118,14 +160,43 @@ public class DozerUtil {
 			return true;
 		}
 
+		return hasCustomConverter(srcClass, destClass);
+	}
+
+	/**
+	 * check if there is a global dozer custom converter from srcClass to destClass
+	 * 
+	 * @param srcClass  the source class
+	 * @param destClass the destination class
+	 * 
+	 * @return true if there is a custom converter, false otherwise
+	 */
+	public boolean hasCustomConverter(Class<?> srcClass, Class<?> destClass) {
 		Configuration configuration = getGlobalConfiguration();
 
-		if (configuration.getCustomConverters() != null
-				&& configuration.getCustomConverters().findConverter(srcClass, destClass) != null) {
-			return true;
-		}
+		return configuration.getCustomConverters() != null
+				&& configuration.getCustomConverters().findConverter(srcClass, destClass) != null;
+	}
 
-		return false;
+	/**
+	 * Returns the {@link LazyMappingFieldMapper} the dozer mapper has been built
+	 * with.
+	 * 
+	 * @return the lazy mapping field mapper
+	 * @throws IllegalStateException if the dozer mapper has no lazy mapping field
+	 *                               mapper
+	 */
+	public LazyMappingFieldMapper getLazyMappingFieldMapper() {
+		CustomFieldMapper customFieldMapper = dozerMapper instanceof DozerBeanMapper
+				? ((DozerBeanMapper) dozerMapper).getCustomFieldMapper()
+				: null;
+		Assert.state(customFieldMapper instanceof LazyMappingFieldMapper,
+				"Lazy mapped properties require a dozer mapper built with DozerBeanMapperBuilder.withCustomFieldMapper("
+						+ LazyMappingFieldMapper.class.getSimpleName() + ")!");
+
+		LazyMappingFieldMapper result = (LazyMappingFieldMapper) customFieldMapper;
+		result.setDozerMapper(dozerMapper);
+		return result;
 	}
 
 	protected ClassMap getClassMap(Class<?> srcClass, Class<?> destClass, String mapId) {
@@ -0,0 +1,134 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.dozer.annotation.DozerRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * The entity cache side of a dozer repository.
+ *
+ * @author kchobantonov
+ * @see DozerRepository#entityCache()
+ */
+class EntityCacheSupport<T> {
+	private static final Logger LOG = LoggerFactory.getLogger(EntityCacheSupport.class);
+
+	private final DozerEntityInformation<T, ?> entityInformation;
+	private final UnaryOperator<Object> copier;
+
+	/**
+	 * @param entityInformation
+	 * @param copier            copies a dozer entity
+	 */
+	EntityCacheSupport(DozerEntityInformation<T, ?> entityInformation, UnaryOperator<Object> copier) {
+		Assert.notNull(entityInformation, "DozerEntityInformation must not be null!");
+		Assert.notNull(copier, "Copier must not be null!");
+
+		this.entityInformation = entityInformation;
+		this.copier = copier;
+	}
+
+	/**
+	 * Creates the entity cache of the repository.
+	 *
+	 * @param dozerRepository      the repository annotation
+	 * @param lazyMappedProperties the names of the lazy mapped properties of the
+	 *                             dozer entity
+	 * @return
+	 */
+	MappedEntityCache createCache(DozerRepository dozerRepository, Set<String> lazyMappedProperties) {
+		Class<T> javaType = entityInformation.getJavaType();
+		Assert.state(lazyMappedProperties.isEmpty(), "The dozer entity " + javaType.getName()
+				+ " of a repository with entity cache must not have lazy mapped properties");
+
+		EntityCodec codec = null;
+		if (dozerRepository.entityCacheOffHeapCapacity() > 0) {
+			codec = EntityCodec.of(entityInformation.getPersistentEntity());
+			if (codec == null) {
+				LOG.warn("Caching dozer entities {} on-heap only, only simple properties can be stored off-heap,"
+						+ " unsupported properties: {}", javaType.getName(),
+						EntityCodec.getUnsupportedProperties(entityInformation.getPersistentEntity()));
+			}
+		}
+
+		return new MappedEntityCache(dozerRepository.entityCacheHeapSize(), codec,
+				dozerRepository.entityCacheOffHeapCapacity(), dozerRepository.entityCacheTimeToLive(), copier);
+	}
+
+	/**
+	 * Returns the entity cache to read from, unless a read-write transaction is
+	 * active.
+	 *
+	 * @param entityCache the entity cache of the repository, can be
+	 *                    {@literal null}
+	 * @return the entity cache or {@literal null}
+	 */
+	@Nullable
+	MappedEntityCache getReadable(@Nullable MappedEntityCache entityCache) {
+		return entityCache == null || (TransactionSynchronizationManager.isActualTransactionActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) ? null : entityCache;
+	}
+
+	/**
+	 * Returns the cached dozer entity or reads and caches it.
+	 *
+	 * @param entityCache the entity cache of the repository, can be
+	 *                    {@literal null}
+	 * @param resourceId  must not be {@literal null}
+	 * @param read        reads the dozer entity
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	Optional<T> findById(@Nullable MappedEntityCache entityCache, Object resourceId, Supplier<Optional<T>> read) {
+		MappedEntityCache readable = getReadable(entityCache);
+		if (readable == null) {
+			return read.get();
+		}
+
+		Object cached = readable.get(resourceId);
+		if (cached != null) {
+			return Optional.of((T) cached);
+		}
+
+		long stamp = readable.getStamp(resourceId);
+		Optional<T> result = read.get();
+		result.ifPresent(resource -> readable.put(resourceId, resource, stamp));
+		return result;
+	}
+
+	/**
+	 * Returns whether the dozer entity with the given identifier is cached.
+	 *
+	 * @param entityCache the entity cache of the repository, can be
+	 *                    {@literal null}
+	 * @param resourceId  can be {@literal null}
+	 * @return
+	 */
+	boolean contains(@Nullable MappedEntityCache entityCache, @Nullable Object resourceId) {
+		MappedEntityCache readable = getReadable(entityCache);
+		return readable != null && resourceId != null && readable.contains(resourceId);
+	}
+
+	/**
+	 * Evicts the written dozer identifiers.
+	 *
+	 * @param entityCache the entity cache of the repository, can be
+	 *                    {@literal null}
+	 * @param resourceIds
+	 * @see MappedEntityCache#evictAfterCompletion(Collection)
+	 */
+	void evict(@Nullable MappedEntityCache entityCache, Collection<?> resourceIds) {
+		if (entityCache != null && !resourceIds.isEmpty()) {
+			entityCache.evictAfterCompletion(resourceIds);
+		}
+	}
+}
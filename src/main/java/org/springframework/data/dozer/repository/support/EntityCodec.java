@@ -0,0 +1,440 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.SimpleAssociationHandler;
+import org.springframework.data.mapping.SimplePropertyHandler;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Binary encoding of dozer entities whose persistent properties all have
+ * simple types and which have no associations. The schema is the list of the non-transient persistent
+ * properties in declaration order, every value is written as a presence byte
+ * followed by a fixed or length prefixed encoding of its type.
+ * <p>
+ * Entities are decoded into new instances created with the default
+ * constructor.
+ *
+ * @author kchobantonov
+ */
+class EntityCodec {
+
+	private enum ValueType {
+		STRING {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return new String(readBytes(in), StandardCharsets.UTF_8);
+			}
+		},
+		LONG {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeLong((Long) value);
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return in.getLong();
+			}
+		},
+		INTEGER {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeInt((Integer) value);
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return in.getInt();
+			}
+		},
+		SHORT {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeShort((Short) value);
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return in.getShort();
+			}
+		},
+		BYTE {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeByte((Byte) value);
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return in.get();
+			}
+		},
+		DOUBLE {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeDouble((Double) value);
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return in.getDouble();
+			}
+		},
+		FLOAT {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeFloat((Float) value);
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return in.getFloat();
+			}
+		},
+		BOOLEAN {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeBoolean((Boolean) value);
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return in.get() != 0;
+			}
+		},
+		CHARACTER {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeChar((Character) value);
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return in.getChar();
+			}
+		},
+		BIG_DECIMAL {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeInt(((BigDecimal) value).scale());
+				writeBytes(out, ((BigDecimal) value).unscaledValue().toByteArray());
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				int scale = in.getInt();
+				return new BigDecimal(new BigInteger(readBytes(in)), scale);
+			}
+		},
+		BIG_INTEGER {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				writeBytes(out, ((BigInteger) value).toByteArray());
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return new BigInteger(readBytes(in));
+			}
+		},
+		UUID_VALUE {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeLong(((UUID) value).getMostSignificantBits());
+				out.writeLong(((UUID) value).getLeastSignificantBits());
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return new UUID(in.getLong(), in.getLong());
+			}
+		},
+		DATE {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeLong(((Date) value).getTime());
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return new Date(in.getLong());
+			}
+		},
+		INSTANT {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeLong(((Instant) value).getEpochSecond());
+				out.writeInt(((Instant) value).getNano());
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return Instant.ofEpochSecond(in.getLong(), in.getInt());
+			}
+		},
+		LOCAL_DATE {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeLong(((LocalDate) value).toEpochDay());
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return LocalDate.ofEpochDay(in.getLong());
+			}
+		},
+		LOCAL_TIME {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeLong(((LocalTime) value).toNanoOfDay());
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return LocalTime.ofNanoOfDay(in.getLong());
+			}
+		},
+		LOCAL_DATE_TIME {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+				out.writeLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+			}
+
+			@Override
+			Object read(ByteBuffer in, Class<?> type) {
+				return LocalDateTime.of(LocalDate.ofEpochDay(in.getLong()), LocalTime.ofNanoOfDay(in.getLong()));
+			}
+		},
+		ENUM {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				STRING.write(out, ((Enum<?>) value).name());
+			}
+
+			@Override
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			Object read(ByteBuffer in, Class<?> type) {
+				return Enum.valueOf((Class<? extends Enum>) type, (String) STRING.read(in, String.class));
+			}
+		};
+
+		abstract void write(DataOutputStream out, Object value) throws IOException;
+
+		abstract Object read(ByteBuffer in, Class<?> type);
+
+		@Nullable
+		static ValueType of(Class<?> type) {
+			Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+			if (wrapper == String.class) {
+				return STRING;
+			} else if (wrapper == Long.class) {
+				return LONG;
+			} else if (wrapper == Integer.class) {
+				return INTEGER;
+			} else if (wrapper == Short.class) {
+				return SHORT;
+			} else if (wrapper == Byte.class) {
+				return BYTE;
+			} else if (wrapper == Double.class) {
+				return DOUBLE;
+			} else if (wrapper == Float.class) {
+				return FLOAT;
+			} else if (wrapper == Boolean.class) {
+				return BOOLEAN;
+			} else if (wrapper == Character.class) {
+				return CHARACTER;
+			} else if (wrapper == BigDecimal.class) {
+				return BIG_DECIMAL;
+			} else if (wrapper == BigInteger.class) {
+				return BIG_INTEGER;
+			} else if (wrapper == UUID.class) {
+				return UUID_VALUE;
+			} else if (wrapper == Date.class) {
+				return DATE;
+			} else if (wrapper == Instant.class) {
+				return INSTANT;
+			} else if (wrapper == LocalDate.class) {
+				return LOCAL_DATE;
+			} else if (wrapper == LocalTime.class) {
+				return LOCAL_TIME;
+			} else if (wrapper == LocalDateTime.class) {
+				return LOCAL_DATE_TIME;
+			} else if (wrapper.isEnum()) {
+				return ENUM;
+			}
+			return null;
+		}
+	}
+
+	private static class Field {
+		private final PersistentProperty<?> property;
+		private final ValueType valueType;
+
+		Field(PersistentProperty<?> property, ValueType valueType) {
+			this.property = property;
+			this.valueType = valueType;
+		}
+
+		Object read(ByteBuffer in) {
+			return valueType.read(in, property.getType());
+		}
+	}
+
+	private final PersistentEntity<?, ?> persistentEntity;
+	private final List<Field> fields;
+	private final String schema;
+
+	private EntityCodec(PersistentEntity<?, ?> persistentEntity, List<Field> fields) {
+		this.persistentEntity = persistentEntity;
+		this.fields = fields;
+
+		StringBuilder description = new StringBuilder(persistentEntity.getType().getName());
+		for (Field field : fields) {
+			description.append(';').append(field.property.getName()).append(':')
+					.append(field.property.getType().getName());
+		}
+		this.schema = description.toString();
+	}
+
+	/**
+	 * Creates the codec of the given entity.
+	 *
+	 * @param persistentEntity
+	 * @return the codec or {@literal null} if the entity has no default
+	 *         constructor or a persistent property or association that cannot be
+	 *         encoded
+	 * @see #getUnsupportedProperties(PersistentEntity)
+	 */
+	@Nullable
+	static EntityCodec of(PersistentEntity<?, ?> persistentEntity) {
+		Class<?> type = persistentEntity.getType();
+		if (type.isInterface() || !ClassUtils.hasConstructor(type)
+				|| !getUnsupportedProperties(persistentEntity).isEmpty()) {
+			return null;
+		}
+
+		List<Field> fields = new ArrayList<Field>();
+		persistentEntity.doWithProperties((SimplePropertyHandler) property -> {
+			if (!property.isTransient()) {
+				fields.add(new Field(property, ValueType.of(property.getType())));
+			}
+		});
+
+		return new EntityCodec(persistentEntity, Collections.unmodifiableList(fields));
+	}
+
+	/**
+	 * Returns the names of the persistent properties and associations of the
+	 * given entity that cannot be encoded, so that an entity is never decoded with
+	 * silently missing values.
+	 *
+	 * @param persistentEntity
+	 * @return the property names, empty if all properties can be encoded
+	 */
+	static List<String> getUnsupportedProperties(PersistentEntity<?, ?> persistentEntity) {
+		List<String> result = new ArrayList<String>();
+		persistentEntity.doWithProperties((SimplePropertyHandler) property -> {
+			if (property.isTransient()) {
+				return;
+			}
+			if (property.isEntity() || property.isCollectionLike() || property.isMap()
+					|| ValueType.of(property.getType()) == null) {
+				result.add(property.getName());
+			}
+		});
+		persistentEntity.doWithAssociations((SimpleAssociationHandler) association -> {
+			if (!association.getInverse().isTransient()) {
+				result.add(association.getInverse().getName());
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Returns a hash of the encoded properties and their types, which changes
+	 * whenever the encoding of the entity changes.
+	 *
+	 * @return
+	 */
+	String getSchemaHash() {
+		return DigestUtils.md5DigestAsHex(schema.getBytes(StandardCharsets.UTF_8));
+	}
+
+	byte[] encode(Object entity) {
+		Assert.notNull(entity, "Entity must not be null!");
+
+		PersistentPropertyAccessor<?> accessor = persistentEntity.getPropertyAccessor(entity);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			for (Field field : fields) {
+				Object value = accessor.getProperty(field.property);
+				out.writeBoolean(value != null);
+				if (value != null) {
+					field.valueType.write(out, value);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes an entity starting at the position of the given buffer, advancing
+	 * the position behind the entity.
+	 *
+	 * @param in
+	 * @return the new entity instance
+	 */
+	Object decode(ByteBuffer in) {
+		Object result = BeanUtils.instantiateClass(persistentEntity.getType());
+		PersistentPropertyAccessor<?> accessor = persistentEntity.getPropertyAccessor(result);
+		for (Field field : fields) {
+			if (in.get() != 0) {
+				accessor.setProperty(field.property, field.read(in));
+			}
+		}
+		return result;
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+		out.writeInt(value.length);
+		out.write(value);
+	}
+
+	private static byte[] readBytes(ByteBuffer in) {
+		byte[] result = new byte[in.getInt()];
+		in.get(result);
+		return result;
+	}
+}
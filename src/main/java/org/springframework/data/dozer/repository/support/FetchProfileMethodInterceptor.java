@@ -0,0 +1,81 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.dozer.annotation.WithFetchProfile;
+import org.springframework.data.dozer.repository.FetchProfiles;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link MethodInterceptor} invoking repository methods annotated with
+ * {@link WithFetchProfile} within the selected {@link FetchProfiles fetch
+ * profile}.
+ *
+ * @author kchobantonov
+ */
+public class FetchProfileMethodInterceptor implements MethodInterceptor {
+
+	private static final String NONE = "";
+
+	private final Map<Method, String> profiles = new ConcurrentHashMap<Method, String>();
+
+	/**
+	 * Returns whether any method of the given repository interface selects a fetch
+	 * profile.
+	 *
+	 * @param repositoryInterface
+	 * @return
+	 */
+	public static boolean hasFetchProfileMethods(Class<?> repositoryInterface) {
+		for (Method method : ReflectionUtils.getAllDeclaredMethods(repositoryInterface)) {
+			if (AnnotatedElementUtils.hasAnnotation(method, WithFetchProfile.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.aopalliance.intercept.MethodInterceptor#invoke(org.aopalliance.intercept.
+	 * MethodInvocation)
+	 */
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		String profile = profiles.computeIfAbsent(invocation.getMethod(), method -> {
+			WithFetchProfile withFetchProfile = AnnotatedElementUtils.findMergedAnnotation(method,
+					WithFetchProfile.class);
+			return withFetchProfile == null ? NONE : withFetchProfile.value();
+		});
+
+		if (profile == NONE) {
+			return invocation.proceed();
+		}
+
+		try {
+			return FetchProfiles.call(profile, () -> {
+				try {
+					return invocation.proceed();
+				} catch (Throwable e) {
+					throw new InvocationFailure(e);
+				}
+			});
+		} catch (InvocationFailure e) {
+			throw e.getCause();
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class InvocationFailure extends RuntimeException {
+		InvocationFailure(Throwable cause) {
+			super(cause);
+		}
+	}
+}
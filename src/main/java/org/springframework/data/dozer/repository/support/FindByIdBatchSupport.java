@@ -0,0 +1,122 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.dozer.annotation.DozerRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * The {@code findById} batching side of a dozer repository.
+ *
+ * @author kchobantonov
+ * @see DozerRepository#batchFindById()
+ */
+class FindByIdBatchSupport<T, ID> {
+
+	private final DozerEntityInformation<T, ?> entityInformation;
+	private final Supplier<ConversionService> conversionService;
+	private final Function<ID, Object> toAdaptedId;
+	private final BiFunction<Iterable<ID>, Collection<Object>, List<T>> findAllById;
+	private final UnaryOperator<Object> copier;
+
+	/**
+	 * @param entityInformation
+	 * @param conversionService supplies the conversion service of the repository,
+	 *                          which can be {@literal null}
+	 * @param toAdaptedId       maps a dozer identifier to the adapted identifier
+	 * @param findAllById       reads the dozer entities of the given identifiers
+	 *                          and collects the unmapped identifiers
+	 * @param copier            copies a dozer entity
+	 */
+	FindByIdBatchSupport(DozerEntityInformation<T, ?> entityInformation,
+			Supplier<ConversionService> conversionService, Function<ID, Object> toAdaptedId,
+			BiFunction<Iterable<ID>, Collection<Object>, List<T>> findAllById, UnaryOperator<Object> copier) {
+		Assert.notNull(entityInformation, "DozerEntityInformation must not be null!");
+		Assert.notNull(conversionService, "ConversionService supplier must not be null!");
+		Assert.notNull(toAdaptedId, "Id mapper must not be null!");
+		Assert.notNull(findAllById, "FindAllById must not be null!");
+		Assert.notNull(copier, "Copier must not be null!");
+
+		this.entityInformation = entityInformation;
+		this.conversionService = conversionService;
+		this.toAdaptedId = toAdaptedId;
+		this.findAllById = findAllById;
+		this.copier = copier;
+	}
+
+	/**
+	 * Creates the batcher of the repository.
+	 *
+	 * @param dozerRepository the repository annotation
+	 * @param executor        reads the batches, can be {@literal null} to read
+	 *                        them on the thread closing the batch
+	 * @return
+	 */
+	FindByIdBatcher createBatcher(DozerRepository dozerRepository, @Nullable Executor executor) {
+		return new FindByIdBatcher(this::toBatchKey, this::findAllByIdBatch, copier,
+				dozerRepository.batchFindByIdSize(), dozerRepository.batchFindByIdWindow(), executor);
+	}
+
+	/**
+	 * Returns the batcher to coalesce a {@code findById} with, unless the read
+	 * has to see the state of the current transaction or go to the primary
+	 * adapted repository.
+	 *
+	 * @param batcher         the batcher of the repository, can be
+	 *                        {@literal null}
+	 * @param readFromPrimary whether the read has to go to the primary adapted
+	 *                        repository
+	 * @return the batcher or {@literal null}
+	 */
+	@Nullable
+	FindByIdBatcher getBatcher(@Nullable FindByIdBatcher batcher, boolean readFromPrimary) {
+		return batcher == null || TransactionSynchronizationManager.isActualTransactionActive()
+				|| TransactionSynchronizationManager.isSynchronizationActive() || readFromPrimary ? null : batcher;
+	}
+
+	/**
+	 * Returns the key a {@code findById} is coalesced by, the identifier as it is
+	 * passed to the adapted repository.
+	 *
+	 * @param resourceId
+	 * @return the adapted identifier
+	 */
+	@SuppressWarnings("unchecked")
+	Object toBatchKey(Object resourceId) {
+		Class<?> idType = entityInformation.getIdType();
+		ConversionService conversionService = this.conversionService.get();
+		if (!idType.isInstance(resourceId) && conversionService != null
+				&& conversionService.canConvert(resourceId.getClass(), idType)) {
+			resourceId = conversionService.convert(resourceId, idType);
+		}
+		return toAdaptedId.apply((ID) resourceId);
+	}
+
+	/**
+	 * Reads a batch of coalesced {@code findById} calls with one
+	 * {@code findAllById}.
+	 *
+	 * @param resourceIds
+	 * @return the dozer entities by identifier
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<Object, Object> findAllByIdBatch(List<Object> resourceIds) {
+		Map<Object, Object> result = new HashMap<Object, Object>();
+		for (T resource : findAllById.apply((Iterable<ID>) (Iterable<?>) resourceIds, new ArrayList<Object>())) {
+			result.put(entityInformation.getId(resource), resource);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,235 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Coalesces concurrent reads of dozer entities by identifier.
+ *
+ * @author kchobantonov
+ * @see org.springframework.data.dozer.annotation.DozerRepository#batchFindById()
+ */
+public class FindByIdBatcher {
+
+	private static class SchedulerHolder {
+		private static final ScheduledExecutorService SCHEDULER = Executors
+				.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "dozer-find-by-id");
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	private static class Batch {
+		private final List<Object> ids = new ArrayList<Object>();
+		private final List<Object> keys = new ArrayList<Object>();
+	}
+
+	private final Function<Object, Object> keyMapper;
+	private final Function<List<Object>, Map<Object, Object>> loader;
+	private final UnaryOperator<Object> copier;
+	private final int batchSize;
+	private final long windowMillis;
+	private final @Nullable Executor executor;
+	private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<Object, CompletableFuture<Object>>();
+	private final Object monitor = new Object();
+	private Batch batch = new Batch();
+	private boolean closed;
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder loadedIds = new LongAdder();
+
+	/**
+	 * @param keyMapper    maps an identifier to its key
+	 * @param loader       reads the dozer entities of the given identifiers by
+	 *                     identifier, missing identifiers are not found
+	 * @param copier       copies a dozer entity for every further caller waiting
+	 *                     for its read
+	 * @param batchSize    the maximum number of identifiers read at once
+	 * @param windowMillis the time identifiers are collected
+	 * @param executor     reads the batches whose window has passed, can be
+	 *                     {@literal null} to read them on the scheduler thread
+	 */
+	FindByIdBatcher(Function<Object, Object> keyMapper, Function<List<Object>, Map<Object, Object>> loader,
+			UnaryOperator<Object> copier, int batchSize, long windowMillis, @Nullable Executor executor) {
+		Assert.notNull(keyMapper, "Key mapper must not be null!");
+		Assert.notNull(loader, "Loader must not be null!");
+		Assert.notNull(copier, "Copier must not be null!");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+		Assert.isTrue(windowMillis >= 0, "Batch window must not be negative!");
+
+		this.keyMapper = keyMapper;
+		this.loader = loader;
+		this.copier = copier;
+		this.batchSize = batchSize;
+		this.windowMillis = windowMillis;
+		this.executor = executor;
+	}
+
+	/**
+	 * Reads the dozer entity of the given identifier, waiting for the batch it is
+	 * read with.
+	 *
+	 * @param id must not be {@literal null}
+	 * @return the dozer entity or {@literal null} if not found
+	 */
+	@Nullable
+	public Object findById(Object id) {
+		Assert.notNull(id, "Id must not be null!");
+
+		requests.increment();
+
+		CompletableFuture<Object> created = new CompletableFuture<Object>();
+		Object key = keyMapper.apply(id);
+		CompletableFuture<Object> future = inFlight.putIfAbsent(key, created);
+		if (future == null) {
+			future = created;
+			add(id, key);
+		}
+
+		try {
+			Object result = future.join();
+			return future == created || result == null ? result : copier.apply(result);
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private void add(Object id, Object key) {
+		Batch full = null;
+		synchronized (monitor) {
+			Batch current = batch;
+			current.ids.add(id);
+			current.keys.add(key);
+			if (closed || current.ids.size() >= batchSize) {
+				full = current;
+				batch = new Batch();
+			} else if (current.ids.size() == 1) {
+				try {
+					SchedulerHolder.SCHEDULER.schedule(() -> expire(current), windowMillis, TimeUnit.MILLISECONDS);
+				} catch (RejectedExecutionException e) {
+					// read right away
+					full = current;
+					batch = new Batch();
+				}
+			}
+		}
+
+		if (full != null) {
+			load(full);
+		}
+	}
+
+	private void expire(Batch expired) {
+		synchronized (monitor) {
+			if (batch != expired) {
+				// already read as a full batch
+				return;
+			}
+			batch = new Batch();
+		}
+
+		if (executor == null) {
+			load(expired);
+			return;
+		}
+		try {
+			executor.execute(() -> load(expired));
+		} catch (RuntimeException e) {
+			fail(expired, e);
+		}
+	}
+
+	private void load(Batch loading) {
+		batches.increment();
+		loadedIds.add(loading.ids.size());
+
+		Map<Object, Object> entities = new HashMap<Object, Object>();
+		try {
+			for (Map.Entry<Object, Object> entity : loader.apply(Collections.unmodifiableList(loading.ids))
+					.entrySet()) {
+				entities.put(keyMapper.apply(entity.getKey()), entity.getValue());
+			}
+		} catch (RuntimeException | Error e) {
+			// rethrown to every caller waiting for the batch
+			fail(loading, e);
+			return;
+		}
+
+		for (Object key : loading.keys) {
+			// later reads of the identifier start a new read
+			inFlight.remove(key).complete(entities.get(key));
+		}
+	}
+
+	private void fail(Batch failed, Throwable failure) {
+		for (Object key : failed.keys) {
+			inFlight.remove(key).completeExceptionally(failure);
+		}
+	}
+
+	/**
+	 * Fails the calls waiting for the current batch, later calls are read right
+	 * away without a batch window.
+	 */
+	public void close() {
+		synchronized (monitor) {
+			closed = true;
+			if (!batch.ids.isEmpty()) {
+				fail(batch, new IllegalStateException("Repository has been closed"));
+				batch = new Batch();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of {@code findById} calls.
+	 *
+	 * @return
+	 */
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	/**
+	 * Returns the number of batches read.
+	 *
+	 * @return
+	 */
+	public long getBatches() {
+		return batches.sum();
+	}
+
+	/**
+	 * Returns the number of identifiers read in all batches, the difference to
+	 * {@link #getRequests()} are the calls that waited for a read in flight.
+	 *
+	 * @return
+	 */
+	public long getLoadedIds() {
+		return loadedIds.sum();
+	}
+}
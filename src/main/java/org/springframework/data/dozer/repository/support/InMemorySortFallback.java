@@ -0,0 +1,423 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.NullHandling;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.dozer.repository.KeysetSlice;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Sorts and filters dozer entities in memory, for sorts by properties that only
+ * exist on the dozer entity, e.g. properties computed by a custom converter,
+ * which the adapted repository cannot sort by. The adapted entities are read
+ * in keyset chunks ordered by their identifier and mapped, dozer entities of
+ * equal sort keys therefore keep the order of their adapted identifiers.
+ * <p>
+ * At most the threshold of dozer entities is kept in memory. Pages within the
+ * threshold keep only the first dozer entities, larger pages are sorted in runs
+ * of sort keys and adapted identifiers which are spilled to temp files and
+ * merged, the dozer entities of the page are then read again by identifier.
+ * Unpaged reads of more dozer entities than the threshold are rejected.
+ *
+ * @author kchobantonov
+ * @see org.springframework.data.dozer.annotation.DozerRepository#inMemorySortThreshold()
+ */
+public class InMemorySortFallback {
+
+	/**
+	 * Reads the adapted entities for a sort in memory.
+	 */
+	interface AdaptedReader {
+
+		/**
+		 * Reads the adapted entities following the cursor.
+		 *
+		 * @param adaptedSort the adapted sort
+		 * @param size        the maximum number of adapted entities
+		 * @param cursor      the cursor of the previous chunk or {@literal null}
+		 * @return the adapted entities with the cursor of the next chunk
+		 */
+		KeysetSlice<?> findAllAfter(Sort adaptedSort, int size, @Nullable String cursor);
+
+		Object getId(Object adaptedEntity);
+
+		/**
+		 * Maps the adapted entities to dozer entities in the same order.
+		 */
+		List<Object> toDozerEntities(List<?> adaptedEntities);
+
+		/**
+		 * Reads the dozer entities of the given adapted identifiers.
+		 *
+		 * @return the dozer entities by adapted identifier
+		 */
+		Map<Object, Object> findAllById(List<Object> adaptedIds);
+	}
+
+	/**
+	 * The sort key values and the adapted identifier of a dozer entity, together
+	 * with the dozer entity while it is in memory.
+	 */
+	private static class SortKey {
+		private final Object[] values;
+		private final Object id;
+		private final @Nullable Object entity;
+
+		SortKey(Object[] values, Object id, @Nullable Object entity) {
+			this.values = values;
+			this.id = id;
+			this.entity = entity;
+		}
+	}
+
+	/**
+	 * The fields of a sort property path, e.g. {@code address.city}, resolved once
+	 * per sort.
+	 */
+	static class SortProperty {
+		private final Field[] path;
+
+		SortProperty(Class<?> type, String property) {
+			String[] names = property.split("\\.");
+			this.path = new Field[names.length];
+			for (int i = 0; i < names.length; i++) {
+				Field field = ReflectionUtils.findField(type, names[i]);
+				Assert.isTrue(field != null,
+						"Unable to sort by " + property + ", no property " + names[i] + " found on " + type.getName());
+				ReflectionUtils.makeAccessible(field);
+				path[i] = field;
+				type = field.getType();
+			}
+		}
+
+		@Nullable
+		Object getValue(Object entity) {
+			Object result = entity;
+			for (int i = 0; i < path.length && result != null; i++) {
+				result = ReflectionUtils.getField(path[i], result);
+			}
+			return result;
+		}
+
+		Class<?> getType() {
+			return path[path.length - 1].getType();
+		}
+	}
+
+	private final Class<?> domainType;
+	private final Sort chunkSort;
+	private final int chunkSize;
+	private final int threshold;
+
+	private final LongAdder spilledRuns = new LongAdder();
+
+	/**
+	 * @param domainType the dozer entity type
+	 * @param chunkSort  the unique sort of the adapted entities read in chunks
+	 * @param chunkSize  the number of adapted entities read at once
+	 * @param threshold  the maximum number of dozer entities kept in memory
+	 */
+	InMemorySortFallback(Class<?> domainType, Sort chunkSort, int chunkSize, int threshold) {
+		Assert.notNull(chunkSort, "Chunk sort must not be null!");
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+		Assert.isTrue(threshold > 0, "Threshold must be greater than zero!");
+
+		this.domainType = domainType;
+		this.chunkSort = chunkSort;
+		this.chunkSize = chunkSize;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Reads the page of the sorted dozer entities matching the filter.
+	 *
+	 * @param sort     the sort by properties of the dozer entity
+	 * @param pageable the page to return, can be unpaged
+	 * @param filter   the filter of the dozer entities, can be {@literal null}
+	 * @param reader   reads the adapted entities
+	 * @return the page together with the number of all matching dozer entities
+	 */
+	public Page<Object> findAll(Sort sort, Pageable pageable, @Nullable Predicate<Object> filter,
+			AdaptedReader reader) {
+		long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+		int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+		// the dozer entities a page within the threshold needs
+		int keep = offset + limit < threshold ? (int) offset + limit : -1;
+
+		List<SortProperty> properties = new ArrayList<SortProperty>();
+		for (Order order : sort) {
+			properties.add(new SortProperty(domainType, order.getProperty()));
+		}
+		Comparator<SortKey> comparator = comparator(sort);
+
+		List<Path> runs = new ArrayList<Path>();
+		List<SortKey> buffer = new ArrayList<SortKey>();
+		long total = 0;
+		try {
+			KeysetSlice<?> chunk;
+			String cursor = null;
+			do {
+				chunk = reader.findAllAfter(chunkSort, chunkSize, cursor);
+				List<?> adaptedEntities = chunk.getContent();
+				List<Object> entities = reader.toDozerEntities(adaptedEntities);
+				for (int i = 0; i < entities.size(); i++) {
+					Object entity = entities.get(i);
+					if (filter != null && !filter.test(entity)) {
+						continue;
+					}
+					total++;
+					buffer.add(toSortKey(properties, reader.getId(adaptedEntities.get(i)), entity));
+					if (pageable.isUnpaged()) {
+						Assert.state(buffer.size() <= threshold, "Unable to sort more than " + threshold
+								+ " dozer entities " + domainType.getName() + " in memory without a page!");
+					} else if (buffer.size() >= threshold) {
+						// stable, the earlier of equal dozer entities are kept first
+						buffer.sort(comparator);
+						if (keep >= 0) {
+							buffer.subList(keep, buffer.size()).clear();
+						} else {
+							runs.add(spill(buffer));
+							buffer.clear();
+						}
+					}
+				}
+				cursor = chunk.getNextCursor();
+			} while (cursor != null);
+
+			buffer.sort(comparator);
+			List<SortKey> page = merge(runs, properties, buffer, comparator, offset, limit);
+			return new PageImpl<Object>(toDozerEntities(page, reader), pageable, total);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			for (Path run : runs) {
+				try {
+					Files.deleteIfExists(run);
+				} catch (IOException e) {
+					// the temp file is left behind
+				}
+			}
+		}
+	}
+
+	private static SortKey toSortKey(List<SortProperty> properties, Object id, Object entity) {
+		Object[] values = new Object[properties.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = properties.get(i).getValue(entity);
+		}
+		return new SortKey(values, id, entity);
+	}
+
+	/**
+	 * Returns the dozer entities of the page, reading the ones merged from spilled
+	 * runs by their adapted identifier. Dozer entities deleted since are skipped.
+	 */
+	private static List<Object> toDozerEntities(List<SortKey> page, AdaptedReader reader) {
+		List<Object> ids = new ArrayList<Object>();
+		for (SortKey key : page) {
+			if (key.entity == null) {
+				ids.add(key.id);
+			}
+		}
+		Map<Object, Object> spilled = ids.isEmpty() ? null : reader.findAllById(ids);
+
+		List<Object> result = new ArrayList<Object>(page.size());
+		for (SortKey key : page) {
+			Object entity = key.entity != null ? key.entity : spilled.get(key.id);
+			if (entity != null) {
+				result.add(entity);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the sort keys to a temp file, prefixed by their number and each
+	 * written as its values followed by the adapted identifier.
+	 */
+	private Path spill(List<SortKey> sorted) throws IOException {
+		Path run = Files.createTempFile("dozer-sort-", ".run");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+			out.writeInt(sorted.size());
+			for (SortKey key : sorted) {
+				for (Object value : key.values) {
+					KeysetCursor.writeValue(out, value);
+				}
+				KeysetCursor.writeValue(out, key.id);
+			}
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(run);
+			throw e;
+		}
+		spilledRuns.increment();
+		return run;
+	}
+
+	private List<SortKey> merge(List<Path> runs, List<SortProperty> properties, List<SortKey> sorted,
+			Comparator<SortKey> comparator, long offset, int limit) throws IOException {
+		if (runs.isEmpty()) {
+			int from = (int) Math.min(offset, sorted.size());
+			return new ArrayList<SortKey>(sorted.subList(from, (int) Math.min(sorted.size(), from + (long) limit)));
+		}
+
+		// equal dozer entities are taken from the earlier run first
+		PriorityQueue<Head> heads = new PriorityQueue<Head>(runs.size() + 1,
+				Comparator.comparing((Head head) -> head.current, comparator).thenComparingInt(head -> head.run));
+		List<RunReader> readers = new ArrayList<RunReader>(runs.size());
+		try {
+			for (Path run : runs) {
+				RunReader reader = new RunReader(run, properties);
+				readers.add(reader);
+				heads.add(new Head(reader, readers.size()));
+			}
+			if (!sorted.isEmpty()) {
+				heads.add(new Head(sorted.iterator(), readers.size() + 1));
+			}
+
+			List<SortKey> result = new ArrayList<SortKey>(Math.min(limit, threshold));
+			long skipped = 0;
+			while (!heads.isEmpty() && result.size() < limit) {
+				Head head = heads.poll();
+				if (skipped < offset) {
+					skipped++;
+				} else {
+					result.add(head.current);
+				}
+				if (head.advance()) {
+					heads.add(head);
+				}
+			}
+			return result;
+		} finally {
+			for (RunReader reader : readers) {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * Native null handling orders null values last in ascending order, like the
+	 * merge of sharded dozer repositories.
+	 */
+	private static boolean isNullsFirst(Order order) {
+		return order.getNullHandling() == NullHandling.NULLS_FIRST
+				|| (order.getNullHandling() == NullHandling.NATIVE && order.isDescending());
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Comparator<SortKey> comparator(Sort sort) {
+		Comparator<SortKey> result = (left, right) -> 0;
+		int index = 0;
+		for (Order order : sort) {
+			Comparator values = order.isIgnoreCase() ? String.CASE_INSENSITIVE_ORDER : Comparator.naturalOrder();
+			if (order.isDescending()) {
+				values = values.reversed();
+			}
+			int i = index++;
+			result = result.thenComparing(key -> key.values[i],
+					isNullsFirst(order) ? Comparator.nullsFirst(values) : Comparator.nullsLast(values));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of sorted runs spilled to temp files.
+	 *
+	 * @return
+	 */
+	public long getSpilledRuns() {
+		return spilledRuns.sum();
+	}
+
+	public int getThreshold() {
+		return threshold;
+	}
+
+	private static class Head {
+		private final Iterator<SortKey> keys;
+		private final int run;
+		private SortKey current;
+
+		Head(Iterator<SortKey> keys, int run) {
+			this.keys = keys;
+			this.run = run;
+			this.current = keys.next();
+		}
+
+		boolean advance() {
+			if (!keys.hasNext()) {
+				return false;
+			}
+			current = keys.next();
+			return true;
+		}
+	}
+
+	/**
+	 * Reads the sort keys of a spilled run one at a time.
+	 */
+	private static class RunReader implements Iterator<SortKey>, Closeable {
+		private final DataInputStream in;
+		private final List<SortProperty> properties;
+		private int remaining;
+
+		RunReader(Path run, List<SortProperty> properties) throws IOException {
+			this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+			this.properties = properties;
+			this.remaining = in.readInt();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return remaining > 0;
+		}
+
+		@Override
+		public SortKey next() {
+			if (remaining == 0) {
+				throw new NoSuchElementException();
+			}
+			try {
+				Object[] values = new Object[properties.size()];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = KeysetCursor.resolveEnum(KeysetCursor.readValue(in), properties.get(i).getType());
+				}
+				Object id = KeysetCursor.readValue(in);
+				remaining--;
+				return new SortKey(values, id, null);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+}
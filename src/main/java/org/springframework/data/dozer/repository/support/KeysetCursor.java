@@ -0,0 +1,309 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Opaque cursor used by keyset pagination. Holds the adapted sort key values of
+ * the last returned row together with the offset of the next row so that
+ * adapted repositories without keyset support can still continue by offset.
+ * <p>
+ * Cursors are handed out to clients, so only a fixed set of value types is
+ * encoded and no java serialization is involved when decoding. Enum values are
+ * encoded by name only and resolved against the type of their sort property,
+ * no class names are read from a cursor. The sort a cursor was created for is
+ * identified by a hash of its canonical form, which is the same on every node
+ * and after a restart.
+ */
+class KeysetCursor {
+
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte LONG = 2;
+	private static final byte INTEGER = 3;
+	private static final byte SHORT = 4;
+	private static final byte BYTE = 5;
+	private static final byte DOUBLE = 6;
+	private static final byte FLOAT = 7;
+	private static final byte BOOLEAN = 8;
+	private static final byte CHARACTER = 9;
+	private static final byte BIG_DECIMAL = 10;
+	private static final byte BIG_INTEGER = 11;
+	private static final byte UUID_VALUE = 12;
+	private static final byte DATE = 13;
+	private static final byte INSTANT = 14;
+	private static final byte LOCAL_DATE = 15;
+	private static final byte LOCAL_DATE_TIME = 16;
+	private static final byte ENUM = 17;
+
+	private final int sortHash;
+	private final long offset;
+	private final @Nullable List<Object> values;
+
+	KeysetCursor(Sort sort, long offset, @Nullable List<Object> values) {
+		this(hash(sort), offset, values);
+	}
+
+	private KeysetCursor(int sortHash, long offset, @Nullable List<Object> values) {
+		this.sortHash = sortHash;
+		this.offset = offset;
+		this.values = values;
+	}
+
+	/**
+	 * Hashes the properties, directions, null handling and case sensitivity of the
+	 * given sort. Unlike {@link Sort#hashCode()} the hash does not depend on
+	 * identity hash codes.
+	 *
+	 * @param sort
+	 * @return
+	 */
+	static int hash(Sort sort) {
+		StringBuilder canonical = new StringBuilder();
+		for (Sort.Order order : sort) {
+			canonical.append(order.getProperty()).append(':').append(order.getDirection().name()).append(':')
+					.append(order.getNullHandling().name()).append(':').append(order.isIgnoreCase()).append(';');
+		}
+		// String.hashCode() is specified and therefore stable across JVMs
+		return canonical.toString().hashCode();
+	}
+
+	public long getOffset() {
+		return offset;
+	}
+
+	@Nullable
+	public List<Object> getValues() {
+		return values;
+	}
+
+	/**
+	 * Encodes this cursor as an URL safe string.
+	 *
+	 * @return
+	 */
+	public String encode() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(sortHash);
+			out.writeLong(offset);
+			out.writeInt(values == null ? -1 : values.size());
+			if (values != null) {
+				for (Object value : values) {
+					writeValue(out, value);
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+	}
+
+	/**
+	 * Decodes the given cursor and verifies it was created for the given sort.
+	 * Enum values are returned by their name, see
+	 * {@link #resolveEnum(Object, Class)}.
+	 *
+	 * @param cursor must not be {@literal null}.
+	 * @param sort   must not be {@literal null}.
+	 * @return
+	 */
+	public static KeysetCursor decode(String cursor, Sort sort) {
+		Assert.hasText(cursor, "Cursor must not be empty!");
+
+		KeysetCursor result;
+		try (DataInputStream in = new DataInputStream(
+				new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+			int sortHash = in.readInt();
+			long offset = in.readLong();
+			int size = in.readInt();
+			List<Object> values = null;
+			if (size >= 0) {
+				values = new ArrayList<Object>(Math.min(size, 16));
+				for (int i = 0; i < size; i++) {
+					values.add(readValue(in));
+				}
+			}
+			result = new KeysetCursor(sortHash, offset, values);
+		} catch (IOException | RuntimeException e) {
+			throw new IllegalArgumentException("Invalid keyset cursor " + cursor, e);
+		}
+
+		Assert.isTrue(result.offset >= 0, "Invalid keyset cursor " + cursor);
+		Assert.isTrue(result.sortHash == hash(sort),
+				"Keyset cursor " + cursor + " was not created for sort " + sort + "!");
+
+		return result;
+	}
+
+	/**
+	 * Writes a value of one of the supported value types, also used for the sort
+	 * keys spilled by {@link InMemorySortFallback}.
+	 *
+	 * @param out
+	 * @param value
+	 * @throws IOException
+	 */
+	static void writeValue(DataOutputStream out, @Nullable Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL);
+		} else if (value instanceof String) {
+			out.writeByte(STRING);
+			out.writeUTF((String) value);
+		} else if (value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) value);
+		} else if (value instanceof Integer) {
+			out.writeByte(INTEGER);
+			out.writeInt((Integer) value);
+		} else if (value instanceof Short) {
+			out.writeByte(SHORT);
+			out.writeShort((Short) value);
+		} else if (value instanceof Byte) {
+			out.writeByte(BYTE);
+			out.writeByte((Byte) value);
+		} else if (value instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double) value);
+		} else if (value instanceof Float) {
+			out.writeByte(FLOAT);
+			out.writeFloat((Float) value);
+		} else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		} else if (value instanceof Character) {
+			out.writeByte(CHARACTER);
+			out.writeChar((Character) value);
+		} else if (value instanceof BigDecimal) {
+			out.writeByte(BIG_DECIMAL);
+			out.writeUTF(value.toString());
+		} else if (value instanceof BigInteger) {
+			out.writeByte(BIG_INTEGER);
+			out.writeUTF(value.toString());
+		} else if (value instanceof UUID) {
+			out.writeByte(UUID_VALUE);
+			out.writeLong(((UUID) value).getMostSignificantBits());
+			out.writeLong(((UUID) value).getLeastSignificantBits());
+		} else if (value instanceof Date) {
+			out.writeByte(DATE);
+			out.writeLong(((Date) value).getTime());
+		} else if (value instanceof Instant) {
+			out.writeByte(INSTANT);
+			out.writeUTF(value.toString());
+		} else if (value instanceof LocalDate) {
+			out.writeByte(LOCAL_DATE);
+			out.writeUTF(value.toString());
+		} else if (value instanceof LocalDateTime) {
+			out.writeByte(LOCAL_DATE_TIME);
+			out.writeUTF(value.toString());
+		} else if (value instanceof Enum) {
+			out.writeByte(ENUM);
+			out.writeUTF(((Enum<?>) value).name());
+		} else {
+			throw new IllegalArgumentException("Unsupported keyset value type " + value.getClass().getName()
+					+ ". Only simple value types can be used as keyset sort keys!");
+		}
+	}
+
+	/**
+	 * Resolves a decoded value against the type of its sort property, enum values
+	 * are decoded by their name.
+	 *
+	 * @param value the decoded value
+	 * @param type  the type of the sort property
+	 * @return
+	 */
+	@Nullable
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static Object resolveEnum(@Nullable Object value, Class<?> type) {
+		if (value instanceof EnumName) {
+			Assert.isTrue(type.isEnum(), "Keyset cursor holds an enum value for the non enum type " + type.getName());
+			return Enum.valueOf((Class<Enum>) type, ((EnumName) value).name);
+		}
+		return value;
+	}
+
+	/**
+	 * The name of a decoded enum value, until its type is known.
+	 */
+	static final class EnumName {
+		private final String name;
+
+		EnumName(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	/**
+	 * Reads a value written by {@link #writeValue(DataOutputStream, Object)}.
+	 *
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	static Object readValue(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case NULL:
+			return null;
+		case STRING:
+			return in.readUTF();
+		case LONG:
+			return in.readLong();
+		case INTEGER:
+			return in.readInt();
+		case SHORT:
+			return in.readShort();
+		case BYTE:
+			return in.readByte();
+		case DOUBLE:
+			return in.readDouble();
+		case FLOAT:
+			return in.readFloat();
+		case BOOLEAN:
+			return in.readBoolean();
+		case CHARACTER:
+			return in.readChar();
+		case BIG_DECIMAL:
+			return new BigDecimal(in.readUTF());
+		case BIG_INTEGER:
+			return new BigInteger(in.readUTF());
+		case UUID_VALUE:
+			return new UUID(in.readLong(), in.readLong());
+		case DATE:
+			return new Date(in.readLong());
+		case INSTANT:
+			return Instant.parse(in.readUTF());
+		case LOCAL_DATE:
+			return LocalDate.parse(in.readUTF());
+		case LOCAL_DATE_TIME:
+			return LocalDateTime.parse(in.readUTF());
+		case ENUM:
+			return new EnumName(in.readUTF());
+		default:
+			throw new IllegalArgumentException("Unknown keyset value type " + type);
+		}
+	}
+}
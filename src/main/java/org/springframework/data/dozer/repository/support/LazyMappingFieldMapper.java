@@ -0,0 +1,357 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.lang.reflect.Modifier;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import com.github.dozermapper.core.CustomFieldMapper;
+import com.github.dozermapper.core.Mapper;
+import com.github.dozermapper.core.classmap.ClassMap;
+import com.github.dozermapper.core.fieldmap.FieldMap;
+
+/**
+ * Dozer {@link CustomFieldMapper} writing lazy values to the
+ * {@link org.springframework.data.dozer.annotation.LazyMapped} properties of
+ * dozer entities. Collections are wrapped into a collection mapping its
+ * elements on first access, associations into a class based proxy mapping its
+ * target on first method invocation. All other fields are passed to the given
+ * delegate.
+ * <p>
+ * Values are only mapped lazily inside of a transaction, which the adapted
+ * store needs to load its own lazy values. Accessing a value not mapped before
+ * the transaction completed fails with an {@link IllegalStateException}.
+ * Outside of a transaction the properties are mapped right away.
+ * <p>
+ * The field mapper is configured on the dozer mapper used by the dozer
+ * repositories:
+ *
+ * <pre class="code">
+ * DozerBeanMapperBuilder.create() //
+ * 		.withMappingFiles("dozer-mappings.xml") //
+ * 		.withCustomFieldMapper(new LazyMappingFieldMapper()) //
+ * 		.build();
+ * </pre>
+ *
+ * @author kchobantonov
+ */
+public class LazyMappingFieldMapper implements CustomFieldMapper {
+
+	private static class LazyProperty {
+		private final Class<?> type;
+		private final Class<?> actualType;
+		private final boolean collection;
+
+		LazyProperty(PersistentProperty<?> property) {
+			this.type = property.getType();
+			this.actualType = property.getActualType();
+			this.collection = property.isCollectionLike();
+		}
+	}
+
+	/**
+	 * Marks the lazy values created in a transaction as no longer resolvable once
+	 * the transaction completed.
+	 */
+	private static class TransactionScope implements TransactionSynchronization {
+		private final Object key;
+		private volatile boolean completed;
+
+		TransactionScope(Object key) {
+			this.key = key;
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			completed = true;
+			TransactionSynchronizationManager.unbindResourceIfPossible(key);
+		}
+	}
+
+	private final @Nullable CustomFieldMapper delegate;
+	private final Map<Class<?>, Map<String, LazyProperty>> lazyProperties = new ConcurrentHashMap<>();
+	private volatile @Nullable Mapper dozerMapper;
+
+	/**
+	 * Creates a lazy mapping field mapper without delegate.
+	 */
+	public LazyMappingFieldMapper() {
+		this(null);
+	}
+
+	/**
+	 * Creates a lazy mapping field mapper passing all other fields to the given
+	 * delegate.
+	 *
+	 * @param delegate can be {@literal null}.
+	 */
+	public LazyMappingFieldMapper(@Nullable CustomFieldMapper delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Binds the dozer mapper this field mapper has been configured on, the lazy
+	 * values are mapped with it.
+	 *
+	 * @param dozerMapper must not be {@literal null}.
+	 */
+	void setDozerMapper(Mapper dozerMapper) {
+		Assert.notNull(dozerMapper, "Mapper must not be null!");
+		Assert.state(this.dozerMapper == null || this.dozerMapper == dozerMapper,
+				"LazyMappingFieldMapper must not be configured on more than one dozer mapper!");
+		this.dozerMapper = dozerMapper;
+	}
+
+	/**
+	 * Maps the given property of the dozer entity type lazily.
+	 *
+	 * @param entityType must not be {@literal null}.
+	 * @param property   must not be {@literal null}.
+	 */
+	public void register(Class<?> entityType, PersistentProperty<?> property) {
+		Assert.notNull(entityType, "Entity type must not be null!");
+		Assert.notNull(property, "Property must not be null!");
+
+		if (property.isCollectionLike()) {
+			Assert.isTrue(
+					property.getType() == Collection.class || property.getType() == List.class
+							|| property.getType() == Set.class,
+					"Lazy mapped property " + property + " has to be declared as Collection, List or Set!");
+		} else {
+			Assert.isTrue(!property.isMap() && !BeanUtils.isSimpleValueType(property.getType())
+					&& !Modifier.isFinal(property.getType().getModifiers()),
+					"Lazy mapped property " + property + " has to be a collection or a non final association!");
+		}
+
+		lazyProperties.computeIfAbsent(entityType, it -> new ConcurrentHashMap<String, LazyProperty>())
+				.put(property.getName(), new LazyProperty(property));
+	}
+
+	/**
+	 * Returns the names of the lazily mapped properties of the given dozer entity
+	 * type.
+	 *
+	 * @param entityType
+	 * @return
+	 */
+	public Set<String> getLazyProperties(Class<?> entityType) {
+		Map<String, LazyProperty> properties = lazyProperties.get(entityType);
+		return properties == null ? Collections.emptySet() : Collections.unmodifiableSet(properties.keySet());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.github.dozermapper.core.CustomFieldMapper#mapField(java.lang.Object,
+	 * java.lang.Object, java.lang.Object,
+	 * com.github.dozermapper.core.classmap.ClassMap,
+	 * com.github.dozermapper.core.fieldmap.FieldMap)
+	 */
+	@Override
+	public boolean mapField(Object source, Object destination, Object sourceFieldValue, ClassMap classMap,
+			FieldMap fieldMapping) {
+		Map<String, LazyProperty> properties = lazyProperties.get(destination.getClass());
+		LazyProperty property = properties == null ? null : properties.get(fieldMapping.getDestFieldName());
+
+		if (property == null || sourceFieldValue == null
+				|| !TransactionSynchronizationManager.isActualTransactionActive()) {
+			// mapped right away by dozer
+			return delegate != null && delegate.mapField(source, destination, sourceFieldValue, classMap,
+					fieldMapping);
+		}
+
+		String mapId = fieldMapping.getMapId();
+		TransactionScope scope = getTransactionScope();
+		fieldMapping.writeDestValue(destination, property.collection
+				? createLazyCollection(property, (Iterable<?>) sourceFieldValue, mapId, scope)
+				: createLazyProxy(property.type, () -> map(sourceFieldValue, property.type, mapId), scope));
+		return true;
+	}
+
+	private Object map(Object source, Class<?> type, @Nullable String mapId) {
+		if (BeanUtils.isSimpleValueType(type) && type.isInstance(source)) {
+			return source;
+		}
+		Mapper mapper = dozerMapper;
+		Assert.state(mapper != null, "LazyMappingFieldMapper is not bound to a dozer mapper!");
+		return mapId == null ? mapper.map(source, type) : mapper.map(source, type, mapId);
+	}
+
+	@Nullable
+	private TransactionScope getTransactionScope() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		TransactionScope scope = (TransactionScope) TransactionSynchronizationManager.getResource(this);
+		if (scope == null) {
+			scope = new TransactionScope(this);
+			TransactionSynchronizationManager.bindResource(this, scope);
+			TransactionSynchronizationManager.registerSynchronization(scope);
+		}
+		return scope;
+	}
+
+	private Collection<Object> createLazyCollection(LazyProperty property, Iterable<?> sources,
+			@Nullable String mapId, @Nullable TransactionScope scope) {
+		if (property.type == Set.class) {
+			return new LazySet(scope, () -> {
+				Set<Object> result = new LinkedHashSet<Object>();
+				sources.forEach(source -> result.add(source == null ? null : map(source, property.actualType, mapId)));
+				return result;
+			});
+		}
+
+		return new LazyList(scope, () -> {
+			List<Object> result = new ArrayList<Object>();
+			sources.forEach(source -> result.add(source == null ? null : map(source, property.actualType, mapId)));
+			return result;
+		});
+	}
+
+	private static Object createLazyProxy(Class<?> type, Supplier<Object> target, @Nullable TransactionScope scope) {
+		ProxyFactory factory = new ProxyFactory();
+		factory.setProxyTargetClass(true);
+		factory.setTargetClass(type);
+		factory.setTargetSource(new LazyTargetSource(type, scope, target));
+		return factory.getProxy(type.getClassLoader());
+	}
+
+	/**
+	 * Maps the value once on first access within the transaction it was created
+	 * in.
+	 */
+	private static class LazyValue<V> {
+		private final @Nullable TransactionScope scope;
+		private final Supplier<V> supplier;
+		private volatile V value;
+
+		LazyValue(@Nullable TransactionScope scope, Supplier<V> supplier) {
+			this.scope = scope;
+			this.supplier = supplier;
+		}
+
+		V get() {
+			V result = value;
+			if (result == null) {
+				synchronized (this) {
+					result = value;
+					if (result == null) {
+						Assert.state(scope != null ? !scope.completed
+								: TransactionSynchronizationManager.isActualTransactionActive(),
+								"Lazy mapped value accessed outside of the transaction that read the dozer entity!");
+						value = result = supplier.get();
+					}
+				}
+			}
+			return result;
+		}
+	}
+
+	private static class LazyTargetSource implements TargetSource {
+		private final Class<?> targetClass;
+		private final LazyValue<Object> target;
+
+		LazyTargetSource(Class<?> targetClass, @Nullable TransactionScope scope, Supplier<Object> target) {
+			this.targetClass = targetClass;
+			this.target = new LazyValue<Object>(scope, target);
+		}
+
+		@Override
+		public Class<?> getTargetClass() {
+			return targetClass;
+		}
+
+		@Override
+		public boolean isStatic() {
+			return false;
+		}
+
+		@Override
+		public Object getTarget() {
+			return target.get();
+		}
+
+		@Override
+		public void releaseTarget(Object target) {
+		}
+	}
+
+	private static class LazyList extends AbstractList<Object> {
+		private final LazyValue<List<Object>> delegate;
+
+		LazyList(@Nullable TransactionScope scope, Supplier<List<Object>> delegate) {
+			this.delegate = new LazyValue<List<Object>>(scope, delegate);
+		}
+
+		@Override
+		public Object get(int index) {
+			return delegate.get().get(index);
+		}
+
+		@Override
+		public Object set(int index, Object element) {
+			return delegate.get().set(index, element);
+		}
+
+		@Override
+		public void add(int index, Object element) {
+			delegate.get().add(index, element);
+		}
+
+		@Override
+		public Object remove(int index) {
+			return delegate.get().remove(index);
+		}
+
+		@Override
+		public int size() {
+			return delegate.get().size();
+		}
+	}
+
+	private static class LazySet extends AbstractSet<Object> {
+		private final LazyValue<Set<Object>> delegate;
+
+		LazySet(@Nullable TransactionScope scope, Supplier<Set<Object>> delegate) {
+			this.delegate = new LazyValue<Set<Object>>(scope, delegate);
+		}
+
+		@Override
+		public boolean add(Object element) {
+			return delegate.get().add(element);
+		}
+
+		@Override
+		public boolean contains(Object element) {
+			return delegate.get().contains(element);
+		}
+
+		@Override
+		public Iterator<Object> iterator() {
+			return delegate.get().iterator();
+		}
+
+		@Override
+		public int size() {
+			return delegate.get().size();
+		}
+	}
+}
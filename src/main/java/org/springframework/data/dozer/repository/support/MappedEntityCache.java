@@ -0,0 +1,296 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Two tier cache of mapped dozer entities by dozer identifier.
+ *
+ * @author kchobantonov
+ * @see org.springframework.data.dozer.annotation.DozerRepository#entityCache()
+ */
+public class MappedEntityCache {
+
+	private static final int STRIPES = 64;
+	private static final long NEVER = Long.MAX_VALUE;
+
+	/**
+	 * A dozer entity of the on-heap tier.
+	 */
+	private static class Cached {
+		private final Object entity;
+		private final long stamp;
+		private final long expiresAt;
+
+		Cached(Object entity, long stamp, long expiresAt) {
+			this.entity = entity;
+			this.stamp = stamp;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final Cache<Object, Cached> heap;
+	private final @Nullable EntityCodec codec;
+	private final @Nullable OffHeapEntityStore offHeap;
+	private final UnaryOperator<Object> copier;
+	private final long timeToLiveNanos;
+	private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+	private final LongAdder heapHits = new LongAdder();
+	private final LongAdder offHeapHits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param heapSize         the maximum number of dozer entities on-heap
+	 * @param codec            the codec of the off-heap tier, can be
+	 *                         {@literal null} to cache on-heap only
+	 * @param offHeapCapacity  the capacity in bytes of the off-heap tier
+	 * @param timeToLiveMillis the time in milliseconds a dozer entity is cached,
+	 *                         {@code 0} to keep it until it is evicted
+	 * @param copier           copies a dozer entity
+	 */
+	MappedEntityCache(int heapSize, @Nullable EntityCodec codec, long offHeapCapacity, long timeToLiveMillis,
+			UnaryOperator<Object> copier) {
+		Assert.isTrue(heapSize >= 0, "Heap size must not be negative!");
+		Assert.isTrue(offHeapCapacity >= 0, "Off-heap capacity must not be negative!");
+		Assert.isTrue(timeToLiveMillis >= 0, "Time to live must not be negative!");
+		Assert.notNull(copier, "Copier must not be null!");
+
+		this.codec = offHeapCapacity > 0 ? codec : null;
+		this.offHeap = this.codec != null ? new OffHeapEntityStore(offHeapCapacity, OffHeapSlabPool.SHARED) : null;
+		this.copier = copier;
+		this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+		// removal listeners run after the cache released its locks
+		this.heap = CacheBuilder.newBuilder().maximumSize(heapSize)
+				.removalListener((RemovalNotification<Object, Cached> notification) -> demote(notification)).build();
+	}
+
+	/**
+	 * Returns a copy of the cached dozer entity.
+	 *
+	 * @param id
+	 * @return the dozer entity or {@literal null} if not cached
+	 */
+	@Nullable
+	public Object get(Object id) {
+		Cached cached = heap.getIfPresent(id);
+		if (cached != null) {
+			if (!isExpired(cached.expiresAt)) {
+				heapHits.increment();
+				return copier.apply(cached.entity);
+			}
+			heap.asMap().remove(id, cached);
+		}
+
+		long readStamp = getStamp(id);
+		byte[] encoded = offHeap == null ? null : offHeap.remove(id);
+		if (encoded == null) {
+			misses.increment();
+			return null;
+		}
+
+		ByteBuffer in = ByteBuffer.wrap(encoded);
+		long expiresAt = in.getLong();
+		if (isExpired(expiresAt)) {
+			misses.increment();
+			return null;
+		}
+
+		offHeapHits.increment();
+		Object result = codec.decode(in);
+		in.position(Long.BYTES);
+		cache(id, codec.decode(in), readStamp, expiresAt);
+		return result;
+	}
+
+	public boolean contains(Object id) {
+		Cached cached = heap.getIfPresent(id);
+		if (cached != null && !isExpired(cached.expiresAt)) {
+			return true;
+		}
+
+		byte[] encoded = offHeap == null ? null : offHeap.get(id);
+		return encoded != null && !isExpired(ByteBuffer.wrap(encoded).getLong());
+	}
+
+	/**
+	 * Returns the stamp to pass to {@link #put(Object, Object, long)} for a dozer
+	 * entity read after this call.
+	 *
+	 * @param id
+	 * @return
+	 */
+	public long getStamp(Object id) {
+		return stamps.get(stripe(id));
+	}
+
+	/**
+	 * Caches a copy of the dozer entity unless the identifier was evicted since
+	 * the given stamp.
+	 *
+	 * @param id
+	 * @param entity
+	 * @param stamp
+	 */
+	public void put(Object id, Object entity, long stamp) {
+		if (getStamp(id) == stamp) {
+			cache(id, copier.apply(entity), stamp,
+					timeToLiveNanos == 0 ? NEVER : System.nanoTime() + timeToLiveNanos);
+		}
+	}
+
+	private void cache(Object id, Object entity, long stamp, long expiresAt) {
+		Cached cached = new Cached(entity, stamp, expiresAt);
+		heap.put(id, cached);
+		// an eviction between the check of the stamp and the put
+		if (getStamp(id) != stamp) {
+			heap.asMap().remove(id, cached);
+		}
+	}
+
+	/**
+	 * Evicts the given identifiers now and, within a transaction, again after the
+	 * transaction completed, so that dozer entities read before the commit are not
+	 * kept.
+	 *
+	 * @param ids
+	 */
+	public void evictAfterCompletion(Collection<?> ids) {
+		evict(ids);
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+
+		@SuppressWarnings("unchecked")
+		Set<Object> pending = (Set<Object>) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			Set<Object> evicted = new LinkedHashSet<Object>();
+			pending = evicted;
+			TransactionSynchronizationManager.bindResource(this, evicted);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(MappedEntityCache.this);
+					evict(evicted);
+				}
+			});
+		}
+		pending.addAll(ids);
+	}
+
+	/**
+	 * Evicts the given identifiers, e.g. after they have been changed without the
+	 * repository.
+	 *
+	 * @param ids
+	 */
+	public void evict(Collection<?> ids) {
+		for (Object id : ids) {
+			stamps.incrementAndGet(stripe(id));
+			heap.invalidate(id);
+			if (offHeap != null) {
+				offHeap.remove(id);
+			}
+		}
+	}
+
+	public void clear() {
+		for (int i = 0; i < STRIPES; i++) {
+			stamps.incrementAndGet(i);
+		}
+		heap.invalidateAll();
+		if (offHeap != null) {
+			offHeap.clear();
+		}
+	}
+
+	/**
+	 * Clears the cache and hands the direct memory of the off-heap tier back to
+	 * the pool.
+	 */
+	public void close() {
+		clear();
+		if (offHeap != null) {
+			offHeap.close();
+		}
+	}
+
+	/**
+	 * Encodes a dozer entity evicted from the on-heap tier for its size into the
+	 * off-heap tier, unless its identifier has been evicted since it was read.
+	 */
+	private void demote(RemovalNotification<Object, Cached> notification) {
+		Cached cached = notification.getValue();
+		if (offHeap == null || notification.getCause() != RemovalCause.SIZE || cached == null
+				|| isExpired(cached.expiresAt) || getStamp(notification.getKey()) != cached.stamp) {
+			return;
+		}
+
+		byte[] encoded = codec.encode(cached.entity);
+		byte[] value = ByteBuffer.allocate(Long.BYTES + encoded.length).putLong(cached.expiresAt).put(encoded)
+				.array();
+		offHeap.put(notification.getKey(), value);
+		// an eviction between the check of the stamp and the put
+		if (getStamp(notification.getKey()) != cached.stamp) {
+			offHeap.remove(notification.getKey());
+		}
+	}
+
+	private static boolean isExpired(long expiresAt) {
+		return expiresAt != NEVER && expiresAt - System.nanoTime() < 0;
+	}
+
+	private static int stripe(Object id) {
+		int hash = id.hashCode();
+		return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+	}
+
+	public long getHeapHits() {
+		return heapHits.sum();
+	}
+
+	public long getOffHeapHits() {
+		return offHeapHits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public int getHeapSize() {
+		return (int) heap.size();
+	}
+
+	public long getOffHeapEvictions() {
+		return offHeap == null ? 0 : offHeap.getEvictions();
+	}
+
+	public long getOffHeapUsedBytes() {
+		return offHeap == null ? 0 : offHeap.getUsedBytes();
+	}
+
+	public long getOffHeapAllocatedBytes() {
+		return offHeap == null ? 0 : offHeap.getAllocatedBytes();
+	}
+
+	public long getOffHeapCapacity() {
+		return offHeap == null ? 0 : offHeap.getCapacity();
+	}
+}
@@ -0,0 +1,285 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Byte arrays stored in direct memory by key.
+ *
+ * @author kchobantonov
+ */
+class OffHeapEntityStore {
+
+	static final int SEGMENTS = 16;
+	static final int BLOCK_SIZE = 128;
+	static final int BLOCKS_PER_SLAB = 512;
+	private static final int BLOCK_PAYLOAD = BLOCK_SIZE - 4;
+	private static final int NO_BLOCK = -1;
+
+	private static class Entry {
+		private final int firstBlock;
+		private final int length;
+		private final int blocks;
+
+		Entry(int firstBlock, int length, int blocks) {
+			this.firstBlock = firstBlock;
+			this.length = length;
+			this.blocks = blocks;
+		}
+	}
+
+	private class Segment {
+		private final List<ByteBuffer> slabs = new ArrayList<ByteBuffer>();
+		private final int[] freeBlocks = new int[blocksPerSegment];
+		private int freeCount;
+		// access ordered, the eldest entry is evicted first
+		private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true);
+
+		int getAllocatedBlocks() {
+			return slabs.size() * blocksPerSlab;
+		}
+
+		/**
+		 * Takes another slab from the pool, if the segment has not reached its
+		 * capacity yet.
+		 */
+		boolean grow() {
+			int allocatedBlocks = getAllocatedBlocks();
+			if (closed || allocatedBlocks >= blocksPerSegment) {
+				return false;
+			}
+			slabs.add(slabPool.acquire(blocksPerSlab * BLOCK_SIZE));
+			for (int block = allocatedBlocks + blocksPerSlab - 1; block >= allocatedBlocks; block--) {
+				freeBlocks[freeCount++] = block;
+			}
+			return true;
+		}
+
+		void release() {
+			entries.clear();
+			freeCount = 0;
+			for (ByteBuffer slab : slabs) {
+				slabPool.release(slab);
+			}
+			slabs.clear();
+		}
+
+		private ByteBuffer slab(int block) {
+			return slabs.get(block / blocksPerSlab);
+		}
+
+		private int offset(int block) {
+			return (block % blocksPerSlab) * BLOCK_SIZE;
+		}
+
+		private int next(int block) {
+			return slab(block).getInt(offset(block) + BLOCK_PAYLOAD);
+		}
+
+		void free(Entry entry) {
+			int block = entry.firstBlock;
+			for (int i = 0; i < entry.blocks; i++) {
+				freeBlocks[freeCount++] = block;
+				block = next(block);
+			}
+		}
+
+		byte[] read(Entry entry) {
+			byte[] result = new byte[entry.length];
+			int block = entry.firstBlock;
+			for (int offset = 0; offset < entry.length; offset += BLOCK_PAYLOAD) {
+				ByteBuffer slab = slab(block);
+				slab.position(offset(block));
+				slab.get(result, offset, Math.min(BLOCK_PAYLOAD, entry.length - offset));
+				block = next(block);
+			}
+			return result;
+		}
+
+		Entry write(byte[] value, int blocks) {
+			int firstBlock = NO_BLOCK;
+			int previousBlock = NO_BLOCK;
+			for (int offset = 0, i = 0; i < blocks; offset += BLOCK_PAYLOAD, i++) {
+				int block = freeBlocks[--freeCount];
+				ByteBuffer slab = slab(block);
+				slab.position(offset(block));
+				slab.put(value, offset, Math.min(BLOCK_PAYLOAD, value.length - offset));
+				slab.putInt(offset(block) + BLOCK_PAYLOAD, NO_BLOCK);
+				if (previousBlock == NO_BLOCK) {
+					firstBlock = block;
+				} else {
+					slab(previousBlock).putInt(offset(previousBlock) + BLOCK_PAYLOAD, block);
+				}
+				previousBlock = block;
+			}
+			return new Entry(firstBlock, value.length, blocks);
+		}
+	}
+
+	private final OffHeapSlabPool slabPool;
+	private final Segment[] segments = new Segment[SEGMENTS];
+	private final int blocksPerSlab;
+	private final int blocksPerSegment;
+	private final LongAdder evictions = new LongAdder();
+	private volatile boolean closed;
+
+	/**
+	 * @param capacity the direct memory in bytes, at least {@link #SEGMENTS}
+	 *                 blocks of {@link #BLOCK_SIZE} bytes, rounded down to whole
+	 *                 slabs of {@link #BLOCKS_PER_SLAB} blocks per segment
+	 * @param slabPool the pool of the direct memory slabs
+	 */
+	OffHeapEntityStore(long capacity, OffHeapSlabPool slabPool) {
+		Assert.notNull(slabPool, "Slab pool must not be null!");
+
+		long blocks = capacity / SEGMENTS / BLOCK_SIZE;
+		Assert.isTrue(blocks > 0, "Off-heap capacity must be at least " + SEGMENTS * BLOCK_SIZE + " bytes!");
+		Assert.isTrue(blocks <= Integer.MAX_VALUE / BLOCK_SIZE,
+				"Off-heap capacity must be at most " + (long) SEGMENTS * (Integer.MAX_VALUE / BLOCK_SIZE) * BLOCK_SIZE
+						+ " bytes!");
+
+		this.slabPool = slabPool;
+		this.blocksPerSlab = (int) Math.min(BLOCKS_PER_SLAB, blocks);
+		this.blocksPerSegment = (int) (blocks / blocksPerSlab * blocksPerSlab);
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	private Segment segmentFor(Object key) {
+		int hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+	}
+
+	/**
+	 * Stores the value, taking another slab or evicting the least recently used
+	 * values of the segment until the value fits.
+	 *
+	 * @param key
+	 * @param value
+	 * @return {@literal false} if the value is larger than a segment or the store
+	 *         is closed
+	 */
+	boolean put(Object key, byte[] value) {
+		int blocks = Math.max(1, (value.length + BLOCK_PAYLOAD - 1) / BLOCK_PAYLOAD);
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Entry previous = segment.entries.remove(key);
+			if (previous != null) {
+				segment.free(previous);
+			}
+			if (closed || blocks > blocksPerSegment) {
+				return false;
+			}
+
+			Iterator<Map.Entry<Object, Entry>> eldest = segment.entries.entrySet().iterator();
+			while (segment.freeCount < blocks && !segment.grow()) {
+				segment.free(eldest.next().getValue());
+				eldest.remove();
+				evictions.increment();
+			}
+
+			segment.entries.put(key, segment.write(value, blocks));
+			return true;
+		}
+	}
+
+	/**
+	 * Returns the value of the given key.
+	 *
+	 * @param key
+	 * @return the value or {@literal null}
+	 */
+	@Nullable
+	byte[] get(Object key) {
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Entry entry = segment.entries.get(key);
+			return entry == null ? null : segment.read(entry);
+		}
+	}
+
+	/**
+	 * Removes the value of the given key.
+	 *
+	 * @param key
+	 * @return the removed value or {@literal null}
+	 */
+	@Nullable
+	byte[] remove(Object key) {
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Entry entry = segment.entries.remove(key);
+			if (entry == null) {
+				return null;
+			}
+			byte[] result = segment.read(entry);
+			segment.free(entry);
+			return result;
+		}
+	}
+
+	void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				for (Entry entry : segment.entries.values()) {
+					segment.free(entry);
+				}
+				segment.entries.clear();
+			}
+		}
+	}
+
+	/**
+	 * Removes all values and hands the slabs back to the pool.
+	 */
+	void close() {
+		closed = true;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.release();
+			}
+		}
+	}
+
+	long getEvictions() {
+		return evictions.sum();
+	}
+
+	long getUsedBytes() {
+		long result = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				result += (long) (segment.getAllocatedBlocks() - segment.freeCount) * BLOCK_SIZE;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the direct memory in bytes taken from the slab pool.
+	 *
+	 * @return
+	 */
+	long getAllocatedBytes() {
+		long result = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				result += (long) segment.getAllocatedBlocks() * BLOCK_SIZE;
+			}
+		}
+		return result;
+	}
+
+	long getCapacity() {
+		return (long) blocksPerSegment * BLOCK_SIZE * SEGMENTS;
+	}
+}
@@ -0,0 +1,65 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Pool of direct {@link ByteBuffer} slabs shared by all
+ * {@link OffHeapEntityStore off-heap entity stores}. Direct memory is only
+ * returned to the operating system by the garbage collector, so the slabs
+ * released by a closed store are kept and handed to the next store asking for
+ * a slab of the same size instead of allocating new direct memory.
+ *
+ * @author kchobantonov
+ */
+class OffHeapSlabPool {
+
+	static final OffHeapSlabPool SHARED = new OffHeapSlabPool();
+
+	private final Map<Integer, Queue<ByteBuffer>> released = new ConcurrentHashMap<Integer, Queue<ByteBuffer>>();
+	private final LongAdder allocatedBytes = new LongAdder();
+
+	/**
+	 * Returns a released slab of the given size or allocates a new one.
+	 *
+	 * @param size the slab size in bytes
+	 * @return the slab
+	 */
+	ByteBuffer acquire(int size) {
+		Assert.isTrue(size > 0, "Slab size must be positive!");
+
+		Queue<ByteBuffer> slabs = released.get(size);
+		ByteBuffer result = slabs == null ? null : slabs.poll();
+		if (result == null) {
+			result = ByteBuffer.allocateDirect(size);
+			allocatedBytes.add(size);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the slab to the pool, it must not be used by the caller afterwards.
+	 *
+	 * @param slab
+	 */
+	void release(ByteBuffer slab) {
+		slab.clear();
+		released.computeIfAbsent(slab.capacity(), it -> new ConcurrentLinkedQueue<ByteBuffer>()).offer(slab);
+	}
+
+	/**
+	 * Returns the direct memory in bytes allocated by the pool, including the
+	 * released slabs.
+	 *
+	 * @return
+	 */
+	long getAllocatedBytes() {
+		return allocatedBytes.sum();
+	}
+}
@@ -0,0 +1,66 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The policy of the reads a dozer repository splits up, i.e. the chunks of a
+ * {@code findAllById}, the shards of a sharded repository and the secondary
+ * adapted sources. The parts are read in parallel only on the executor
+ * configured for the repository and only outside of a transaction, the reads
+ * of other threads would neither see the state of the transaction nor return
+ * entities attached to it. Otherwise the parts are read one after another on
+ * the calling thread.
+ *
+ * @author kchobantonov
+ * @see org.springframework.data.dozer.annotation.DozerRepository#executorRef()
+ */
+final class ParallelReads {
+
+	private ParallelReads() {
+	}
+
+	/**
+	 * Returns whether reads can run in parallel on the given executor.
+	 *
+	 * @param executor the executor of the repository, can be {@literal null}
+	 * @return
+	 */
+	static boolean isParallel(@Nullable Executor executor) {
+		return executor != null && !TransactionSynchronizationManager.isActualTransactionActive();
+	}
+
+	/**
+	 * Applies the read to all parts, in parallel if
+	 * {@link #isParallel(Executor)}.
+	 *
+	 * @param parts    the parts to read
+	 * @param read     reads a part
+	 * @param executor the executor of the repository, can be {@literal null}
+	 * @return the results in the order of the parts
+	 */
+	static <P, R> List<R> readAll(List<P> parts, Function<P, R> read, @Nullable Executor executor) {
+		List<R> result = new ArrayList<R>(parts.size());
+		if (parts.size() <= 1 || !isParallel(executor)) {
+			for (P part : parts) {
+				result.add(read.apply(part));
+			}
+			return result;
+		}
+
+		List<CompletableFuture<R>> futures = new ArrayList<CompletableFuture<R>>(parts.size());
+		for (P part : parts) {
+			futures.add(CompletableFuture.supplyAsync(() -> read.apply(part), executor));
+		}
+		for (CompletableFuture<R> future : futures) {
+			result.add(SimpleDozerRepository.join(future));
+		}
+		return result;
+	}
+}
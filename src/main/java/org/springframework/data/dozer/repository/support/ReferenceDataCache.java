@@ -0,0 +1,498 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.NullHandling;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable in-memory snapshot of all dozer entities of a reference data
+ * repository, indexed by identifier and optionally sorted by selected
+ * properties. The snapshot is loaded on first read and replaced as a whole in
+ * the configured refresh interval, readers never lock. After a write only the
+ * written identifiers are reloaded and patched into a new snapshot.
+ * <p>
+ * With a {@link ReferenceDataSnapshotFile snapshot file} every loaded snapshot
+ * is persisted, and the first read after a restart is served from a file
+ * written for the same dozer mapping while the snapshot is reloaded in the
+ * background.
+ * <p>
+ * The snapshot is shared between all readers, the returned dozer entities are
+ * copies which can be modified.
+ *
+ * @author kchobantonov
+ * @see org.springframework.data.dozer.annotation.DozerEntity#referenceData()
+ */
+public class ReferenceDataCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+	/**
+	 * The loaded dozer entities.
+	 */
+	private static class Snapshot {
+		private final List<Object> entities;
+		private final Map<Object, Object> entitiesById;
+		// sorted ascending with null values last
+		private final Map<String, List<Object>> sortedEntities;
+		private final Map<String, Integer> nullCounts;
+
+		Snapshot(List<Object> entities, Map<Object, Object> entitiesById, Map<String, List<Object>> sortedEntities,
+				Map<String, Integer> nullCounts) {
+			this.entities = entities;
+			this.entitiesById = entitiesById;
+			this.sortedEntities = sortedEntities;
+			this.nullCounts = nullCounts;
+		}
+	}
+
+	private final Class<?> domainType;
+	private final PersistentEntity<?, ?> persistentEntity;
+	private final Function<Object, Object> idOf;
+	private final Supplier<List<?>> loader;
+	private final Function<Collection<Object>, List<?>> idLoader;
+	private final UnaryOperator<Object> copier;
+	private final @Nullable ReferenceDataSnapshotFile snapshotFile;
+	private final @Nullable Executor executor;
+	private final List<PersistentProperty<?>> indexedProperties = new ArrayList<PersistentProperty<?>>();
+	private final Object loadMonitor = new Object();
+	private final @Nullable ScheduledExecutorService scheduler;
+	private volatile Snapshot snapshot;
+
+	/**
+	 * @param persistentEntity          the persistent entity of the dozer entity
+	 * @param idOf                      returns the identifier of a dozer entity
+	 * @param loader                    loads all dozer entities
+	 * @param idLoader                  loads the dozer entities with the given
+	 *                                  identifiers
+	 * @param copier                    copies a dozer entity of the snapshot
+	 * @param indexedProperties         the properties to keep sorted
+	 * @param refreshIntervalMillis     the reload interval, {@code 0} to never
+	 *                                  reload all entities
+	 * @param snapshotFile              the file to persist the snapshot to, can be
+	 *                                  {@literal null}
+	 * @param executor                  runs the reload after a snapshot has been
+	 *                                  read from the snapshot file, can be
+	 *                                  {@literal null} to reload on a thread of
+	 *                                  its own
+	 */
+	ReferenceDataCache(PersistentEntity<?, ?> persistentEntity, Function<Object, Object> idOf,
+			Supplier<List<?>> loader, Function<Collection<Object>, List<?>> idLoader, UnaryOperator<Object> copier,
+			String[] indexedProperties, long refreshIntervalMillis,
+			@Nullable ReferenceDataSnapshotFile snapshotFile, @Nullable Executor executor) {
+		Assert.notNull(persistentEntity, "PersistentEntity must not be null!");
+		Assert.notNull(idOf, "Identifier function must not be null!");
+		Assert.notNull(loader, "Loader must not be null!");
+		Assert.notNull(idLoader, "Identifier loader must not be null!");
+		Assert.notNull(copier, "Copier must not be null!");
+		Assert.isTrue(refreshIntervalMillis >= 0, "Refresh interval must not be negative!");
+
+		this.domainType = persistentEntity.getType();
+		this.persistentEntity = persistentEntity;
+		this.idOf = idOf;
+		this.loader = loader;
+		this.idLoader = idLoader;
+		this.copier = copier;
+		this.snapshotFile = snapshotFile;
+		this.executor = executor;
+		for (String indexedProperty : indexedProperties) {
+			this.indexedProperties.add(persistentEntity.getRequiredPersistentProperty(indexedProperty));
+		}
+
+		if (refreshIntervalMillis > 0) {
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "dozer-reference-data-" + domainType.getSimpleName());
+				thread.setDaemon(true);
+				return thread;
+			});
+			scheduler.scheduleWithFixedDelay(this::scheduledRefresh, refreshIntervalMillis, refreshIntervalMillis,
+					TimeUnit.MILLISECONDS);
+		} else {
+			this.scheduler = null;
+		}
+	}
+
+	/**
+	 * Reloads the entities with the given identifiers after the current
+	 * transaction has been committed, or immediately without a transaction. A
+	 * transaction patches the snapshot once with the identifiers of all its
+	 * writes.
+	 *
+	 * @param ids the written identifiers
+	 */
+	@SuppressWarnings("unchecked")
+	public void refreshAfterCommit(Collection<?> ids) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			refresh(ids);
+			return;
+		}
+
+		Set<Object> pendingIds = (Set<Object>) TransactionSynchronizationManager.getResource(this);
+		if (pendingIds != null) {
+			pendingIds.addAll(ids);
+			return;
+		}
+
+		Set<Object> writtenIds = new LinkedHashSet<Object>(ids);
+		TransactionSynchronizationManager.bindResource(this, writtenIds);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(ReferenceDataCache.this);
+				if (status == STATUS_COMMITTED) {
+					try {
+						refresh(writtenIds);
+					} catch (RuntimeException e) {
+						LOG.error("Unable to reload the written reference data of {}, reloading all",
+								domainType.getName(), e);
+						scheduledRefresh();
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Loads all entities and replaces the snapshot.
+	 */
+	public void refresh() {
+		synchronized (loadMonitor) {
+			snapshot = load();
+		}
+	}
+
+	/**
+	 * Reloads the entities with the given identifiers and replaces the snapshot
+	 * with a copy containing their current state. Entities which no longer exist
+	 * are removed. A snapshot which has not been loaded yet is left to the first
+	 * read.
+	 *
+	 * @param ids the identifiers to reload
+	 */
+	public void refresh(Collection<?> ids) {
+		if (ids.isEmpty()) {
+			return;
+		}
+
+		synchronized (loadMonitor) {
+			Snapshot current = snapshot;
+			if (current == null) {
+				return;
+			}
+
+			Map<Object, Object> loaded = new HashMap<Object, Object>();
+			for (Object entity : idLoader.apply(new ArrayList<Object>(ids))) {
+				loaded.put(idOf.apply(entity), entity);
+			}
+
+			Map<Object, Object> entities = new LinkedHashMap<Object, Object>(current.entities.size() * 4 / 3 + 1);
+			for (Object entity : current.entities) {
+				entities.put(idOf.apply(entity), entity);
+			}
+			for (Object id : ids) {
+				Object entity = loaded.get(id);
+				if (entity != null) {
+					entities.put(id, entity);
+				} else {
+					entities.remove(id);
+				}
+			}
+
+			List<Object> patched = Collections.unmodifiableList(new ArrayList<Object>(entities.values()));
+			snapshot = index(patched);
+
+			LOG.debug("Reloaded {} of {} reference data entities of {}", loaded.size(), patched.size(),
+					domainType.getName());
+
+			writeSnapshotFile(patched);
+		}
+	}
+
+	public void close() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	private void scheduledRefresh() {
+		try {
+			refresh();
+		} catch (RuntimeException e) {
+			LOG.error("Unable to refresh the reference data of {}, keeping the previous snapshot", domainType.getName(),
+					e);
+		}
+	}
+
+	private Snapshot getSnapshot() {
+		Snapshot result = snapshot;
+		if (result == null) {
+			synchronized (loadMonitor) {
+				result = snapshot;
+				if (result == null) {
+					result = readSnapshotFile();
+				}
+				if (result == null) {
+					result = load();
+				}
+				snapshot = result;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the snapshot file and schedules the reload of the snapshot.
+	 */
+	@Nullable
+	private Snapshot readSnapshotFile() {
+		if (snapshotFile == null) {
+			return null;
+		}
+
+		List<Object> entities;
+		try {
+			entities = snapshotFile.read();
+		} catch (IOException | RuntimeException e) {
+			LOG.warn("Unable to read the reference data snapshot file {} of {}, loading the reference data",
+					snapshotFile.getPath(), domainType.getName(), e);
+			return null;
+		}
+		if (entities == null) {
+			return null;
+		}
+
+		LOG.debug("Read {} reference data entities of {} from {}", entities.size(), domainType.getName(),
+				snapshotFile.getPath());
+
+		if (executor != null) {
+			executor.execute(this::scheduledRefresh);
+		} else {
+			Thread thread = new Thread(this::scheduledRefresh, "dozer-reference-data-" + domainType.getSimpleName());
+			thread.setDaemon(true);
+			thread.start();
+		}
+		return index(Collections.unmodifiableList(entities));
+	}
+
+	private Snapshot load() {
+		List<Object> entities = Collections.unmodifiableList(new ArrayList<Object>(loader.get()));
+		Snapshot result = index(entities);
+
+		LOG.debug("Loaded {} reference data entities of {}", entities.size(), domainType.getName());
+
+		writeSnapshotFile(entities);
+
+		return result;
+	}
+
+	private void writeSnapshotFile(List<Object> entities) {
+		if (snapshotFile != null) {
+			try {
+				snapshotFile.write(entities);
+			} catch (IOException | RuntimeException e) {
+				LOG.warn("Unable to write the reference data snapshot file {} of {}", snapshotFile.getPath(),
+						domainType.getName(), e);
+			}
+		}
+	}
+
+	private Snapshot index(List<Object> entities) {
+
+		Map<Object, Object> entitiesById = new HashMap<Object, Object>(entities.size() * 4 / 3 + 1);
+		for (Object entity : entities) {
+			entitiesById.put(idOf.apply(entity), entity);
+		}
+
+		Map<String, List<Object>> sortedEntities = new HashMap<String, List<Object>>();
+		Map<String, Integer> nullCounts = new HashMap<String, Integer>();
+		for (PersistentProperty<?> property : indexedProperties) {
+			List<Object> sorted = new ArrayList<Object>(entities);
+			sorted.sort(comparator(Collections.singletonList(Order.asc(property.getName()))));
+			int nullCount = 0;
+			for (int i = sorted.size() - 1; i >= 0 && getProperty(sorted.get(i), property) == null; i--) {
+				nullCount++;
+			}
+			sortedEntities.put(property.getName(), Collections.unmodifiableList(sorted));
+			nullCounts.put(property.getName(), nullCount);
+		}
+
+		return new Snapshot(entities, Collections.unmodifiableMap(entitiesById), sortedEntities, nullCounts);
+	}
+
+	@Nullable
+	public Object findById(Object id) {
+		Object entity = getSnapshot().entitiesById.get(id);
+		return entity == null ? null : copier.apply(entity);
+	}
+
+	public boolean existsById(Object id) {
+		return getSnapshot().entitiesById.containsKey(id);
+	}
+
+	public long count() {
+		return getSnapshot().entities.size();
+	}
+
+	/**
+	 * Returns the entities with the given identifiers in the order of the
+	 * identifiers, ignoring missing entities.
+	 */
+	public List<Object> findAllById(Iterable<?> ids) {
+		Map<Object, Object> entitiesById = getSnapshot().entitiesById;
+		Map<Object, Object> result = new LinkedHashMap<Object, Object>();
+		for (Object id : ids) {
+			Object entity = entitiesById.get(id);
+			if (entity != null) {
+				result.put(id, entity);
+			}
+		}
+		return copy(result.values());
+	}
+
+	public List<Object> findAll() {
+		return copy(getSnapshot().entities);
+	}
+
+	public List<Object> findAll(Sort sort) {
+		return copy(sorted(getSnapshot(), sort));
+	}
+
+	public Page<Object> findAll(Pageable pageable) {
+		List<Object> sorted = sorted(getSnapshot(), pageable.getSort());
+		return new PageImpl<Object>(page(sorted, pageable), pageable, sorted.size());
+	}
+
+	public Slice<Object> findAllSlice(Pageable pageable) {
+		List<Object> sorted = sorted(getSnapshot(), pageable.getSort());
+		return new SliceImpl<Object>(page(sorted, pageable), pageable,
+				pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() < sorted.size());
+	}
+
+	private List<Object> page(List<Object> sorted, Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			return copy(sorted);
+		}
+		int from = (int) Math.min(pageable.getOffset(), sorted.size());
+		return copy(sorted.subList(from, Math.min(sorted.size(), from + pageable.getPageSize())));
+	}
+
+	private List<Object> copy(Collection<Object> entities) {
+		List<Object> result = new ArrayList<Object>(entities.size());
+		for (Object entity : entities) {
+			result.add(copier.apply(entity));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the entities in the given order. A sort by a single indexed property
+	 * is a view of the presorted entities, other sorts sort a copy.
+	 */
+	private List<Object> sorted(Snapshot snapshot, Sort sort) {
+		if (sort.isUnsorted()) {
+			return snapshot.entities;
+		}
+
+		List<Order> orders = sort.toList();
+		List<Object> ascending = orders.size() == 1 && !orders.get(0).isIgnoreCase()
+				? snapshot.sortedEntities.get(orders.get(0).getProperty())
+				: null;
+		if (ascending != null) {
+			return view(ascending, snapshot.nullCounts.get(orders.get(0).getProperty()), orders.get(0));
+		}
+
+		List<Object> result = new ArrayList<Object>(snapshot.entities);
+		result.sort(comparator(orders));
+		return result;
+	}
+
+	/**
+	 * Returns a view of the ascending, null values last entities in the order of
+	 * the given {@link Order}.
+	 */
+	private static List<Object> view(List<Object> ascending, int nullCount, Order order) {
+		int size = ascending.size();
+		int valueCount = size - nullCount;
+		boolean nullsFirst = isNullsFirst(order);
+		boolean descending = order.isDescending();
+
+		return new AbstractList<Object>() {
+			@Override
+			public Object get(int index) {
+				if (!descending) {
+					return !nullsFirst ? ascending.get(index)
+							: index < nullCount ? ascending.get(valueCount + index) : ascending.get(index - nullCount);
+				}
+				return nullsFirst ? ascending.get(size - 1 - index)
+						: index < valueCount ? ascending.get(valueCount - 1 - index) : ascending.get(index);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Native null handling orders null values last in ascending order, like the
+	 * merge of sharded dozer repositories.
+	 */
+	private static boolean isNullsFirst(Order order) {
+		return order.getNullHandling() == NullHandling.NULLS_FIRST
+				|| (order.getNullHandling() == NullHandling.NATIVE && order.isDescending());
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Comparator<Object> comparator(List<Order> orders) {
+		Comparator<Object> result = null;
+		for (Order order : orders) {
+			PersistentProperty<?> property = persistentEntity.getRequiredPersistentProperty(order.getProperty());
+			Comparator values = order.isIgnoreCase() ? String.CASE_INSENSITIVE_ORDER : Comparator.naturalOrder();
+			if (order.isDescending()) {
+				values = values.reversed();
+			}
+			Comparator<Object> byProperty = Comparator.comparing(entity -> getProperty(entity, property),
+					isNullsFirst(order) ? Comparator.nullsFirst(values) : Comparator.nullsLast(values));
+			result = result == null ? byProperty : result.thenComparing(byProperty);
+		}
+		return result;
+	}
+
+	@Nullable
+	private Object getProperty(Object entity, PersistentProperty<?> property) {
+		return persistentEntity.getPropertyAccessor(entity).getProperty(property);
+	}
+}
@@ -0,0 +1,162 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Local file holding the encoded dozer entities of a reference data snapshot.
+ * The file starts with a fingerprint of the dozer mapping and the entity
+ * encoding, a file written for a different fingerprint is ignored.
+ * <p>
+ * Files are read into the heap with plain I/O rather than memory mapped. A
+ * mapping can not be released before it is garbage collected and keeps the
+ * file open, so replacing or deleting the file fails on some platforms, while
+ * all dozer entities are decoded right after the read anyway. Files are
+ * replaced atomically when written, so that a crash while writing leaves the
+ * previous file in place. A write of the same dozer entities as last read or
+ * written leaves the file untouched.
+ *
+ * @author kchobantonov
+ * @see org.springframework.data.dozer.annotation.DozerEntity#referenceDataSnapshotFile()
+ */
+class ReferenceDataSnapshotFile {
+
+	// "DZRD"
+	private static final int MAGIC = 0x445A5244;
+	private static final int FORMAT_VERSION = 1;
+
+	private final Path path;
+	private final EntityCodec codec;
+	private final String fingerprint;
+	// digest of the encoded entities of the file, if known
+	private @Nullable byte[] contentDigest;
+
+	/**
+	 * @param path               the snapshot file
+	 * @param codec              the codec of the dozer entities
+	 * @param mappingFingerprint the description of the dozer mapping the dozer
+	 *                           entities are read with
+	 */
+	ReferenceDataSnapshotFile(Path path, EntityCodec codec, String mappingFingerprint) {
+		Assert.notNull(path, "Path must not be null!");
+		Assert.notNull(codec, "Codec must not be null!");
+		Assert.notNull(mappingFingerprint, "Mapping fingerprint must not be null!");
+
+		this.path = path;
+		this.codec = codec;
+		this.fingerprint = DigestUtils
+				.md5DigestAsHex((mappingFingerprint + '|' + codec.getSchemaHash()).getBytes(StandardCharsets.UTF_8));
+	}
+
+	Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Reads the dozer entities of the file.
+	 *
+	 * @return the dozer entities or {@literal null} if the file does not exist or
+	 *         was written for another fingerprint
+	 * @throws IOException
+	 */
+	@Nullable
+	synchronized List<Object> read() throws IOException {
+		if (!Files.isRegularFile(path)) {
+			return null;
+		}
+
+		// not mapped, the file is replaced while the repository runs
+		ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+		if (in.remaining() < 12 || in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+			return null;
+		}
+
+		byte[] fileFingerprint = new byte[in.getInt()];
+		if (fileFingerprint.length > in.remaining()) {
+			return null;
+		}
+		in.get(fileFingerprint);
+		if (!fingerprint.equals(new String(fileFingerprint, StandardCharsets.UTF_8))) {
+			return null;
+		}
+
+		MessageDigest digest = newDigest();
+		digest.update(in.duplicate());
+
+		int count = in.getInt();
+		List<Object> result = new ArrayList<Object>(count);
+		for (int i = 0; i < count; i++) {
+			result.add(codec.decode(in));
+		}
+		contentDigest = digest.digest();
+		return result;
+	}
+
+	/**
+	 * Replaces the file with the given dozer entities.
+	 *
+	 * @param entities
+	 * @return {@literal false} if the file already holds the dozer entities
+	 * @throws IOException
+	 */
+	synchronized boolean write(List<?> entities) throws IOException {
+		MessageDigest digest = newDigest();
+		List<byte[]> encoded = new ArrayList<byte[]>(entities.size());
+		digest.update(ByteBuffer.allocate(4).putInt(0, entities.size()));
+		for (Object entity : entities) {
+			byte[] bytes = codec.encode(entity);
+			digest.update(bytes);
+			encoded.add(bytes);
+		}
+		byte[] newContentDigest = digest.digest();
+		if (contentDigest != null && MessageDigest.isEqual(contentDigest, newContentDigest)) {
+			return false;
+		}
+
+		Path directory = path.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+
+		Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+				byte[] fingerprintBytes = fingerprint.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeInt(fingerprintBytes.length);
+				out.write(fingerprintBytes);
+				out.writeInt(entities.size());
+				for (byte[] bytes : encoded) {
+					out.write(bytes);
+				}
+			}
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			contentDigest = newContentDigest;
+			return true;
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("MD5 digest not available", e);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.dozer.annotation.DozerEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * The reference data side of a dozer repository.
+ *
+ * @author kchobantonov
+ * @see DozerEntity#referenceData()
+ */
+class ReferenceDataSupport<T> {
+	private static final Logger LOG = LoggerFactory.getLogger(ReferenceDataSupport.class);
+
+	private final DozerEntityInformation<T, ?> entityInformation;
+	private final UnaryOperator<Object> copier;
+
+	/**
+	 * @param entityInformation
+	 * @param copier            copies a dozer entity
+	 */
+	ReferenceDataSupport(DozerEntityInformation<T, ?> entityInformation, UnaryOperator<Object> copier) {
+		Assert.notNull(entityInformation, "DozerEntityInformation must not be null!");
+		Assert.notNull(copier, "Copier must not be null!");
+
+		this.entityInformation = entityInformation;
+		this.copier = copier;
+	}
+
+	/**
+	 * Creates the reference data snapshot of the repository.
+	 *
+	 * @param loader    reads all dozer entities
+	 * @param idLoader  reads the dozer entities of the given identifiers
+	 * @param dozerUtil
+	 * @param executor  can be {@literal null}
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	ReferenceDataCache createCache(Supplier<List<?>> loader, Function<Collection<Object>, List<?>> idLoader,
+			DozerUtil dozerUtil, @Nullable Executor executor) {
+		return new ReferenceDataCache(entityInformation.getPersistentEntity(),
+				entity -> entityInformation.getId((T) entity), loader, idLoader, copier,
+				entityInformation.getReferenceDataIndexes(), entityInformation.getReferenceDataRefreshInterval(),
+				createSnapshotFile(dozerUtil), executor);
+	}
+
+	/**
+	 * Returns the reference data snapshot to read from, unless the read has to go
+	 * to the primary adapted repository.
+	 *
+	 * @param referenceData   the snapshot of the repository, can be
+	 *                        {@literal null}
+	 * @param readFromPrimary
+	 * @return the snapshot or {@literal null}
+	 */
+	@Nullable
+	ReferenceDataCache getReadable(@Nullable ReferenceDataCache referenceData, boolean readFromPrimary) {
+		return referenceData == null || readFromPrimary ? null : referenceData;
+	}
+
+	/**
+	 * Reloads the written dozer identifiers once the transaction is committed.
+	 *
+	 * @param referenceData the snapshot of the repository, can be {@literal null}
+	 * @param resourceIds
+	 */
+	void refresh(@Nullable ReferenceDataCache referenceData, Collection<?> resourceIds) {
+		if (referenceData != null && !resourceIds.isEmpty()) {
+			referenceData.refreshAfterCommit(resourceIds);
+		}
+	}
+
+	@Nullable
+	private ReferenceDataSnapshotFile createSnapshotFile(DozerUtil dozerUtil) {
+		String snapshotFile = entityInformation.getReferenceDataSnapshotFile();
+		if (!StringUtils.hasText(snapshotFile)) {
+			return null;
+		}
+
+		EntityCodec codec = EntityCodec.of(entityInformation.getPersistentEntity());
+		if (codec == null) {
+			LOG.warn("Not persisting the reference data of {} to {}, only simple properties can be persisted,"
+					+ " unsupported properties: {}", entityInformation.getJavaType().getName(), snapshotFile,
+					EntityCodec.getUnsupportedProperties(entityInformation.getPersistentEntity()));
+			return null;
+		}
+
+		return new ReferenceDataSnapshotFile(Paths.get(snapshotFile), codec,
+				dozerUtil.getMappingFingerprint(entityInformation));
+	}
+}
@@ -2,23 +2,32 @@ package org.springframework.data.dozer.repository.support;
 
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
 import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+import org.springframework.data.util.Lazy;
 import org.springframework.data.util.ProxyUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
@@ -26,7 +35,17 @@ import org.springframework.util.ClassUtils;
  * Similar class like
  * {@see org.springframework.data.repository.support.Repositories} but returns
  * all registered repositories for a specific domain class
- * 
+ * <p>
+ * The repositories are indexed by domain type on the first lookup. The domain
+ * type is taken from the repository interface of the bean definition, so that
+ * neither the repository factory beans nor the repositories are created by the
+ * index and the {@code LAZY} and {@code DEFERRED} bootstrap modes are kept.
+ * Only repository factories registered without such a definition are created
+ * to index them. Lookups of other types fall back to the superclasses and are
+ * resolved once per type, the repository information and repository beans are
+ * resolved on the first lookup of their domain type. Lookups are lock-free map
+ * reads returning the same immutable results afterwards.
+ *
  * @author kchobantonov
  */
 public class Repositories implements Iterable<Class<?>>, ApplicationContextAware {
@@ -35,18 +54,152 @@ public class Repositories implements Iterable<Class<?>>, ApplicationContextAware
 
 	private static final String DOMAIN_TYPE_MUST_NOT_BE_NULL = "Domain type must not be null!";
 
-	private Optional<BeanFactory> beanFactory;
-	private Map<Class<?>, Set<String>> repositoryBeanNames;
-	private Map<Class<?>, Map<String, RepositoryFactoryInformation<Object, Object>>> repositoryFactoryInfos;
+	/**
+	 * Immutable index of the repository bean names of a bean factory.
+	 */
+	private static class Index {
+		private final Optional<ListableBeanFactory> beanFactory;
+		private final Map<Class<?>, Set<String>> repositoryBeanNames;
+		// resolved on first lookup, including the superclass fallback and negative
+		// results
+		private final Map<Class<?>, Optional<Map<String, RepositoryInformation>>> resolvedRepositoryInformations = new ConcurrentHashMap<>();
+		private final Map<Class<?>, Optional<Map<String, Object>>> resolvedRepositories = new ConcurrentHashMap<>();
+
+		Index() {
+			this.beanFactory = Optional.empty();
+			this.repositoryBeanNames = Collections.emptyMap();
+		}
+
+		Index(ListableBeanFactory factory) {
+			Map<Class<?>, Set<String>> names = new HashMap<>();
+
+			for (String name : BeanFactoryUtils.beanNamesForTypeIncludingAncestors(factory,
+					RepositoryFactoryInformation.class, false, false)) {
+				String beanName = BeanFactoryUtils.transformedBeanName(name);
+				Class<?> repositoryInterface = getRepositoryInterface(factory, beanName);
+
+				Set<Class<?>> typesToRegister = new LinkedHashSet<>();
+				if (repositoryInterface != null) {
+					typesToRegister.add(AbstractRepositoryMetadata.getMetadata(repositoryInterface).getDomainType());
+				} else {
+					RepositoryInformation information = getRepositoryInformation(factory, beanName);
+					typesToRegister.add(ClassUtils.getUserClass(information.getDomainType()));
+					typesToRegister.addAll(information.getAlternativeDomainTypes());
+				}
+
+				for (Class<?> type : typesToRegister) {
+					names.computeIfAbsent(type, it -> new LinkedHashSet<>()).add(beanName);
+				}
+			}
+
+			Map<Class<?>, Set<String>> indexedNames = new HashMap<>();
+			names.forEach((type, value) -> indexedNames.put(type, Collections.unmodifiableSet(value)));
+
+			this.beanFactory = Optional.of(factory);
+			this.repositoryBeanNames = Collections.unmodifiableMap(indexedNames);
+		}
+
+		/**
+		 * Returns the repository interface the bean definition of the given
+		 * repository factory bean is registered for or {@literal null} if it has no
+		 * such definition.
+		 */
+		@Nullable
+		private static Class<?> getRepositoryInterface(ListableBeanFactory factory, String beanName) {
+			ConfigurableListableBeanFactory beanFactory = getConfigurableBeanFactory(factory);
+			if (beanFactory == null) {
+				return null;
+			}
+
+			BeanDefinition definition;
+			try {
+				definition = beanFactory.getMergedBeanDefinition(beanName);
+			} catch (NoSuchBeanDefinitionException e) {
+				return null;
+			}
+
+			ValueHolder argument = definition.getConstructorArgumentValues().getArgumentValue(0, null);
+			Object value = argument == null ? null : argument.getValue();
+			if (value instanceof Class) {
+				return (Class<?>) value;
+			}
+			if (value instanceof String) {
+				return ClassUtils.resolveClassName((String) value, beanFactory.getBeanClassLoader());
+			}
+			return null;
+		}
+
+		@Nullable
+		private static ConfigurableListableBeanFactory getConfigurableBeanFactory(BeanFactory factory) {
+			if (factory instanceof ConfigurableListableBeanFactory) {
+				return (ConfigurableListableBeanFactory) factory;
+			}
+			if (factory instanceof ConfigurableApplicationContext
+					&& ((ConfigurableApplicationContext) factory).isActive()) {
+				return ((ConfigurableApplicationContext) factory).getBeanFactory();
+			}
+			return null;
+		}
+
+		private static RepositoryInformation getRepositoryInformation(ListableBeanFactory factory, String beanName) {
+			return factory.getBean(BeanFactory.FACTORY_BEAN_PREFIX + beanName, RepositoryFactoryInformation.class)
+					.getRepositoryInformation();
+		}
+
+		/**
+		 * Returns the domain type the repositories of the given user type are
+		 * registered for, falling back to the superclasses.
+		 */
+		Class<?> getRegisteredType(Class<?> userType) {
+			Class<?> type = userType;
+			while (type != null && !repositoryBeanNames.containsKey(type)) {
+				type = type.getSuperclass();
+			}
+			return type;
+		}
+
+		Optional<Map<String, RepositoryInformation>> getRepositoryInformationFor(Class<?> userType) {
+			Optional<Map<String, RepositoryInformation>> result = resolvedRepositoryInformations.get(userType);
+			if (result != null) {
+				return result;
+			}
+
+			return resolvedRepositoryInformations.computeIfAbsent(userType,
+					it -> resolve(it, Index::getRepositoryInformation));
+		}
+
+		Optional<Map<String, Object>> getRepositoriesFor(Class<?> userType) {
+			Optional<Map<String, Object>> result = resolvedRepositories.get(userType);
+			if (result != null) {
+				return result;
+			}
+
+			return resolvedRepositories.computeIfAbsent(userType, it -> resolve(it, BeanFactory::getBean));
+		}
+
+		private <T> Optional<Map<String, T>> resolve(Class<?> userType,
+				BiFunction<ListableBeanFactory, String, T> resolver) {
+			Class<?> registeredType = getRegisteredType(userType);
+			Set<String> names = registeredType == null ? null : repositoryBeanNames.get(registeredType);
+
+			return beanFactory.flatMap(factory -> Optional.ofNullable(names).map(beans -> {
+				Map<String, T> resolved = new LinkedHashMap<>();
+				for (String bean : beans) {
+					resolved.put(bean, resolver.apply(factory, bean));
+				}
+				return Collections.unmodifiableMap(resolved);
+			}));
+		}
+	}
+
+	private volatile Lazy<Index> index;
 
 	/**
 	 * Constructor to create the {@link #NONE} instance.
 	 */
 	private Repositories() {
 
-		this.beanFactory = Optional.empty();
-		this.repositoryBeanNames = Collections.emptyMap();
-		this.repositoryFactoryInfos = Collections.emptyMap();
+		this.index = Lazy.of(new Index());
 	}
 
 	/**
@@ -59,28 +212,12 @@ public class Repositories implements Iterable<Class<?>>, ApplicationContextAware
 
 		Assert.notNull(factory, "ListableBeanFactory must not be null!");
 
-		this.beanFactory = Optional.of(factory);
-		this.repositoryFactoryInfos = new HashMap<>();
-		this.repositoryBeanNames = new HashMap<>();
-
-		populateRepositoryFactoryInformation(factory);
+		this.index = Lazy.of(() -> new Index(factory));
 	}
 
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
-		this.beanFactory = Optional.of(applicationContext);
-		this.repositoryFactoryInfos = new HashMap<>();
-		this.repositoryBeanNames = new HashMap<>();
-
-		populateRepositoryFactoryInformation(applicationContext);
-	}
-
-	private void populateRepositoryFactoryInformation(ListableBeanFactory factory) {
-
-		for (String name : BeanFactoryUtils.beanNamesForTypeIncludingAncestors(factory,
-				RepositoryFactoryInformation.class, false, false)) {
-			cacheRepositoryFactory(name);
-		}
+		this.index = Lazy.of(() -> new Index(applicationContext));
 	}
 
 	/**
@@ -95,33 +232,7 @@ public class Repositories implements Iterable<Class<?>>, ApplicationContextAware
 
 		Assert.notNull(domainClass, DOMAIN_TYPE_MUST_NOT_BE_NULL);
 
-		Map<String, RepositoryFactoryInformation<Object, Object>> information = getRepositoryFactoryInfoFor(
-				domainClass);
-		if (information == null) {
-			return Optional.empty();
-		}
-		return Optional.of(information.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
-				e -> (RepositoryInformation) e.getValue().getRepositoryInformation())));
-	}
-
-	@SuppressWarnings("rawtypes")
-	private synchronized void cacheRepositoryFactory(String name) {
-
-		RepositoryFactoryInformation repositoryFactoryInformation = beanFactory.get().getBean(name,
-				RepositoryFactoryInformation.class);
-		Class<?> domainType = ClassUtils
-				.getUserClass(repositoryFactoryInformation.getRepositoryInformation().getDomainType());
-
-		RepositoryInformation information = repositoryFactoryInformation.getRepositoryInformation();
-		Set<Class<?>> alternativeDomainTypes = information.getAlternativeDomainTypes();
-
-		Set<Class<?>> typesToRegister = new HashSet<>(alternativeDomainTypes.size() + 1);
-		typesToRegister.add(domainType);
-		typesToRegister.addAll(alternativeDomainTypes);
-
-		for (Class<?> type : typesToRegister) {
-			cache(type, repositoryFactoryInformation, BeanFactoryUtils.transformedBeanName(name));
-		}
+		return index.get().getRepositoryInformationFor(ProxyUtils.getUserClass(domainClass));
 	}
 
 	/**
@@ -137,11 +248,12 @@ public class Repositories implements Iterable<Class<?>>, ApplicationContextAware
 
 		Class<?> userClass = ProxyUtils.getUserClass(domainClass);
 
-		return repositoryFactoryInfos.containsKey(userClass);
+		return index.get().repositoryBeanNames.containsKey(userClass);
 	}
 
 	/**
-	 * Returns the repositories managing the given domain class.
+	 * Returns the repositories managing the given domain class, falling back to
+	 * the repositories of its superclasses.
 	 *
 	 * @param domainClass must not be {@literal null}.
 	 * @return
@@ -150,81 +262,15 @@ public class Repositories implements Iterable<Class<?>>, ApplicationContextAware
 
 		Assert.notNull(domainClass, DOMAIN_TYPE_MUST_NOT_BE_NULL);
 
-		Class<?> userClass = ProxyUtils.getUserClass(domainClass);
-		Optional<Set<String>> repositoryBeanName = Optional.ofNullable(repositoryBeanNames.get(userClass));
-
-		return beanFactory.flatMap(it -> repositoryBeanName
-				.map(beans -> beans.stream().collect(Collectors.toMap(Function.identity(), it::getBean))));
-	}
-
-	/**
-	 * Returns the {@link RepositoryFactoryInformation} for the given domain class.
-	 * The given <code>code</code> is converted to the actual user class if
-	 * necessary, @see ProxyUtils#getUserClass.
-	 *
-	 * @param domainClass must not be {@literal null}.
-	 * @return the {@link RepositoryFactoryInformation} for the given domain class
-	 *         or {@literal null} if no repository registered for this domain class.
-	 */
-	private Map<String, RepositoryFactoryInformation<Object, Object>> getRepositoryFactoryInfoFor(
-			Class<?> domainClass) {
-
-		Assert.notNull(domainClass, DOMAIN_TYPE_MUST_NOT_BE_NULL);
-
-		Class<?> userType = ProxyUtils.getUserClass(domainClass);
-		Map<String, RepositoryFactoryInformation<Object, Object>> repositoryInfo = repositoryFactoryInfos.get(userType);
-
-		if (repositoryInfo != null) {
-			return repositoryInfo;
-		}
-
-		if (!userType.equals(Object.class)) {
-			return getRepositoryFactoryInfoFor(userType.getSuperclass());
-		}
-
-		return Collections.emptyMap();
+		return index.get().getRepositoriesFor(ProxyUtils.getUserClass(domainClass));
 	}
 
 	/*
 	 * (non-Javadoc)
-	 * 
+	 *
 	 * @see java.lang.Iterable#iterator()
 	 */
 	public Iterator<Class<?>> iterator() {
-		return repositoryFactoryInfos.keySet().iterator();
-	}
-
-	/**
-	 * Caches the repository information for the given domain type or overrides
-	 * existing information in case the bean name points to a primary bean
-	 * definition.
-	 * 
-	 * @param type        must not be {@literal null}.
-	 * @param information must not be {@literal null}.
-	 * @param name        must not be {@literal null}.
-	 */
-	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private void cache(Class<?> type, RepositoryFactoryInformation information, String name) {
-
-		Map<String, RepositoryFactoryInformation<Object, Object>> value = this.repositoryFactoryInfos.get(type);
-		if (value == null) {
-			value = new HashMap<>();
-		}
-
-		if (!value.containsKey(name)) {
-			value.put(name, information);
-		}
-
-		Set<String> names = this.repositoryBeanNames.get(type);
-		if (names == null) {
-			names = new HashSet<>();
-		}
-		if (!names.contains(name)) {
-			names.add(name);
-		}
-
-		this.repositoryFactoryInfos.put(type, value);
-		this.repositoryBeanNames.put(type, names);
+		return index.get().repositoryBeanNames.keySet().iterator();
 	}
-
-}
\ No newline at end of file
+}
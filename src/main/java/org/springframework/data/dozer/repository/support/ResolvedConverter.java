@@ -0,0 +1,122 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link ConversionService} conversion between two fixed types with the
+ * {@link GenericConverter} looked up once, when the repository is bound. The
+ * converter is invoked directly, without building {@link TypeDescriptor}s or
+ * querying the converter cache on every call.
+ * <p>
+ * Conversions go through the conversion service if it is not a
+ * {@link GenericConversionService}, for {@literal null} sources, for sources of
+ * another runtime type than the declared one (e.g. proxies) and whenever a
+ * {@link ConditionalGenericConverter} does not match the declared types.
+ * Converters registered after the lookup are not used for the resolved pair.
+ *
+ * @author kchobantonov
+ */
+public class ResolvedConverter {
+
+	private static final Method GET_CONVERTER_METHOD = ReflectionUtils.findMethod(GenericConversionService.class,
+			"getConverter", TypeDescriptor.class, TypeDescriptor.class);
+
+	static {
+		ReflectionUtils.makeAccessible(GET_CONVERTER_METHOD);
+	}
+
+	private final ConversionService conversionService;
+	private final Class<?> sourceClass;
+	private final TypeDescriptor sourceType;
+	private final TypeDescriptor targetType;
+	private final @Nullable GenericConverter converter;
+
+	private ResolvedConverter(ConversionService conversionService, Class<?> sourceClass, Class<?> targetClass) {
+		this.conversionService = conversionService;
+		this.sourceClass = sourceClass;
+		this.sourceType = TypeDescriptor.valueOf(sourceClass);
+		this.targetType = TypeDescriptor.valueOf(targetClass);
+		this.converter = conversionService instanceof GenericConversionService
+				? (GenericConverter) ReflectionUtils.invokeMethod(GET_CONVERTER_METHOD, conversionService, sourceType,
+						targetType)
+				: null;
+	}
+
+	/**
+	 * Resolves the converter from {@code sourceClass} to {@code targetClass}.
+	 *
+	 * @param conversionService must not be {@literal null}.
+	 * @param sourceClass       must not be {@literal null}.
+	 * @param targetClass       must not be {@literal null}.
+	 * @return
+	 */
+	public static ResolvedConverter of(ConversionService conversionService, Class<?> sourceClass,
+			Class<?> targetClass) {
+		Assert.notNull(conversionService, "ConversionService must not be null!");
+		Assert.notNull(sourceClass, "Source class must not be null!");
+		Assert.notNull(targetClass, "Target class must not be null!");
+
+		return new ResolvedConverter(conversionService, sourceClass, targetClass);
+	}
+
+	/**
+	 * Returns whether a converter has been resolved, i.e. whether conversions of
+	 * the declared source type bypass the converter lookup of the conversion
+	 * service.
+	 *
+	 * @return
+	 */
+	public boolean isResolved() {
+		return converter != null;
+	}
+
+	/**
+	 * Converts the given source to the target type.
+	 *
+	 * @param source can be {@literal null}.
+	 * @return
+	 */
+	@Nullable
+	public Object convert(@Nullable Object source) {
+		if (converter == null || source == null || source.getClass() != sourceClass
+				|| (converter instanceof ConditionalGenericConverter
+						&& !((ConditionalGenericConverter) converter).matches(sourceType, targetType))) {
+			return conversionService.convert(source, source == null ? sourceType : TypeDescriptor.forObject(source),
+					targetType);
+		}
+
+		try {
+			return converter.convert(source, sourceType, targetType);
+		} catch (ConversionFailedException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw new ConversionFailedException(sourceType, targetType, source, e);
+		}
+	}
+
+	/**
+	 * Converts all given sources to the target type with the resolved converter.
+	 *
+	 * @param sources must not be {@literal null}.
+	 * @return the converted values in source order
+	 */
+	public List<Object> convertAll(List<?> sources) {
+		List<Object> result = new ArrayList<Object>(sources.size());
+		for (Object source : sources) {
+			result.add(convert(source));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,263 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.google.common.collect.Lists;
+
+/**
+ * The secondary adapted sources composed into the properties of a dozer
+ * entity. Reads attach the rows of all dozer entities mapped together with one
+ * {@code findAllById} per source, running the sources in parallel on the
+ * executor of the repository outside of a transaction, see
+ * {@link ParallelReads}. Streamed results are attached in chunks of
+ * {@link #ATTACH_CHUNK_SIZE}. Saves split the properties back into rows of
+ * their sources, a property set to {@literal null} deletes the row sharing
+ * the identifier or clears the join property.
+ *
+ * @author kchobantonov
+ * @see org.springframework.data.dozer.annotation.DozerEntity#secondarySources()
+ */
+public class SecondaryAdaptedSources {
+
+	/**
+	 * The number of dozer entities of a stream attached together.
+	 */
+	public static final int ATTACH_CHUNK_SIZE = 100;
+
+	/**
+	 * A secondary adapted source and the mapping between its rows and the property
+	 * of the dozer entity.
+	 */
+	static class Source {
+		private final PersistentProperty<?> property;
+		private final CrudRepository<Object, Object> repository;
+		private final PersistentEntity<?, ?> rowPersistentEntity;
+		private final @Nullable PersistentProperty<?> joinProperty;
+		private final Function<Object, Object> toValue;
+		private final BiFunction<Object, Object, Object> toRow;
+
+		/**
+		 * @param property            the property of the dozer entity
+		 * @param repository          the adapted repository of the source
+		 * @param rowPersistentEntity the persistent entity of the rows
+		 * @param joinProperty        the property of the adapted entity holding the
+		 *                            row identifier, {@literal null} to join by the
+		 *                            identifier of the adapted entity
+		 * @param toValue             maps a row to the property value
+		 * @param toRow               maps the property value onto the existing row,
+		 *                            which is {@literal null} for a new row
+		 */
+		Source(PersistentProperty<?> property, CrudRepository<Object, Object> repository,
+				PersistentEntity<?, ?> rowPersistentEntity, @Nullable PersistentProperty<?> joinProperty,
+				Function<Object, Object> toValue, BiFunction<Object, Object, Object> toRow) {
+			this.property = property;
+			this.repository = repository;
+			this.rowPersistentEntity = rowPersistentEntity;
+			this.joinProperty = joinProperty;
+			this.toValue = toValue;
+			this.toRow = toRow;
+		}
+
+		boolean isSharingId() {
+			return joinProperty == null;
+		}
+	}
+
+	private final PersistentEntity<?, ?> persistentEntity;
+	private final PersistentEntity<?, ?> adaptedPersistentEntity;
+	private final List<Source> sources;
+	private final @Nullable Executor executor;
+
+	/**
+	 * @param persistentEntity        the persistent entity of the dozer entity
+	 * @param adaptedPersistentEntity the persistent entity of the adapted entity
+	 * @param sources                 the secondary sources
+	 * @param executor                reads the sources in parallel, can be
+	 *                                {@literal null}
+	 */
+	SecondaryAdaptedSources(PersistentEntity<?, ?> persistentEntity, PersistentEntity<?, ?> adaptedPersistentEntity,
+			List<Source> sources, @Nullable Executor executor) {
+		Assert.notEmpty(sources, "Sources must not be empty!");
+
+		this.persistentEntity = persistentEntity;
+		this.adaptedPersistentEntity = adaptedPersistentEntity;
+		this.sources = Collections.unmodifiableList(new ArrayList<Source>(sources));
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the properties of the dozer entities to the rows of the secondary
+	 * sources joined to their adapted entities.
+	 *
+	 * @param adaptedEntities the adapted entities
+	 * @param resources       the dozer entities mapped from the adapted entities,
+	 *                        in the same order
+	 */
+	public void attach(List<?> adaptedEntities, List<?> resources) {
+		Assert.isTrue(adaptedEntities.size() == resources.size(), "Each adapted entity must have a dozer entity!");
+
+		if (adaptedEntities.isEmpty()) {
+			return;
+		}
+
+		ParallelReads.readAll(sources, source -> {
+			attach(source, adaptedEntities, resources);
+			return source;
+		}, executor);
+	}
+
+	private void attach(Source source, List<?> adaptedEntities, List<?> resources) {
+		List<Object> keys = keys(source, adaptedEntities);
+		Map<Object, Object> rows = findAllById(source, keys);
+
+		for (int i = 0; i < resources.size(); i++) {
+			Object row = keys.get(i) == null ? null : rows.get(keys.get(i));
+			persistentEntity.getPropertyAccessor(resources.get(i)).setProperty(source.property,
+					row == null ? null : source.toValue.apply(row));
+		}
+	}
+
+	/**
+	 * Saves the sources joined by a property of the adapted entities, before the
+	 * adapted entities are saved. The join property of an adapted entity receives
+	 * the identifier of a new row and is cleared if the property of the dozer
+	 * entity is {@literal null}, the row itself is kept.
+	 *
+	 * @param resources       the saved dozer entities
+	 * @param adaptedEntities the adapted entities to save, in the same order
+	 */
+	public void saveReferenced(List<?> resources, List<?> adaptedEntities) {
+		for (Source source : sources) {
+			if (!source.isSharingId()) {
+				save(source, resources, adaptedEntities);
+			}
+		}
+	}
+
+	/**
+	 * Saves the sources sharing the identifier of the adapted entities, after the
+	 * adapted entities are saved. The row of a property of the dozer entity set
+	 * to {@literal null} is deleted.
+	 *
+	 * @param resources            the saved dozer entities
+	 * @param savedAdaptedEntities the saved adapted entities, in the same order
+	 */
+	public void saveSharingId(List<?> resources, List<?> savedAdaptedEntities) {
+		for (Source source : sources) {
+			if (source.isSharingId()) {
+				save(source, resources, savedAdaptedEntities);
+			}
+		}
+	}
+
+	private void save(Source source, List<?> resources, List<?> adaptedEntities) {
+		Assert.isTrue(adaptedEntities.size() == resources.size(), "Each dozer entity must have an adapted entity!");
+
+		List<Object> keys = keys(source, adaptedEntities);
+		Map<Object, Object> existingRows = findAllById(source, keys);
+
+		List<Integer> indexes = new ArrayList<Integer>();
+		List<Object> rows = new ArrayList<Object>();
+		List<Object> deletedRows = new ArrayList<Object>();
+		for (int i = 0; i < resources.size(); i++) {
+			Object value = persistentEntity.getPropertyAccessor(resources.get(i)).getProperty(source.property);
+			Object key = keys.get(i);
+			if (value == null) {
+				if (key != null && !source.isSharingId()) {
+					adaptedPersistentEntity.getPropertyAccessor(adaptedEntities.get(i)).setProperty(source.joinProperty,
+							null);
+				} else if (key != null && existingRows.containsKey(key)) {
+					deletedRows.add(existingRows.get(key));
+				}
+				continue;
+			}
+
+			Object row = source.toRow.apply(value, key == null ? null : existingRows.get(key));
+			if (key != null) {
+				source.rowPersistentEntity.getPropertyAccessor(row)
+						.setProperty(source.rowPersistentEntity.getRequiredIdProperty(), key);
+			}
+			indexes.add(i);
+			rows.add(row);
+		}
+
+		if (!deletedRows.isEmpty()) {
+			source.repository.deleteAll(deletedRows);
+		}
+		if (rows.isEmpty()) {
+			return;
+		}
+
+		List<Object> savedRows = Lists.newArrayList(source.repository.saveAll(rows));
+		Assert.state(savedRows.size() == rows.size(), "Adapted repository saved " + savedRows.size() + " of "
+				+ rows.size() + " entities of " + source.rowPersistentEntity.getType());
+
+		if (!source.isSharingId()) {
+			for (int i = 0; i < indexes.size(); i++) {
+				adaptedPersistentEntity.getPropertyAccessor(adaptedEntities.get(indexes.get(i))).setProperty(
+						source.joinProperty,
+						source.rowPersistentEntity.getIdentifierAccessor(savedRows.get(i)).getIdentifier());
+			}
+		}
+	}
+
+	/**
+	 * Deletes the rows of the sources sharing the identifier of the given adapted
+	 * entities, before the adapted entities are deleted.
+	 *
+	 * @param adaptedIds the identifiers of the deleted adapted entities
+	 */
+	public void deleteSharingId(Collection<?> adaptedIds) {
+		if (adaptedIds.isEmpty()) {
+			return;
+		}
+
+		for (Source source : sources) {
+			if (source.isSharingId()) {
+				List<Object> rows = Lists.newArrayList(source.repository.findAllById(new ArrayList<Object>(adaptedIds)));
+				if (!rows.isEmpty()) {
+					source.repository.deleteAll(rows);
+				}
+			}
+		}
+	}
+
+	private List<Object> keys(Source source, List<?> adaptedEntities) {
+		List<Object> result = new ArrayList<Object>(adaptedEntities.size());
+		for (Object adaptedEntity : adaptedEntities) {
+			result.add(source.isSharingId() ? adaptedPersistentEntity.getIdentifierAccessor(adaptedEntity).getIdentifier()
+					: adaptedPersistentEntity.getPropertyAccessor(adaptedEntity).getProperty(source.joinProperty));
+		}
+		return result;
+	}
+
+	private static Map<Object, Object> findAllById(Source source, List<Object> keys) {
+		Set<Object> ids = new LinkedHashSet<Object>(keys);
+		ids.remove(null);
+		if (ids.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		Map<Object, Object> result = new HashMap<Object, Object>();
+		for (Object row : source.repository.findAllById(ids)) {
+			result.put(source.rowPersistentEntity.getIdentifierAccessor(row).getIdentifier(), row);
+		}
+		return result;
+	}
+}
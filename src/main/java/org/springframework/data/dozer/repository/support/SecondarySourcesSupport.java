@@ -0,0 +1,170 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.data.dozer.annotation.DozerEntity;
+import org.springframework.data.dozer.annotation.SecondarySource;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import com.github.dozermapper.core.Mapper;
+import com.github.dozermapper.core.metadata.MetadataLookupException;
+
+/**
+ * The secondary sources side of a dozer repository.
+ *
+ * @author kchobantonov
+ * @see DozerEntity#secondarySources()
+ */
+class SecondarySourcesSupport<T> {
+
+	private final DozerEntityInformation<T, ?> entityInformation;
+	private final ListableBeanFactory beanFactory;
+	private final Mapper dozerMapper;
+
+	SecondarySourcesSupport(DozerEntityInformation<T, ?> entityInformation, ListableBeanFactory beanFactory,
+			Mapper dozerMapper) {
+		Assert.notNull(entityInformation, "DozerEntityInformation must not be null!");
+		Assert.notNull(beanFactory, "BeanFactory must not be null!");
+		Assert.notNull(dozerMapper, "Mapper must not be null!");
+
+		this.entityInformation = entityInformation;
+		this.beanFactory = beanFactory;
+		this.dozerMapper = dozerMapper;
+	}
+
+	/**
+	 * Creates the secondary adapted sources declared by the dozer entity.
+	 *
+	 * @param persistentEntities
+	 * @param adaptedPersistentEntity
+	 * @param dozerUtil
+	 * @param executor                can be {@literal null}
+	 * @return the sources or {@literal null} if none are declared
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	SecondaryAdaptedSources create(PersistentEntities persistentEntities,
+			PersistentEntity<?, ?> adaptedPersistentEntity, DozerUtil dozerUtil, @Nullable Executor executor) {
+		if (entityInformation.getSecondarySources().length == 0) {
+			return null;
+		}
+
+		Class<?> javaType = entityInformation.getJavaType();
+		Repositories repositories = beanFactory.getBeanProvider(Repositories.class)
+				.getIfAvailable(() -> new Repositories(beanFactory));
+
+		List<SecondaryAdaptedSources.Source> sources = new ArrayList<SecondaryAdaptedSources.Source>();
+		for (SecondarySource secondarySource : entityInformation.getSecondarySources()) {
+			Class<?> rowType = secondarySource.adaptedDomainClass();
+			PersistentProperty<?> property = entityInformation.getPersistentEntity()
+					.getRequiredPersistentProperty(secondarySource.property());
+
+			Map<String, Object> rowRepositories = repositories.getRepositoriesFor(rowType)
+					.orElse(Collections.emptyMap());
+			String repositoryName = StringUtils.hasText(secondarySource.adaptedRepositoryName())
+					? secondarySource.adaptedRepositoryName()
+					: rowRepositories.size() == 1 ? rowRepositories.keySet().iterator().next() : null;
+			Assert.state(repositoryName != null && rowRepositories.containsKey(repositoryName),
+					"Unable to find a unique repository for " + rowType + " to support the secondary source "
+							+ secondarySource.property() + " of dozer entity " + javaType + ". Repositories found: "
+							+ rowRepositories.keySet() + ". Validate annotation " + SecondarySource.class
+							+ " attribute adaptedRepositoryName");
+			Object repository = rowRepositories.get(repositoryName);
+			Assert.isInstanceOf(CrudRepository.class, repository,
+					"Unsupported adapted repository " + repositoryName + " of the secondary source "
+							+ secondarySource.property() + " of dozer entity " + javaType
+							+ ". Adapted repository have to implement " + CrudRepository.class);
+
+			PersistentEntity<?, ?> rowPersistentEntity = persistentEntities.getRequiredPersistentEntity(rowType);
+			PersistentProperty<?> joinProperty = StringUtils.hasText(secondarySource.joinProperty())
+					? adaptedPersistentEntity.getRequiredPersistentProperty(secondarySource.joinProperty())
+					: null;
+			Class<?> keyType = joinProperty != null ? joinProperty.getType()
+					: adaptedPersistentEntity.getRequiredIdProperty().getType();
+			Assert.state(ClassUtils.isAssignable(rowPersistentEntity.getRequiredIdProperty().getType(), keyType),
+					"The identifier of " + rowType + " of the secondary source " + secondarySource.property()
+							+ " of dozer entity " + javaType + " must be of the join key type " + keyType);
+
+			Function<Object, Object> toValue;
+			BiFunction<Object, Object, Object> toRow;
+			Class<?> propertyType = property.getType();
+			String dozerMapId = StringUtils.hasText(secondarySource.dozerMapId()) ? secondarySource.dozerMapId()
+					: null;
+			if (propertyType.isAssignableFrom(rowType)) {
+				toValue = row -> row;
+				toRow = (value, row) -> value;
+			} else {
+				if (!dozerUtil.hasDozerMapping(rowType, propertyType, dozerMapId)
+						|| !dozerUtil.hasDozerMapping(propertyType, rowType, dozerMapId)) {
+					throw new MetadataLookupException("No mapping definition found for the secondary source "
+							+ secondarySource.property() + ": " + rowType.getName() + " <-> " + propertyType.getName()
+							+ ".");
+				}
+				toValue = row -> map(row, propertyType, dozerMapId);
+				toRow = (value, row) -> {
+					if (row == null) {
+						return map(value, rowType, dozerMapId);
+					}
+					if (dozerMapId == null) {
+						dozerMapper.map(value, row);
+					} else {
+						dozerMapper.map(value, row, dozerMapId);
+					}
+					return row;
+				};
+			}
+
+			sources.add(new SecondaryAdaptedSources.Source(property, (CrudRepository<Object, Object>) repository,
+					rowPersistentEntity, joinProperty, toValue, toRow));
+		}
+
+		return new SecondaryAdaptedSources(entityInformation.getPersistentEntity(), adaptedPersistentEntity, sources,
+				executor);
+	}
+
+	/**
+	 * Attaches the rows of the secondary sources of the given binding to the
+	 * dozer entities it maps.
+	 *
+	 * @param binding
+	 * @return the binding mapping the dozer entities together with their secondary
+	 *         sources
+	 */
+	DozerRepositoryBinding attach(DozerRepositoryBinding binding) {
+		SecondaryAdaptedSources secondarySources = binding.getSecondarySources();
+		if (secondarySources == null) {
+			return binding;
+		}
+
+		Function<Object, Object> toDozerEntity = binding.getToDozerEntity();
+		Function<List<?>, List<Object>> toDozerEntities = binding.getToDozerEntities();
+		return binding.toBuilder().toDozerEntityWithoutSecondarySources(toDozerEntity).toDozerEntity(entity -> {
+			Object result = toDozerEntity.apply(entity);
+			secondarySources.attach(Collections.singletonList(entity), Collections.singletonList(result));
+			return result;
+		}).toDozerEntities(entities -> {
+			List<Object> result = toDozerEntities.apply(entities);
+			secondarySources.attach(entities, result);
+			return result;
+		}).build();
+	}
+
+	private Object map(Object source, Class<?> targetType, @Nullable String dozerMapId) {
+		return dozerMapId == null ? dozerMapper.map(source, targetType)
+				: dozerMapper.map(source, targetType, dozerMapId);
+	}
+}
@@ -0,0 +1,436 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanFactory;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.NullHandling;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.dozer.annotation.DozerRepository;
+import org.springframework.data.dozer.repository.ShardKeyResolver;
+import org.springframework.data.dozer.repository.support.InMemorySortFallback.SortProperty;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.google.common.collect.Lists;
+
+/**
+ * The adapted repositories backing a sharded dozer repository. Routes single
+ * entity operations by the {@link ShardKeyResolver} and fans out all other
+ * operations, in parallel outside of a transaction, merging sorted results with an N-way merge so that
+ * only the rows surviving the merge have to be mapped.
+ *
+ * @author kchobantonov
+ */
+public class ShardedAdaptedRepositories {
+
+	private final List<String> names;
+	private final List<PagingAndSortingRepository<Object, Object>> repositories;
+	private final PersistentEntity<?, ?> adaptedPersistentEntity;
+	private final ShardKeyResolver<Object> shardKeyResolver;
+	private final @Nullable Executor executor;
+
+	/**
+	 * @param names                   the bean names of the shards
+	 * @param repositories            the adapted repositories of the shards
+	 * @param adaptedPersistentEntity the persistent entity of the adapted entity
+	 * @param shardKeyResolver        routes the dozer entities to the shards
+	 * @param executor                reads the shards in parallel, can be
+	 *                                {@literal null}
+	 */
+	ShardedAdaptedRepositories(List<String> names, List<PagingAndSortingRepository<Object, Object>> repositories,
+			PersistentEntity<?, ?> adaptedPersistentEntity, ShardKeyResolver<Object> shardKeyResolver,
+			@Nullable Executor executor) {
+		Assert.notEmpty(repositories, "Repositories must not be empty!");
+		Assert.isTrue(names.size() == repositories.size(), "Each repository must have a name!");
+		Assert.notNull(adaptedPersistentEntity, "Adapted PersistentEntity must not be null!");
+		Assert.notNull(shardKeyResolver, "ShardKeyResolver must not be null!");
+
+		this.names = Collections.unmodifiableList(new ArrayList<String>(names));
+		this.repositories = Collections.unmodifiableList(new ArrayList<>(repositories));
+		this.adaptedPersistentEntity = adaptedPersistentEntity;
+		this.shardKeyResolver = shardKeyResolver;
+		this.executor = executor;
+	}
+
+	/**
+	 * Resolves the names of the adapted repository beans of a sharded repository.
+	 * 
+	 * @param repositories      the candidate adapted repositories by bean name
+	 * @param dozerRepository   the repository annotation
+	 * @param entityInformation the dozer entity information
+	 * @return the shard names in bean name order
+	 */
+	static List<String> resolveNames(Map<String, Object> repositories, DozerRepository dozerRepository,
+			DozerEntityInformation<?, ?> entityInformation) {
+		List<String> names = repositories.entrySet().stream()
+				.filter(it -> dozerRepository.adaptedRepositoryClass().isAssignableFrom(it.getValue().getClass()))
+				.map(it -> it.getKey()).sorted().collect(Collectors.toList());
+
+		Assert.notEmpty(names,
+				"Unable to find repository information for " + entityInformation.getAdaptedJavaType()
+						+ " and adapter repository class " + dozerRepository.adaptedRepositoryClass()
+						+ " to support sharded dozer entity " + entityInformation.getJavaType()
+						+ ". Validate annnotation " + DozerRepository.class + " attribute adaptedRepositoryClass");
+
+		return names;
+	}
+
+	/**
+	 * Creates the shards of a sharded repository with the
+	 * {@link DozerRepository#shardKeyResolver() shard key resolver} bean, or a new
+	 * instance of its class if there is no such bean.
+	 * 
+	 * @param names                   the shard names
+	 * @param repositories            the candidate adapted repositories by bean
+	 *                                name
+	 * @param dozerRepository         the repository annotation
+	 * @param entityInformation       the dozer entity information
+	 * @param adaptedPersistentEntity the persistent entity of the adapted entity
+	 * @param beanFactory
+	 * @param executor                reads the shards in parallel, can be
+	 *                                {@literal null}
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	static ShardedAdaptedRepositories create(List<String> names, Map<String, Object> repositories,
+			DozerRepository dozerRepository, DozerEntityInformation<?, ?> entityInformation,
+			PersistentEntity<?, ?> adaptedPersistentEntity, BeanFactory beanFactory, @Nullable Executor executor) {
+		List<PagingAndSortingRepository<Object, Object>> shards = new ArrayList<>();
+		for (String name : names) {
+			Object shard = repositories.get(name);
+			Assert.isInstanceOf(PagingAndSortingRepository.class, shard,
+					"Unsupported adapted repository " + name + " for " + entityInformation.getAdaptedJavaType()
+							+ " to support dozer entity " + entityInformation.getJavaType()
+							+ ". Adapted repository have to implement " + PagingAndSortingRepository.class);
+			shards.add((PagingAndSortingRepository<Object, Object>) shard);
+		}
+
+		Class<ShardKeyResolver<Object>> resolverType = (Class<ShardKeyResolver<Object>>) dozerRepository
+				.shardKeyResolver();
+		ShardKeyResolver<Object> shardKeyResolver = beanFactory.getBeanProvider(resolverType)
+				.getIfAvailable(() -> BeanUtils.instantiateClass(resolverType));
+
+		return new ShardedAdaptedRepositories(names, shards, adaptedPersistentEntity, shardKeyResolver, executor);
+	}
+
+	public List<String> getNames() {
+		return names;
+	}
+
+	public List<PagingAndSortingRepository<Object, Object>> getRepositories() {
+		return repositories;
+	}
+
+	public int size() {
+		return repositories.size();
+	}
+
+	/**
+	 * Returns the index of the shard holding the entity with the given dozer
+	 * identifier.
+	 * 
+	 * @param resourceId must not be {@literal null}, dozer entities without
+	 *                   identifier can not be routed.
+	 */
+	public int getShardIndex(Object resourceId) {
+		Assert.notNull(resourceId, "Unable to route a dozer entity of " + adaptedPersistentEntity.getType()
+				+ " without an id to one of the shards " + names + "!");
+		return checkIndex(shardKeyResolver.resolveShard(resourceId, repositories.size()));
+	}
+
+	/**
+	 * Returns the index of the shard a new dozer entity without identifier is
+	 * stored in. The default {@link ShardKeyResolver} rejects new dozer entities
+	 * without identifier, since the identifier generated by the shard would not
+	 * route back to it.
+	 */
+	public int getShardIndexForNew(Object resource) {
+		return checkIndex(shardKeyResolver.resolveShardForNew(resource, repositories.size()));
+	}
+
+	/**
+	 * Returns the adapted repository of the shard holding the entity with the
+	 * given dozer identifier.
+	 * 
+	 * @param resourceId must not be {@literal null}
+	 * @return
+	 */
+	public PagingAndSortingRepository<Object, Object> getRepository(Object resourceId) {
+		return repositories.get(getShardIndex(resourceId));
+	}
+
+	/**
+	 * Returns the adapted repository of the shard a new dozer entity is stored
+	 * in, by its identifier if it has one assigned already.
+	 * 
+	 * @param resource
+	 * @param resourceId the assigned identifier, can be {@literal null}
+	 * @return
+	 */
+	public PagingAndSortingRepository<Object, Object> getRepositoryForNew(Object resource,
+			@Nullable Object resourceId) {
+		return repositories.get(resourceId != null ? getShardIndex(resourceId) : getShardIndexForNew(resource));
+	}
+
+	private int checkIndex(int index) {
+		Assert.state(index >= 0 && index < repositories.size(), "Shard key resolver " + shardKeyResolver.getClass()
+				+ " returned shard " + index + " out of " + repositories.size() + " shards " + names);
+		return index;
+	}
+
+	/**
+	 * Runs the given operation against all shards, in parallel outside of a
+	 * transaction.
+	 *
+	 * @return the results in shard order
+	 * @see ParallelReads
+	 */
+	public <R> List<R> fanOut(Function<PagingAndSortingRepository<Object, Object>, R> operation) {
+		return ParallelReads.readAll(repositories, operation, executor);
+	}
+
+	/**
+	 * Reads the adapted entities from the shards holding the given identifiers, in
+	 * parallel outside of a transaction.
+	 * 
+	 * @param resourceIdsByEntityId the dozer identifiers by their distinct adapted
+	 *                              identifier
+	 * @param read                  reads the adapted identifiers of one shard
+	 * @return the adapted entities in shard order
+	 */
+	public List<Object> findAllById(Map<Object, ?> resourceIdsByEntityId,
+			BiFunction<PagingAndSortingRepository<Object, Object>, List<Object>, List<Object>> read) {
+		List<Set<Object>> entityIdsByShard = new ArrayList<Set<Object>>(repositories.size());
+		for (int i = 0; i < repositories.size(); i++) {
+			entityIdsByShard.add(new LinkedHashSet<Object>());
+		}
+		resourceIdsByEntityId
+				.forEach((entityId, resourceId) -> entityIdsByShard.get(getShardIndex(resourceId)).add(entityId));
+
+		List<Integer> shardIndexes = new ArrayList<Integer>();
+		for (int i = 0; i < repositories.size(); i++) {
+			if (!entityIdsByShard.get(i).isEmpty()) {
+				shardIndexes.add(i);
+			}
+		}
+
+		List<Object> result = new ArrayList<Object>();
+		for (List<Object> entities : ParallelReads.readAll(shardIndexes,
+				i -> read.apply(repositories.get(i), new ArrayList<Object>(entityIdsByShard.get(i))), executor)) {
+			result.addAll(entities);
+		}
+		return result;
+	}
+
+	public List<Object> findAll() {
+		List<Object> result = new ArrayList<Object>();
+		for (Iterable<Object> entities : fanOut(it -> it.findAll())) {
+			result.addAll(Lists.newArrayList(entities));
+		}
+		return result;
+	}
+
+	public List<Object> findAll(Sort sort) {
+		List<List<Object>> entities = new ArrayList<List<Object>>();
+		for (Iterable<Object> shardEntities : fanOut(it -> it.findAll(sort))) {
+			entities.add(Lists.newArrayList(shardEntities));
+		}
+		return merge(entities, adaptedPersistentEntity, sort, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Reads the first {@code offset + size} entities of every shard and merges
+	 * them. The total is the sum of the shard totals, so no extra count query is
+	 * needed.
+	 */
+	public Page<Object> findAll(Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			List<Object> entities = findAll(pageable.getSort());
+			return new PageImpl<Object>(entities, pageable, entities.size());
+		}
+
+		Pageable shardPageable = PageRequest.of(0, getShardLimit(pageable, 0), pageable.getSort());
+		List<Page<Object>> pages = fanOut(it -> it.findAll(shardPageable));
+
+		long total = 0;
+		List<List<Object>> entities = new ArrayList<List<Object>>(pages.size());
+		for (Page<Object> page : pages) {
+			total += page.getTotalElements();
+			entities.add(page.getContent());
+		}
+
+		return new PageImpl<Object>(
+				merge(entities, adaptedPersistentEntity, pageable.getSort(), pageable.getOffset(),
+						pageable.getPageSize()),
+				pageable, total);
+	}
+
+	/**
+	 * Reads a slice of {@code offset + size} entities of every shard with the given
+	 * slice function and merges them.
+	 */
+	public Slice<Object> findSlice(Pageable pageable,
+			BiFunction<PagingAndSortingRepository<Object, Object>, Pageable, Slice<?>> slice) {
+		Pageable shardPageable = PageRequest.of(0, getShardLimit(pageable, 1), pageable.getSort());
+		List<Slice<?>> slices = fanOut(it -> slice.apply(it, shardPageable));
+
+		long available = 0;
+		boolean hasNext = false;
+		List<List<Object>> entities = new ArrayList<List<Object>>(slices.size());
+		for (Slice<?> shardSlice : slices) {
+			available += shardSlice.getNumberOfElements();
+			hasNext |= shardSlice.hasNext();
+			entities.add(new ArrayList<Object>(shardSlice.getContent()));
+		}
+
+		hasNext |= available > pageable.getOffset() + pageable.getPageSize();
+
+		return new SliceImpl<Object>(
+				merge(entities, adaptedPersistentEntity, pageable.getSort(), pageable.getOffset(),
+						pageable.getPageSize()),
+				pageable, hasNext);
+	}
+
+	public long count() {
+		long count = 0;
+		for (Long shardCount : fanOut(it -> it.count())) {
+			count += shardCount;
+		}
+		return count;
+	}
+
+	private static int getShardLimit(Pageable pageable, int extra) {
+		long limit = pageable.getOffset() + pageable.getPageSize() + extra;
+		Assert.isTrue(limit <= Integer.MAX_VALUE,
+				"Offset " + pageable.getOffset() + " is too large for a sharded repository!");
+		return (int) limit;
+	}
+
+	/**
+	 * N-way merge of the given sorted lists of adapted entities. Skips the first
+	 * {@code offset} entities and returns at most {@code limit} entities.
+	 */
+	static List<Object> merge(List<List<Object>> sortedLists, PersistentEntity<?, ?> adaptedPersistentEntity,
+			Sort sort, long offset, int limit) {
+		if (sort.isUnsorted()) {
+			List<Object> all = new ArrayList<Object>();
+			sortedLists.forEach(all::addAll);
+			int from = (int) Math.min(offset, all.size());
+			return new ArrayList<Object>(all.subList(from, (int) Math.min(all.size(), from + (long) limit)));
+		}
+
+		List<Order> orders = sort.toList();
+		List<SortProperty> properties = new ArrayList<SortProperty>(orders.size());
+		for (Order order : orders) {
+			properties.add(new SortProperty(adaptedPersistentEntity.getType(), order.getProperty()));
+		}
+		PriorityQueue<Head> heads = new PriorityQueue<Head>(Math.max(1, sortedLists.size()),
+				(left, right) -> compare(orders, left.keys, right.keys));
+		for (List<Object> list : sortedLists) {
+			if (!list.isEmpty()) {
+				heads.add(new Head(list, properties));
+			}
+		}
+
+		List<Object> result = new ArrayList<Object>(Math.min(limit, 1024));
+		long skipped = 0;
+		while (!heads.isEmpty() && result.size() < limit) {
+			Head head = heads.poll();
+			if (skipped < offset) {
+				skipped++;
+			} else {
+				result.add(head.current());
+			}
+			if (head.advance()) {
+				heads.add(head);
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compare(List<Order> orders, Object[] left, Object[] right) {
+		for (int i = 0; i < orders.size(); i++) {
+			Order order = orders.get(i);
+			Object l = left[i];
+			Object r = right[i];
+
+			int result;
+			if (l == null || r == null) {
+				if (l == r) {
+					continue;
+				}
+				boolean nullsFirst = order.getNullHandling() == NullHandling.NULLS_FIRST;
+				result = (l == null) == nullsFirst ? -1 : 1;
+				if (order.getNullHandling() != NullHandling.NATIVE) {
+					return result;
+				}
+			} else if (order.isIgnoreCase() && l instanceof String && r instanceof String) {
+				result = ((String) l).compareToIgnoreCase((String) r);
+			} else {
+				Assert.isInstanceOf(Comparable.class, l, "Unable to merge shards by property " + order.getProperty());
+				result = ((Comparable) l).compareTo(r);
+			}
+
+			if (result != 0) {
+				return order.isAscending() ? result : -result;
+			}
+		}
+		return 0;
+	}
+
+	private static class Head {
+		private final List<Object> list;
+		private final List<SortProperty> properties;
+		private int position;
+		private Object[] keys;
+
+		Head(List<Object> list, List<SortProperty> properties) {
+			this.list = list;
+			this.properties = properties;
+			this.keys = keys(list.get(0));
+		}
+
+		Object current() {
+			return list.get(position);
+		}
+
+		boolean advance() {
+			position++;
+			if (position >= list.size()) {
+				return false;
+			}
+			keys = keys(list.get(position));
+			return true;
+		}
+
+		private Object[] keys(Object entity) {
+			Object[] keys = new Object[properties.size()];
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = properties.get(i).getValue(entity);
+			}
+			return keys;
+		}
+	}
+}
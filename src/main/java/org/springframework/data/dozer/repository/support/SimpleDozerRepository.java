@@ -4,65 +4,110 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.dozer.annotation.AdaptedMethod;
 import org.springframework.data.dozer.annotation.DozerEntity;
 import org.springframework.data.dozer.annotation.DozerRepository;
+import org.springframework.data.dozer.annotation.LazyMapped;
+import org.springframework.data.dozer.annotation.WithFetchProfile;
+import org.springframework.data.dozer.repository.AdaptedKeysetExecutor;
+import org.springframework.data.dozer.repository.DozerInMemoryExecutor;
+import org.springframework.data.dozer.repository.FetchProfiles;
+import org.springframework.data.dozer.repository.KeysetSlice;
+import org.springframework.data.dozer.repository.PrimaryReads;
+import org.springframework.data.dozer.repository.support.DozerRepositoryBinding.MappingStrategy;
+import org.springframework.data.dozer.repository.support.WriteBehindBuffer.PendingSave;
 import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.SimpleAssociationHandler;
+import org.springframework.data.mapping.SimplePropertyHandler;
 import org.springframework.data.mapping.context.PersistentEntities;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.core.RepositoryInformation;
 import org.springframework.data.util.Lazy;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 import com.github.dozermapper.core.Mapper;
 import com.github.dozermapper.core.MappingException;
 import com.github.dozermapper.core.metadata.MetadataLookupException;
-import com.google.common.base.Predicates;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 
-public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementation<T, ID>, BeanPostProcessor {
+@Transactional(readOnly = true)
+public class SimpleDozerRepository<T, ID>
+		implements DozerRepositoryImplementation<T, ID>, DozerInMemoryExecutor<T>, BeanPostProcessor {
+	private static final Logger LOG = LoggerFactory.getLogger(SimpleDozerRepository.class);
 	private static final String ID_MUST_NOT_BE_NULL = "The given id must not be null!";
 
 	protected final RepositoryInformation repositoryInformation;
 	protected final DozerEntityInformation<T, ?> entityInformation;
-	protected PersistentEntity<?, ?> adaptedPersistentEntity;
 	protected final Mapper dozerMapper;
 	protected final ListableBeanFactory beanFactory;
 
 	protected final Lazy<Optional<Map<String, RepositoryInformation>>> adaptedRepositoryInformations;
 	protected final Lazy<Optional<Map<String, Object>>> adaptedRepositories;
 
-	private PagingAndSortingRepository<Object, Object> adaptedRepository;
-	private String adaptedRepositoryName;
-	private RepositoryInformation adaptedRepositoryInformation;
-
 	protected final Lazy<ConversionService> conversionService;
 
-	protected boolean useConverterServiceForEntityToAdaptedEntity = false;
-	protected boolean useConverterServiceForAdaptedEntityToEntity = false;
-	protected boolean useConverterServiceForEntityIdToAdaptedEntityId = false;
-	protected boolean useConverterServiceForAdaptedEntityIdToEntityId = false;
-	protected Method entityIdSetter;
-
-	protected Map<String, String> dozerEntityFieldNameToAdaptedFieldName;
+	private final Object bindingMonitor = new Object();
+	private volatile DozerRepositoryBinding binding;
+	private volatile Supplier<PersistentEntities> persistentEntitiesOnDemand;
+	private final WriteBehindSupport<T> writeBehind;
+	private final EntityCacheSupport<T> entityCaching;
+	private final FindByIdBatchSupport<T, ID> findByIdBatching;
+	private final ReferenceDataSupport<T> referenceDataCaching;
+	private final SecondarySourcesSupport<T> secondarySourcing;
 
 	public SimpleDozerRepository(RepositoryInformation repositoryInformation,
 			DozerEntityInformation<T, ?> entityInformation, Mapper dozerMapper, String conversionServiceName,
@@ -77,9 +122,16 @@ public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementati
 		this.repositoryInformation = repositoryInformation;
 		this.entityInformation = entityInformation;
 		this.dozerMapper = dozerMapper;
+		this.writeBehind = new WriteBehindSupport<T>(entityInformation, beanFactory);
+		this.entityCaching = new EntityCacheSupport<T>(entityInformation, this::copyDozerEntity);
+		this.referenceDataCaching = new ReferenceDataSupport<T>(entityInformation, this::copyDozerEntity);
+		this.secondarySourcing = new SecondarySourcesSupport<T>(entityInformation, this.beanFactory, dozerMapper);
 		this.conversionService = Lazy
 				.of(() -> this.beanFactory.getBeansOfType(ConversionService.class).get(conversionServiceName));
 
+		this.findByIdBatching = new FindByIdBatchSupport<T, ID>(entityInformation, this.conversionService::getNullable,
+				this::toAdaptedId, this::findAllById, this::copyDozerEntity);
+
 		this.adaptedRepositoryInformations = Lazy.of(() -> beanFactory.getBeanProvider(Repositories.class)
 				.getIfAvailable(() -> new Repositories((ListableBeanFactory) beanFactory))
 				.getRepositoryInformationFor(entityInformation.getAdaptedJavaType()));
@@ -89,86 +141,399 @@ public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementati
 				.getRepositoriesFor(entityInformation.getAdaptedJavaType()));
 	}
 
+	/**
+	 * Returns the binding resolved by
+	 * {@link #validateAfterRefresh(PersistentEntities)}, or the binding of the
+	 * current {@link FetchProfiles fetch profile} if the dozer entity declares it.
+	 * 
+	 * @return the binding, never {@literal null}
+	 * @throws IllegalStateException if the repository is not validated yet
+	 */
+	protected DozerRepositoryBinding getBinding() {
+		DozerRepositoryBinding result = binding;
+		if (result == null) {
+			Supplier<PersistentEntities> persistentEntities = persistentEntitiesOnDemand;
+			if (persistentEntities == null) {
+				throw new IllegalStateException("Dozer repository " + repositoryInformation.getRepositoryInterface()
+						+ " is used before the application context has been refreshed!");
+			}
+			result = bind(persistentEntities.get());
+		}
+
+		String fetchProfile = FetchProfiles.getCurrent();
+		if (fetchProfile != null) {
+			DozerRepositoryBinding fetchProfileBinding = result.getFetchProfiles().get(fetchProfile);
+			if (fetchProfileBinding != null) {
+				return fetchProfileBinding;
+			}
+		}
+
+		return result;
+	}
+
 	protected RepositoryInformation getAdaptedRepositoryInformation() {
-		if (adaptedRepositoryInformation != null) {
-			return adaptedRepositoryInformation;
+		return getBinding().getAdaptedRepositoryInformation();
+	}
+
+	protected PagingAndSortingRepository<Object, Object> getAdaptedRepository() {
+		return getBinding().getAdaptedRepository();
+	}
+
+	protected PersistentEntity<?, ?> getAdaptedPersistentEntity() {
+		return getBinding().getAdaptedPersistentEntity();
+	}
+
+	protected Map<String, String> getDozerEntityFieldNameToAdaptedFieldName() {
+		return getBinding().getDozerEntityFieldNameToAdaptedFieldName();
+	}
+
+	protected Method getEntityIdSetter() {
+		return getBinding().getEntityIdSetter();
+	}
+
+	protected boolean isUseConverterServiceForEntityToAdaptedEntity() {
+		return getBinding().getEntityToAdaptedEntityStrategy() == MappingStrategy.CONVERSION_SERVICE;
+	}
+
+	protected boolean isUseConverterServiceForAdaptedEntityToEntity() {
+		return getBinding().getAdaptedEntityToEntityStrategy() == MappingStrategy.CONVERSION_SERVICE;
+	}
+
+	/**
+	 * Returns whether dozer identifiers are mapped with the conversion service.
+	 * 
+	 * @return
+	 */
+	protected boolean isUseConverterServiceForEntityIdToAdaptedEntityId() {
+		return getBinding().getEntityIdToAdaptedEntityIdStrategy() == MappingStrategy.CONVERSION_SERVICE;
+	}
+
+	protected boolean isUseConverterServiceForAdaptedEntityIdToEntityId() {
+		return getBinding().getAdaptedEntityIdToEntityIdStrategy() == MappingStrategy.CONVERSION_SERVICE;
+	}
+
+	/**
+	 * Returns the adapted repository holding the entity with the given dozer
+	 * identifier.
+	 * 
+	 * @param binding
+	 * @param resourceId
+	 * @return
+	 */
+	protected PagingAndSortingRepository<Object, Object> getAdaptedRepository(DozerRepositoryBinding binding,
+			ID resourceId) {
+		ShardedAdaptedRepositories shards = binding.getShards();
+		return shards == null ? binding.getAdaptedRepository() : shards.getRepository(resourceId);
+	}
+
+	/**
+	 * Returns the adapted repository serving read operations.
+	 * 
+	 * @param binding
+	 * @return
+	 * @see #isReadFromPrimary(DozerRepositoryBinding)
+	 */
+	protected PagingAndSortingRepository<Object, Object> getAdaptedReadRepository(DozerRepositoryBinding binding) {
+		PagingAndSortingRepository<Object, Object> adaptedReadRepository = binding.getAdaptedReadRepository();
+		if (adaptedReadRepository == null || isReadFromPrimary(binding)) {
+			return binding.getAdaptedRepository();
 		}
+		return adaptedReadRepository;
+	}
 
-		getAdaptedRepository();
+	/**
+	 * Returns the adapted repository serving read operations for the entity with
+	 * the given dozer identifier.
+	 * 
+	 * @param binding
+	 * @param resourceId
+	 * @return
+	 */
+	protected PagingAndSortingRepository<Object, Object> getAdaptedReadRepository(DozerRepositoryBinding binding,
+			ID resourceId) {
+		if (binding.getShards() != null) {
+			return getAdaptedRepository(binding, resourceId);
+		}
+		return getAdaptedReadRepository(binding);
+	}
 
-		Map<String, RepositoryInformation> informations = adaptedRepositoryInformations.get().get();
-		if (informations.size() > 1) {
-			adaptedRepositoryInformation = Optional.ofNullable(informations.get(adaptedRepositoryName)).get();
-		} else {
-			adaptedRepositoryInformation = informations.values().iterator().next();
+	/**
+	 * Returns whether reads have to go to the primary adapted repository, i.e.
+	 * inside a {@link PrimaryReads} scope or, unless disabled, a read-write
+	 * transaction.
+	 * 
+	 * @param binding
+	 * @return
+	 */
+	protected boolean isReadFromPrimary(DozerRepositoryBinding binding) {
+		if (PrimaryReads.isActive()) {
+			return true;
 		}
+		return binding.isReadFromPrimaryInTransaction() && TransactionSynchronizationManager.isActualTransactionActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
 
-		return adaptedRepositoryInformation;
+	/**
+	 * Returns the adapted repository a new dozer entity is stored in.
+	 * 
+	 * @param binding
+	 * @param resource
+	 * @return
+	 */
+	protected PagingAndSortingRepository<Object, Object> getAdaptedRepositoryForNew(DozerRepositoryBinding binding,
+			T resource) {
+		ShardedAdaptedRepositories shards = binding.getShards();
+		return shards == null ? binding.getAdaptedRepository()
+				: shards.getRepositoryForNew(resource, entityInformation.getId(resource));
 	}
 
-	protected PagingAndSortingRepository<Object, Object> getAdaptedRepository() {
-		if (adaptedRepository != null) {
-			return adaptedRepository;
-		}
-		Map<String, Object> repositories = adaptedRepositories.get().get();
-		Object repo = null;
-		if (repositories.size() > 1) {
-			DozerRepository adaptedDozerRepository = AnnotatedElementUtils
-					.findMergedAnnotation(repositoryInformation.getRepositoryInterface(), DozerRepository.class);
-
-			Assert.notNull(adaptedDozerRepository,
-					"Multiple adapted repositories found for " + entityInformation.getAdaptedJavaType()
-							+ " to support dozer entity " + entityInformation.getJavaType()
-							+ ". Please specify a concrete adapted repository interface using annnotation "
-							+ DozerRepository.class + " attribute adaptedRepositoryClass on "
-							+ repositoryInformation.getRepositoryInterface());
-
-			List<String> matchesRepositoryNames = repositories.entrySet().stream().filter(
-					it -> adaptedDozerRepository.adaptedRepositoryClass().isAssignableFrom(it.getValue().getClass()))
-					.map(it -> it.getKey()).collect(Collectors.toList());
-
-			Assert.isTrue(matchesRepositoryNames.size() > 0,
-					"Unable to find repository information for " + entityInformation.getAdaptedJavaType()
-							+ " and adapter repository class " + adaptedDozerRepository.adaptedRepositoryClass()
-							+ " to support dozer entity " + entityInformation.getJavaType() + ". Validate annnotation "
-							+ DozerRepository.class + " attribute adaptedRepositoryClass");
-
-			Assert.isTrue(matchesRepositoryNames.size() == 1,
-					"Unable to find unique repository information for " + entityInformation.getAdaptedJavaType()
-							+ " and adapter repository class " + adaptedDozerRepository.adaptedRepositoryClass()
-							+ " to support dozer entity " + entityInformation.getJavaType()
-							+ ". Narrow the repository interface by applying a change in annnotation "
-							+ DozerRepository.class + " attribute adaptedRepositoryClass. Repositories found :"
-							+ matchesRepositoryNames);
-
-			adaptedRepositoryName = matchesRepositoryNames.get(0);
-			repo = repositories.get(adaptedRepositoryName);
-		} else {
-			repo = repositories.values().iterator().next();
+	/**
+	 * Returns the {@link DozerRepository} annotation of the repository interface or
+	 * an annotation holding the default values if the interface is not annotated.
+	 * 
+	 * @return
+	 */
+	protected DozerRepository getDozerRepositoryAnnotation() {
+		DozerRepository dozerRepository = AnnotatedElementUtils
+				.findMergedAnnotation(repositoryInformation.getRepositoryInterface(), DozerRepository.class);
+
+		return dozerRepository != null ? dozerRepository : AnnotationUtils.synthesizeAnnotation(DozerRepository.class);
+	}
+
+	/**
+	 * Resolves the name of the adapted repository bean serving the read
+	 * operations.
+	 * 
+	 * @param repositories    the candidate adapted repositories by bean name
+	 * @param dozerRepository the repository annotation
+	 * @return the name or {@literal null} if reads go to the adapted repository
+	 */
+	@Nullable
+	protected String resolveAdaptedReadRepositoryName(Map<String, Object> repositories,
+			DozerRepository dozerRepository) {
+		Class<?> readRepositoryClass = dozerRepository.adaptedReadRepositoryClass();
+		if (readRepositoryClass == void.class) {
+			return null;
 		}
 
-		Assert.isInstanceOf(PagingAndSortingRepository.class, repo,
-				"Unsupported adapted repository for " + entityInformation.getAdaptedJavaType()
+		List<String> matchesRepositoryNames = repositories.entrySet().stream()
+				.filter(it -> readRepositoryClass.isAssignableFrom(it.getValue().getClass())).map(it -> it.getKey())
+				.collect(Collectors.toList());
+
+		Assert.isTrue(matchesRepositoryNames.size() == 1,
+				"Unable to find unique read repository for " + entityInformation.getAdaptedJavaType()
+						+ " and adapter read repository class " + readRepositoryClass + " to support dozer entity "
+						+ entityInformation.getJavaType() + ". Validate annnotation " + DozerRepository.class
+						+ " attribute adaptedReadRepositoryClass. Repositories found :" + matchesRepositoryNames);
+
+		return matchesRepositoryNames.get(0);
+	}
+
+	/**
+	 * Resolves the name of the adapted repository bean backing this repository.
+	 * 
+	 * @param repositories the candidate adapted repositories by bean name
+	 * @return
+	 */
+	protected String resolveAdaptedRepositoryName(Map<String, Object> repositories) {
+		if (repositories.size() == 1) {
+			return repositories.keySet().iterator().next();
+		}
+
+		DozerRepository adaptedDozerRepository = AnnotatedElementUtils
+				.findMergedAnnotation(repositoryInformation.getRepositoryInterface(), DozerRepository.class);
+
+		Assert.notNull(adaptedDozerRepository,
+				"Multiple adapted repositories found for " + entityInformation.getAdaptedJavaType()
 						+ " to support dozer entity " + entityInformation.getJavaType()
-						+ ". Adapted repository have to implement " + PagingAndSortingRepository.class);
-		adaptedRepository = (PagingAndSortingRepository) repo;
+						+ ". Please specify a concrete adapted repository interface using annnotation "
+						+ DozerRepository.class + " attribute adaptedRepositoryClass on "
+						+ repositoryInformation.getRepositoryInterface());
+
+		List<String> matchesRepositoryNames = repositories.entrySet().stream().filter(
+				it -> adaptedDozerRepository.adaptedRepositoryClass().isAssignableFrom(it.getValue().getClass()))
+				.map(it -> it.getKey()).collect(Collectors.toList());
+
+		Assert.isTrue(matchesRepositoryNames.size() > 0,
+				"Unable to find repository information for " + entityInformation.getAdaptedJavaType()
+						+ " and adapter repository class " + adaptedDozerRepository.adaptedRepositoryClass()
+						+ " to support dozer entity " + entityInformation.getJavaType() + ". Validate annnotation "
+						+ DozerRepository.class + " attribute adaptedRepositoryClass");
+
+		Assert.isTrue(matchesRepositoryNames.size() == 1,
+				"Unable to find unique repository information for " + entityInformation.getAdaptedJavaType()
+						+ " and adapter repository class " + adaptedDozerRepository.adaptedRepositoryClass()
+						+ " to support dozer entity " + entityInformation.getJavaType()
+						+ ". Narrow the repository interface by applying a change in annnotation "
+						+ DozerRepository.class + " attribute adaptedRepositoryClass. Repositories found :"
+						+ matchesRepositoryNames);
 
-		return adaptedRepository;
+		return matchesRepositoryNames.get(0);
 	}
 
 	@Override
 	public void validateAfterRefresh(PersistentEntities persistentEntities) {
+		bind(persistentEntities);
+	}
+
+	@Override
+	public void validateOnDemand(Supplier<PersistentEntities> persistentEntities) {
+		this.persistentEntitiesOnDemand = persistentEntities;
+	}
+
+	/**
+	 * Creates the binding once, concurrent callers wait for it.
+	 */
+	private DozerRepositoryBinding bind(PersistentEntities persistentEntities) {
+		synchronized (bindingMonitor) {
+			DozerRepositoryBinding result = binding;
+			if (result == null) {
+				result = createBinding(persistentEntities);
+				binding = result;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Maps synthetic entities of the default binding and of all fetch profile
+	 * bindings on the executor of the repository, or on a daemon thread without
+	 * executor, if {@link DozerRepository#warmUp()} is enabled.
+	 */
+	@Override
+	public CompletableFuture<Void> warmUp() {
+		DozerRepositoryBinding current = binding;
+		DozerRepository dozerRepository = getDozerRepositoryAnnotation();
+		if (current == null || !dozerRepository.warmUp()) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		Runnable task = () -> {
+			long start = System.nanoTime();
+			long deadline = start + TimeUnit.MILLISECONDS.toNanos(dozerRepository.warmUpTimeBudget());
+
+			warmUp(current, dozerRepository.warmUpIterations(), deadline);
+			for (DozerRepositoryBinding fetchProfileBinding : current.getFetchProfiles().values()) {
+				warmUp(fetchProfileBinding, dozerRepository.warmUpIterations(), deadline);
+			}
+
+			LOG.debug("Warmed up dozer repository {} in {} ms", repositoryInformation.getRepositoryInterface().getName(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		};
+		// a thread of its own without executor, the refresh must not wait for the warm-up
+		return CompletableFuture.runAsync(task, current.getExecutor() != null ? current.getExecutor() : runnable -> {
+			Thread thread = new Thread(runnable, "dozer-repository-warm-up");
+			thread.setDaemon(true);
+			thread.start();
+		});
+	}
+
+	/**
+	 * Maps a synthetic dozer entity and a synthetic adapted entity, their
+	 * identifier and version with the given binding until the iterations are done
+	 * or the deadline has passed.
+	 * 
+	 * @param binding
+	 * @param iterations
+	 * @param deadline   the {@link System#nanoTime()} to stop at
+	 */
+	protected void warmUp(DozerRepositoryBinding binding, int iterations, long deadline) {
 		try {
-			getAdaptedRepositoryInformation();
-		} catch (NoSuchElementException e) {
-			throw new IllegalStateException(
-					"Unable to find repository information for " + entityInformation.getAdaptedJavaType()
-							+ " to support dozer entity " + entityInformation.getJavaType() + ". Validate annotation "
-							+ DozerEntity.class + " attribute domainClass",
-					e);
+			Object resource = SyntheticInstances.create(entityInformation.getPersistentEntity());
+			Object entity = SyntheticInstances.create(binding.getAdaptedPersistentEntity());
+			Object entityId = entity == null ? null
+					: binding.getAdaptedPersistentEntity().getIdentifierAccessor(entity).getIdentifier();
+			Object entityVersion = entity == null || !binding.hasVersion() ? null
+					: ReflectionUtils.getField(binding.getAdaptedVersionField(), entity);
+			// the synthetic entities are not stored, there is nothing to read from the secondary sources
+			Function<Object, Object> toDozerEntity = binding.getToDozerEntityWithoutSecondarySources() != null
+					? binding.getToDozerEntityWithoutSecondarySources()
+					: binding.getToDozerEntity();
+
+			for (int i = 0; i < iterations && System.nanoTime() - deadline < 0; i++) {
+				if (resource != null) {
+					binding.getToAdaptedEntity().apply(resource);
+				}
+				if (entity != null) {
+					toDozerEntity.apply(entity);
+				}
+				if (entityId != null) {
+					binding.getToAdaptedId().apply(binding.getToResourceId().apply(entityId));
+				}
+				if (entityVersion != null) {
+					binding.getToResourceVersion().apply(entityVersion);
+				}
+			}
+		} catch (RuntimeException e) {
+			LOG.debug("Stopped warm-up of dozer repository {}",
+					repositoryInformation.getRepositoryInterface().getName(), e);
 		}
+	}
+
+	@Override
+	public void setTransactionManager(@Nullable String transactionManager) {
+		writeBehind.setTransactionManager(transactionManager);
+	}
+
+	@Override
+	public void destroy() {
+		DozerRepositoryBinding current = binding;
+		if (current != null && current.getWriteBehindBuffer() != null) {
+			current.getWriteBehindBuffer().close();
+		}
+		if (current != null && current.getReferenceData() != null) {
+			current.getReferenceData().close();
+		}
+		if (current != null && current.getEntityCache() != null) {
+			current.getEntityCache().close();
+		}
+		if (current != null && current.getFindByIdBatcher() != null) {
+			current.getFindByIdBatcher().close();
+		}
+	}
+
+	@Override
+	@Nullable
+	public MappedEntityCache getEntityCache() {
+		DozerRepositoryBinding current = binding;
+		return current == null ? null : current.getEntityCache();
+	}
+
+	/**
+	 * Resolves the adapted repository and validates the mappings between the dozer
+	 * entity and the adapted entity.
+	 * 
+	 * @param persistentEntities
+	 * @return the binding to be used by all repository operations
+	 */
+	@SuppressWarnings("unchecked")
+	protected DozerRepositoryBinding createBinding(PersistentEntities persistentEntities) {
+		DozerRepositoryBinding.DozerRepositoryBindingBuilder builder = DozerRepositoryBinding.builder();
+		DozerRepository dozerRepository = getDozerRepositoryAnnotation();
+
+		Assert.isTrue(!dozerRepository.sharded() || dozerRepository.adaptedReadRepositoryClass() == void.class,
+				"Sharded dozer repository " + repositoryInformation.getRepositoryInterface()
+						+ " does not support an adapted read repository!");
+
+		Map<String, Object> repositories;
+		List<String> shardNames = null;
+		String adaptedRepositoryName;
+		String adaptedReadRepositoryName;
+		Object repo;
 		try {
-			getAdaptedRepository();
+			repositories = adaptedRepositories.get().get();
+			adaptedReadRepositoryName = resolveAdaptedReadRepositoryName(repositories, dozerRepository);
+			if (dozerRepository.sharded()) {
+				shardNames = ShardedAdaptedRepositories.resolveNames(repositories, dozerRepository, entityInformation);
+				adaptedRepositoryName = shardNames.get(0);
+			} else if (adaptedReadRepositoryName != null) {
+				Map<String, Object> writeRepositories = new LinkedHashMap<String, Object>(repositories);
+				writeRepositories.remove(adaptedReadRepositoryName);
+				adaptedRepositoryName = resolveAdaptedRepositoryName(writeRepositories);
+			} else {
+				adaptedRepositoryName = resolveAdaptedRepositoryName(repositories);
+			}
+			repo = repositories.get(adaptedRepositoryName);
 		} catch (Exception e) {
 			throw new IllegalStateException("Unable to find " + PagingAndSortingRepository.class + " repository for "
 					+ entityInformation.getAdaptedJavaType() + " to support dozer entity "
@@ -176,79 +541,723 @@ public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementati
 					+ " attribute domainClass", e);
 		}
 
-		adaptedPersistentEntity = persistentEntities
+		Assert.isInstanceOf(PagingAndSortingRepository.class, repo,
+				"Unsupported adapted repository for " + entityInformation.getAdaptedJavaType()
+						+ " to support dozer entity " + entityInformation.getJavaType()
+						+ ". Adapted repository have to implement " + PagingAndSortingRepository.class);
+
+		RepositoryInformation adaptedRepositoryInformation;
+		try {
+			Map<String, RepositoryInformation> informations = adaptedRepositoryInformations.get().get();
+			if (informations.size() > 1) {
+				adaptedRepositoryInformation = Optional.ofNullable(informations.get(adaptedRepositoryName)).get();
+			} else {
+				adaptedRepositoryInformation = informations.values().iterator().next();
+			}
+		} catch (NoSuchElementException e) {
+			throw new IllegalStateException(
+					"Unable to find repository information for " + entityInformation.getAdaptedJavaType()
+							+ " to support dozer entity " + entityInformation.getJavaType() + ". Validate annotation "
+							+ DozerEntity.class + " attribute domainClass",
+					e);
+		}
+
+		builder.adaptedRepositoryName(repositories.size() > 1 ? adaptedRepositoryName : null)
+				.adaptedRepository((PagingAndSortingRepository<Object, Object>) repo)
+				.adaptedRepositoryInformation(adaptedRepositoryInformation);
+
+		PersistentEntity<?, ?> adaptedPersistentEntity = persistentEntities
 				.getRequiredPersistentEntity(entityInformation.getAdaptedJavaType());
+		builder.adaptedPersistentEntity(adaptedPersistentEntity);
 
-		boolean considerConversionServiceForEntityMapping = entityInformation.getMapEntityUsingConvertionService()
-				&& conversionService.getOptional().isPresent();
-		boolean considerConversionServiceForEntityIdMapping = entityInformation.getMapEntityIdUsingConvertionService()
-				&& conversionService.getOptional().isPresent();
+		ConversionService conversionService = this.conversionService.getNullable();
+
+		String dozerMapId = StringUtils.isEmpty(entityInformation.getDozerMapId()) ? null
+				: entityInformation.getDozerMapId();
+		Class<?> javaType = entityInformation.getJavaType();
+		Class<?> idType = entityInformation.getIdType();
+		Class<?> adaptedIdType = adaptedRepositoryInformation.getIdType();
+
+		builder.dozerMapId(dozerMapId).idType(idType).adaptedIdType(adaptedIdType);
 
 		DozerUtil dozerUtil = DozerUtilFactory.getInstance().getDozerUtil(dozerMapper);
 
-		dozerEntityFieldNameToAdaptedFieldName = dozerUtil
-				.getDozerEntityFieldNameToAdaptedFieldNameMap(entityInformation);
+		Map<String, String> fieldNameMap = dozerUtil.getDozerEntityFieldNameToAdaptedFieldNameMap(entityInformation);
+		builder.dozerEntityFieldNameToAdaptedFieldName(
+				fieldNameMap == null ? Collections.emptyMap() : Collections.unmodifiableMap(fieldNameMap))
+				.fetchProfiles(Collections.emptyMap());
+
+		List<PersistentProperty<?>> lazyMappedProperties = findLazyMappedProperties();
+		if (!lazyMappedProperties.isEmpty()) {
+			LazyMappingFieldMapper lazyMappingFieldMapper = dozerUtil.getLazyMappingFieldMapper();
+			for (PersistentProperty<?> property : lazyMappedProperties) {
+				lazyMappingFieldMapper.register(entityInformation.getJavaType(), property);
+			}
+			builder.lazyMappedProperties(lazyMappingFieldMapper.getLazyProperties(entityInformation.getJavaType()));
+		} else {
+			builder.lazyMappedProperties(Collections.emptySet());
+		}
+
+		bindEntityMappings(builder, dozerUtil, conversionService, dozerMapId);
+		bindIdMappings(builder, dozerUtil, conversionService, dozerMapId, adaptedPersistentEntity, adaptedIdType);
+		bindVersion(builder, adaptedPersistentEntity, conversionService);
+
+		builder.adaptedSliceMethod(findAdaptedSliceMethod(adaptedRepositoryInformation));
+
+		if (adaptedReadRepositoryName != null) {
+			bindAdaptedReadRepository(builder, adaptedReadRepositoryName, repositories.get(adaptedReadRepositoryName),
+					adaptedIdType);
+		}
+		builder.readFromPrimaryInTransaction(dozerRepository.readFromPrimaryInTransaction());
+
+		Executor executor = StringUtils.hasText(dozerRepository.executorRef())
+				? beanFactory.getBean(dozerRepository.executorRef(), Executor.class)
+				: null;
+		Assert.state(executor != null || !dozerRepository.findAllByIdParallel(),
+				"The dozer repository " + repositoryInformation.getRepositoryInterface().getName()
+						+ " loading findAllById chunks in parallel requires a dedicated executor, validate annotation "
+						+ DozerRepository.class + " attribute executorRef");
+		builder.findAllByIdChunkSize(dozerRepository.findAllByIdChunkSize())
+				.findAllByIdParallel(dozerRepository.findAllByIdParallel())
+				.findAllByIdPreserveOrder(dozerRepository.findAllByIdPreserveOrder())
+				.unmappedIdPolicy(dozerRepository.unmappedIdPolicy()).executor(executor);
+
+		if (shardNames != null) {
+			builder.shards(ShardedAdaptedRepositories.create(shardNames, repositories, dozerRepository,
+					entityInformation, adaptedPersistentEntity, beanFactory, executor));
+		}
+
+		PersistentProperty<?> adaptedIdProperty = adaptedPersistentEntity.getIdProperty();
+		builder.inMemorySort(new InMemorySortFallback(javaType,
+				adaptedIdProperty == null ? Sort.unsorted() : Sort.by(adaptedIdProperty.getName()),
+				dozerRepository.inMemorySortChunkSize(), dozerRepository.inMemorySortThreshold()));
+
+		DozerRepositoryBinding result = withFeatures(builder.build(), dozerRepository, persistentEntities,
+				adaptedPersistentEntity, dozerUtil, executor);
+		result = result.toBuilder()
+				.adaptedMethodInvokers(createAdaptedMethodInvokers(result, dozerUtil, conversionService)).build();
+
+		result = withFetchProfiles(result, dozerUtil);
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Bound dozer entity {} to adapted repository {}: id {} -> {} {}, id {} -> {} {}, version {}",
+					javaType.getName(), adaptedRepositoryInformation.getRepositoryInterface().getName(),
+					idType.getName(), adaptedIdType.getName(), result.getEntityIdToAdaptedEntityIdCompatibility(),
+					adaptedIdType.getName(), idType.getName(), result.getAdaptedEntityIdToEntityIdCompatibility(),
+					result.getVersionCompatibility());
+		}
+
+		return result;
+	}
+
+	private void bindEntityMappings(DozerRepositoryBinding.DozerRepositoryBindingBuilder builder, DozerUtil dozerUtil,
+			@Nullable ConversionService conversionService, @Nullable String dozerMapId) {
+		boolean considerConversionServiceForEntityMapping = entityInformation.getMapEntityUsingConvertionService()
+				&& conversionService != null;
+		Class<?> javaType = entityInformation.getJavaType();
+		Class<?> adaptedJavaType = entityInformation.getAdaptedJavaType();
 
 		// validate domain model mappings
-		if (!dozerUtil.hasDozerMapping(entityInformation.getJavaType(), entityInformation.getAdaptedJavaType(),
-				entityInformation.getDozerMapId())) {
+		MappingStrategy strategy = MappingStrategy.DOZER;
+		if (!dozerUtil.hasDozerMapping(javaType, adaptedJavaType, entityInformation.getDozerMapId())) {
 
-			if (!considerConversionServiceForEntityMapping || !conversionService.getOptional().get()
-					.canConvert(entityInformation.getJavaType(), entityInformation.getAdaptedJavaType())) {
+			if (!considerConversionServiceForEntityMapping
+					|| !conversionService.canConvert(javaType, adaptedJavaType)) {
 				throw new MetadataLookupException(
-						"No mapping definition found for: " + entityInformation.getJavaType().getName() + " -> "
-								+ entityInformation.getAdaptedJavaType().getName() + ".");
+						"No mapping definition found for: " + javaType.getName() + " -> " + adaptedJavaType.getName()
+								+ ".");
 			}
-			useConverterServiceForEntityToAdaptedEntity = true;
+			strategy = MappingStrategy.CONVERSION_SERVICE;
 		}
+		builder.entityToAdaptedEntityStrategy(strategy)
+				.toAdaptedEntity(createMapper(strategy, conversionService, javaType, adaptedJavaType, dozerMapId));
 
-		if (!dozerUtil.hasDozerMapping(entityInformation.getAdaptedJavaType(), entityInformation.getJavaType(),
-				entityInformation.getDozerMapId())) {
+		strategy = MappingStrategy.DOZER;
+		if (!dozerUtil.hasDozerMapping(adaptedJavaType, javaType, entityInformation.getDozerMapId())) {
 
-			if (!considerConversionServiceForEntityMapping || !conversionService.getOptional().get()
-					.canConvert(entityInformation.getAdaptedJavaType(), entityInformation.getJavaType())) {
+			if (!considerConversionServiceForEntityMapping
+					|| !conversionService.canConvert(adaptedJavaType, javaType)) {
 				throw new MetadataLookupException(
-						"No mapping definition found for: " + entityInformation.getAdaptedJavaType().getName() + " -> "
-								+ entityInformation.getJavaType().getName() + ".");
+						"No mapping definition found for: " + adaptedJavaType.getName() + " -> " + javaType.getName()
+								+ ".");
 			}
-			useConverterServiceForAdaptedEntityToEntity = true;
+			strategy = MappingStrategy.CONVERSION_SERVICE;
+		}
+		if (strategy == MappingStrategy.CONVERSION_SERVICE) {
+			ResolvedConverter converter = ResolvedConverter.of(conversionService, adaptedJavaType, javaType);
+			builder.toDozerEntity(converter::convert).toDozerEntities(converter::convertAll);
+		} else {
+			Function<Object, Object> mapper = createMapper(strategy, conversionService, adaptedJavaType, javaType,
+					dozerMapId);
+			builder.toDozerEntity(mapper).toDozerEntities(sources -> mapAll(mapper, sources));
 		}
+		builder.adaptedEntityToEntityStrategy(strategy);
+	}
+
+	private void bindIdMappings(DozerRepositoryBinding.DozerRepositoryBindingBuilder builder, DozerUtil dozerUtil,
+			@Nullable ConversionService conversionService, @Nullable String dozerMapId,
+			PersistentEntity<?, ?> adaptedPersistentEntity, Class<?> adaptedIdType) {
+		boolean considerConversionServiceForEntityIdMapping = entityInformation.getMapEntityIdUsingConvertionService()
+				&& conversionService != null;
+		Class<?> idType = entityInformation.getIdType();
 
 		// validate domain model id fields mappings
-		if (!dozerUtil.hasDozerMapping(entityInformation.getIdType(), getAdaptedRepositoryInformation().getIdType(),
-				null)) {
-			if (!considerConversionServiceForEntityIdMapping || !conversionService.getOptional().get()
-					.canConvert(entityInformation.getIdType(), getAdaptedRepositoryInformation().getIdType())) {
-				throw new MetadataLookupException(
-						"No mapping definition found for: " + entityInformation.getIdType().getName() + " -> "
-								+ getAdaptedRepositoryInformation().getIdType().getName() + ".");
+		String idField = entityInformation.getJavaType().getName() + "."
+				+ entityInformation.getPersistentEntity().getRequiredIdProperty().getName();
+		String adaptedIdField = entityInformation.getAdaptedJavaType().getName() + "."
+				+ (adaptedPersistentEntity.getIdProperty() == null ? "id"
+						: adaptedPersistentEntity.getIdProperty().getName());
+		TypeCompatibility compatibility = analyzeCompatibility(dozerUtil, idType, adaptedIdType, dozerMapId,
+				idField + " -> " + adaptedIdField);
+		builder.entityIdToAdaptedEntityIdCompatibility(compatibility.getKind());
+		if (compatibility.getConverter() != null) {
+			builder.toAdaptedId(compatibility.getConverter());
+		} else {
+			MappingStrategy strategy = MappingStrategy.DOZER;
+			String idMapId = getIdMapId(dozerUtil, idType, adaptedIdType, dozerMapId);
+			if (!dozerUtil.hasDozerMapping(idType, adaptedIdType, idMapId)) {
+				if (!considerConversionServiceForEntityIdMapping
+						|| !conversionService.canConvert(idType, adaptedIdType)) {
+					throw new MetadataLookupException("No mapping definition found for: " + idType.getName() + " -> "
+							+ adaptedIdType.getName() + ".");
+				}
+				strategy = MappingStrategy.CONVERSION_SERVICE;
+			}
+			builder.entityIdToAdaptedEntityIdStrategy(strategy)
+					.toAdaptedId(createMapper(strategy, conversionService, idType, adaptedIdType, idMapId));
+		}
+
+		compatibility = analyzeCompatibility(dozerUtil, adaptedIdType, idType, dozerMapId,
+				adaptedIdField + " -> " + idField);
+		builder.adaptedEntityIdToEntityIdCompatibility(compatibility.getKind());
+		if (compatibility.getConverter() != null) {
+			builder.toResourceId(compatibility.getConverter());
+		} else {
+			MappingStrategy strategy = MappingStrategy.DOZER;
+			String idMapId = getIdMapId(dozerUtil, adaptedIdType, idType, dozerMapId);
+			if (!dozerUtil.hasDozerMapping(adaptedIdType, idType, idMapId)) {
+				if (!considerConversionServiceForEntityIdMapping
+						|| !conversionService.canConvert(adaptedIdType, idType)) {
+					throw new MetadataLookupException("No mapping definition found for: " + adaptedIdType.getName()
+							+ " -> " + idType.getName() + ".");
+				}
+				strategy = MappingStrategy.CONVERSION_SERVICE;
+			}
+			builder.adaptedEntityIdToEntityIdStrategy(strategy)
+					.toResourceId(createMapper(strategy, conversionService, adaptedIdType, idType, idMapId));
+		}
+
+		builder.entityIdSetter(entityInformation.getPersistentEntity().getRequiredIdProperty().getRequiredSetter());
+	}
+
+	private void bindVersion(DozerRepositoryBinding.DozerRepositoryBindingBuilder builder,
+			PersistentEntity<?, ?> adaptedPersistentEntity, @Nullable ConversionService conversionService) {
+		Class<?> javaType = entityInformation.getJavaType();
+
+		// validate version write back
+		if (entityInformation.getPersistentEntity().hasVersionProperty()
+				&& adaptedPersistentEntity.hasVersionProperty()) {
+
+			Field adaptedVersionField = adaptedPersistentEntity.getRequiredVersionProperty().getRequiredField();
+			ReflectionUtils.makeAccessible(adaptedVersionField);
+			Field versionField = entityInformation.getPersistentEntity().getRequiredVersionProperty()
+					.getRequiredField();
+			ReflectionUtils.makeAccessible(versionField);
+			builder.adaptedVersionField(adaptedVersionField).versionField(versionField);
+
+			TypeCompatibility compatibility = TypeCompatibility.analyze(adaptedVersionField.getType(),
+					versionField.getType(),
+					adaptedVersionField.getDeclaringClass().getName() + "." + adaptedVersionField.getName() + " -> "
+							+ versionField.getDeclaringClass().getName() + "." + versionField.getName());
+			builder.versionCompatibility(compatibility.getKind());
+			if (compatibility.getConverter() != null) {
+				builder.toResourceVersion(compatibility.getConverter());
+			} else if (conversionService != null) {
+				builder.toResourceVersion(ResolvedConverter.of(conversionService, adaptedVersionField.getType(),
+						versionField.getType())::convert);
+			} else {
+				builder.toResourceVersion(source -> {
+					throw new IllegalStateException("No conversion service found to convert version "
+							+ adaptedVersionField + " to " + versionField + " for dozer entity " + javaType);
+				});
 			}
-			useConverterServiceForEntityIdToAdaptedEntityId = true;
 		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void bindAdaptedReadRepository(DozerRepositoryBinding.DozerRepositoryBindingBuilder builder,
+			String adaptedReadRepositoryName, Object readRepo, Class<?> adaptedIdType) {
+		Assert.isInstanceOf(PagingAndSortingRepository.class, readRepo,
+				"Unsupported adapted read repository " + adaptedReadRepositoryName + " for "
+						+ entityInformation.getAdaptedJavaType() + " to support dozer entity "
+						+ entityInformation.getJavaType() + ". Adapted repository have to implement "
+						+ PagingAndSortingRepository.class);
+
+		RepositoryInformation adaptedReadRepositoryInformation = adaptedRepositoryInformations.get().get()
+				.get(adaptedReadRepositoryName);
+		Assert.state(adaptedReadRepositoryInformation != null,
+				"Unable to find repository information for adapted read repository " + adaptedReadRepositoryName);
+		Assert.isTrue(adaptedReadRepositoryInformation.getIdType() == adaptedIdType,
+				"Adapted read repository " + adaptedReadRepositoryName + " id type "
+						+ adaptedReadRepositoryInformation.getIdType() + " does not match " + adaptedIdType);
+
+		builder.adaptedReadRepositoryName(adaptedReadRepositoryName)
+				.adaptedReadRepository((PagingAndSortingRepository<Object, Object>) readRepo)
+				.adaptedReadSliceMethod(findAdaptedSliceMethod(adaptedReadRepositoryInformation));
+	}
+
+	private DozerRepositoryBinding withFeatures(DozerRepositoryBinding binding, DozerRepository dozerRepository,
+			PersistentEntities persistentEntities, PersistentEntity<?, ?> adaptedPersistentEntity, DozerUtil dozerUtil,
+			@Nullable Executor executor) {
+		DozerRepositoryBinding result = secondarySourcing.attach(binding.toBuilder()
+				.secondarySources(secondarySourcing.create(persistentEntities, adaptedPersistentEntity, dozerUtil,
+						executor))
+				.build());
+
+		if (dozerRepository.writeBehind()) {
+			DozerRepositoryBinding unbuffered = result;
+			result = result.toBuilder()
+					.writeBehindBuffer(writeBehind.createBuffer(dozerRepository, batch -> writeAll(unbuffered, batch)))
+					.build();
+		}
+
+		if (entityInformation.isReferenceData()) {
+			DozerRepositoryBinding loading = result;
+			result = result.toBuilder()
+					.referenceData(referenceDataCaching.createCache(() -> loadReferenceData(loading),
+							resourceIds -> loadReferenceData(resourceIds), dozerUtil, executor))
+					.build();
+		}
+
+		if (dozerRepository.entityCache()) {
+			result = result.toBuilder()
+					.entityCache(entityCaching.createCache(dozerRepository, result.getLazyMappedProperties())).build();
+		}
+
+		if (dozerRepository.batchFindById()) {
+			result = result.toBuilder().findByIdBatcher(findByIdBatching.createBatcher(dozerRepository, executor))
+					.build();
+		}
+
+		return result;
+	}
+
+	private DozerRepositoryBinding withFetchProfiles(DozerRepositoryBinding binding, DozerUtil dozerUtil) {
+		DozerRepositoryBinding result = binding;
+		Map<String, String> fetchProfiles = entityInformation.getFetchProfiles();
+		if (!fetchProfiles.isEmpty()) {
+			Map<String, DozerRepositoryBinding> fetchProfileBindings = new HashMap<String, DozerRepositoryBinding>();
+			for (Map.Entry<String, String> fetchProfile : fetchProfiles.entrySet()) {
+				fetchProfileBindings.put(fetchProfile.getKey(), createFetchProfileBinding(binding, dozerUtil,
+						fetchProfile.getKey(), fetchProfile.getValue()));
+			}
+			result = result.toBuilder().fetchProfiles(Collections.unmodifiableMap(fetchProfileBindings)).build();
+		}
+
+		for (Method method : repositoryInformation.getRepositoryInterface().getMethods()) {
+			WithFetchProfile withFetchProfile = AnnotatedElementUtils.findMergedAnnotation(method,
+					WithFetchProfile.class);
+			if (withFetchProfile != null && !fetchProfiles.containsKey(withFetchProfile.value())) {
+				throw new IllegalStateException("Unknown fetch profile " + withFetchProfile.value() + " on " + method
+						+ ". Declare it using annotation " + DozerEntity.class + " attribute fetchProfiles on "
+						+ entityInformation.getJavaType());
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Creates the binding reading the dozer entity with the dozer mapping of the
+	 * given fetch profile.
+	 * 
+	 * @param binding    the default binding
+	 * @param dozerUtil
+	 * @param profile    the fetch profile name
+	 * @param dozerMapId the dozer mapping context id of the profile
+	 * @return
+	 */
+	protected DozerRepositoryBinding createFetchProfileBinding(DozerRepositoryBinding binding, DozerUtil dozerUtil,
+			String profile, String dozerMapId) {
+		Class<?> javaType = entityInformation.getJavaType();
+		Class<?> adaptedJavaType = entityInformation.getAdaptedJavaType();
+
+		if (!dozerUtil.hasDozerMapping(adaptedJavaType, javaType, dozerMapId)) {
+			throw new MetadataLookupException("No mapping definition found for fetch profile " + profile + ": "
+					+ adaptedJavaType.getName() + " -> " + javaType.getName() + " with map id " + dozerMapId + ".");
+		}
+
+		Function<Object, Object> mapper = createMapper(MappingStrategy.DOZER, null, adaptedJavaType, javaType,
+				StringUtils.isEmpty(dozerMapId) ? null : dozerMapId);
+		Map<String, String> fieldNameMap = dozerUtil.getDozerEntityFieldNameToAdaptedFieldNameMap(entityInformation,
+				dozerMapId);
+
+		return secondarySourcing.attach(binding.toBuilder().adaptedEntityToEntityStrategy(MappingStrategy.DOZER)
+				.toDozerEntity(mapper).toDozerEntities(sources -> mapAll(mapper, sources))
+				.dozerEntityFieldNameToAdaptedFieldName(fieldNameMap == null
+						? binding.getDozerEntityFieldNameToAdaptedFieldName()
+						: Collections.unmodifiableMap(fieldNameMap))
+				.fetchProfiles(Collections.emptyMap()).referenceData(null).entityCache(null).findByIdBatcher(null)
+				.build());
+	}
+
+	/**
+	 * Reads and maps all entities of the adapted repository for the reference data
+	 * snapshot.
+	 * 
+	 * @param binding
+	 * @return
+	 */
+	protected List<?> loadReferenceData(DozerRepositoryBinding binding) {
+		List<Object> entities = binding.getShards() != null ? binding.getShards().findAll()
+				: Lists.newArrayList(getAdaptedReadRepository(binding).findAll());
+		return binding.getToDozerEntities().apply(entities);
+	}
+
+	/**
+	 * Reads and maps the entities with the given dozer identifiers from the
+	 * primary adapted repository to patch the reference data snapshot after a
+	 * write.
+	 * 
+	 * @param resourceIds
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	protected List<?> loadReferenceData(Collection<Object> resourceIds) {
+		return PrimaryReads.<List<T>>call(() -> findAllById((Iterable<ID>) (Iterable<?>) resourceIds, null));
+	}
+
+	/**
+	 * Returns a copy of a shared dozer entity, so that readers can not modify the
+	 * instances of the reference data snapshot, the entity cache or of other
+	 * callers of a coalesced {@code findById}.
+	 * 
+	 * @param resource
+	 * @return
+	 */
+	protected Object copyDozerEntity(Object resource) {
+		return dozerMapper.map(resource, resource.getClass());
+	}
+
+	/**
+	 * Returns the reference data snapshot to serve a read from, if the dozer
+	 * entity is reference data and the read does not have to go to the primary
+	 * adapted repository.
+	 * 
+	 * @param binding
+	 * @return the snapshot or {@literal null}
+	 */
+	@Nullable
+	protected ReferenceDataCache getReferenceData(DozerRepositoryBinding binding) {
+		return referenceDataCaching.getReadable(binding.getReferenceData(), isReadFromPrimary(binding));
+	}
+
+	/**
+	 * Reloads the written dozer identifiers into the reference data snapshot,
+	 * once the transaction is committed.
+	 * 
+	 * @param resourceIds
+	 */
+	protected void refreshReferenceData(Collection<?> resourceIds) {
+		DozerRepositoryBinding current = binding;
+		if (current != null) {
+			referenceDataCaching.refresh(current.getReferenceData(), resourceIds);
+		}
+	}
+
+	/**
+	 * Resolves the adapted methods of all repository methods annotated with
+	 * {@link AdaptedMethod}.
+	 * 
+	 * @param binding
+	 * @param dozerUtil
+	 * @param conversionService can be {@literal null}
+	 * @return the invokers by repository method
+	 */
+	protected Map<Method, AdaptedMethodInvoker> createAdaptedMethodInvokers(DozerRepositoryBinding binding,
+			DozerUtil dozerUtil, @Nullable ConversionService conversionService) {
+		Map<Method, AdaptedMethodInvoker> result = new HashMap<Method, AdaptedMethodInvoker>();
+		for (Method method : repositoryInformation.getRepositoryInterface().getMethods()) {
+			AdaptedMethod adaptedMethod = AnnotatedElementUtils.findMergedAnnotation(method, AdaptedMethod.class);
+			if (adaptedMethod != null) {
+				Assert.state(binding.getShards() == null,
+						"Adapted method " + method + " is not supported by sharded dozer repositories!");
+				result.put(method, createAdaptedMethodInvoker(binding, dozerUtil, conversionService, method,
+						StringUtils.hasText(adaptedMethod.value()) ? adaptedMethod.value() : method.getName()));
+			}
+		}
+		return result.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(result);
+	}
+
+	protected AdaptedMethodInvoker createAdaptedMethodInvoker(DozerRepositoryBinding binding, DozerUtil dozerUtil,
+			@Nullable ConversionService conversionService, Method method, String adaptedMethodName) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+
+		Method adaptedMethod = null;
+		List<Function<Object, Object>> argumentMappers = null;
+		for (Method candidate : binding.getAdaptedRepositoryInformation().getRepositoryInterface().getMethods()) {
+			if (!candidate.getName().equals(adaptedMethodName)
+					|| candidate.getParameterCount() != parameterTypes.length) {
+				continue;
+			}
+
+			List<Function<Object, Object>> candidateMappers = new ArrayList<Function<Object, Object>>();
+			for (int i = 0; i < parameterTypes.length && candidateMappers.size() == i; i++) {
+				Function<Object, Object> mapper = createArgumentMapper(binding, dozerUtil, conversionService,
+						parameterTypes[i], candidate.getParameterTypes()[i]);
+				if (mapper != null) {
+					candidateMappers.add(mapper);
+				}
+			}
+
+			if (candidateMappers.size() == parameterTypes.length) {
+				Assert.state(adaptedMethod == null, "Ambiguous adapted methods " + adaptedMethod + " and " + candidate
+						+ " for " + method + ". Specify a unique adapted method name.");
+				adaptedMethod = candidate;
+				argumentMappers = candidateMappers;
+			}
+		}
+
+		Assert.state(adaptedMethod != null,
+				"Unable to find adapted method " + adaptedMethodName + " on "
+						+ binding.getAdaptedRepositoryInformation().getRepositoryInterface()
+						+ " accepting the parameters of " + method);
+
+		return new AdaptedMethodInvoker(binding.getAdaptedRepository(), adaptedMethod, argumentMappers,
+				createResultMapper(dozerUtil, conversionService, method, adaptedMethod));
+	}
+
+	/**
+	 * Creates the function mapping an argument of the dozer repository method to
+	 * the parameter type of the adapted method.
+	 * 
+	 * @return the function or {@literal null} if the argument can not be mapped
+	 */
+	@Nullable
+	protected Function<Object, Object> createArgumentMapper(DozerRepositoryBinding binding, DozerUtil dozerUtil,
+			@Nullable ConversionService conversionService, Class<?> sourceType, Class<?> targetType) {
+		if (Pageable.class.isAssignableFrom(sourceType) && targetType.isAssignableFrom(Pageable.class)) {
+			return argument -> toAdaptedPageable((Pageable) argument);
+		}
+		if (Sort.class.isAssignableFrom(sourceType) && targetType.isAssignableFrom(Sort.class)) {
+			return argument -> toAdaptedSort((Sort) argument);
+		}
+		if (sourceType == entityInformation.getJavaType() && targetType == entityInformation.getAdaptedJavaType()) {
+			return binding.getToAdaptedEntity();
+		}
+		if (sourceType == binding.getIdType() && targetType == binding.getAdaptedIdType()) {
+			return binding.getToAdaptedId();
+		}
+
+		return createValueMapper(dozerUtil, conversionService, sourceType, targetType);
+	}
+
+	@Nullable
+	private Function<Object, Object> createValueMapper(DozerUtil dozerUtil,
+			@Nullable ConversionService conversionService, Class<?> sourceType, Class<?> targetType) {
+		if (ClassUtils.resolvePrimitiveIfNecessary(targetType)
+				.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(sourceType))) {
+			return Function.identity();
+		}
+
+		TypeCompatibility compatibility = analyzeCompatibility(dozerUtil, sourceType, targetType, null,
+				"argument");
+		if (compatibility.getConverter() != null) {
+			return compatibility.getConverter();
+		}
+		if (dozerUtil.hasDozerMapping(sourceType, targetType, null)) {
+			return createMapper(MappingStrategy.DOZER, conversionService, sourceType, targetType, null);
+		}
+		if (conversionService != null && conversionService.canConvert(sourceType, targetType)) {
+			return createMapper(MappingStrategy.CONVERSION_SERVICE, conversionService, sourceType, targetType, null);
+		}
+		return null;
+	}
+
+	/**
+	 * Creates the function mapping the result of the adapted method to the return
+	 * type of the dozer repository method.
+	 */
+	protected BiFunction<Object, Object[], Object> createResultMapper(DozerUtil dozerUtil,
+			@Nullable ConversionService conversionService, Method method, Method adaptedMethod) {
+		Class<?> returnType = method.getReturnType();
+		Class<?> javaType = entityInformation.getJavaType();
+		ResolvableType resolvableReturnType = ResolvableType.forMethodReturnType(method,
+				repositoryInformation.getRepositoryInterface());
+		Class<?> componentType = resolvableReturnType.hasGenerics() ? resolvableReturnType.getGeneric(0).resolve()
+				: null;
+
+		if (returnType == void.class) {
+			return (result, parameters) -> null;
+		}
+		if (javaType.isAssignableFrom(returnType)) {
+			return (result, parameters) -> {
+				Object entity = result instanceof Optional ? ((Optional<?>) result).orElse(null) : result;
+				return entity == null ? null : toDozerEntity(entity);
+			};
+		}
+
+		if (componentType != null && javaType.isAssignableFrom(componentType)) {
+			int pageableIndex = Arrays.asList(method.getParameterTypes()).indexOf(Pageable.class);
+
+			if (returnType == Optional.class) {
+				return (result, parameters) -> {
+					Optional<?> entity = result instanceof Optional ? (Optional<?>) result : Optional.ofNullable(result);
+					return entity.map(this::toDozerEntity);
+				};
+			}
+			if (returnType == Page.class) {
+				return (result, parameters) -> {
+					Page<?> page = (Page<?>) result;
+					return new PageImpl<T>(toDozerEntities(page.getContent()),
+							pageableIndex < 0 ? page.getPageable() : (Pageable) parameters[pageableIndex],
+							page.getTotalElements());
+				};
+			}
+			if (returnType == Slice.class) {
+				return (result, parameters) -> {
+					Slice<?> slice = (Slice<?>) result;
+					return new SliceImpl<T>(toDozerEntities(slice.getContent()),
+							pageableIndex < 0 ? slice.getPageable() : (Pageable) parameters[pageableIndex],
+							slice.hasNext());
+				};
+			}
+			if (returnType == Stream.class) {
+				return (result, parameters) -> toDozerEntities((Stream<?>) result);
+			}
+			if (returnType == Set.class) {
+				return (result, parameters) -> new LinkedHashSet<T>(toDozerEntities((Iterable<?>) result));
+			}
+			if (returnType.isAssignableFrom(List.class)) {
+				return (result, parameters) -> toDozerEntities((Iterable<?>) result);
+			}
+		}
+
+		Function<Object, Object> mapper = createValueMapper(dozerUtil, conversionService, adaptedMethod.getReturnType(),
+				returnType);
+		Assert.state(mapper != null, "Unable to map the result " + adaptedMethod.getReturnType() + " of adapted method "
+				+ adaptedMethod + " to the return type " + returnType + " of " + method);
+
+		return (result, parameters) -> result == null ? null : mapper.apply(result);
+	}
+
+	/**
+	 * Invokes the adapted method of the given repository method annotated with
+	 * {@link AdaptedMethod}.
+	 */
+	@Override
+	public Object invokeAdaptedMethod(Method method, Object[] parameters) {
+		AdaptedMethodInvoker invoker = getBinding().getAdaptedMethodInvokers().get(method);
+		Assert.state(invoker != null, "No adapted method found for " + method);
+
+		return invoker.invoke(parameters);
+	}
+
+	/**
+	 * Returns the properties of the dozer entity annotated with {@link LazyMapped}.
+	 * 
+	 * @return
+	 */
+	protected List<PersistentProperty<?>> findLazyMappedProperties() {
+		List<PersistentProperty<?>> result = new ArrayList<PersistentProperty<?>>();
+		SimplePropertyHandler handler = property -> {
+			if (property.isAnnotationPresent(LazyMapped.class)) {
+				result.add(property);
+			}
+		};
+
+		entityInformation.getPersistentEntity().doWithProperties(handler);
+		entityInformation.getPersistentEntity().doWithAssociations(
+				(SimpleAssociationHandler) association -> handler.doWithPersistentProperty(association.getInverse()));
+		return result;
+	}
+
+	/**
+	 * Returns the dozer map id to map identifiers with, the map id of the
+	 * repository if it has a class mapping for the identifier types.
+	 */
+	@Nullable
+	private static String getIdMapId(DozerUtil dozerUtil, Class<?> sourceType, Class<?> targetType,
+			@Nullable String dozerMapId) {
+		return dozerMapId != null && dozerUtil.hasDozerMapping(sourceType, targetType, dozerMapId) ? dozerMapId
+				: null;
+	}
+
+	/**
+	 * Analyses the conversion of the values of the given field from
+	 * {@code sourceType} to {@code targetType}.
+	 * 
+	 * @param dozerUtil
+	 * @param sourceType
+	 * @param targetType
+	 * @param dozerMapId the dozer map id of the repository, can be
+	 *                   {@literal null}.
+	 * @param field      the name of the field used in conversion failures
+	 * @return
+	 */
+	protected TypeCompatibility analyzeCompatibility(DozerUtil dozerUtil, Class<?> sourceType, Class<?> targetType,
+			@Nullable String dozerMapId, String field) {
+		if (dozerUtil.hasCustomConverter(sourceType, targetType)
+				|| (dozerMapId != null && dozerUtil.hasDozerMapping(sourceType, targetType, dozerMapId))) {
+			return TypeCompatibility.general();
+		}
+		return TypeCompatibility.analyze(sourceType, targetType, field);
+	}
+
+	/**
+	 * Creates the function mapping a source object to the given target type using
+	 * the given strategy.
+	 * 
+	 * @param strategy
+	 * @param conversionService
+	 * @param sourceType
+	 * @param targetType
+	 * @param dozerMapId
+	 * @return
+	 */
+	protected Function<Object, Object> createMapper(MappingStrategy strategy, ConversionService conversionService,
+			Class<?> sourceType, Class<?> targetType, @Nullable String dozerMapId) {
+		if (strategy == MappingStrategy.CONVERSION_SERVICE) {
+			return ResolvedConverter.of(conversionService, sourceType, targetType)::convert;
+		}
+
+		if (dozerMapId == null) {
+			return source -> dozerMapper.map(source, targetType);
+		}
+		return source -> dozerMapper.map(source, targetType, dozerMapId);
+	}
+
+	private static List<Object> mapAll(Function<Object, Object> mapper, List<?> sources) {
+		List<Object> result = new ArrayList<Object>(sources.size());
+		for (Object source : sources) {
+			result.add(mapper.apply(source));
+		}
+		return result;
+	}
 
-		if (!dozerUtil.hasDozerMapping(getAdaptedRepositoryInformation().getIdType(), entityInformation.getIdType(),
-				null)) {
-			if (!considerConversionServiceForEntityIdMapping || !conversionService.getOptional().get()
-					.canConvert(getAdaptedRepositoryInformation().getIdType(), entityInformation.getIdType())) {
-				throw new MetadataLookupException(
-						"No mapping definition found for: " + getAdaptedRepositoryInformation().getIdType().getName()
-								+ " -> " + entityInformation.getIdType().getName() + ".");
-			}
-			useConverterServiceForAdaptedEntityIdToEntityId = true;
+	/**
+	 * Looks up a {@code Slice<T> findAllBy(Pageable)} query method on the adapted
+	 * repository interface.
+	 * 
+	 * @param adaptedRepositoryInformation
+	 * @return the query method or {@literal null} if none is declared
+	 */
+	@Nullable
+	protected Method findAdaptedSliceMethod(RepositoryInformation adaptedRepositoryInformation) {
+		Method method = ReflectionUtils.findMethod(adaptedRepositoryInformation.getRepositoryInterface(), "findAllBy",
+				Pageable.class);
+
+		if (method == null || !Slice.class.isAssignableFrom(method.getReturnType())
+				|| Page.class.isAssignableFrom(method.getReturnType())) {
+			return null;
 		}
 
-		entityIdSetter = entityInformation.getPersistentEntity().getRequiredIdProperty().getRequiredSetter();
+		return method;
 	}
 
+	@SuppressWarnings("unchecked")
 	protected T toDozerEntity(Object source) {
-		if (useConverterServiceForAdaptedEntityToEntity) {
-			return conversionService.getOptional().get().convert(source, entityInformation.getJavaType());
-		}
-
-		if (StringUtils.isEmpty(entityInformation.getDozerMapId())) {
-			return dozerMapper.map(source, entityInformation.getJavaType());
-		}
-		return dozerMapper.map(source, entityInformation.getJavaType(), entityInformation.getDozerMapId());
+		return (T) getBinding().getToDozerEntity().apply(source);
 	}
 
 	/**
@@ -259,14 +1268,7 @@ public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementati
 	 * @return
 	 */
 	protected <S extends T> Object toAdaptedEntity(S resource) {
-		if (useConverterServiceForEntityToAdaptedEntity) {
-			return conversionService.getOptional().get().convert(resource, entityInformation.getAdaptedJavaType());
-		}
-
-		if (StringUtils.isEmpty(entityInformation.getDozerMapId())) {
-			return dozerMapper.map(resource, entityInformation.getAdaptedJavaType());
-		}
-		return dozerMapper.map(resource, entityInformation.getAdaptedJavaType(), entityInformation.getDozerMapId());
+		return getBinding().getToAdaptedEntity().apply(resource);
 	}
 
 	/**
@@ -278,100 +1280,352 @@ public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementati
 	 * @return
 	 */
 	protected <S extends T> Object toAdaptedEntity(S resource, Object entity) {
-		if (StringUtils.isEmpty(entityInformation.getDozerMapId())) {
+		String dozerMapId = getBinding().getDozerMapId();
+		if (dozerMapId == null) {
 			dozerMapper.map(resource, entity);
 		} else {
-			dozerMapper.map(resource, entity, entityInformation.getDozerMapId());
+			dozerMapper.map(resource, entity, dozerMapId);
 		}
 		return entity;
 	}
 
 	protected Object toAdaptedId(ID resourceId) {
-		if (useConverterServiceForEntityIdToAdaptedEntityId) {
-			return conversionService.getOptional().get().convert(resourceId,
-					getAdaptedRepositoryInformation().getIdType());
-		}
-
-		if (StringUtils.isEmpty(entityInformation.getDozerMapId())) {
-			return dozerMapper.map(resourceId, getAdaptedRepositoryInformation().getIdType());
-		}
-		return dozerMapper.map(resourceId, getAdaptedRepositoryInformation().getIdType(),
-				entityInformation.getDozerMapId());
+		return getBinding().getToAdaptedId().apply(resourceId);
 	}
 
 	protected Object toResourceId(Object sourceId) {
-		if (useConverterServiceForAdaptedEntityIdToEntityId) {
-			return conversionService.getOptional().get().convert(sourceId, entityInformation.getIdType());
-		}
-
-		if (StringUtils.isEmpty(entityInformation.getDozerMapId())) {
-			return dozerMapper.map(sourceId, entityInformation.getIdType());
-		}
-		return dozerMapper.map(sourceId, entityInformation.getIdType(), entityInformation.getDozerMapId());
+		return getBinding().getToResourceId().apply(sourceId);
 	}
 
 	protected <S extends T> S toResource(S resource, Object entity) {
+		DozerRepositoryBinding binding = getBinding();
+
 		// apply id
-		Object entityId = adaptedPersistentEntity.getIdentifierAccessor(entity).getRequiredIdentifier();
+		Object entityId = binding.getAdaptedPersistentEntity().getIdentifierAccessor(entity).getRequiredIdentifier();
 		try {
-			entityIdSetter.invoke(resource, toResourceId(entityId));
+			binding.getEntityIdSetter().invoke(resource, toResourceId(entityId));
 		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 			throw new MappingException(e);
 		}
 
 		// apply version
-		if (entityInformation.getPersistentEntity().hasVersionProperty()
-				&& adaptedPersistentEntity.hasVersionProperty()) {
-
-			Field adaptedVersionField = adaptedPersistentEntity.getRequiredVersionProperty().getRequiredField();
-			ReflectionUtils.makeAccessible(adaptedVersionField);
-			Object entityVersion = ReflectionUtils.getField(adaptedVersionField, entity);
-
-			Field versionField = entityInformation.getPersistentEntity().getRequiredVersionProperty()
-					.getRequiredField();
-			ReflectionUtils.makeAccessible(versionField);
-			ReflectionUtils.setField(versionField, resource,
-					conversionService.getOptional().get().convert(entityVersion, versionField.getType()));
+		if (binding.hasVersion()) {
+			Object entityVersion = ReflectionUtils.getField(binding.getAdaptedVersionField(), entity);
+			ReflectionUtils.setField(binding.getVersionField(), resource,
+					binding.getToResourceVersion().apply(entityVersion));
 		}
 
 		return resource;
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Iterable<T> findAll(Sort sort) {
-		Iterable<?> entities = getAdaptedRepository().findAll(toAdaptedSort(sort));
+		DozerRepositoryBinding binding = getBinding();
+		ReferenceDataCache referenceData = getReferenceData(binding);
+		if (referenceData != null) {
+			return (List<T>) referenceData.findAll(sort);
+		}
+
+		if (isSortedInMemory(binding, sort)) {
+			return (List<T>) findAllInMemory(binding, sort, Pageable.unpaged(), null).getContent();
+		}
 
-		Iterable<T> resources = Iterables.transform(entities, source -> toDozerEntity(source));
+		Iterable<?> entities = binding.getShards() != null ? binding.getShards().findAll(toAdaptedSort(sort))
+				: getAdaptedReadRepository(binding).findAll(toAdaptedSort(sort));
 
-		return resources;
+		return toDozerEntities(entities);
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Page<T> findAll(Pageable pageable) {
-		Page<?> entities = getAdaptedRepository().findAll(toAdaptedPageable(pageable));
+		DozerRepositoryBinding binding = getBinding();
+		ReferenceDataCache referenceData = getReferenceData(binding);
+		if (referenceData != null) {
+			return (Page<T>) (Page<?>) referenceData.findAll(pageable);
+		}
+
+		if (isSortedInMemory(binding, pageable.getSort())) {
+			return (Page<T>) (Page<?>) findAllInMemory(binding, pageable.getSort(), pageable, null);
+		}
+
+		Page<?> entities = binding.getShards() != null ? binding.getShards().findAll(toAdaptedPageable(pageable))
+				: getAdaptedReadRepository(binding).findAll(toAdaptedPageable(pageable));
+
+		return new PageImpl<T>(toDozerEntities(entities.getContent()), pageable, entities.getTotalElements());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Slice<T> findAllSlice(Pageable pageable) {
+		Assert.notNull(pageable, "Pageable must not be null!");
+
+		DozerRepositoryBinding binding = getBinding();
+		ReferenceDataCache referenceData = getReferenceData(binding);
+		if (referenceData != null) {
+			return (Slice<T>) (Slice<?>) referenceData.findAllSlice(pageable);
+		}
+
+		if (isSortedInMemory(binding, pageable.getSort())) {
+			Page<?> page = findAllInMemory(binding, pageable.getSort(), pageable, null);
+			return new SliceImpl<T>((List<T>) page.getContent(), pageable, page.hasNext());
+		}
+
+		Slice<?> entities = findAdaptedSlice(toAdaptedPageable(pageable));
+
+		return new SliceImpl<T>(toDozerEntities(entities.getContent()), pageable, entities.hasNext());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Page<T> findAllInMemory(Predicate<? super T> filter, Pageable pageable) {
+		Assert.notNull(filter, "Filter must not be null!");
+		Assert.notNull(pageable, "Pageable must not be null!");
+
+		DozerRepositoryBinding binding = getBinding();
+		ReferenceDataCache referenceData = getReferenceData(binding);
+		if (referenceData != null) {
+			List<T> matching = ((List<T>) referenceData.findAll(pageable.getSort())).stream().filter(filter)
+					.collect(Collectors.toList());
+			if (pageable.isUnpaged()) {
+				return new PageImpl<T>(matching, pageable, matching.size());
+			}
+			int from = (int) Math.min(pageable.getOffset(), matching.size());
+			return new PageImpl<T>(
+					new ArrayList<T>(matching.subList(from, Math.min(matching.size(), from + pageable.getPageSize()))),
+					pageable, matching.size());
+		}
+
+		return (Page<T>) (Page<?>) findAllInMemory(binding, pageable.getSort(), pageable, filter);
+	}
+
+	/**
+	 * Returns whether the sort uses properties of the dozer entity that are not
+	 * mapped to a property of the adapted entity, e.g. properties computed by a
+	 * custom converter, so that it has to be applied to the dozer entities in
+	 * memory.
+	 * 
+	 * @param binding
+	 * @param sort
+	 * @return
+	 */
+	protected boolean isSortedInMemory(DozerRepositoryBinding binding, Sort sort) {
+		for (Order order : sort) {
+			String property = binding.getDozerEntityFieldNameToAdaptedFieldName().getOrDefault(order.getProperty(),
+					order.getProperty());
+			int separator = property.indexOf('.');
+			if (binding.getAdaptedPersistentEntity()
+					.getPersistentProperty(separator < 0 ? property : property.substring(0, separator)) == null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Page<Object> findAllInMemory(DozerRepositoryBinding binding, Sort sort, Pageable pageable,
+			@Nullable Predicate<? super T> filter) {
+		return binding.getInMemorySort().findAll(sort, pageable, (Predicate<Object>) filter,
+				new InMemorySortFallback.AdaptedReader() {
+
+					@Override
+					public KeysetSlice<?> findAllAfter(Sort adaptedSort, int size, @Nullable String cursor) {
+						return findAdaptedAfter(adaptedSort, adaptedSort, size, cursor);
+					}
+
+					@Override
+					public Object getId(Object adaptedEntity) {
+						return binding.getAdaptedPersistentEntity().getIdentifierAccessor(adaptedEntity)
+								.getRequiredIdentifier();
+					}
+
+					@Override
+					public List<Object> toDozerEntities(List<?> adaptedEntities) {
+						return binding.getToDozerEntities().apply(adaptedEntities);
+					}
+
+					@Override
+					public Map<Object, Object> findAllById(List<Object> adaptedIds) {
+						List<ID> resourceIds = new ArrayList<ID>(adaptedIds.size());
+						for (Object adaptedId : adaptedIds) {
+							resourceIds.add((ID) binding.getToResourceId().apply(adaptedId));
+						}
+						Map<Object, Object> result = new HashMap<Object, Object>();
+						for (T resource : SimpleDozerRepository.this.findAllById(resourceIds, null)) {
+							result.put(toAdaptedId((ID) entityInformation.getId(resource)), resource);
+						}
+						return result;
+					}
+				});
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public KeysetSlice<T> findAllAfter(Sort sort, int size, @Nullable String cursor) {
+		Assert.notNull(sort, "Sort must not be null!");
+		Assert.isTrue(size > 0, "Size must be greater than zero!");
+
+		DozerRepositoryBinding binding = getBinding();
+		if (isSortedInMemory(binding, sort)) {
+			long offset = cursor == null ? 0 : KeysetCursor.decode(cursor, sort).getOffset();
+			Assert.isTrue(offset % size == 0, "Keyset cursor " + cursor + " was created for a different size!");
+
+			Pageable pageable = PageRequest.of((int) (offset / size), size, sort);
+			Page<?> page = findAllInMemory(binding, sort, pageable, null);
+			String nextCursor = page.hasNext()
+					? new KeysetCursor(sort, offset + page.getNumberOfElements(), null).encode()
+					: null;
+			return new KeysetSlice<T>((List<T>) page.getContent(), pageable, nextCursor);
+		}
+
+		KeysetSlice<?> entities = findAdaptedAfter(sort, toAdaptedKeysetSort(sort), size, cursor);
+
+		return new KeysetSlice<T>(toDozerEntities(entities.getContent()), entities.getPageable(),
+				entities.getNextCursor());
+	}
+
+	/**
+	 * Returns the next slice of adapted entities following the row described by
+	 * the given cursor, seeking after its sort keys when the adapted repository
+	 * implements {@link AdaptedKeysetExecutor}, otherwise by offset.
+	 * 
+	 * @param sort        the sort the cursor is created for
+	 * @param adaptedSort the unique adapted sort
+	 * @param size        the maximum number of adapted entities
+	 * @param cursor      the cursor of the previous slice or {@literal null}
+	 * @return the adapted entities with the cursor of the next slice
+	 */
+	protected KeysetSlice<Object> findAdaptedAfter(Sort sort, Sort adaptedSort, int size, @Nullable String cursor) {
+		KeysetCursor keysetCursor = cursor == null ? null : KeysetCursor.decode(cursor, sort);
+		long offset = keysetCursor == null ? 0 : keysetCursor.getOffset();
+		DozerRepositoryBinding binding = getBinding();
+
+		PagingAndSortingRepository<Object, Object> adaptedRepository = getAdaptedReadRepository(binding);
+		boolean seek = binding.getShards() == null && adaptedSort.isSorted()
+				&& adaptedRepository instanceof AdaptedKeysetExecutor
+				&& (keysetCursor == null || keysetCursor.getValues() != null);
+
+		List<?> entities;
+		boolean hasNext;
+		if (seek) {
+			Map<String, Object> keyset = keysetCursor == null ? null : toKeyset(adaptedSort, keysetCursor.getValues());
+			List<?> rows = ((AdaptedKeysetExecutor<?>) adaptedRepository).findAllAfter(adaptedSort, keyset, size + 1);
+			hasNext = rows.size() > size;
+			entities = hasNext ? rows.subList(0, size) : rows;
+		} else {
+			Assert.isTrue(offset % size == 0, "Keyset cursor " + cursor + " was created for a different size!");
+
+			Pageable adaptedPageable = PageRequest.of((int) (offset / size), size, adaptedSort);
+			Slice<?> rows = binding.getShards() != null ? findAdaptedSlice(adaptedPageable)
+					: findAdaptedSlice(binding, adaptedRepository, adaptedPageable);
+			hasNext = rows.hasNext();
+			entities = rows.getContent();
+		}
+
+		String nextCursor = null;
+		if (hasNext) {
+			List<Object> values = seek ? toKeysetValues(adaptedSort, entities.get(entities.size() - 1)) : null;
+			nextCursor = new KeysetCursor(sort, offset + entities.size(), values).encode();
+		}
+
+		return new KeysetSlice<Object>(new ArrayList<Object>(entities),
+				PageRequest.of((int) (offset / size), size, sort), nextCursor);
+	}
+
+	/**
+	 * Returns a slice of adapted entities, preferring the count free
+	 * {@code findAllBy(Pageable)} query method of the adapted repository.
+	 * 
+	 * @param pageable the adapted pageable
+	 * @return
+	 */
+	protected Slice<?> findAdaptedSlice(Pageable pageable) {
+		DozerRepositoryBinding binding = getBinding();
+		if (binding.getShards() != null) {
+			return binding.getShards().findSlice(pageable,
+					(repository, it) -> findAdaptedSlice(binding, repository, it));
+		}
+
+		return findAdaptedSlice(binding, getAdaptedReadRepository(binding), pageable);
+	}
+
+	protected Slice<?> findAdaptedSlice(DozerRepositoryBinding binding,
+			PagingAndSortingRepository<Object, Object> adaptedRepository, Pageable pageable) {
+		Method sliceMethod = adaptedRepository == binding.getAdaptedReadRepository()
+				? binding.getAdaptedReadSliceMethod()
+				: binding.getAdaptedSliceMethod();
+		if (sliceMethod != null) {
+			return (Slice<?>) ReflectionUtils.invokeMethod(sliceMethod, adaptedRepository, pageable);
+		}
+
+		Page<?> page = adaptedRepository.findAll(pageable);
+
+		return new SliceImpl<Object>(new ArrayList<Object>(page.getContent()), pageable, page.hasNext());
+	}
+
+	/**
+	 * Maps all adapted entities in a single call.
+	 * 
+	 * @param sources the adapted entities
+	 * @return the dozer entities in source order
+	 */
+	@SuppressWarnings("unchecked")
+	protected List<T> toDozerEntities(List<?> sources) {
+		return (List<T>) getBinding().getToDozerEntities().apply(sources);
+	}
+
+	protected List<T> toDozerEntities(Iterable<?> sources) {
+		return toDozerEntities(sources instanceof List ? (List<?>) sources : Lists.newArrayList(sources));
+	}
 
-		Page<T> resources = entities.map(source -> toDozerEntity(source));
+	/**
+	 * Maps a stream of adapted entities lazily, in chunks if secondary sources
+	 * have to be attached so that they are not read per adapted entity.
+	 * 
+	 * @param sources the adapted entities
+	 * @return the dozer entities in source order
+	 */
+	protected Stream<T> toDozerEntities(Stream<?> sources) {
+		if (getBinding().getSecondarySources() == null) {
+			return sources.map(this::toDozerEntity);
+		}
 
-		return resources;
+		Iterator<? extends List<?>> chunks = Iterators.partition(sources.iterator(),
+				SecondaryAdaptedSources.ATTACH_CHUNK_SIZE);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+				.flatMap(chunk -> toDozerEntities(chunk).stream()).onClose(sources::close);
 	}
 
 	@Override
+	@Transactional
 	public <S extends T> S save(S resource) {
 
+		DozerRepositoryBinding binding = getBinding();
+		if (writeBehind.buffer(binding.getWriteBehindBuffer(), Collections.singletonList(resource))) {
+			return resource;
+		}
+
+		PagingAndSortingRepository<Object, Object> adaptedRepository;
 		Object entity = null;
 
 		if (entityInformation.isNew(resource)) {
+			adaptedRepository = getAdaptedRepositoryForNew(binding, resource);
 			entity = toAdaptedEntity(resource);
 		} else {
 			// do merge
+			ID resourceId = (ID) entityInformation.getRequiredId(resource);
+			adaptedRepository = getAdaptedRepository(binding, resourceId);
+			entityCaching.evict(getEntityCache(), Collections.singleton(resourceId));
+
 			Object entityId;
 			try {
-				entityId = toAdaptedId((ID) entityInformation.getRequiredId(resource));
+				entityId = toAdaptedId(resourceId);
 			} catch (MappingException e) {
 				throw new IllegalArgumentException(e);
 			}
 
-			Optional<?> persistedEntity = getAdaptedRepository().findById(entityId);
+			Optional<?> persistedEntity = adaptedRepository.findById(entityId);
 			if (persistedEntity.isPresent()) {
 				entity = persistedEntity.get();
 				entity = toAdaptedEntity(resource, entity);
@@ -381,26 +1635,172 @@ public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementati
 
 		}
 
-		entity = getAdaptedRepository().save(entity);
+		SecondaryAdaptedSources secondarySources = binding.getSecondarySources();
+		if (secondarySources != null) {
+			secondarySources.saveReferenced(Collections.singletonList(resource), Collections.singletonList(entity));
+		}
+
+		entity = adaptedRepository.save(entity);
+
+		if (secondarySources != null) {
+			secondarySources.saveSharingId(Collections.singletonList(resource), Collections.singletonList(entity));
+		}
+
+		S result = toResource(resource, entity);
+		refreshReferenceData(Collections.singleton(entityInformation.getId(result)));
+
+		return result;
+	}
+
+	@Override
+	@Transactional
+	public <S extends T> CompletableFuture<S> saveBuffered(S resource) {
+		Assert.notNull(resource, "Entity must not be null!");
+
+		WriteBehindBuffer buffer = getBinding().getWriteBehindBuffer();
+		if (buffer == null || writeBehind.isInCallerTransaction()) {
+			return CompletableFuture.completedFuture(save(resource));
+		}
+
+		return writeBehind.add(buffer, resource);
+	}
+
+	@Override
+	@Transactional
+	public void flush() {
+		WriteBehindBuffer buffer = getBinding().getWriteBehindBuffer();
+		if (buffer != null) {
+			buffer.flush();
+		}
+	}
+
+	/**
+	 * Writes a batch of saves with one {@code findAllById} and one {@code saveAll}
+	 * per adapted repository.
+	 * 
+	 * @param binding
+	 * @param batch
+	 */
+	@SuppressWarnings("unchecked")
+	protected void writeAll(DozerRepositoryBinding binding, List<PendingSave> batch) {
+		Map<PagingAndSortingRepository<Object, Object>, List<PendingSave>> batchByRepository = new IdentityHashMap<>();
+		for (PendingSave pendingSave : batch) {
+			PagingAndSortingRepository<Object, Object> adaptedRepository = pendingSave.getId() == null
+					? getAdaptedRepositoryForNew(binding, (T) pendingSave.getResource())
+					: getAdaptedRepository(binding, (ID) pendingSave.getId());
+			batchByRepository.computeIfAbsent(adaptedRepository, it -> new ArrayList<PendingSave>()).add(pendingSave);
+		}
+
+		batchByRepository.forEach((adaptedRepository, it) -> writeAll(binding, adaptedRepository, it));
+	}
+
+	@SuppressWarnings("unchecked")
+	protected void writeAll(DozerRepositoryBinding binding,
+			PagingAndSortingRepository<Object, Object> adaptedRepository, List<PendingSave> batch) {
+		List<Object> entityIds = new ArrayList<Object>(batch.size());
+		List<Object> resourceIds = new ArrayList<Object>(batch.size());
+		for (PendingSave pendingSave : batch) {
+			entityIds.add(pendingSave.getId() == null ? null : binding.getToAdaptedId().apply(pendingSave.getId()));
+			if (pendingSave.getId() != null) {
+				resourceIds.add(pendingSave.getId());
+			}
+		}
+		entityCaching.evict(getEntityCache(), resourceIds);
+
+		Map<Object, Object> persistedEntities = new HashMap<Object, Object>();
+		List<Object> existingEntityIds = entityIds.stream().filter(it -> it != null).collect(Collectors.toList());
+		if (!existingEntityIds.isEmpty()) {
+			for (Object entity : findAllAdaptedById(binding, adaptedRepository, existingEntityIds)) {
+				persistedEntities.put(
+						binding.getAdaptedPersistentEntity().getIdentifierAccessor(entity).getIdentifier(), entity);
+			}
+		}
+
+		List<Object> resources = new ArrayList<Object>(batch.size());
+		List<Object> entities = new ArrayList<Object>(batch.size());
+		for (int i = 0; i < batch.size(); i++) {
+			T resource = (T) batch.get(i).getResource();
+			Object entity = entityIds.get(i) == null ? null : persistedEntities.get(entityIds.get(i));
+			resources.add(resource);
+			entities.add(entity != null ? toAdaptedEntity(resource, entity) : toAdaptedEntity(resource));
+		}
+
+		SecondaryAdaptedSources secondarySources = binding.getSecondarySources();
+		if (secondarySources != null) {
+			secondarySources.saveReferenced(resources, entities);
+		}
+
+		List<Object> savedEntities = Lists.newArrayList(adaptedRepository.saveAll(entities));
+		Assert.state(savedEntities.size() == entities.size(), "Adapted repository saved " + savedEntities.size()
+				+ " of " + entities.size() + " entities of " + entityInformation.getAdaptedJavaType());
+
+		if (secondarySources != null) {
+			secondarySources.saveSharingId(resources, savedEntities);
+		}
+
+		List<Object> savedIds = new ArrayList<Object>(batch.size());
+		for (int i = 0; i < batch.size(); i++) {
+			for (Object resource : batch.get(i).getResources()) {
+				savedIds.add(entityInformation.getId(toResource((T) resource, savedEntities.get(i))));
+			}
+		}
 
-		return toResource(resource, entity);
+		refreshReferenceData(savedIds);
 	}
 
 	@Override
+	@Transactional
 	public <S extends T> Iterable<S> saveAll(Iterable<S> resources) {
 		Assert.notNull(resources, "Entities must not be null!");
 
-		List<S> result = new ArrayList<S>();
+		DozerRepositoryBinding binding = getBinding();
+		List<S> result = Lists.newArrayList(resources);
+
+		if (writeBehind.buffer(binding.getWriteBehindBuffer(), result)) {
+			return result;
+		}
+
+		// saves of the same identifier are written once with the latest state
+		Map<Object, PendingSave> saves = new LinkedHashMap<Object, PendingSave>();
+		for (S resource : result) {
+			Object resourceId = entityInformation.isNew(resource) ? null : entityInformation.getRequiredId(resource);
+			saves.computeIfAbsent(resourceId != null ? resourceId : new Object(), it -> new PendingSave(resourceId))
+					.add(resource, new CompletableFuture<Object>());
+		}
 
-		for (S entity : resources) {
-			result.add(save(entity));
+		if (!saves.isEmpty()) {
+			writeAll(binding, new ArrayList<PendingSave>(saves.values()));
 		}
 
 		return result;
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Optional<T> findById(ID resourceId) {
+		ReferenceDataCache referenceData = getReferenceData(getBinding());
+		if (referenceData != null) {
+			Assert.notNull(resourceId, ID_MUST_NOT_BE_NULL);
+			return Optional.ofNullable((T) referenceData.findById(resourceId));
+		}
+
+		MappedEntityCache entityCache = getBinding().getEntityCache();
+		if (entityCache == null) {
+			return findByIdUncached(resourceId);
+		}
+		Assert.notNull(resourceId, ID_MUST_NOT_BE_NULL);
+		return entityCaching.findById(entityCache, resourceId, () -> findByIdUncached(resourceId));
+	}
+
+	/**
+	 * Reads the dozer entity from the adapted repository, coalesced with
+	 * concurrent reads if {@link DozerRepository#batchFindById()} is enabled.
+	 * 
+	 * @param resourceId
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	protected Optional<T> findByIdUncached(ID resourceId) {
 		Object entityId;
 		try {
 			entityId = toAdaptedId(resourceId);
@@ -408,91 +1808,286 @@ public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementati
 			throw new IllegalArgumentException(e);
 		}
 
-		Optional<Object> entity = getAdaptedRepository().findById(entityId);
-
-		return entity.map(source -> toDozerEntity(source));
+		DozerRepositoryBinding binding = getBinding();
+		FindByIdBatcher batcher = findByIdBatching.getBatcher(binding.getFindByIdBatcher(),
+				isReadFromPrimary(binding));
+		if (batcher != null) {
+			// the identifier has been mapped above, unmappable identifiers never reach
+			// the batch
+			return Optional.ofNullable((T) batcher.findById(resourceId));
+		}
+		return getAdaptedReadRepository(binding, resourceId).findById(entityId)
+				.map(source -> toDozerEntity(source));
 	}
 
 	@Override
 	public boolean existsById(ID resourceId) {
+		ReferenceDataCache referenceData = getReferenceData(getBinding());
+		if (referenceData != null) {
+			Assert.notNull(resourceId, ID_MUST_NOT_BE_NULL);
+			return referenceData.existsById(resourceId);
+		}
+
+		if (entityCaching.contains(getBinding().getEntityCache(), resourceId)) {
+			return true;
+		}
+
 		Object entityId;
 		try {
 			entityId = toAdaptedId(resourceId);
 		} catch (MappingException e) {
 			throw new IllegalArgumentException(e);
 		}
-		return getAdaptedRepository().existsById(entityId);
+		return getAdaptedReadRepository(getBinding(), resourceId).existsById(entityId);
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Iterable<T> findAll() {
-		Iterable<?> entities = getAdaptedRepository().findAll();
+		DozerRepositoryBinding binding = getBinding();
+		ReferenceDataCache referenceData = getReferenceData(binding);
+		if (referenceData != null) {
+			return (List<T>) referenceData.findAll();
+		}
 
-		Iterable<T> resources = Iterables.transform(entities, source -> toDozerEntity(source));
+		Iterable<?> entities = binding.getShards() != null ? binding.getShards().findAll()
+				: getAdaptedReadRepository(binding).findAll();
 
-		return resources;
+		return toDozerEntities(entities);
 	}
 
 	@Override
 	public Iterable<T> findAllById(Iterable<ID> resourceIds) {
-		Iterable<Object> entityIds = Iterables.filter(Iterables.transform(resourceIds, source -> {
-			try {
-				return toAdaptedId(source);
-			} catch (MappingException e) {
-				return null;
+		return findAllById(resourceIds, null);
+	}
+
+	@Override
+	public List<T> findAllById(Iterable<ID> resourceIds, @Nullable Collection<? super ID> unmappedIds) {
+		Assert.notNull(resourceIds, "Ids must not be null!");
+
+		DozerRepositoryBinding binding = getBinding();
+		ReferenceDataCache referenceData = getReferenceData(binding);
+		if (referenceData != null) {
+			return (List<T>) referenceData.findAllById(resourceIds);
+		}
+
+		// the first dozer identifier of each distinct adapted identifier
+		Map<Object, ID> resourceIdsByEntityId = new LinkedHashMap<Object, ID>();
+
+		for (ID resourceId : resourceIds) {
+			Object entityId = null;
+			RuntimeException failure = null;
+			if (resourceId != null) {
+				try {
+					entityId = toAdaptedId(resourceId);
+				} catch (RuntimeException e) {
+					failure = e;
+				}
+			}
+
+			if (entityId != null) {
+				resourceIdsByEntityId.putIfAbsent(entityId, resourceId);
+			} else {
+				onUnmappedId(binding, resourceId, failure, unmappedIds);
+			}
+		}
+
+		if (resourceIdsByEntityId.isEmpty()) {
+			return new ArrayList<T>();
+		}
+
+		List<Object> entities;
+		if (binding.getShards() == null) {
+			entities = findAllAdaptedById(binding, getAdaptedReadRepository(binding),
+					new ArrayList<Object>(resourceIdsByEntityId.keySet()));
+		} else {
+			entities = binding.getShards().findAllById(resourceIdsByEntityId,
+					(shard, entityIds) -> findAllAdaptedById(binding, shard, entityIds));
+		}
+
+		if (binding.isFindAllByIdPreserveOrder()) {
+			entities = orderById(binding, resourceIdsByEntityId.keySet(), entities);
+		}
+
+		return toDozerEntities(entities);
+	}
+
+	protected void onUnmappedId(DozerRepositoryBinding binding, @Nullable ID resourceId,
+			@Nullable RuntimeException failure, @Nullable Collection<? super ID> unmappedIds) {
+		if (unmappedIds != null) {
+			unmappedIds.add(resourceId);
+		}
+
+		switch (binding.getUnmappedIdPolicy()) {
+		case FAIL:
+			throw new IllegalArgumentException("Unable to map id " + resourceId + " of dozer entity "
+					+ entityInformation.getJavaType() + " to " + binding.getAdaptedIdType(), failure);
+		case LOG:
+			if (unmappedIds == null) {
+				LOG.warn("Skipping id {} of dozer entity {} that can not be mapped to {}", resourceId,
+						entityInformation.getJavaType().getName(), binding.getAdaptedIdType().getName(), failure);
 			}
-		}), Predicates.notNull());
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Loads the adapted entities in chunks of at most
+	 * {@link DozerRepositoryBinding#getFindAllByIdChunkSize()} identifiers.
+	 * 
+	 * @param binding
+	 * @param entityIds distinct adapted identifiers
+	 * @return
+	 */
+	protected List<Object> findAllAdaptedById(DozerRepositoryBinding binding,
+			PagingAndSortingRepository<Object, Object> adaptedRepository, List<Object> entityIds) {
+		int chunkSize = binding.getFindAllByIdChunkSize();
 
-		Iterable<Object> entities = getAdaptedRepository().findAllById(entityIds);
+		if (chunkSize <= 0 || entityIds.size() <= chunkSize) {
+			return Lists.newArrayList(adaptedRepository.findAllById(entityIds));
+		}
+
+		List<Object> result = new ArrayList<Object>(entityIds.size());
+		for (Iterable<Object> entities : ParallelReads.readAll(Lists.partition(entityIds, chunkSize),
+				adaptedRepository::findAllById, binding.isFindAllByIdParallel() ? binding.getExecutor() : null)) {
+			Iterables.addAll(result, entities);
+		}
+		return result;
+	}
+
+	/**
+	 * Orders the adapted entities by the position of their identifier in the
+	 * requested identifiers.
+	 */
+	protected List<Object> orderById(DozerRepositoryBinding binding, Set<Object> entityIds, List<Object> entities) {
+		Map<Object, Object> entitiesById = new HashMap<Object, Object>(entities.size() * 2);
+		for (Object entity : entities) {
+			entitiesById.put(binding.getAdaptedPersistentEntity().getIdentifierAccessor(entity).getIdentifier(),
+					entity);
+		}
 
-		Iterable<T> resources = Iterables.transform(entities, source -> toDozerEntity(source));
+		List<Object> result = new ArrayList<Object>(entities.size());
+		for (Object entityId : entityIds) {
+			Object entity = entitiesById.get(entityId);
+			if (entity != null) {
+				result.add(entity);
+			}
+		}
+		return result;
+	}
 
-		return resources;
+	/**
+	 * Waits for the given future and rethrows the original failure.
+	 */
+	protected static <R> R join(CompletableFuture<R> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
 	}
 
 	@Override
 	public long count() {
-		return getAdaptedRepository().count();
+		DozerRepositoryBinding binding = getBinding();
+		ReferenceDataCache referenceData = getReferenceData(binding);
+		if (referenceData != null) {
+			return referenceData.count();
+		}
+
+		return binding.getShards() != null ? binding.getShards().count() : getAdaptedReadRepository(binding).count();
 	}
 
 	@Override
+	@Transactional
 	public void deleteById(ID resourceId) {
 		Assert.notNull(resourceId, ID_MUST_NOT_BE_NULL);
 
-		delete(findById(resourceId).orElseThrow(() -> new EmptyResultDataAccessException(
+		flush();
+		delete(PrimaryReads.call(() -> findById(resourceId)).orElseThrow(() -> new EmptyResultDataAccessException(
 				String.format("No %s entity with id %s exists!", entityInformation.getJavaType(), resourceId), 1)));
 	}
 
 	@Override
+	@Transactional
 	public void delete(T resource) {
 		if (entityInformation.isNew(resource)) {
 			return;
 		}
-		
-		Object entityId = toAdaptedId((ID) entityInformation.getId(resource));
 
-		getAdaptedRepository().deleteById(entityId);
+		// buffered saves must not recreate the entity after the delete
+		flush();
+
+		ID resourceId = (ID) entityInformation.getId(resource);
+		Object entityId = toAdaptedId(resourceId);
+
+		DozerRepositoryBinding binding = getBinding();
+		if (binding.getSecondarySources() != null) {
+			binding.getSecondarySources().deleteSharingId(Collections.singletonList(entityId));
+		}
+
+		getAdaptedRepository(binding, resourceId).deleteById(entityId);
+		entityCaching.evict(getEntityCache(), Collections.singleton(resourceId));
+		refreshReferenceData(Collections.singleton(resourceId));
 	}
 
+	/**
+	 * Deletes the given entities with one {@code findAllById} and one
+	 * {@code deleteAll} per adapted repository.
+	 */
 	@Override
+	@Transactional
+	@SuppressWarnings("unchecked")
 	public void deleteAll(Iterable<? extends T> resources) {
 		Assert.notNull(resources, "Entities must not be null!");
 
-		for (T entity : resources) {
-			delete(entity);
+		// buffered saves must not recreate the entities after the delete
+		flush();
+
+		DozerRepositoryBinding binding = getBinding();
+		Map<PagingAndSortingRepository<Object, Object>, Set<Object>> entityIdsByRepository = new IdentityHashMap<>();
+		List<Object> resourceIds = new ArrayList<Object>();
+		for (T resource : resources) {
+			if (entityInformation.isNew(resource)) {
+				continue;
+			}
+
+			ID resourceId = (ID) entityInformation.getRequiredId(resource);
+			resourceIds.add(resourceId);
+			entityIdsByRepository
+					.computeIfAbsent(getAdaptedRepository(binding, resourceId), it -> new LinkedHashSet<Object>())
+					.add(toAdaptedId(resourceId));
+		}
+
+		if (binding.getSecondarySources() != null) {
+			List<Object> entityIds = new ArrayList<Object>();
+			entityIdsByRepository.values().forEach(entityIds::addAll);
+			binding.getSecondarySources().deleteSharingId(entityIds);
 		}
+
+		entityIdsByRepository.forEach((adaptedRepository, entityIds) -> adaptedRepository
+				.deleteAll(findAllAdaptedById(binding, adaptedRepository, new ArrayList<Object>(entityIds))));
+		entityCaching.evict(getEntityCache(), resourceIds);
+		refreshReferenceData(resourceIds);
 	}
 
 	@Override
+	@Transactional
 	public void deleteAll() {
-		for (T element : findAll()) {
-			delete(element);
-		}
+		flush();
+		deleteAll(PrimaryReads.call(this::findAll));
 	}
 
 	protected Sort toAdaptedSort(Sort sort) {
-		if (sort.isSorted() && dozerEntityFieldNameToAdaptedFieldName != null
-				&& !dozerEntityFieldNameToAdaptedFieldName.isEmpty()) {
+		if (sort.isSorted() && !getBinding().getDozerEntityFieldNameToAdaptedFieldName().isEmpty()) {
 			sort = Sort.by(sort.toList().stream().map(it -> toAdaptedOrder(it)).collect(Collectors.toList()));
 		}
 
@@ -500,7 +2095,9 @@ public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementati
 	}
 
 	protected Order toAdaptedOrder(Order order) {
-		if (dozerEntityFieldNameToAdaptedFieldName != null && !dozerEntityFieldNameToAdaptedFieldName.isEmpty()) {
+		Map<String, String> dozerEntityFieldNameToAdaptedFieldName = getBinding()
+				.getDozerEntityFieldNameToAdaptedFieldName();
+		if (!dozerEntityFieldNameToAdaptedFieldName.isEmpty()) {
 			return order.withProperty(
 					dozerEntityFieldNameToAdaptedFieldName.getOrDefault(order.getProperty(), order.getProperty()));
 		}
@@ -508,9 +2105,62 @@ public class SimpleDozerRepository<T, ID> implements DozerRepositoryImplementati
 		return order;
 	}
 
+	/**
+	 * Translates the sort to the adapted entity and appends the adapted identifier
+	 * property so that the ordering is unique.
+	 * 
+	 * @param sort
+	 * @return
+	 */
+	protected Sort toAdaptedKeysetSort(Sort sort) {
+		Sort adaptedSort = toAdaptedSort(sort);
+		PersistentProperty<?> idProperty = getBinding().getAdaptedPersistentEntity().getIdProperty();
+
+		if (idProperty != null && adaptedSort.getOrderFor(idProperty.getName()) == null) {
+			adaptedSort = adaptedSort.and(Sort.by(idProperty.getName()));
+		}
+
+		return adaptedSort;
+	}
+
+	protected Map<String, Object> toKeyset(Sort adaptedSort, List<Object> values) {
+		List<Order> orders = adaptedSort.toList();
+		Assert.isTrue(orders.size() == values.size(), "Keyset cursor does not match sort " + adaptedSort + "!");
+
+		PersistentEntity<?, ?> adaptedPersistentEntity = getBinding().getAdaptedPersistentEntity();
+		Map<String, Object> keyset = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < orders.size(); i++) {
+			PersistentProperty<?> property = adaptedPersistentEntity
+					.getRequiredPersistentProperty(orders.get(i).getProperty());
+			keyset.put(orders.get(i).getProperty(), KeysetCursor.resolveEnum(values.get(i), property.getType()));
+		}
+		return keyset;
+	}
+
+	/**
+	 * Reads the sort key values of the given adapted entity.
+	 * 
+	 * @param adaptedSort
+	 * @param entity
+	 * @return the values or {@literal null} if a sort property is not a direct
+	 *         property of the adapted entity
+	 */
+	@Nullable
+	protected List<Object> toKeysetValues(Sort adaptedSort, Object entity) {
+		PersistentEntity<?, ?> adaptedPersistentEntity = getBinding().getAdaptedPersistentEntity();
+		List<Object> values = new ArrayList<Object>();
+		for (Order order : adaptedSort) {
+			PersistentProperty<?> property = adaptedPersistentEntity.getPersistentProperty(order.getProperty());
+			if (property == null) {
+				return null;
+			}
+			values.add(adaptedPersistentEntity.getPropertyAccessor(entity).getProperty(property));
+		}
+		return values;
+	}
+
 	protected Pageable toAdaptedPageable(Pageable pageable) {
-		if (pageable.getSort().isSorted() && dozerEntityFieldNameToAdaptedFieldName != null
-				&& !dozerEntityFieldNameToAdaptedFieldName.isEmpty()) {
+		if (pageable.getSort().isSorted() && !getBinding().getDozerEntityFieldNameToAdaptedFieldName().isEmpty()) {
 			pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
 					toAdaptedSort(pageable.getSort()));
 		}
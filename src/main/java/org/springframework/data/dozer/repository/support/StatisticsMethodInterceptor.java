@@ -0,0 +1,67 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.dozer.repository.DozerRepositoryStatistics;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link MethodInterceptor} recording the duration of every repository method
+ * invocation in {@link DozerRepositoryStatistics}.
+ *
+ * @author kchobantonov
+ */
+public class StatisticsMethodInterceptor implements MethodInterceptor {
+
+	private final DozerRepositoryStatistics statistics;
+	private final Map<Method, String> operations = new ConcurrentHashMap<Method, String>();
+
+	public StatisticsMethodInterceptor(DozerRepositoryStatistics statistics) {
+		Assert.notNull(statistics, "DozerRepositoryStatistics must not be null!");
+		this.statistics = statistics;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.aopalliance.intercept.MethodInterceptor#invoke(org.aopalliance.intercept.
+	 * MethodInvocation)
+	 */
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		String operation = operations.computeIfAbsent(invocation.getMethod(),
+				StatisticsMethodInterceptor::toOperation);
+
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			Object result = invocation.proceed();
+			failed = false;
+			return result;
+		} finally {
+			statistics.record(operation, System.nanoTime() - start, failed);
+		}
+	}
+
+	/**
+	 * Returns the method name with the simple names of the parameter types, so that
+	 * overloaded methods are recorded separately.
+	 */
+	private static String toOperation(Method method) {
+		StringBuilder result = new StringBuilder(method.getName()).append('(');
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (i > 0) {
+				result.append(", ");
+			}
+			result.append(ClassUtils.getShortName(parameterTypes[i]));
+		}
+		return result.append(')').toString();
+	}
+}
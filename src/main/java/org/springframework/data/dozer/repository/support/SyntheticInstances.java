@@ -0,0 +1,103 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.SimplePropertyHandler;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Creates instances of persistent entities with sample values for their simple
+ * properties, used to exercise mappings without reading real data.
+ *
+ * @author kchobantonov
+ */
+class SyntheticInstances {
+
+	private SyntheticInstances() {
+	}
+
+	/**
+	 * Creates an instance of the given entity using its default constructor and
+	 * sets all simple properties, including identifier and version, to a sample
+	 * value. Associations, collections and nested entities are left unset.
+	 * 
+	 * @param persistentEntity
+	 * @return the instance or {@literal null} if the entity has no default
+	 *         constructor
+	 */
+	@Nullable
+	static Object create(PersistentEntity<?, ?> persistentEntity) {
+		Class<?> type = persistentEntity.getType();
+		if (type.isInterface() || !ClassUtils.hasConstructor(type)) {
+			return null;
+		}
+
+		Object instance = BeanUtils.instantiateClass(type);
+		PersistentPropertyAccessor<?> accessor = persistentEntity.getPropertyAccessor(instance);
+		persistentEntity.doWithProperties((SimplePropertyHandler) property -> {
+			if (property.isEntity() || property.isCollectionLike() || property.isMap() || property.isTransient()) {
+				return;
+			}
+			Object value = sampleValue(property.getType());
+			if (value != null) {
+				try {
+					accessor.setProperty(property, value);
+				} catch (RuntimeException e) {
+					// read only property, keep the default value
+				}
+			}
+		});
+		return instance;
+	}
+
+	@Nullable
+	private static Object sampleValue(Class<?> type) {
+		Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+		if (wrapper == String.class) {
+			return "warm-up";
+		} else if (wrapper == Long.class) {
+			return 1L;
+		} else if (wrapper == Integer.class) {
+			return 1;
+		} else if (wrapper == Short.class) {
+			return (short) 1;
+		} else if (wrapper == Byte.class) {
+			return (byte) 1;
+		} else if (wrapper == Double.class) {
+			return 1d;
+		} else if (wrapper == Float.class) {
+			return 1f;
+		} else if (wrapper == Boolean.class) {
+			return Boolean.TRUE;
+		} else if (wrapper == Character.class) {
+			return 'w';
+		} else if (wrapper == BigDecimal.class) {
+			return BigDecimal.ONE;
+		} else if (wrapper == BigInteger.class) {
+			return BigInteger.ONE;
+		} else if (wrapper == UUID.class) {
+			return UUID.randomUUID();
+		} else if (wrapper == Date.class) {
+			return new Date();
+		} else if (wrapper == Instant.class) {
+			return Instant.now();
+		} else if (wrapper == LocalDate.class) {
+			return LocalDate.now();
+		} else if (wrapper == LocalDateTime.class) {
+			return LocalDateTime.now();
+		} else if (wrapper.isEnum() && wrapper.getEnumConstants().length > 0) {
+			return wrapper.getEnumConstants()[0];
+		}
+		return null;
+	}
+}
@@ -0,0 +1,225 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import com.github.dozermapper.core.MappingException;
+
+/**
+ * Result of analysing how values of a source type can be converted to a target
+ * type. Identifier and version pairs that are identical, differ only by boxing
+ * or widening, or have a well known cheap conversion get a specialised
+ * conversion function and bypass Dozer and the conversion service. Values the
+ * conversion function cannot convert are rejected with a Dozer
+ * {@link MappingException} naming the converted field.
+ *
+ * @author kchobantonov
+ */
+public class TypeCompatibility {
+
+	public enum Kind {
+		/**
+		 * Same immutable value type, values are passed through.
+		 */
+		IDENTICAL,
+		/**
+		 * Primitive and wrapper of the same type or a widening primitive conversion.
+		 */
+		BOXING_WIDENING,
+		/**
+		 * A well known conversion like {@code String <-> UUID} or
+		 * {@code Long <-> String}.
+		 */
+		CHEAP_CONVERSION,
+		/**
+		 * Requires Dozer or the conversion service.
+		 */
+		GENERAL
+	}
+
+	private static final Set<Class<?>> IMMUTABLE_VALUE_TYPES = new HashSet<Class<?>>(Arrays.asList(String.class,
+			Long.class, Integer.class, Short.class, Byte.class, Double.class, Float.class, Boolean.class,
+			Character.class, BigDecimal.class, BigInteger.class, UUID.class));
+
+	private static final TypeCompatibility GENERAL = new TypeCompatibility(Kind.GENERAL, null);
+
+	private final Kind kind;
+	private final @Nullable Function<Object, Object> converter;
+
+	private TypeCompatibility(Kind kind, @Nullable Function<Object, Object> converter) {
+		this.kind = kind;
+		this.converter = converter;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Returns the specialised conversion function.
+	 *
+	 * @return the function or {@literal null} for {@link Kind#GENERAL}
+	 */
+	@Nullable
+	public Function<Object, Object> getConverter() {
+		return converter;
+	}
+
+	/**
+	 * Returns the compatibility requiring Dozer or the conversion service.
+	 *
+	 * @return
+	 */
+	public static TypeCompatibility general() {
+		return GENERAL;
+	}
+
+	/**
+	 * Analyses the conversion from {@code sourceType} to {@code targetType}.
+	 *
+	 * @param sourceType must not be {@literal null}.
+	 * @param targetType must not be {@literal null}.
+	 * @return
+	 */
+	public static TypeCompatibility analyze(Class<?> sourceType, Class<?> targetType) {
+		return analyze(sourceType, targetType, "value");
+	}
+
+	/**
+	 * Analyses the conversion from {@code sourceType} to {@code targetType} of the
+	 * given field.
+	 *
+	 * @param sourceType must not be {@literal null}.
+	 * @param targetType must not be {@literal null}.
+	 * @param field      the name of the converted field used in the message of
+	 *                   conversion failures, must not be {@literal null}.
+	 * @return
+	 */
+	public static TypeCompatibility analyze(Class<?> sourceType, Class<?> targetType, String field) {
+		Assert.notNull(sourceType, "Source type must not be null!");
+		Assert.notNull(targetType, "Target type must not be null!");
+		Assert.notNull(field, "Field must not be null!");
+
+		Class<?> source = ClassUtils.resolvePrimitiveIfNecessary(sourceType);
+		Class<?> target = ClassUtils.resolvePrimitiveIfNecessary(targetType);
+
+		if (source == target && isImmutableValueType(source)) {
+			return new TypeCompatibility(sourceType == targetType ? Kind.IDENTICAL : Kind.BOXING_WIDENING,
+					Function.identity());
+		}
+
+		Function<Object, Object> widening = getWidening(source, target);
+		if (widening != null) {
+			return new TypeCompatibility(Kind.BOXING_WIDENING, nullSafe(widening, sourceType, targetType, field));
+		}
+
+		Function<Object, Object> cheapConversion = getCheapConversion(source, target);
+		if (cheapConversion != null) {
+			return new TypeCompatibility(Kind.CHEAP_CONVERSION,
+					nullSafe(cheapConversion, sourceType, targetType, field));
+		}
+
+		return GENERAL;
+	}
+
+	private static boolean isImmutableValueType(Class<?> type) {
+		return IMMUTABLE_VALUE_TYPES.contains(type) || type.isEnum()
+				|| (Temporal.class.isAssignableFrom(type) && type.getName().startsWith("java.time."));
+	}
+
+	@Nullable
+	private static Function<Object, Object> getWidening(Class<?> source, Class<?> target) {
+		boolean integral = source == Byte.class || source == Short.class || source == Integer.class;
+
+		if (target == Long.class && integral) {
+			return value -> ((Number) value).longValue();
+		}
+		if (target == Integer.class && (source == Byte.class || source == Short.class)) {
+			return value -> ((Number) value).intValue();
+		}
+		if (target == Short.class && source == Byte.class) {
+			return value -> ((Number) value).shortValue();
+		}
+		if (target == Double.class && (integral || source == Float.class)) {
+			return value -> ((Number) value).doubleValue();
+		}
+		if (target == BigInteger.class && (integral || source == Long.class)) {
+			return value -> BigInteger.valueOf(((Number) value).longValue());
+		}
+		if (target == BigDecimal.class && (integral || source == Long.class)) {
+			return value -> BigDecimal.valueOf(((Number) value).longValue());
+		}
+
+		return null;
+	}
+
+	@Nullable
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Function<Object, Object> getCheapConversion(Class<?> source, Class<?> target) {
+		if (target == String.class && (isImmutableValueType(source) && source != String.class)) {
+			return source.isEnum() ? value -> ((Enum<?>) value).name() : String::valueOf;
+		}
+
+		if (source == String.class) {
+			if (target == UUID.class) {
+				return value -> UUID.fromString((String) value);
+			}
+			if (target == Long.class) {
+				return value -> Long.valueOf(((String) value).trim());
+			}
+			if (target == Integer.class) {
+				return value -> Integer.valueOf(((String) value).trim());
+			}
+			if (target == BigInteger.class) {
+				return value -> new BigInteger(((String) value).trim());
+			}
+			if (target == BigDecimal.class) {
+				return value -> new BigDecimal(((String) value).trim());
+			}
+			if (target.isEnum()) {
+				return value -> Enum.valueOf((Class<Enum>) target, ((String) value).trim());
+			}
+		}
+
+		if (source == Long.class && target == Integer.class) {
+			return value -> Math.toIntExact((Long) value);
+		}
+
+		return null;
+	}
+
+	private static Function<Object, Object> nullSafe(Function<Object, Object> function, Class<?> sourceType,
+			Class<?> targetType, String field) {
+		return value -> {
+			if (value == null) {
+				return null;
+			}
+			try {
+				return function.apply(value);
+			} catch (RuntimeException e) {
+				throw new MappingException("Unable to convert " + field + " value '" + value + "' from "
+						+ sourceType.getName() + " to " + targetType.getName() + ": " + e.getMessage(), e);
+			}
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return kind.name();
+	}
+}
@@ -0,0 +1,281 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.dozer.repository.WriteBehindFailureHandler;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded, striped buffer of pending saves of a write-behind dozer repository.
+ *
+ * @author kchobantonov
+ */
+public class WriteBehindBuffer {
+	private static final Logger LOG = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+	/**
+	 * The buffered saves of one dozer identifier or of one new dozer entity.
+	 */
+	public static class PendingSave {
+		private final @Nullable Object id;
+		private final List<Object> resources = new ArrayList<Object>(1);
+		private final List<CompletableFuture<Object>> futures = new ArrayList<CompletableFuture<Object>>(1);
+
+		PendingSave(@Nullable Object id) {
+			this.id = id;
+		}
+
+		/**
+		 * Returns the dozer identifier.
+		 *
+		 * @return the identifier or {@literal null} for a new dozer entity
+		 */
+		@Nullable
+		public Object getId() {
+			return id;
+		}
+
+		/**
+		 * Returns the most recently saved dozer entity, i.e. the state to write.
+		 *
+		 * @return
+		 */
+		public Object getResource() {
+			return resources.get(resources.size() - 1);
+		}
+
+		/**
+		 * Returns all coalesced dozer entities which receive the identifier and version
+		 * of the written adapted entity.
+		 *
+		 * @return
+		 */
+		public List<Object> getResources() {
+			return Collections.unmodifiableList(resources);
+		}
+
+		void add(Object resource, CompletableFuture<Object> future) {
+			resources.add(resource);
+			futures.add(future);
+		}
+
+		void complete() {
+			for (int i = 0; i < futures.size(); i++) {
+				futures.get(i).complete(resources.get(i));
+			}
+		}
+
+		void fail(Throwable failure) {
+			for (CompletableFuture<Object> future : futures) {
+				future.completeExceptionally(failure);
+			}
+		}
+	}
+
+	private static class Stripe {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final ReentrantLock flushLock = new ReentrantLock();
+		private LinkedHashMap<Object, PendingSave> pending = new LinkedHashMap<Object, PendingSave>();
+	}
+
+	private final Class<?> domainType;
+	private final Stripe[] stripes;
+	private final int stripeCapacity;
+	private final Consumer<List<PendingSave>> writer;
+	private final WriteBehindFailureHandler failureHandler;
+	private final ScheduledExecutorService scheduler;
+	private volatile boolean closed;
+
+	/**
+	 * @param domainType          the dozer entity type
+	 * @param capacity            the maximum number of buffered identifiers
+	 * @param flushIntervalMillis the interval of the periodic flush
+	 * @param writer              writes a batch and applies identifier and version
+	 *                            to the dozer entities
+	 * @param failureHandler      notified about failed batches
+	 */
+	WriteBehindBuffer(Class<?> domainType, int capacity, long flushIntervalMillis, Consumer<List<PendingSave>> writer,
+			WriteBehindFailureHandler failureHandler) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than zero!");
+		Assert.isTrue(flushIntervalMillis > 0, "Flush interval must be greater than zero!");
+		Assert.notNull(writer, "Writer must not be null!");
+		Assert.notNull(failureHandler, "WriteBehindFailureHandler must not be null!");
+
+		this.domainType = domainType;
+		int stripeCount = Math.min(capacity, Runtime.getRuntime().availableProcessors());
+		this.stripes = new Stripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new Stripe();
+		}
+		this.stripeCapacity = (capacity + stripeCount - 1) / stripeCount;
+		this.writer = writer;
+		this.failureHandler = failureHandler;
+
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "dozer-write-behind-" + domainType.getSimpleName());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Buffers the save of the given dozer entity.
+	 *
+	 * @param id       the dozer identifier or {@literal null} for a new entity
+	 * @param resource must not be {@literal null}.
+	 * @return a future completed with the dozer entity once it has been written
+	 */
+	@SuppressWarnings("unchecked")
+	public <S> CompletableFuture<S> add(@Nullable Object id, S resource) {
+		Assert.notNull(resource, "Entity must not be null!");
+
+		Object key = id != null ? id : new Object();
+		Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+		CompletableFuture<Object> future = new CompletableFuture<Object>();
+
+		while (true) {
+			Assert.state(!closed, "Write-behind buffer of " + domainType + " is closed!");
+
+			stripe.lock.lock();
+			try {
+				PendingSave pendingSave = stripe.pending.get(key);
+				if (pendingSave == null && stripe.pending.size() < stripeCapacity) {
+					pendingSave = new PendingSave(id);
+					stripe.pending.put(key, pendingSave);
+				}
+				if (pendingSave != null) {
+					pendingSave.add(resource, future);
+					return (CompletableFuture<S>) future;
+				}
+			} finally {
+				stripe.lock.unlock();
+			}
+
+			// a failure of the batch is reported to its own saves
+			flush(stripe);
+		}
+	}
+
+	/**
+	 * Writes all buffered saves.
+	 */
+	public void flush() {
+		RuntimeException failure = null;
+		for (Stripe stripe : stripes) {
+			RuntimeException stripeFailure = flush(stripe);
+			if (failure == null) {
+				failure = stripeFailure;
+			} else if (stripeFailure != null) {
+				failure.addSuppressed(stripeFailure);
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Stops the periodic flush and writes all buffered saves.
+	 * 
+	 * @see #flush()
+	 */
+	public void close() {
+		closed = true;
+		scheduler.shutdown();
+		flush();
+	}
+
+	/**
+	 * Returns the number of buffered identifiers.
+	 *
+	 * @return
+	 */
+	public int size() {
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			stripe.lock.lock();
+			try {
+				size += stripe.pending.size();
+			} finally {
+				stripe.lock.unlock();
+			}
+		}
+		return size;
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (Throwable e) {
+			LOG.error("Unable to flush write-behind buffer of {}", domainType.getName(), e);
+		}
+	}
+
+	/**
+	 * Writes the buffered saves of the stripe.
+	 * 
+	 * @return the failure of the write or {@literal null}
+	 */
+	@Nullable
+	private RuntimeException flush(Stripe stripe) {
+		// batches of a stripe are written one at a time so that a later save of an
+		// identifier is never overtaken by an earlier one
+		stripe.flushLock.lock();
+		try {
+			List<PendingSave> batch;
+			stripe.lock.lock();
+			try {
+				if (stripe.pending.isEmpty()) {
+					return null;
+				}
+				batch = new ArrayList<PendingSave>(stripe.pending.values());
+				stripe.pending = new LinkedHashMap<Object, PendingSave>();
+			} finally {
+				stripe.lock.unlock();
+			}
+
+			return write(batch);
+		} finally {
+			stripe.flushLock.unlock();
+		}
+	}
+
+	@Nullable
+	private RuntimeException write(List<PendingSave> batch) {
+		try {
+			writer.accept(batch);
+		} catch (RuntimeException e) {
+			List<Object> resources = new ArrayList<Object>();
+			for (PendingSave pendingSave : batch) {
+				pendingSave.fail(e);
+				resources.addAll(pendingSave.resources);
+			}
+
+			try {
+				failureHandler.onFailure(domainType, resources, e);
+			} catch (RuntimeException handlerFailure) {
+				LOG.error("Write-behind failure handler failed for {}", domainType.getName(), handlerFailure);
+			}
+			return e;
+		}
+
+		for (PendingSave pendingSave : batch) {
+			pendingSave.complete();
+		}
+		return null;
+	}
+}
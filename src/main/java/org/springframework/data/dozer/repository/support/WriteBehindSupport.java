@@ -0,0 +1,166 @@
+package org.springframework.data.dozer.repository.support;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.dozer.annotation.DozerRepository;
+import org.springframework.data.dozer.repository.WriteBehindFailureHandler;
+import org.springframework.data.dozer.repository.support.WriteBehindBuffer.PendingSave;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * The write-behind side of a dozer repository.
+ *
+ * @author kchobantonov
+ * @see DozerRepository#writeBehind()
+ */
+class WriteBehindSupport<T> {
+
+	private final DozerEntityInformation<T, ?> entityInformation;
+	private final BeanFactory beanFactory;
+	private volatile @Nullable String transactionManager;
+	private volatile @Nullable TransactionTemplate transactionTemplate;
+
+	WriteBehindSupport(DozerEntityInformation<T, ?> entityInformation, BeanFactory beanFactory) {
+		Assert.notNull(entityInformation, "DozerEntityInformation must not be null!");
+		Assert.notNull(beanFactory, "BeanFactory must not be null!");
+
+		this.entityInformation = entityInformation;
+		this.beanFactory = beanFactory;
+	}
+
+	/**
+	 * @param transactionManager the name of the default transaction manager of the
+	 *                           repository, can be {@literal null}
+	 */
+	void setTransactionManager(@Nullable String transactionManager) {
+		this.transactionManager = transactionManager;
+		this.transactionTemplate = null;
+	}
+
+	/**
+	 * Creates the buffer of a write-behind repository with the
+	 * {@link DozerRepository#writeBehindFailureHandler() failure handler} bean, or
+	 * a new instance of its class if there is no such bean.
+	 *
+	 * @param dozerRepository the repository annotation
+	 * @param writer          writes a batch, called in a transaction of the
+	 *                        default transaction manager
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	WriteBehindBuffer createBuffer(DozerRepository dozerRepository, Consumer<List<PendingSave>> writer) {
+		Class<WriteBehindFailureHandler> handlerType = (Class<WriteBehindFailureHandler>) dozerRepository
+				.writeBehindFailureHandler();
+		WriteBehindFailureHandler failureHandler = beanFactory.getBeanProvider(handlerType)
+				.getIfAvailable(() -> BeanUtils.instantiateClass(handlerType));
+
+		return new WriteBehindBuffer(entityInformation.getJavaType(), dozerRepository.writeBehindBufferSize(),
+				dozerRepository.writeBehindFlushInterval(), batch -> write(batch, writer), failureHandler);
+	}
+
+	/**
+	 * Buffers the saves of the given dozer entities unless the current thread runs
+	 * in a transaction of the caller, the pending saves are written first in that
+	 * case.
+	 *
+	 * @param buffer    the buffer of the repository, can be {@literal null}
+	 * @param resources
+	 * @return whether the saves have been buffered
+	 */
+	boolean buffer(@Nullable WriteBehindBuffer buffer, Collection<? extends T> resources) {
+		if (buffer == null) {
+			return false;
+		}
+		if (isInCallerTransaction()) {
+			buffer.flush();
+			return false;
+		}
+
+		resources.forEach(this::assertAssignedId);
+		for (T resource : resources) {
+			add(buffer, resource);
+		}
+		return true;
+	}
+
+	/**
+	 * Buffers the save of the given dozer entity.
+	 *
+	 * @param buffer
+	 * @param resource
+	 * @return a future completed with the dozer entity once it has been written
+	 */
+	<S extends T> CompletableFuture<S> add(WriteBehindBuffer buffer, S resource) {
+		return buffer.add(entityInformation.isNew(resource) ? null : entityInformation.getRequiredId(resource),
+				resource);
+	}
+
+	/**
+	 * Returns whether the current thread runs in a transaction of the caller of the
+	 * repository rather than the default transaction of a repository method.
+	 *
+	 * @return
+	 */
+	boolean isInCallerTransaction() {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return false;
+		}
+		if (transactionManager == null) {
+			return true;
+		}
+		try {
+			return !TransactionAspectSupport.currentTransactionStatus().isNewTransaction();
+		} catch (NoTransactionException e) {
+			// started programmatically by the caller
+			return true;
+		}
+	}
+
+	/**
+	 * Writes a batch of the buffer in a transaction of the default transaction
+	 * manager of the repository.
+	 */
+	private void write(List<PendingSave> batch, Consumer<List<PendingSave>> writer) {
+		TransactionTemplate template = getTransactionTemplate();
+		if (template == null) {
+			writer.accept(batch);
+		} else {
+			template.executeWithoutResult(status -> writer.accept(batch));
+		}
+	}
+
+	@Nullable
+	private TransactionTemplate getTransactionTemplate() {
+		String name = transactionManager;
+		if (name == null) {
+			return null;
+		}
+		TransactionTemplate result = transactionTemplate;
+		if (result == null) {
+			result = new TransactionTemplate(beanFactory.getBean(name, PlatformTransactionManager.class));
+			transactionTemplate = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Write-behind saves return before the adapted entity is written, so the
+	 * returned dozer entity has to carry its identifier already.
+	 */
+	private void assertAssignedId(T resource) {
+		Assert.isTrue(entityInformation.getId(resource) != null, "Write-behind repository of "
+				+ entityInformation.getJavaType().getName()
+				+ " requires an assigned id to save outside of a transaction, use saveBuffered to obtain a generated id!");
+	}
+}
@@ -0,0 +1,32 @@
+package org.springframework.data.dozer.mapping;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.Customer;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.CustomerRow;
+
+/**
+ * Unit tests for {@link DozerMetamodelMappingContext}.
+ *
+ * @author kchobantonov
+ */
+public class DozerMetamodelMappingContextTest {
+
+	private final DozerMetamodelMappingContext context = new DozerMetamodelMappingContext();
+
+	@Test
+	public void hasPersistentEntitiesForDozerEntities() {
+		assertThat(context.hasPersistentEntityFor(Customer.class), is(true));
+		assertThat(context.getPersistentEntity(Customer.class), is(notNullValue()));
+	}
+
+	@Test
+	public void keepsTheNegativeResultsInThePersistentEntityCache() {
+		assertThat(context.hasPersistentEntityFor(CustomerRow.class), is(false));
+		assertThat(context.hasPersistentEntityFor(CustomerRow.class), is(false));
+		assertThat(context.getPersistentEntities().isEmpty(), is(true));
+		assertThat(context.getManagedTypes().isEmpty(), is(false));
+	}
+}
@@ -0,0 +1,97 @@
+package org.springframework.data.dozer.repository;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.springframework.data.dozer.repository.DozerRepositoryStatistics.OperationStatistics;
+
+/**
+ * Unit tests for {@link DozerRepositoryStatistics}.
+ *
+ * @author kchobantonov
+ */
+public class DozerRepositoryStatisticsTest {
+
+	@Test
+	public void countsInvocationsAndFailures() {
+		DozerRepositoryStatistics statistics = new DozerRepositoryStatistics();
+
+		statistics.record("findById(Object)", 100, false);
+		statistics.record("findById(Object)", 300, true);
+
+		OperationStatistics operation = statistics.getOperations().get("findById(Object)");
+		assertThat(operation.getInvocations(), is(2L));
+		assertThat(operation.getFailures(), is(1L));
+		assertThat(operation.getTotalNanos(), is(400L));
+		assertThat(operation.getMaxNanos(), is(300L));
+		assertThat(operation.getMeanNanos(), is(200L));
+	}
+
+	@Test
+	public void readsPercentilesWithinTheRelativeError() {
+		DozerRepositoryStatistics statistics = new DozerRepositoryStatistics();
+		for (long nanos = 1; nanos <= 1000; nanos++) {
+			statistics.record("save(Object)", nanos * 1000, false);
+		}
+
+		OperationStatistics operation = statistics.getOperations().get("save(Object)");
+		assertWithinRelativeError(operation.getP50Nanos(), 500000);
+		assertWithinRelativeError(operation.getP90Nanos(), 900000);
+		assertWithinRelativeError(operation.getP99Nanos(), 990000);
+		assertWithinRelativeError(operation.getP999Nanos(), 999000);
+	}
+
+	@Test
+	public void bucketsContainTheirUpperBound() {
+		for (long nanos : new long[] { 0, 1, 7, 8, 9, 15, 16, 1000, 123456789, Long.MAX_VALUE }) {
+			int bucket = DozerRepositoryStatistics.bucket(nanos);
+			assertThat(nanos <= DozerRepositoryStatistics.upperBound(bucket), is(true));
+			assertThat(bucket == 0 || nanos > DozerRepositoryStatistics.upperBound(bucket - 1), is(true));
+		}
+	}
+
+	@Test
+	public void recordsConcurrentInvocations() throws Exception {
+		DozerRepositoryStatistics statistics = new DozerRepositoryStatistics();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<CompletableFuture<Void>> threads = new ArrayList<CompletableFuture<Void>>();
+			for (int thread = 0; thread < 4; thread++) {
+				threads.add(CompletableFuture.runAsync(() -> {
+					for (int i = 0; i < 10000; i++) {
+						statistics.record("findAll()", 10, i % 10 == 0);
+					}
+				}, executor));
+			}
+			CompletableFuture.allOf(threads.toArray(new CompletableFuture[threads.size()])).get();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		OperationStatistics operation = statistics.getOperations().get("findAll()");
+		assertThat(operation.getInvocations(), is(40000L));
+		assertThat(operation.getFailures(), is(4000L));
+		assertThat(operation.getTotalNanos(), is(400000L));
+	}
+
+	@Test
+	public void discardsRecordedInvocationsOnReset() {
+		DozerRepositoryStatistics statistics = new DozerRepositoryStatistics();
+		statistics.record("count()", 1, false);
+
+		statistics.reset();
+
+		assertThat(statistics.getOperations().isEmpty(), is(true));
+	}
+
+	private static void assertWithinRelativeError(long actual, long expected) {
+		assertThat(actual + " not within 12.5% of " + expected, Math.abs(actual - expected) <= expected / 8, is(true));
+	}
+}
@@ -0,0 +1,268 @@
+package org.springframework.data.dozer.repository;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.dozer.annotation.DozerEntity;
+import org.springframework.data.dozer.repository.config.DozerMetamodelMappingContextFactoryBean;
+import org.springframework.data.dozer.repository.inmemory.InMemoryMappingContext;
+import org.springframework.data.dozer.repository.inmemory.InMemoryRepositoryFactoryBean;
+import org.springframework.data.dozer.repository.support.DozerRepositoryFactoryBean;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import com.github.dozermapper.core.loader.api.BeanMappingBuilder;
+
+/**
+ * Unit tests for {@link DozerUnitOfWork}.
+ *
+ * @author kchobantonov
+ */
+public class DozerUnitOfWorkTest {
+
+	@DozerEntity(adaptedDomainClass = CustomerRow.class)
+	public static class Customer {
+		@Id
+		private Long id;
+		@Version
+		private Long version;
+		private String name;
+
+		public Customer() {
+		}
+
+		public Customer(Long id, Long version, String name) {
+			this.id = id;
+			this.version = version;
+			this.name = name;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public Long getVersion() {
+			return version;
+		}
+
+		public void setVersion(Long version) {
+			this.version = version;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	public static class CustomerRow {
+		@Id
+		private Long id;
+		@Version
+		private Long version;
+		private String name;
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public Long getVersion() {
+			return version;
+		}
+
+		public void setVersion(Long version) {
+			this.version = version;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	@org.springframework.data.dozer.annotation.DozerRepository(writeBehind = true, writeBehindFlushInterval = 60000)
+	public interface CustomerRepository extends DozerRepository<Customer, Long> {
+	}
+
+	public interface CustomerRowRepository extends PagingAndSortingRepository<CustomerRow, Long> {
+	}
+
+	/**
+	 * Transaction manager of a store without resources which counts the completed
+	 * transactions.
+	 */
+	public static class CountingTransactionManager extends AbstractPlatformTransactionManager {
+		private static final long serialVersionUID = 1L;
+
+		public final AtomicInteger commits = new AtomicInteger();
+		public final AtomicInteger rollbacks = new AtomicInteger();
+
+		@Override
+		protected Object doGetTransaction() {
+			return TransactionSynchronizationManager.hasResource(this);
+		}
+
+		@Override
+		protected boolean isExistingTransaction(Object transaction) {
+			return (Boolean) transaction;
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+			TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+			commits.incrementAndGet();
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+			rollbacks.incrementAndGet();
+		}
+
+		@Override
+		protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+			// the outer transaction rolls back on the rethrown failure
+		}
+
+		@Override
+		protected void doCleanupAfterCompletion(Object transaction) {
+			TransactionSynchronizationManager.unbindResource(this);
+		}
+	}
+
+	private AnnotationConfigApplicationContext context;
+	private CountingTransactionManager transactionManager;
+	private CustomerRepository customerRepository;
+	private CustomerRowRepository customerRowRepository;
+
+	@Before
+	public void setUp() {
+		transactionManager = new CountingTransactionManager();
+
+		context = new AnnotationConfigApplicationContext();
+		context.registerBean("dozerMapper", Mapper.class,
+				() -> DozerBeanMapperBuilder.create().withMappingBuilder(new BeanMappingBuilder() {
+					@Override
+					protected void configure() {
+						mapping(Customer.class, CustomerRow.class);
+					}
+				}).build());
+		context.registerBean("defaultConversionService", ConversionService.class, DefaultConversionService::new);
+		context.registerBean("transactionManager", CountingTransactionManager.class, () -> transactionManager);
+		context.registerBean("dozerMappingContext", DozerMetamodelMappingContextFactoryBean.class);
+		context.registerBean("inMemoryMappingContext", InMemoryMappingContext.class);
+
+		RootBeanDefinition rows = new RootBeanDefinition(InMemoryRepositoryFactoryBean.class);
+		rows.getConstructorArgumentValues().addGenericArgumentValue(CustomerRowRepository.class);
+		rows.getPropertyValues().add("mappingContext", new RuntimeBeanReference("inMemoryMappingContext"));
+		context.registerBeanDefinition("customerRowRepository", rows);
+
+		RootBeanDefinition customers = new RootBeanDefinition(DozerRepositoryFactoryBean.class);
+		customers.getConstructorArgumentValues().addGenericArgumentValue(CustomerRepository.class);
+		customers.getPropertyValues().add("dozerMapper", new RuntimeBeanReference("dozerMapper"))
+				.add("conversionServiceName", "defaultConversionService")
+				.add("mappingContext", new RuntimeBeanReference("dozerMappingContext"));
+		context.registerBeanDefinition("customerRepository", customers);
+
+		context.refresh();
+
+		customerRepository = context.getBean(CustomerRepository.class);
+		customerRowRepository = context.getBean(CustomerRowRepository.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.close();
+	}
+
+	@Test
+	public void writesWriteBehindSavesWithinTheTransaction() {
+		new DozerUnitOfWork(transactionManager).save(customerRepository, new Customer(1L, null, "a")).commit();
+
+		assertThat(customerRowRepository.findById(1L).get().getName(), is("a"));
+		assertThat(transactionManager.commits.get(), is(1));
+	}
+
+	@Test
+	public void rollsBackWhenAWriteFails() {
+		CustomerRow row = new CustomerRow();
+		row.setId(1L);
+		row.setName("a");
+		customerRowRepository.save(row);
+
+		DozerUnitOfWork unitOfWork = new DozerUnitOfWork(transactionManager)
+				.save(customerRepository, new Customer(2L, null, "b"))
+				.save(customerRepository, new Customer(1L, 5L, "stale"));
+		try {
+			unitOfWork.commit();
+			fail("Expected OptimisticLockingFailureException");
+		} catch (OptimisticLockingFailureException e) {
+			// expected
+		}
+
+		assertThat(transactionManager.rollbacks.get(), is(1));
+		assertThat(transactionManager.commits.get(), is(0));
+		assertThat(customerRowRepository.findById(1L).get().getName(), is("a"));
+	}
+
+	@Test
+	public void writesBufferedSavesInATransactionOfTheirOwn() {
+		customerRepository.save(new Customer(1L, null, "a"));
+		assertThat(customerRowRepository.findById(1L).isPresent(), is(false));
+
+		customerRepository.flush();
+
+		assertThat(customerRowRepository.findById(1L).get().getName(), is("a"));
+		assertThat(transactionManager.rollbacks.get(), is(0));
+	}
+
+	@Test
+	public void rejectsBufferedSavesWithoutAssignedId() {
+		try {
+			customerRepository.save(new Customer());
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage(), containsString("saveBuffered"));
+		}
+		CompletableFuture<Customer> saved = customerRepository.saveBuffered(new Customer());
+		customerRepository.flush();
+
+		assertThat(saved.join().getId(), is(notNullValue()));
+	}
+}
@@ -0,0 +1,60 @@
+package org.springframework.data.dozer.repository.config;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Set;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.Customer;
+import org.springframework.data.repository.config.AnnotationRepositoryConfigurationSource;
+import org.springframework.data.repository.config.RepositoryConfigurationSource;
+
+/**
+ * Unit tests for {@link DozerRepositoryConfigExtension}.
+ *
+ * @author kchobantonov
+ */
+public class DozerRepositoryConfigExtensionTest {
+
+	@EnableDozerRepositories
+	static class RepositoryPackageConfig {
+	}
+
+	@EnableDozerRepositories(entityPackageClasses = DozerUnitOfWorkTest.class)
+	static class EntityPackageClassesConfig {
+	}
+
+	@EnableDozerRepositories(entityPackages = "org.springframework.data.dozer.repository")
+	static class EntityPackagesConfig {
+	}
+
+	@Test
+	public void scansTheRepositoryPackagesByDefault() {
+		assertThat(scanDozerEntities(RepositoryPackageConfig.class).contains(Customer.class.getName()), is(false));
+	}
+
+	@Test
+	public void scansTheEntityPackageClasses() {
+		assertThat(scanDozerEntities(EntityPackageClassesConfig.class), hasItem(Customer.class.getName()));
+	}
+
+	@Test
+	public void scansTheEntityPackages() {
+		assertThat(scanDozerEntities(EntityPackagesConfig.class), hasItem(Customer.class.getName()));
+	}
+
+	private static Set<String> scanDozerEntities(Class<?> configClass) {
+		DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
+		RepositoryConfigurationSource config = new AnnotationRepositoryConfigurationSource(
+				AnnotationMetadata.introspect(configClass), EnableDozerRepositories.class, new DefaultResourceLoader(),
+				new StandardEnvironment(), registry, null);
+
+		return new DozerRepositoryConfigExtension().scanDozerEntities(registry, config);
+	}
+}
@@ -0,0 +1,45 @@
+package org.springframework.data.dozer.repository.inmemory;
+
+import org.springframework.data.mapping.context.AbstractMappingContext;
+import org.springframework.data.mapping.model.BasicPersistentEntity;
+import org.springframework.data.mapping.model.Property;
+import org.springframework.data.mapping.model.SimpleTypeHolder;
+import org.springframework.data.util.TypeInformation;
+
+/**
+ * {@link org.springframework.data.mapping.context.MappingContext} of the
+ * entities stored by {@link InMemoryRepository in-memory repositories}.
+ * Register it as a bean so that dozer repositories adapting an in-memory
+ * repository find the persistent entity of the adapted type.
+ *
+ * @author kchobantonov
+ */
+public class InMemoryMappingContext
+		extends AbstractMappingContext<BasicPersistentEntity<?, InMemoryPersistentProperty>, InMemoryPersistentProperty> {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.mapping.context.AbstractMappingContext#
+	 * createPersistentEntity(org.springframework.data.util.TypeInformation)
+	 */
+	@Override
+	protected <T> BasicPersistentEntity<?, InMemoryPersistentProperty> createPersistentEntity(
+			TypeInformation<T> typeInformation) {
+		return new BasicPersistentEntity<T, InMemoryPersistentProperty>(typeInformation);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.mapping.context.AbstractMappingContext#
+	 * createPersistentProperty(org.springframework.data.mapping.model.Property,
+	 * org.springframework.data.mapping.model.MutablePersistentEntity,
+	 * org.springframework.data.mapping.model.SimpleTypeHolder)
+	 */
+	@Override
+	protected InMemoryPersistentProperty createPersistentProperty(Property property,
+			BasicPersistentEntity<?, InMemoryPersistentProperty> owner, SimpleTypeHolder simpleTypeHolder) {
+		return new InMemoryPersistentProperty(property, owner, simpleTypeHolder);
+	}
+}
@@ -0,0 +1,77 @@
+package org.springframework.data.dozer.repository.inmemory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.model.AnnotationBasedPersistentProperty;
+import org.springframework.data.mapping.model.Property;
+import org.springframework.data.mapping.model.SimpleTypeHolder;
+
+/**
+ * Persistent property of an {@link InMemoryMappingContext}. Besides the Spring
+ * Data annotations the JPA identifier and version annotations are detected by
+ * name, so that JPA entities can be stored without a JPA provider.
+ *
+ * @author kchobantonov
+ */
+public class InMemoryPersistentProperty extends AnnotationBasedPersistentProperty<InMemoryPersistentProperty> {
+
+	private static final Set<String> ID_ANNOTATIONS = Collections
+			.unmodifiableSet(new HashSet<String>(Arrays.asList("javax.persistence.Id", "javax.persistence.EmbeddedId")));
+	private static final Set<String> VERSION_ANNOTATIONS = Collections.singleton("javax.persistence.Version");
+
+	public InMemoryPersistentProperty(Property property, PersistentEntity<?, InMemoryPersistentProperty> owner,
+			SimpleTypeHolder simpleTypeHolder) {
+		super(property, owner, simpleTypeHolder);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.mapping.model.AnnotationBasedPersistentProperty#
+	 * isIdProperty()
+	 */
+	@Override
+	public boolean isIdProperty() {
+		return super.isIdProperty() || hasAnnotation(ID_ANNOTATIONS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.mapping.model.AnnotationBasedPersistentProperty#
+	 * isVersionProperty()
+	 */
+	@Override
+	public boolean isVersionProperty() {
+		return super.isVersionProperty() || hasAnnotation(VERSION_ANNOTATIONS);
+	}
+
+	@Override
+	protected Association<InMemoryPersistentProperty> createAssociation() {
+		return new Association<InMemoryPersistentProperty>(this, null);
+	}
+
+	private boolean hasAnnotation(Set<String> annotationNames) {
+		Field field = getField();
+		Method getter = getGetter();
+		return (field != null && hasAnnotation(field.getAnnotations(), annotationNames))
+				|| (getter != null && hasAnnotation(getter.getAnnotations(), annotationNames));
+	}
+
+	private static boolean hasAnnotation(Annotation[] annotations, Set<String> annotationNames) {
+		for (Annotation annotation : annotations) {
+			if (annotationNames.contains(annotation.annotationType().getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,493 @@
+package org.springframework.data.dozer.repository.inmemory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.NullHandling;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.SimpleAssociationHandler;
+import org.springframework.data.mapping.SimplePropertyHandler;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link PagingAndSortingRepository} keeping the entities in a concurrent map,
+ * e.g. to back dozer repositories in tests and benchmarks without a database.
+ * Like a real store it keeps copies: saves store a copy of the given entity and
+ * reads return new copies, so changes of an entity are only stored by a save.
+ * Copies are shallow, except that collection and map properties are copied
+ * into new collections and maps.
+ * <p>
+ * Identifiers of type {@code Long}, {@code Integer}, {@code String} and
+ * {@code UUID} are generated on save. Numeric versions are checked and
+ * incremented on save, a save of a stored entity with a different version fails
+ * with an {@link OptimisticLockingFailureException}.
+ * <p>
+ * Properties configured as indexed are kept in a sorted index, so that a sort
+ * by a single indexed property reads the page in index order instead of sorting
+ * all entities. Every repository method call counts as one round trip, e.g.
+ * {@code saveAll} and {@code findAllById} count once regardless of the number
+ * of entities.
+ *
+ * @param <T>  the domain type
+ * @param <ID> the identifier type
+ * @author kchobantonov
+ * @see InMemoryRepositoryFactoryBean
+ */
+public class InMemoryRepository<T, ID> implements PagingAndSortingRepository<T, ID>, InMemoryRepositoryOperations {
+
+	private static final Object NULL_KEY = new Object();
+
+	/**
+	 * Sorted index of a property, holding the identifiers by property value.
+	 */
+	private static class SortedIndex {
+		private final PersistentProperty<?> property;
+		private final ConcurrentSkipListMap<Object, Set<Object>> idsByKey = new ConcurrentSkipListMap<Object, Set<Object>>();
+		private final Set<Object> idsWithNullKey = ConcurrentHashMap.newKeySet();
+		private final Map<Object, Object> keysById = new ConcurrentHashMap<Object, Object>();
+
+		SortedIndex(PersistentProperty<?> property) {
+			this.property = property;
+		}
+
+		void put(Object id, @Nullable Object key) {
+			remove(id);
+			keysById.put(id, key == null ? NULL_KEY : key);
+			if (key == null) {
+				idsWithNullKey.add(id);
+			} else {
+				idsByKey.computeIfAbsent(key, it -> ConcurrentHashMap.newKeySet()).add(id);
+			}
+		}
+
+		void remove(Object id) {
+			Object key = keysById.remove(id);
+			if (key == NULL_KEY) {
+				idsWithNullKey.remove(id);
+			} else if (key != null) {
+				idsByKey.computeIfPresent(key, (it, ids) -> {
+					ids.remove(id);
+					return ids.isEmpty() ? null : ids;
+				});
+			}
+		}
+
+		void clear() {
+			idsByKey.clear();
+			idsWithNullKey.clear();
+			keysById.clear();
+		}
+
+		/**
+		 * Returns the identifiers in the given order, null values are ordered like
+		 * {@link InMemoryRepository#compare(Order, Object, Object)} does.
+		 */
+		Stream<Object> ids(Order order) {
+			Map<Object, Set<Object>> sorted = order.isAscending() ? idsByKey : idsByKey.descendingMap();
+			Stream<Object> values = sorted.values().stream().flatMap(Set::stream);
+			boolean nullsFirst = order.getNullHandling() == NullHandling.NULLS_FIRST
+					|| (order.getNullHandling() == NullHandling.NATIVE && order.isDescending());
+			return nullsFirst ? Stream.concat(idsWithNullKey.stream(), values)
+					: Stream.concat(values, idsWithNullKey.stream());
+		}
+	}
+
+	private final PersistentEntity<T, ?> persistentEntity;
+	private final PersistentProperty<?> idProperty;
+	private final Map<Object, T> rows = new ConcurrentHashMap<Object, T>();
+	private final Map<String, SortedIndex> indexes = new ConcurrentHashMap<String, SortedIndex>();
+	private final Object writeLock = new Object();
+	private final AtomicLong sequence = new AtomicLong();
+	private final Map<String, LongAdder> roundTrips = new ConcurrentHashMap<String, LongAdder>();
+	private volatile long latencyNanos;
+
+	/**
+	 * @param persistentEntity   must not be {@literal null}.
+	 * @param indexedProperties the names of the properties to index, must be
+	 *                          comparable.
+	 */
+	public InMemoryRepository(PersistentEntity<T, ?> persistentEntity, String... indexedProperties) {
+		Assert.notNull(persistentEntity, "PersistentEntity must not be null!");
+
+		this.persistentEntity = persistentEntity;
+		this.idProperty = persistentEntity.getRequiredIdProperty();
+		for (String indexedProperty : indexedProperties) {
+			PersistentProperty<?> property = persistentEntity.getRequiredPersistentProperty(indexedProperty);
+			Assert.isTrue(Comparable.class.isAssignableFrom(property.getActualType()) || property.getType().isPrimitive(),
+					"Indexed property " + indexedProperty + " of " + persistentEntity.getType()
+							+ " must be comparable!");
+			indexes.put(indexedProperty, new SortedIndex(property));
+		}
+	}
+
+	@Override
+	public void setLatency(Duration latency) {
+		Assert.notNull(latency, "Latency must not be null!");
+		this.latencyNanos = latency.toNanos();
+	}
+
+	@Override
+	public long getRoundTrips() {
+		return roundTrips.values().stream().mapToLong(LongAdder::sum).sum();
+	}
+
+	@Override
+	public Map<String, Long> getRoundTripsByOperation() {
+		Map<String, Long> result = new TreeMap<String, Long>();
+		roundTrips.forEach((operation, count) -> result.put(operation, count.sum()));
+		return Collections.unmodifiableMap(result);
+	}
+
+	@Override
+	public void resetRoundTrips() {
+		roundTrips.clear();
+	}
+
+	@Override
+	public void assertRoundTrips(long expected) {
+		long actual = getRoundTrips();
+		if (actual != expected) {
+			throw new AssertionError("Expected " + expected + " round trips to the " + persistentEntity.getType()
+					.getSimpleName() + " repository but were " + actual + ": " + getRoundTripsByOperation());
+		}
+	}
+
+	/**
+	 * Counts a round trip of the given operation and waits for the configured
+	 * latency.
+	 */
+	protected void roundTrip(String operation) {
+		roundTrips.computeIfAbsent(operation, it -> new LongAdder()).increment();
+
+		long latency = latencyNanos;
+		if (latency > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(latency);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public <S extends T> S save(S entity) {
+		roundTrip("save");
+		return doSave(entity);
+	}
+
+	@Override
+	public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
+		Assert.notNull(entities, "Entities must not be null!");
+
+		roundTrip("saveAll");
+		List<S> result = new ArrayList<S>();
+		for (S entity : entities) {
+			result.add(doSave(entity));
+		}
+		return result;
+	}
+
+	@Override
+	public Optional<T> findById(ID id) {
+		Assert.notNull(id, "The given id must not be null!");
+
+		roundTrip("findById");
+		return Optional.ofNullable(copy(rows.get(id)));
+	}
+
+	@Override
+	public boolean existsById(ID id) {
+		Assert.notNull(id, "The given id must not be null!");
+
+		roundTrip("existsById");
+		return rows.containsKey(id);
+	}
+
+	@Override
+	public Iterable<T> findAll() {
+		roundTrip("findAll");
+		return rows.values().stream().map(this::copy).collect(Collectors.toList());
+	}
+
+	@Override
+	public Iterable<T> findAllById(Iterable<ID> ids) {
+		Assert.notNull(ids, "Ids must not be null!");
+
+		roundTrip("findAllById");
+		List<T> result = new ArrayList<T>();
+		for (ID id : ids) {
+			T row = rows.get(id);
+			if (row != null) {
+				result.add(copy(row));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public long count() {
+		roundTrip("count");
+		return rows.size();
+	}
+
+	@Override
+	public void deleteById(ID id) {
+		Assert.notNull(id, "The given id must not be null!");
+
+		roundTrip("deleteById");
+		doDelete(id);
+	}
+
+	@Override
+	public void delete(T entity) {
+		Assert.notNull(entity, "Entity must not be null!");
+
+		roundTrip("delete");
+		doDelete(getId(entity));
+	}
+
+	@Override
+	public void deleteAll(Iterable<? extends T> entities) {
+		Assert.notNull(entities, "Entities must not be null!");
+
+		roundTrip("deleteAll");
+		for (T entity : entities) {
+			doDelete(getId(entity));
+		}
+	}
+
+	@Override
+	public void deleteAll() {
+		roundTrip("deleteAll");
+		synchronized (writeLock) {
+			rows.clear();
+			indexes.values().forEach(SortedIndex::clear);
+		}
+	}
+
+	@Override
+	public Iterable<T> findAll(Sort sort) {
+		Assert.notNull(sort, "Sort must not be null!");
+
+		roundTrip("findAll");
+		return sorted(sort).map(this::copy).collect(Collectors.toList());
+	}
+
+	@Override
+	public Page<T> findAll(Pageable pageable) {
+		Assert.notNull(pageable, "Pageable must not be null!");
+
+		roundTrip("findAll");
+		if (pageable.isUnpaged()) {
+			List<T> content = sorted(pageable.getSort()).map(this::copy).collect(Collectors.toList());
+			return new PageImpl<T>(content, pageable, content.size());
+		}
+
+		long total = rows.size();
+		List<T> content = sorted(pageable.getSort()).skip(pageable.getOffset()).limit(pageable.getPageSize())
+				.map(this::copy).collect(Collectors.toList());
+		return new PageImpl<T>(content, pageable, total);
+	}
+
+	/**
+	 * Returns the entities in the given order, read from the sorted index if the
+	 * sort consists of a single indexed property.
+	 */
+	protected Stream<T> sorted(Sort sort) {
+		List<Order> orders = sort.toList();
+		if (orders.isEmpty()) {
+			return rows.values().stream();
+		}
+
+		SortedIndex index = orders.size() == 1 && !orders.get(0).isIgnoreCase()
+				? indexes.get(orders.get(0).getProperty())
+				: null;
+		if (index != null) {
+			return index.ids(orders.get(0)).map(rows::get).filter(it -> it != null);
+		}
+
+		List<T> result = new ArrayList<T>(rows.values());
+		result.sort(comparator(orders));
+		return result.stream();
+	}
+
+	private Comparator<T> comparator(List<Order> orders) {
+		List<PersistentProperty<?>> properties = new ArrayList<PersistentProperty<?>>(orders.size());
+		for (Order order : orders) {
+			properties.add(persistentEntity.getRequiredPersistentProperty(order.getProperty()));
+		}
+
+		return (left, right) -> {
+			PersistentPropertyAccessor<T> leftAccessor = persistentEntity.getPropertyAccessor(left);
+			PersistentPropertyAccessor<T> rightAccessor = persistentEntity.getPropertyAccessor(right);
+			for (int i = 0; i < orders.size(); i++) {
+				int result = compare(orders.get(i), leftAccessor.getProperty(properties.get(i)),
+						rightAccessor.getProperty(properties.get(i)));
+				if (result != 0) {
+					return result;
+				}
+			}
+			return 0;
+		};
+	}
+
+	/**
+	 * Compares two property values. Native null handling orders null values last
+	 * in ascending order, like the merge of sharded dozer repositories.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static int compare(Order order, @Nullable Object left, @Nullable Object right) {
+		int result;
+		if (left == null || right == null) {
+			if (left == right) {
+				return 0;
+			}
+			result = left == null ? 1 : -1;
+			if (order.getNullHandling() == NullHandling.NULLS_FIRST) {
+				return -result;
+			} else if (order.getNullHandling() == NullHandling.NULLS_LAST) {
+				return result;
+			}
+		} else if (order.isIgnoreCase() && left instanceof String && right instanceof String) {
+			result = ((String) left).compareToIgnoreCase((String) right);
+		} else {
+			result = ((Comparable) left).compareTo(right);
+		}
+
+		return order.getDirection() == Direction.ASC ? result : -result;
+	}
+
+	private <S extends T> S doSave(S entity) {
+		Assert.notNull(entity, "Entity must not be null!");
+
+		PersistentPropertyAccessor<S> accessor = persistentEntity.getPropertyAccessor(entity);
+		PersistentProperty<?> versionProperty = persistentEntity.getVersionProperty();
+		synchronized (writeLock) {
+			if (accessor.getProperty(idProperty) == null) {
+				accessor.setProperty(idProperty, nextId(idProperty.getType()));
+			}
+			Object id = accessor.getProperty(idProperty);
+
+			if (versionProperty != null) {
+				Number version = (Number) accessor.getProperty(versionProperty);
+				T stored = rows.get(id);
+				if (stored != null) {
+					Number storedVersion = (Number) persistentEntity.getPropertyAccessor(stored)
+							.getProperty(versionProperty);
+					if (version == null || storedVersion == null || version.longValue() != storedVersion.longValue()) {
+						throw new OptimisticLockingFailureException("Version " + version + " of "
+								+ persistentEntity.getType().getName() + " with id " + id
+								+ " does not match the stored version " + storedVersion);
+					}
+				}
+				accessor.setProperty(versionProperty, DefaultConversionService.getSharedInstance()
+						.convert(version == null ? 0L : version.longValue() + 1, versionProperty.getType()));
+			}
+
+			T row = copy(accessor.getBean());
+			PersistentPropertyAccessor<T> rowAccessor = persistentEntity.getPropertyAccessor(row);
+			rows.put(id, row);
+			for (SortedIndex index : indexes.values()) {
+				index.put(id, rowAccessor.getProperty(index.property));
+			}
+		}
+		return accessor.getBean();
+	}
+
+	/**
+	 * Copies the persistent properties of the given entity into a new instance.
+	 */
+	@Nullable
+	protected T copy(@Nullable T entity) {
+		if (entity == null) {
+			return null;
+		}
+
+		T result = BeanUtils.instantiateClass(persistentEntity.getType());
+		PersistentPropertyAccessor<T> source = persistentEntity.getPropertyAccessor(entity);
+		PersistentPropertyAccessor<T> target = persistentEntity.getPropertyAccessor(result);
+		SimplePropertyHandler handler = property -> {
+			if (property.isTransient()) {
+				return;
+			}
+			target.setProperty(property, copyValue(source.getProperty(property)));
+		};
+		persistentEntity.doWithProperties(handler);
+		persistentEntity.doWithAssociations(
+				(SimpleAssociationHandler) association -> handler.doWithPersistentProperty(association.getInverse()));
+		return target.getBean();
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object copyValue(@Nullable Object value) {
+		if (value instanceof Collection) {
+			Collection copy = CollectionFactory.createCollection(value.getClass(), ((Collection) value).size());
+			copy.addAll((Collection) value);
+			return copy;
+		}
+		if (value instanceof Map) {
+			Map copy = CollectionFactory.createMap(value.getClass(), ((Map) value).size());
+			copy.putAll((Map) value);
+			return copy;
+		}
+		return value;
+	}
+
+	private void doDelete(Object id) {
+		synchronized (writeLock) {
+			if (rows.remove(id) != null) {
+				for (SortedIndex index : indexes.values()) {
+					index.remove(id);
+				}
+			}
+		}
+	}
+
+	private Object getId(T entity) {
+		Object id = persistentEntity.getPropertyAccessor(entity).getProperty(idProperty);
+		Assert.notNull(id, "The given entity has no identifier!");
+		return id;
+	}
+
+	private Object nextId(Class<?> idType) {
+		if (idType == String.class) {
+			return UUID.randomUUID().toString();
+		} else if (idType == UUID.class) {
+			return UUID.randomUUID();
+		}
+
+		Assert.isTrue(DefaultConversionService.getSharedInstance().canConvert(Long.class, idType),
+				"Unable to generate identifiers of type " + idType + " for " + persistentEntity.getType());
+		return DefaultConversionService.getSharedInstance().convert(sequence.incrementAndGet(), idType);
+	}
+}
@@ -0,0 +1,97 @@
+package org.springframework.data.dozer.repository.inmemory;
+
+import java.util.Optional;
+
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.core.support.PersistentEntityInformation;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Factory of {@link InMemoryRepository in-memory repositories}. Query methods
+ * are not supported.
+ *
+ * @author kchobantonov
+ */
+public class InMemoryRepositoryFactory extends RepositoryFactorySupport {
+
+	private final MappingContext<? extends PersistentEntity<?, ?>, ?> mappingContext;
+	private final String[] indexedProperties;
+
+	/**
+	 * @param mappingContext    must not be {@literal null}.
+	 * @param indexedProperties the names of the properties to keep sorted indexes
+	 *                          for.
+	 */
+	public InMemoryRepositoryFactory(MappingContext<? extends PersistentEntity<?, ?>, ?> mappingContext,
+			String... indexedProperties) {
+		Assert.notNull(mappingContext, "MappingContext must not be null!");
+
+		this.mappingContext = mappingContext;
+		this.indexedProperties = indexedProperties;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.springframework.data.repository.core.support.RepositoryFactorySupport#
+	 * getEntityInformation(java.lang.Class)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T, ID> EntityInformation<T, ID> getEntityInformation(Class<T> domainClass) {
+		return new PersistentEntityInformation<T, ID>(
+				(PersistentEntity<T, ?>) mappingContext.getRequiredPersistentEntity(domainClass));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.springframework.data.repository.core.support.RepositoryFactorySupport#
+	 * getTargetRepository(org.springframework.data.repository.core.
+	 * RepositoryInformation)
+	 */
+	@Override
+	protected Object getTargetRepository(RepositoryInformation metadata) {
+		return getTargetRepositoryViaReflection(metadata,
+				mappingContext.getRequiredPersistentEntity(metadata.getDomainType()), indexedProperties);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.springframework.data.repository.core.support.RepositoryFactorySupport#
+	 * getRepositoryBaseClass(org.springframework.data.repository.core.
+	 * RepositoryMetadata)
+	 */
+	@Override
+	protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
+		return InMemoryRepository.class;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.springframework.data.repository.core.support.RepositoryFactorySupport#
+	 * getQueryLookupStrategy(org.springframework.data.repository.query.
+	 * QueryLookupStrategy.Key,
+	 * org.springframework.data.repository.query.QueryMethodEvaluationContextProvider)
+	 */
+	@Override
+	protected Optional<QueryLookupStrategy> getQueryLookupStrategy(@Nullable Key key,
+			QueryMethodEvaluationContextProvider evaluationContextProvider) {
+		return Optional.empty();
+	}
+}
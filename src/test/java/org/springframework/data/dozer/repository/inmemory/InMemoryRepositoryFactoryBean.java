@@ -0,0 +1,95 @@
+package org.springframework.data.dozer.repository.inmemory;
+
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.util.Assert;
+
+/**
+ * Registers an {@link InMemoryRepository} for a repository interface, e.g. to
+ * adapt a dozer repository in tests and benchmarks without a database:
+ *
+ * <pre class="code">
+ * &#64;Bean
+ * InMemoryRepositoryFactoryBean&lt;OrderEntityRepository, OrderEntity, Long&gt; orderEntityRepository(
+ * 		InMemoryMappingContext mappingContext) {
+ * 	InMemoryRepositoryFactoryBean&lt;OrderEntityRepository, OrderEntity, Long&gt; result = //
+ * 			new InMemoryRepositoryFactoryBean&lt;&gt;(OrderEntityRepository.class);
+ * 	result.setMappingContext(mappingContext);
+ * 	result.setIndexedProperties("createdDate");
+ * 	return result;
+ * }
+ * </pre>
+ *
+ * Uses a new {@link InMemoryMappingContext} if no mapping context is set.
+ *
+ * @author kchobantonov
+ */
+public class InMemoryRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
+		extends RepositoryFactoryBeanSupport<T, S, ID> {
+
+	private MappingContext<? extends PersistentEntity<?, ?>, ?> mappingContext;
+	private String[] indexedProperties = new String[0];
+
+	/**
+	 * Creates a new {@link InMemoryRepositoryFactoryBean} for the given repository
+	 * interface.
+	 *
+	 * @param repositoryInterface must not be {@literal null}.
+	 */
+	public InMemoryRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
+		super(repositoryInterface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport
+	 * #setMappingContext(org.springframework.data.mapping.context.MappingContext)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void setMappingContext(MappingContext<?, ?> mappingContext) {
+		super.setMappingContext(mappingContext);
+		this.mappingContext = (MappingContext<? extends PersistentEntity<?, ?>, ?>) mappingContext;
+	}
+
+	/**
+	 * Configures the properties of the domain type to keep sorted indexes for.
+	 *
+	 * @param indexedProperties must not be {@literal null}.
+	 */
+	public void setIndexedProperties(String... indexedProperties) {
+		Assert.noNullElements(indexedProperties, "Indexed properties must not be null!");
+		this.indexedProperties = indexedProperties;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport
+	 * #createRepositoryFactory()
+	 */
+	@Override
+	protected RepositoryFactorySupport createRepositoryFactory() {
+		return new InMemoryRepositoryFactory(mappingContext, indexedProperties);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		if (mappingContext == null) {
+			setMappingContext(new InMemoryMappingContext());
+		}
+
+		super.afterPropertiesSet();
+	}
+}
@@ -0,0 +1,55 @@
+package org.springframework.data.dozer.repository.inmemory;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Operations to simulate latency and to count the round trips of an
+ * {@link InMemoryRepository}. Declare it on the repository interface to reach
+ * them through the repository proxy:
+ *
+ * <pre class="code">
+ * interface OrderEntityRepository
+ * 		extends PagingAndSortingRepository&lt;OrderEntity, Long&gt;, InMemoryRepositoryOperations {
+ * }
+ * </pre>
+ *
+ * Calls of these operations are not counted as round trips.
+ */
+public interface InMemoryRepositoryOperations {
+
+	/**
+	 * Delays every round trip by the given latency.
+	 *
+	 * @param latency must not be {@literal null}, {@link Duration#ZERO} to disable.
+	 */
+	void setLatency(Duration latency);
+
+	/**
+	 * Returns the number of round trips since the last reset.
+	 *
+	 * @return
+	 */
+	long getRoundTrips();
+
+	/**
+	 * Returns the number of round trips by repository method name since the last
+	 * reset.
+	 *
+	 * @return
+	 */
+	Map<String, Long> getRoundTripsByOperation();
+
+	/**
+	 * Resets the round trip counters.
+	 */
+	void resetRoundTrips();
+
+	/**
+	 * Asserts the number of round trips since the last reset.
+	 *
+	 * @param expected the expected number of round trips
+	 * @throws AssertionError if the number of round trips differs
+	 */
+	void assertRoundTrips(long expected);
+}
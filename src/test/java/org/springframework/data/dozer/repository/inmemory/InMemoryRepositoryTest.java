@@ -0,0 +1,172 @@
+package org.springframework.data.dozer.repository.inmemory;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Unit tests for {@link InMemoryRepository}.
+ *
+ * @author kchobantonov
+ */
+public class InMemoryRepositoryTest {
+
+	public static class Row {
+		@Id
+		private Long id;
+		@Version
+		private Long version;
+		private String name;
+		private List<String> tags = new ArrayList<String>();
+
+		public Row() {
+		}
+
+		public Row(String name) {
+			this.name = name;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public Long getVersion() {
+			return version;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+	}
+
+	interface RowRepository extends PagingAndSortingRepository<Row, Long>, InMemoryRepositoryOperations {
+	}
+
+	InMemoryRepository<Row, Long> repository;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		InMemoryMappingContext mappingContext = new InMemoryMappingContext();
+		repository = new InMemoryRepository<Row, Long>(
+				(org.springframework.data.mapping.PersistentEntity<Row, ?>) mappingContext
+						.getRequiredPersistentEntity(Row.class),
+				"name");
+	}
+
+	@Test
+	public void generatesIdentifierAndVersionOnSave() {
+		Row row = repository.save(new Row("a"));
+
+		assertThat(row.getId(), is(notNullValue()));
+		assertThat(row.getVersion(), is(0L));
+		assertThat(repository.save(row).getVersion(), is(1L));
+	}
+
+	@Test
+	public void storesCopies() {
+		Row row = repository.save(new Row("a"));
+		row.setName("changed without save");
+		row.getTags().add("changed without save");
+
+		Row found = repository.findById(row.getId()).get();
+		assertThat(found.getName(), is("a"));
+		assertThat(found.getTags().isEmpty(), is(true));
+
+		found.setName("changed after read");
+		assertThat(repository.findById(row.getId()).get().getName(), is("a"));
+		assertThat(repository.findById(row.getId()).get(), is(not(sameInstance(found))));
+	}
+
+	@Test
+	public void rejectsStaleVersion() {
+		Row row = repository.save(new Row("a"));
+		Row stale = repository.findById(row.getId()).get();
+		repository.save(row);
+
+		try {
+			repository.save(stale);
+			fail("Expected an optimistic locking failure");
+		} catch (OptimisticLockingFailureException e) {
+			// expected
+		}
+		assertThat(repository.findById(row.getId()).get().getVersion(), is(1L));
+	}
+
+	@Test
+	public void sortsByIndexedAndOtherProperties() {
+		repository.saveAll(Arrays.asList(new Row("b"), new Row("c"), new Row("a")));
+
+		assertThat(names(repository.findAll(Sort.by("name"))), is(Arrays.asList("a", "b", "c")));
+		assertThat(names(repository.findAll(Sort.by(Direction.DESC, "id"))), is(Arrays.asList("a", "c", "b")));
+
+		Page<Row> page = repository.findAll(PageRequest.of(1, 2, Sort.by(Direction.DESC, "name")));
+		assertThat(names(page), is(Arrays.asList("a")));
+		assertThat(page.getTotalElements(), is(3L));
+	}
+
+	@Test
+	public void keepsIndexInSyncWithSavesAndDeletes() {
+		Row a = repository.save(new Row("a"));
+		Row b = repository.save(new Row("b"));
+		a.setName("c");
+		repository.save(a);
+		repository.delete(b);
+
+		assertThat(names(repository.findAll(Sort.by("name"))), is(Arrays.asList("c")));
+	}
+
+	@Test
+	public void countsRoundTrips() {
+		repository.saveAll(Arrays.asList(new Row("a"), new Row("b")));
+		repository.findAllById(Arrays.asList(1L, 2L));
+
+		repository.assertRoundTrips(2);
+		assertThat(repository.getRoundTripsByOperation().get("saveAll"), is(1L));
+
+		repository.resetRoundTrips();
+		repository.setLatency(Duration.ZERO);
+		repository.assertRoundTrips(0);
+	}
+
+	@Test
+	public void createsRepositoryProxy() {
+		InMemoryRepositoryFactory factory = new InMemoryRepositoryFactory(new InMemoryMappingContext());
+		RowRepository proxy = factory.getRepository(RowRepository.class);
+
+		proxy.save(new Row("a"));
+
+		assertThat(proxy.count(), is(1L));
+		assertThat(proxy.getRoundTrips(), is(2L));
+	}
+
+	private static List<String> names(Iterable<Row> rows) {
+		return Lists.newArrayList(rows).stream().map(Row::getName).collect(Collectors.toList());
+	}
+}
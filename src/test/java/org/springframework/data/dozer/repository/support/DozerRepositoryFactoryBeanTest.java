@@ -0,0 +1,49 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.Customer;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.CustomerRepository;
+
+/**
+ * Unit tests for {@link DozerRepositoryFactoryBean}.
+ *
+ * @author kchobantonov
+ */
+public class DozerRepositoryFactoryBeanTest {
+
+	@Test
+	public void disablesDefaultTransactionsWithoutDefaultTransactionManager() {
+		new DozerRepositoryFactoryBean<CustomerRepository, Customer, Long>(CustomerRepository.class)
+				.setBeanFactory(new DefaultListableBeanFactory());
+	}
+
+	@Test
+	public void rejectsMissingTransactionManagerConfiguredExplicitly() {
+		DozerRepositoryFactoryBean<CustomerRepository, Customer, Long> factoryBean = //
+				new DozerRepositoryFactoryBean<CustomerRepository, Customer, Long>(CustomerRepository.class);
+		factoryBean.setTransactionManager("ordersTransactionManager");
+
+		try {
+			factoryBean.setBeanFactory(new DefaultListableBeanFactory());
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), containsString("ordersTransactionManager"));
+		}
+	}
+
+	@Test
+	public void completesTheWarmUpWithoutRepositoryToValidate() {
+		DozerRepositoryFactoryBean<CustomerRepository, Customer, Long> factoryBean = //
+				new DozerRepositoryFactoryBean<CustomerRepository, Customer, Long>(CustomerRepository.class);
+
+		factoryBean.onApplicationEvent(new ContextRefreshedEvent(new GenericApplicationContext()));
+
+		assertThat(factoryBean.getWarmUp().isDone(), is(true));
+	}
+}
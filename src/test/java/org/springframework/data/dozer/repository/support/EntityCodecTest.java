@@ -0,0 +1,113 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Reference;
+import org.springframework.data.dozer.annotation.DozerEntity;
+import org.springframework.data.dozer.mapping.DozerMetamodelMappingContext;
+
+/**
+ * Unit tests for {@link EntityCodec}.
+ *
+ * @author kchobantonov
+ */
+public class EntityCodecTest {
+
+	public enum Status {
+		ACTIVE, RETIRED
+	}
+
+	@DozerEntity(adaptedDomainClass = Object.class)
+	public static class Item {
+		@Id
+		private Long id;
+		private String name;
+		private Status status;
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public void setStatus(Status status) {
+			this.status = status;
+		}
+	}
+
+	@DozerEntity(adaptedDomainClass = Object.class)
+	public static class Order {
+		@Id
+		private Long id;
+		@Reference
+		private Long customerId;
+		private List<String> tags;
+
+		public Long getId() {
+			return id;
+		}
+
+		public Long getCustomerId() {
+			return customerId;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+	}
+
+	private final DozerMetamodelMappingContext mappingContext = new DozerMetamodelMappingContext();
+
+	@Test
+	public void roundTripsSimpleProperties() {
+		EntityCodec codec = EntityCodec.of(mappingContext.getRequiredPersistentEntity(Item.class));
+		Item item = new Item();
+		item.setId(1L);
+		item.setName("a");
+		item.setStatus(Status.RETIRED);
+
+		Item decoded = (Item) codec.decode(ByteBuffer.wrap(codec.encode(item)));
+
+		assertThat(decoded.getId(), is(1L));
+		assertThat(decoded.getName(), is("a"));
+		assertThat(decoded.getStatus(), is(Status.RETIRED));
+	}
+
+	@Test
+	public void keepsNullValues() {
+		EntityCodec codec = EntityCodec.of(mappingContext.getRequiredPersistentEntity(Item.class));
+
+		Item decoded = (Item) codec.decode(ByteBuffer.wrap(codec.encode(new Item())));
+
+		assertThat(decoded.getName(), is(nullValue()));
+		assertThat(decoded.getStatus(), is(nullValue()));
+	}
+
+	@Test
+	public void rejectsAssociationsAndCollections() {
+		assertThat(EntityCodec.of(mappingContext.getRequiredPersistentEntity(Order.class)), is(nullValue()));
+		assertThat(EntityCodec.getUnsupportedProperties(mappingContext.getRequiredPersistentEntity(Order.class)),
+				is(Arrays.asList("tags", "customerId")));
+	}
+}
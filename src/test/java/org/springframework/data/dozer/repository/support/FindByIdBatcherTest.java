@@ -0,0 +1,105 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link FindByIdBatcher}.
+ *
+ * @author kchobantonov
+ */
+public class FindByIdBatcherTest {
+
+	private final List<List<Object>> loaded = new CopyOnWriteArrayList<List<Object>>();
+
+	/**
+	 * Loads every identifier as its {@link Long} value, like a repository with
+	 * {@link Long} identifiers does.
+	 */
+	private final Function<List<Object>, Map<Object, Object>> loader = ids -> {
+		loaded.add(new ArrayList<Object>(ids));
+		Map<Object, Object> result = new HashMap<Object, Object>();
+		for (Object id : ids) {
+			long value = ((Number) id).longValue();
+			result.put(value, "entity-" + value);
+		}
+		return result;
+	};
+
+	private static Object toLong(Object id) {
+		return ((Number) id).longValue();
+	}
+
+	private FindByIdBatcher newBatcher(int batchSize, long windowMillis) {
+		return new FindByIdBatcher(FindByIdBatcherTest::toLong, loader, UnaryOperator.identity(), batchSize,
+				windowMillis, null);
+	}
+
+	@Test
+	public void readsAFullBatchRightAway() {
+		FindByIdBatcher batcher = newBatcher(1, 60000);
+
+		assertThat(batcher.findById(1L), is((Object) "entity-1"));
+		assertThat(batcher.getBatches(), is(1L));
+	}
+
+	@Test
+	public void coalescesIdentifiersByTheirKey() {
+		FindByIdBatcher batcher = newBatcher(100, 50);
+
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> batcher.findById(1L));
+		CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> batcher.findById(Integer.valueOf(1)));
+
+		assertThat(first.join(), is((Object) "entity-1"));
+		// the integer identifier is found under the long key of the loaded entity
+		assertThat(second.join(), is((Object) "entity-1"));
+		assertThat(batcher.getRequests(), is(2L));
+		int loadedIds = 0;
+		for (List<Object> ids : loaded) {
+			loadedIds += ids.size();
+		}
+		assertThat(loadedIds, is((int) batcher.getLoadedIds()));
+	}
+
+	@Test
+	public void copiesTheDozerEntityForCallersJoiningARead() {
+		FindByIdBatcher batcher = new FindByIdBatcher(FindByIdBatcherTest::toLong, loader,
+				entity -> new String((String) entity), 100, 50, null);
+
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> batcher.findById(1L));
+		CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> batcher.findById(1L));
+
+		assertThat(first.join(), is((Object) "entity-1"));
+		assertThat(second.join(), is((Object) "entity-1"));
+		assertThat(first.join(), is(not(sameInstance(second.join()))));
+	}
+
+	@Test
+	public void keepsReadingBatchesWhenAnotherBatcherIsClosed() {
+		newBatcher(100, 1).close();
+		FindByIdBatcher batcher = newBatcher(100, 1);
+
+		// read by the shared scheduler once the window passed
+		assertThat(batcher.findById(2), is((Object) "entity-2"));
+	}
+
+	@Test
+	public void readsRightAwayOnceClosed() {
+		FindByIdBatcher batcher = newBatcher(100, 60000);
+		batcher.close();
+
+		assertThat(batcher.findById(3L), is((Object) "entity-3"));
+		assertThat(loaded.size(), is(1));
+	}
+}
@@ -0,0 +1,138 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.dozer.repository.KeysetSlice;
+import org.springframework.lang.Nullable;
+
+/**
+ * Unit tests for {@link InMemorySortFallback}.
+ *
+ * @author kchobantonov
+ */
+public class InMemorySortFallbackTest {
+
+	/**
+	 * A dozer entity which cannot be encoded, it has a collection property.
+	 */
+	public static class Item {
+		private Long id;
+		private String label;
+		private List<String> tags = new ArrayList<String>();
+
+		Item(Long id, String label) {
+			this.id = id;
+			this.label = label;
+		}
+	}
+
+	/**
+	 * Reads the items by their identifier, the cursor is the last identifier.
+	 */
+	private class ItemReader implements InMemorySortFallback.AdaptedReader {
+		private final List<String> cursors = new ArrayList<String>();
+		private int findAllById;
+
+		@Override
+		public KeysetSlice<?> findAllAfter(Sort adaptedSort, int size, @Nullable String cursor) {
+			cursors.add(cursor);
+			long after = cursor == null ? 0 : Long.parseLong(cursor);
+			List<Item> chunk = items.stream().filter(item -> item.id > after).limit(size + 1)
+					.collect(Collectors.toList());
+			boolean hasNext = chunk.size() > size;
+			List<Item> content = hasNext ? chunk.subList(0, size) : chunk;
+			return new KeysetSlice<Item>(content, PageRequest.of(0, size, adaptedSort),
+					hasNext ? String.valueOf(content.get(size - 1).id) : null);
+		}
+
+		@Override
+		public Object getId(Object adaptedEntity) {
+			return ((Item) adaptedEntity).id;
+		}
+
+		@Override
+		public List<Object> toDozerEntities(List<?> adaptedEntities) {
+			return new ArrayList<Object>(adaptedEntities);
+		}
+
+		@Override
+		public Map<Object, Object> findAllById(List<Object> adaptedIds) {
+			findAllById++;
+			Map<Object, Object> result = new HashMap<Object, Object>();
+			for (Item item : items) {
+				if (adaptedIds.contains(item.id)) {
+					result.put(item.id, item);
+				}
+			}
+			return result;
+		}
+	}
+
+	private final List<Item> items = new ArrayList<Item>();
+	private ItemReader reader;
+
+	@Before
+	public void setUp() {
+		// labels in reverse order of the identifiers
+		for (long id = 1; id <= 10; id++) {
+			items.add(new Item(id, "label-" + (char) ('j' - id + 1)));
+		}
+		reader = new ItemReader();
+	}
+
+	@Test
+	public void readsChunksAfterTheKeysetOfThePreviousChunk() {
+		InMemorySortFallback fallback = new InMemorySortFallback(Item.class, Sort.by("id"), 4, 100);
+
+		Page<Object> page = fallback.findAll(Sort.by("label"), PageRequest.of(0, 3), null, reader);
+
+		assertThat(reader.cursors, is(Arrays.asList(null, "4", "8")));
+		assertThat(ids(page.getContent()), is(Arrays.asList(10L, 9L, 8L)));
+		assertThat(page.getTotalElements(), is(10L));
+	}
+
+	@Test
+	public void spillsDozerEntitiesThatCannotBeEncoded() {
+		InMemorySortFallback fallback = new InMemorySortFallback(Item.class, Sort.by("id"), 4, 3);
+
+		Page<Object> page = fallback.findAll(Sort.by("label"), PageRequest.of(2, 3),
+				item -> ((Item) item).id != 5L, reader);
+
+		assertThat(fallback.getSpilledRuns() > 0, is(true));
+		assertThat(ids(page.getContent()), is(Arrays.asList(3L, 2L, 1L)));
+		assertThat(page.getTotalElements(), is(9L));
+		assertThat(reader.findAllById, is(1));
+	}
+
+	@Test
+	public void rejectsUnpagedReadsAboveTheThreshold() {
+		InMemorySortFallback fallback = new InMemorySortFallback(Item.class, Sort.by("id"), 4, 5);
+
+		try {
+			fallback.findAll(Sort.by("label"), Pageable.unpaged(), null, reader);
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), containsString("without a page"));
+		}
+		assertThat(ids(fallback.findAll(Sort.by("label"), Pageable.unpaged(), item -> ((Item) item).id > 6L, reader)
+				.getContent()), is(Arrays.asList(10L, 9L, 8L, 7L)));
+	}
+
+	private static List<Long> ids(List<Object> items) {
+		return items.stream().map(item -> ((Item) item).id).collect(Collectors.toList());
+	}
+}
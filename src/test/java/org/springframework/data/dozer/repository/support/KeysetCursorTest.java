@@ -0,0 +1,92 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+/**
+ * Unit tests for {@link KeysetCursor}.
+ *
+ * @author kchobantonov
+ */
+public class KeysetCursorTest {
+
+	enum Status {
+		ACTIVE, INACTIVE
+	}
+
+	@Test
+	public void roundTripsOffsetAndValues() {
+		Sort sort = Sort.by("name").and(Sort.by(Direction.DESC, "id"));
+		List<Object> values = Arrays.asList("a", 42L, new BigDecimal("1.50"), UUID.randomUUID(),
+				LocalDate.of(2020, 1, 2), null);
+
+		KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(sort, 20, values).encode(), sort);
+
+		assertThat(cursor.getOffset(), is(20L));
+		assertThat(cursor.getValues(), is(values));
+	}
+
+	@Test
+	public void offsetOnlyCursorHasNoValues() {
+		Sort sort = Sort.by("name");
+
+		KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(sort, 10, null).encode(), sort);
+
+		assertThat(cursor.getOffset(), is(10L));
+		assertThat(cursor.getValues(), is(nullValue()));
+	}
+
+	@Test
+	public void sortHashIsCanonical() {
+		// the hash of a sort must not depend on identity hash codes, so that cursors
+		// stay valid after a restart and on other nodes
+		assertThat(KeysetCursor.hash(Sort.by(Direction.DESC, "name")),
+				is("name:DESC:NATIVE:false;".hashCode()));
+		assertThat(KeysetCursor.hash(Sort.by(Direction.DESC, "name")),
+				is(KeysetCursor.hash(Sort.by(new Sort.Order(Direction.DESC, "name")))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsCursorOfAnotherSort() {
+		String cursor = new KeysetCursor(Sort.by("name"), 10, null).encode();
+
+		KeysetCursor.decode(cursor, Sort.by(Direction.DESC, "name"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsGarbage() {
+		KeysetCursor.decode("not-a-cursor", Sort.by("name"));
+	}
+
+	@Test
+	public void encodesEnumsWithoutClassName() {
+		Sort sort = Sort.by("status");
+		String encoded = new KeysetCursor(sort, 1, Arrays.asList(Status.INACTIVE)).encode();
+
+		String decodedBytes = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.ISO_8859_1);
+		assertThat(decodedBytes.contains(Status.class.getName()), is(false));
+
+		Object value = KeysetCursor.decode(encoded, sort).getValues().get(0);
+		assertThat(KeysetCursor.resolveEnum(value, Status.class), is((Object) Status.INACTIVE));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEnumValueOfNonEnumProperty() {
+		Sort sort = Sort.by("status");
+		String encoded = new KeysetCursor(sort, 1, Arrays.asList(Status.ACTIVE)).encode();
+
+		KeysetCursor.resolveEnum(KeysetCursor.decode(encoded, sort).getValues().get(0), String.class);
+	}
+}
@@ -0,0 +1,171 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.dozer.repository.inmemory.InMemoryMappingContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import com.github.dozermapper.core.loader.api.BeanMappingBuilder;
+
+/**
+ * Unit tests for {@link LazyMappingFieldMapper}.
+ *
+ * @author kchobantonov
+ */
+public class LazyMappingFieldMapperTest {
+
+	public static class Line {
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	public static class Order {
+		private List<Line> lines;
+
+		public List<Line> getLines() {
+			return lines;
+		}
+
+		public void setLines(List<Line> lines) {
+			this.lines = lines;
+		}
+	}
+
+	public static class LineRow {
+		private String name;
+
+		public LineRow() {
+		}
+
+		public LineRow(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	public static class OrderRow {
+		private List<LineRow> lines = new ArrayList<LineRow>();
+
+		public List<LineRow> getLines() {
+			return lines;
+		}
+
+		public void setLines(List<LineRow> lines) {
+			this.lines = lines;
+		}
+	}
+
+	private Mapper mapper;
+	private OrderRow row;
+
+	@Before
+	public void setUp() {
+		LazyMappingFieldMapper lazyMappingFieldMapper = new LazyMappingFieldMapper();
+		mapper = DozerBeanMapperBuilder.create().withMappingBuilder(new BeanMappingBuilder() {
+			@Override
+			protected void configure() {
+				mapping(OrderRow.class, Order.class);
+				mapping(LineRow.class, Line.class);
+			}
+		}).withCustomFieldMapper(lazyMappingFieldMapper).build();
+
+		new DozerUtil(mapper).getLazyMappingFieldMapper().register(Order.class, new InMemoryMappingContext()
+				.getRequiredPersistentEntity(Order.class).getRequiredPersistentProperty("lines"));
+
+		row = new OrderRow();
+		row.getLines().add(new LineRow("a"));
+	}
+
+	@After
+	public void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationManager.clear();
+	}
+
+	@Test
+	public void mapsRightAwayOutsideOfATransaction() {
+		Order order = mapper.map(row, Order.class);
+
+		assertThat(isLazy(order.getLines()), is(false));
+		assertThat(order.getLines().get(0).getName(), is("a"));
+	}
+
+	@Test
+	public void mapsLazilyInsideOfATransaction() {
+		beginTransaction();
+
+		Order order = mapper.map(row, Order.class);
+
+		assertThat(isLazy(order.getLines()), is(true));
+		assertThat(order.getLines().get(0).getName(), is("a"));
+	}
+
+	@Test
+	public void rejectsAccessAfterTheTransactionCompleted() {
+		beginTransaction();
+		Order order = mapper.map(row, Order.class);
+		completeTransaction();
+
+		try {
+			order.getLines().size();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), containsString("outside of the transaction"));
+		}
+	}
+
+	@Test
+	public void requiresAMapperBuiltWithTheFieldMapper() {
+		try {
+			new DozerUtil(DozerBeanMapperBuilder.buildDefault()).getLazyMappingFieldMapper();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), containsString("withCustomFieldMapper"));
+		}
+	}
+
+	private static boolean isLazy(List<?> list) {
+		return list.getClass().getEnclosingClass() == LazyMappingFieldMapper.class;
+	}
+
+	private static void beginTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+	}
+
+	private static void completeTransaction() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+				TransactionSynchronization.STATUS_COMMITTED);
+	}
+}
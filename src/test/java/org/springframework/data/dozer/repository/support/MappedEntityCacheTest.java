@@ -0,0 +1,92 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.data.dozer.mapping.DozerMetamodelMappingContext;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.Customer;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+
+/**
+ * Unit tests for {@link MappedEntityCache}.
+ *
+ * @author kchobantonov
+ */
+public class MappedEntityCacheTest {
+
+	private final Mapper mapper = DozerBeanMapperBuilder.buildDefault();
+	private final EntityCodec codec = EntityCodec
+			.of(new DozerMetamodelMappingContext().getRequiredPersistentEntity(Customer.class));
+	private MappedEntityCache cache;
+
+	@After
+	public void tearDown() {
+		cache.close();
+	}
+
+	@Test
+	public void keepsItsOwnCopies() {
+		cache = new MappedEntityCache(10, null, 0, 0, this::copy);
+		Customer customer = new Customer(1L, 0L, "a");
+
+		cache.put(1L, customer, cache.getStamp(1L));
+		customer.setName("changed");
+		((Customer) cache.get(1L)).setName("changed");
+
+		assertThat(((Customer) cache.get(1L)).getName(), is("a"));
+		assertThat(cache.getHeapHits(), is(2L));
+	}
+
+	@Test
+	public void demotesEvictedEntitiesToTheOffHeapTier() {
+		cache = new MappedEntityCache(1, codec, 16 * 1024, 0, this::copy);
+
+		cache.put(1L, new Customer(1L, 0L, "a"), cache.getStamp(1L));
+		cache.put(2L, new Customer(2L, 0L, "b"), cache.getStamp(2L));
+
+		assertThat(cache.getHeapSize(), is(1));
+		assertThat(cache.contains(1L), is(true));
+		assertThat(((Customer) cache.get(1L)).getName(), is("a"));
+		assertThat(cache.getOffHeapHits(), is(1L));
+		// the hit moved the first entity back on-heap and demoted the second one
+		assertThat(((Customer) cache.get(2L)).getName(), is("b"));
+		assertThat(cache.getOffHeapHits(), is(2L));
+	}
+
+	@Test
+	public void doesNotCacheEntitiesReadBeforeAnEviction() {
+		cache = new MappedEntityCache(10, codec, 16 * 1024, 0, this::copy);
+		long stamp = cache.getStamp(1L);
+
+		cache.evict(Collections.singleton(1L));
+		cache.put(1L, new Customer(1L, 0L, "stale"), stamp);
+
+		assertThat(cache.get(1L), is(nullValue()));
+		assertThat(cache.getMisses(), is(1L));
+	}
+
+	@Test
+	public void expiresEntitiesInBothTiers() throws InterruptedException {
+		cache = new MappedEntityCache(1, codec, 16 * 1024, 200, this::copy);
+
+		cache.put(1L, new Customer(1L, 0L, "a"), cache.getStamp(1L));
+		cache.put(2L, new Customer(2L, 0L, "b"), cache.getStamp(2L));
+		assertThat(cache.contains(1L), is(true));
+		assertThat(cache.contains(2L), is(true));
+		Thread.sleep(300);
+
+		assertThat(cache.contains(1L), is(false));
+		assertThat(cache.get(1L), is(nullValue()));
+		assertThat(cache.get(2L), is(nullValue()));
+	}
+
+	private Object copy(Object entity) {
+		return mapper.map(entity, entity.getClass());
+	}
+}
@@ -0,0 +1,63 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link OffHeapEntityStore}.
+ *
+ * @author kchobantonov
+ */
+public class OffHeapEntityStoreTest {
+
+	private static final int SLAB_SIZE = OffHeapEntityStore.BLOCKS_PER_SLAB * OffHeapEntityStore.BLOCK_SIZE;
+
+	private final OffHeapSlabPool pool = new OffHeapSlabPool();
+
+	@Test
+	public void takesSlabsAsSegmentsFillUp() {
+		OffHeapEntityStore store = new OffHeapEntityStore(OffHeapEntityStore.SEGMENTS * 2L * SLAB_SIZE, pool);
+		assertThat(store.getAllocatedBytes(), is(0L));
+
+		store.put(1L, new byte[300]);
+
+		assertThat(store.getAllocatedBytes(), is((long) SLAB_SIZE));
+		assertThat(store.getUsedBytes(), is(3L * OffHeapEntityStore.BLOCK_SIZE));
+		assertThat(store.get(1L).length, is(300));
+	}
+
+	@Test
+	public void evictsTheLeastRecentlyUsedValuesOfAFullSegment() {
+		OffHeapEntityStore store = new OffHeapEntityStore(OffHeapEntityStore.SEGMENTS * SLAB_SIZE, pool);
+		// 200 of the 512 blocks of the segment
+		byte[] value = new byte[200 * (OffHeapEntityStore.BLOCK_SIZE - 4)];
+
+		store.put(0L, value);
+		// same segment as 0
+		store.put(16L, value);
+		store.put(32L, value);
+
+		assertThat(store.get(0L), is(nullValue()));
+		assertThat(store.get(32L), is(notNullValue()));
+		assertThat(store.getEvictions(), is(1L));
+		assertThat(store.getAllocatedBytes(), is((long) SLAB_SIZE));
+	}
+
+	@Test
+	public void handsTheSlabsBackToThePoolWhenClosed() {
+		OffHeapEntityStore first = new OffHeapEntityStore(OffHeapEntityStore.SEGMENTS * SLAB_SIZE, pool);
+		first.put(1L, new byte[10]);
+		first.close();
+
+		assertThat(first.put(2L, new byte[10]), is(false));
+		assertThat(first.get(1L), is(nullValue()));
+
+		OffHeapEntityStore second = new OffHeapEntityStore(OffHeapEntityStore.SEGMENTS * SLAB_SIZE, pool);
+		second.put(3L, new byte[10]);
+
+		assertThat(pool.getAllocatedBytes(), is((long) SLAB_SIZE));
+		assertThat(second.get(3L).length, is(10));
+	}
+}
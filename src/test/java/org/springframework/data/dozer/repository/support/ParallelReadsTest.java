@@ -0,0 +1,75 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link ParallelReads}.
+ *
+ * @author kchobantonov
+ */
+public class ParallelReadsTest {
+
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "reader"));
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	@Test
+	public void readsInParallelOnTheExecutorOutsideOfATransaction() {
+		List<String> threads = ParallelReads.readAll(Arrays.asList(1, 2, 3), part -> Thread.currentThread().getName(),
+				executor);
+
+		assertThat(threads, is(Arrays.asList("reader", "reader", "reader")));
+	}
+
+	@Test
+	public void readsOnTheCallingThreadInsideATransaction() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		assertThat(ParallelReads.isParallel(executor), is(false));
+		assertThat(ParallelReads.readAll(Arrays.asList(1, 2), part -> Thread.currentThread().getName(), executor),
+				is(Arrays.asList(Thread.currentThread().getName(), Thread.currentThread().getName())));
+	}
+
+	@Test
+	public void readsOnTheCallingThreadWithoutExecutor() {
+		assertThat(ParallelReads.isParallel(null), is(false));
+		assertThat(ParallelReads.readAll(Arrays.asList(1, 2), part -> Thread.currentThread().getName(), null),
+				is(Arrays.asList(Thread.currentThread().getName(), Thread.currentThread().getName())));
+	}
+
+	@Test
+	public void keepsThePartOrder() {
+		assertThat(ParallelReads.readAll(Arrays.asList(3, 1, 2), part -> part * 10, executor),
+				is(Arrays.asList(30, 10, 20)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rethrowsTheFailureOfAPart() {
+		ParallelReads.readAll(Arrays.asList(1, 2), part -> {
+			if (part == 2) {
+				throw new IllegalArgumentException("part " + part);
+			}
+			return part;
+		}, executor);
+	}
+}
@@ -0,0 +1,119 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.dozer.mapping.DozerMetamodelMappingContext;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.Customer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+
+/**
+ * Unit tests for {@link ReferenceDataCache}.
+ *
+ * @author kchobantonov
+ */
+public class ReferenceDataCacheTest {
+
+	private final Map<Long, Customer> table = new TreeMap<Long, Customer>();
+	private final AtomicInteger fullLoads = new AtomicInteger();
+	private final List<Object> loadedIds = new ArrayList<Object>();
+	private ReferenceDataCache cache;
+
+	@Before
+	public void setUp() {
+		Mapper mapper = DozerBeanMapperBuilder.buildDefault();
+		table.put(1L, new Customer(1L, 0L, "b"));
+		table.put(2L, new Customer(2L, 0L, "a"));
+
+		cache = new ReferenceDataCache(new DozerMetamodelMappingContext().getRequiredPersistentEntity(Customer.class),
+				entity -> ((Customer) entity).getId(), () -> {
+					fullLoads.incrementAndGet();
+					return new ArrayList<Customer>(table.values());
+				}, ids -> {
+					loadedIds.addAll(ids);
+					return ids.stream().map(table::get).filter(it -> it != null).collect(Collectors.toList());
+				}, entity -> mapper.map(entity, entity.getClass()), new String[] { "name" }, 0, null, null);
+	}
+
+	@After
+	public void tearDown() {
+		cache.close();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.clear();
+	}
+
+	@Test
+	public void returnsCopiesOfTheSnapshot() {
+		Customer customer = (Customer) cache.findById(1L);
+		customer.setName("changed");
+
+		assertThat(((Customer) cache.findById(1L)).getName(), is("b"));
+		assertThat(cache.findById(1L), is(not(sameInstance(cache.findById(1L)))));
+		((Customer) cache.findAll().get(0)).setName("changed");
+		assertThat(names(cache.findAll(Sort.by("name"))), is(Arrays.asList("a", "b")));
+	}
+
+	@Test
+	public void patchesTheWrittenIdentifiersAfterTheCommit() {
+		cache.count();
+		table.put(1L, new Customer(1L, 1L, "c"));
+		table.remove(2L);
+		table.put(3L, new Customer(3L, 0L, "d"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		cache.refreshAfterCommit(Arrays.asList(1L, 2L));
+		cache.refreshAfterCommit(Collections.singleton(3L));
+		assertThat(names(cache.findAll()), is(Arrays.asList("b", "a")));
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+				TransactionSynchronization.STATUS_COMMITTED);
+
+		assertThat(fullLoads.get(), is(1));
+		assertThat(loadedIds, is(Arrays.<Object>asList(1L, 2L, 3L)));
+		assertThat(names(cache.findAll()), is(Arrays.asList("c", "d")));
+		assertThat(names(cache.findAll(Sort.by(Sort.Direction.DESC, "name"))), is(Arrays.asList("d", "c")));
+		assertThat(cache.existsById(2L), is(false));
+	}
+
+	@Test
+	public void keepsTheSnapshotOnRollback() {
+		cache.count();
+		table.remove(1L);
+
+		TransactionSynchronizationManager.initSynchronization();
+		cache.refreshAfterCommit(Collections.singleton(1L));
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+				TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertThat(cache.existsById(1L), is(true));
+		assertThat(loadedIds.isEmpty(), is(true));
+	}
+
+	private static List<String> names(List<Object> customers) {
+		return customers.stream().map(customer -> ((Customer) customer).getName()).collect(Collectors.toList());
+	}
+}
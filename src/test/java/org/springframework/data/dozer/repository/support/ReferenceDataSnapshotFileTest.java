@@ -0,0 +1,65 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.data.dozer.mapping.DozerMetamodelMappingContext;
+import org.springframework.data.dozer.repository.support.EntityCodecTest.Item;
+import org.springframework.data.dozer.repository.support.EntityCodecTest.Status;
+
+/**
+ * Unit tests for {@link ReferenceDataSnapshotFile}.
+ *
+ * @author kchobantonov
+ */
+public class ReferenceDataSnapshotFileTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final EntityCodec codec = EntityCodec
+			.of(new DozerMetamodelMappingContext().getRequiredPersistentEntity(Item.class));
+
+	@Test
+	public void readsTheWrittenEntities() throws IOException {
+		Path path = folder.getRoot().toPath().resolve("items.snapshot");
+		assertThat(new ReferenceDataSnapshotFile(path, codec, "mapping").write(Arrays.asList(item(1L, "a"))),
+				is(true));
+
+		ReferenceDataSnapshotFile file = new ReferenceDataSnapshotFile(path, codec, "mapping");
+		List<Object> entities = file.read();
+
+		assertThat(entities.size(), is(1));
+		assertThat(((Item) entities.get(0)).getStatus(), is(Status.ACTIVE));
+		assertThat(file.write(Arrays.asList(item(1L, "a"))), is(false));
+		// no mapping of the file outlives the read
+		Files.delete(path);
+	}
+
+	@Test
+	public void ignoresFilesOfOtherMappings() throws IOException {
+		Path path = folder.getRoot().toPath().resolve("items.snapshot");
+		new ReferenceDataSnapshotFile(path, codec, "mapping").write(Arrays.asList(item(1L, "a")));
+
+		assertThat(new ReferenceDataSnapshotFile(path, codec, "other").read(), is(nullValue()));
+		assertThat(new ReferenceDataSnapshotFile(folder.getRoot().toPath().resolve("missing"), codec, "mapping")
+				.read(), is(nullValue()));
+	}
+
+	private static Item item(Long id, String name) {
+		Item result = new Item();
+		result.setId(id);
+		result.setName(name);
+		result.setStatus(Status.ACTIVE);
+		return result;
+	}
+}
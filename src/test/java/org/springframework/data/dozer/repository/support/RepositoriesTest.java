@@ -0,0 +1,78 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.CustomerRow;
+import org.springframework.data.dozer.repository.inmemory.InMemoryMappingContext;
+import org.springframework.data.dozer.repository.inmemory.InMemoryRepositoryFactoryBean;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+/**
+ * Unit tests for {@link Repositories}.
+ *
+ * @author kchobantonov
+ */
+public class RepositoriesTest {
+
+	public interface CustomerRowRepository extends PagingAndSortingRepository<CustomerRow, Long> {
+	}
+
+	public static class SpecialCustomerRow extends CustomerRow {
+	}
+
+	private AnnotationConfigApplicationContext context;
+	private Repositories repositories;
+
+	@Before
+	public void setUp() {
+		context = new AnnotationConfigApplicationContext();
+		context.registerBean("inMemoryMappingContext", InMemoryMappingContext.class);
+		context.registerBean("repositories", Repositories.class);
+
+		RootBeanDefinition rows = new RootBeanDefinition(InMemoryRepositoryFactoryBean.class);
+		rows.getConstructorArgumentValues().addGenericArgumentValue(CustomerRowRepository.class.getName());
+		rows.getPropertyValues().add("mappingContext", new RuntimeBeanReference("inMemoryMappingContext"));
+		rows.setLazyInit(true);
+		context.registerBeanDefinition("customerRowRepository", rows);
+
+		context.refresh();
+
+		repositories = context.getBean(Repositories.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.close();
+	}
+
+	@Test
+	public void indexesLazyRepositoriesWithoutCreatingThem() {
+		assertThat(repositories.hasRepositoryFor(CustomerRow.class), is(true));
+		assertThat(repositories.iterator().next(), is((Object) CustomerRow.class));
+		assertThat(context.getBeanFactory().containsSingleton("customerRowRepository"), is(false));
+	}
+
+	@Test
+	public void resolvesTheRepositoryOnTheFirstLookup() {
+		Object repository = repositories.getRepositoriesFor(CustomerRow.class).get().get("customerRowRepository");
+
+		assertThat(repository, is(sameInstance(context.getBean("customerRowRepository"))));
+		assertThat(repositories.getRepositoryInformationFor(CustomerRow.class).get().get("customerRowRepository")
+				.getRepositoryInterface(), is((Object) CustomerRowRepository.class));
+	}
+
+	@Test
+	public void fallsBackToTheRepositoriesOfTheSuperclass() {
+		assertThat(repositories.hasRepositoryFor(SpecialCustomerRow.class), is(false));
+		assertThat(repositories.getRepositoriesFor(SpecialCustomerRow.class).get().keySet(),
+				hasItem("customerRowRepository"));
+		assertThat(repositories.getRepositoriesFor(String.class).isPresent(), is(false));
+	}
+}
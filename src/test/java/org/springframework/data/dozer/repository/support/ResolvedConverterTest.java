@@ -0,0 +1,149 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Test;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+
+/**
+ * Unit tests for {@link ResolvedConverter}.
+ *
+ * @author kchobantonov
+ */
+public class ResolvedConverterTest {
+
+	static class Source {
+		final String value;
+
+		Source(String value) {
+			this.value = value;
+		}
+	}
+
+	static class SubSource extends Source {
+		SubSource(String value) {
+			super(value);
+		}
+	}
+
+	@Test
+	public void convertsThroughTheConversionService() {
+		ResolvedConverter converter = ResolvedConverter.of(new DefaultConversionService(), String.class, Long.class);
+
+		assertThat(converter.isResolved(), is(true));
+		assertThat(converter.convert("42"), is((Object) 42L));
+		assertThat(converter.convert(null), is(nullValue()));
+		assertThat(converter.convertAll(Arrays.asList("1", "2")), is(Arrays.<Object>asList(1L, 2L)));
+	}
+
+	/**
+	 * Counts the conversions going through the conversion service.
+	 */
+	static class CountingConversionService extends GenericConversionService {
+		int conversions;
+
+		@Override
+		public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			conversions++;
+			return super.convert(source, sourceType, targetType);
+		}
+	}
+
+	/**
+	 * Converts sources to strings while enabled.
+	 */
+	static class SwitchableConverter implements ConditionalGenericConverter {
+		boolean enabled = true;
+
+		@Override
+		public Set<ConvertiblePair> getConvertibleTypes() {
+			return Collections.singleton(new ConvertiblePair(Source.class, String.class));
+		}
+
+		@Override
+		public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+			return enabled;
+		}
+
+		@Override
+		public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			return ((Source) source).value;
+		}
+	}
+
+	@Test
+	public void invokesTheResolvedConverterDirectly() {
+		CountingConversionService conversionService = new CountingConversionService();
+		conversionService.addConverter(Source.class, String.class, source -> source.value);
+		ResolvedConverter converter = ResolvedConverter.of(conversionService, Source.class, String.class);
+
+		assertThat(converter.isResolved(), is(true));
+		assertThat(converter.convert(new Source("a")), is((Object) "a"));
+		assertThat(conversionService.conversions, is(0));
+
+		// another runtime type goes through the conversion service
+		assertThat(converter.convert(new SubSource("b")), is((Object) "b"));
+		assertThat(conversionService.conversions, is(1));
+	}
+
+	@Test
+	public void fallsBackWhenAConditionalConverterDoesNotMatch() {
+		CountingConversionService conversionService = new CountingConversionService();
+		SwitchableConverter switchable = new SwitchableConverter();
+		conversionService.addConverter(switchable);
+		ResolvedConverter converter = ResolvedConverter.of(conversionService, Source.class, String.class);
+
+		assertThat(converter.convert(new Source("a")), is((Object) "a"));
+		assertThat(conversionService.conversions, is(0));
+
+		// the conversion service decides once the converter does not match
+		switchable.enabled = false;
+		converter.convert(new Source("b"));
+		assertThat(conversionService.conversions, is(1));
+	}
+
+	@Test
+	public void convertsThroughOtherConversionServices() {
+		ConversionService conversionService = new DefaultConversionService();
+		ConversionService delegating = new ConversionService() {
+			@Override
+			public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+				return conversionService.canConvert(sourceType, targetType);
+			}
+
+			@Override
+			public boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+				return conversionService.canConvert(sourceType, targetType);
+			}
+
+			@Override
+			public <C> C convert(Object source, Class<C> targetType) {
+				return conversionService.convert(source, targetType);
+			}
+
+			@Override
+			public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+				return conversionService.convert(source, sourceType, targetType);
+			}
+		};
+		ResolvedConverter converter = ResolvedConverter.of(delegating, String.class, Long.class);
+
+		assertThat(converter.isResolved(), is(false));
+		assertThat(converter.convert("7"), is((Object) 7L));
+	}
+
+	@Test(expected = ConversionFailedException.class)
+	public void wrapsConversionFailures() {
+		ResolvedConverter.of(new DefaultConversionService(), String.class, Long.class).convert("x");
+	}
+}
@@ -0,0 +1,133 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.dozer.repository.inmemory.InMemoryMappingContext;
+import org.springframework.data.dozer.repository.inmemory.InMemoryRepository;
+import org.springframework.data.dozer.repository.inmemory.InMemoryRepositoryTest.Row;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.repository.CrudRepository;
+
+/**
+ * Unit tests for {@link SecondaryAdaptedSources}.
+ *
+ * @author kchobantonov
+ */
+public class SecondaryAdaptedSourcesTest {
+
+	public static class Account {
+		@Id
+		private Long id;
+		private String nickname;
+
+		public Long getId() {
+			return id;
+		}
+
+		public String getNickname() {
+			return nickname;
+		}
+	}
+
+	public static class AccountRow {
+		@Id
+		private Long id;
+		private Long nicknameId;
+
+		public AccountRow() {
+		}
+
+		public AccountRow(Long id, Long nicknameId) {
+			this.id = id;
+			this.nicknameId = nicknameId;
+		}
+
+		public Long getNicknameId() {
+			return nicknameId;
+		}
+	}
+
+	private InMemoryMappingContext mappingContext;
+	private PersistentEntity<?, ?> accountEntity;
+	private PersistentEntity<?, ?> accountRowEntity;
+	private InMemoryRepository<Row, Long> rows;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		mappingContext = new InMemoryMappingContext();
+		accountEntity = mappingContext.getRequiredPersistentEntity(Account.class);
+		accountRowEntity = mappingContext.getRequiredPersistentEntity(AccountRow.class);
+		rows = new InMemoryRepository<Row, Long>(
+				(PersistentEntity<Row, ?>) mappingContext.getRequiredPersistentEntity(Row.class));
+	}
+
+	@Test
+	public void attachesAllDozerEntitiesWithOneRead() {
+		List<Row> saved = save(new Row("a"), new Row("b"), new Row("c"));
+		List<AccountRow> accountRows = new ArrayList<AccountRow>();
+		List<Account> accounts = new ArrayList<Account>();
+		for (Row row : saved) {
+			accountRows.add(new AccountRow(row.getId(), null));
+			accounts.add(new Account());
+		}
+		rows.resetRoundTrips();
+
+		sources(true).attach(accountRows, accounts);
+
+		rows.assertRoundTrips(1);
+		assertThat(accounts.get(0).getNickname(), is("a"));
+		assertThat(accounts.get(2).getNickname(), is("c"));
+	}
+
+	@Test
+	public void deletesTheRowSharingTheIdentifierOfANullProperty() {
+		Row row = save(new Row("a")).get(0);
+
+		sources(true).saveSharingId(Collections.singletonList(new Account()),
+				Collections.singletonList(new AccountRow(row.getId(), null)));
+
+		assertThat(rows.findById(row.getId()).isPresent(), is(false));
+	}
+
+	@Test
+	public void clearsTheJoinPropertyOfANullProperty() {
+		Row row = save(new Row("a")).get(0);
+		AccountRow accountRow = new AccountRow(1L, row.getId());
+
+		sources(false).saveReferenced(Collections.singletonList(new Account()),
+				Collections.singletonList(accountRow));
+
+		assertThat(accountRow.getNicknameId(), is(nullValue()));
+		assertThat(rows.findById(row.getId()).isPresent(), is(true));
+	}
+
+	private List<Row> save(Row... values) {
+		List<Row> result = new ArrayList<Row>();
+		rows.saveAll(Arrays.asList(values)).forEach(result::add);
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private SecondaryAdaptedSources sources(boolean sharingId) {
+		SecondaryAdaptedSources.Source source = new SecondaryAdaptedSources.Source(
+				accountEntity.getRequiredPersistentProperty("nickname"),
+				(CrudRepository<Object, Object>) (Object) rows, mappingContext.getRequiredPersistentEntity(Row.class),
+				sharingId ? null : accountRowEntity.getRequiredPersistentProperty("nicknameId"),
+				row -> ((Row) row).getName(), (value, row) -> {
+					Row result = row == null ? new Row() : (Row) row;
+					result.setName((String) value);
+					return result;
+				});
+		return new SecondaryAdaptedSources(accountEntity, accountRowEntity, Collections.singletonList(source), null);
+	}
+}
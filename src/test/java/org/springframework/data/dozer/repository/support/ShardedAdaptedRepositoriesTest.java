@@ -0,0 +1,171 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.dozer.repository.ShardKeyResolver.HashShardKeyResolver;
+import org.springframework.data.dozer.repository.inmemory.InMemoryMappingContext;
+import org.springframework.data.dozer.repository.inmemory.InMemoryRepository;
+import org.springframework.data.dozer.repository.inmemory.InMemoryRepositoryTest.Row;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Unit tests for {@link ShardedAdaptedRepositories}.
+ *
+ * @author kchobantonov
+ */
+public class ShardedAdaptedRepositoriesTest {
+
+	private ExecutorService executor;
+	private InMemoryRepository<Row, Long> first;
+	private InMemoryRepository<Row, Long> second;
+	private ShardedAdaptedRepositories shards;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "shard-reader"));
+		PersistentEntity<Row, ?> persistentEntity = (PersistentEntity<Row, ?>) new InMemoryMappingContext()
+				.getRequiredPersistentEntity(Row.class);
+		first = new InMemoryRepository<Row, Long>(persistentEntity);
+		second = new InMemoryRepository<Row, Long>(persistentEntity);
+
+		first.saveAll(Arrays.asList(new Row("a"), new Row("d"), new Row("e")));
+		second.saveAll(Arrays.asList(new Row("b"), new Row("c")));
+
+		shards = new ShardedAdaptedRepositories(Arrays.asList("first", "second"),
+				Arrays.asList((PagingAndSortingRepository<Object, Object>) (Object) first,
+						(PagingAndSortingRepository<Object, Object>) (Object) second),
+				persistentEntity, new HashShardKeyResolver(), executor);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	@Test
+	public void mergesSortedShards() {
+		assertThat(names(shards.findAll(Sort.by("name"))), is(Arrays.asList("a", "b", "c", "d", "e")));
+		assertThat(names(shards.findAll(Sort.by(Direction.DESC, "name"))), is(Arrays.asList("e", "d", "c", "b", "a")));
+	}
+
+	@Test
+	public void pagesOverTheMergedShards() {
+		Page<Object> page = shards.findAll(PageRequest.of(1, 2, Sort.by("name")));
+
+		assertThat(names(page.getContent()), is(Arrays.asList("c", "d")));
+		assertThat(page.getTotalElements(), is(5L));
+	}
+
+	@Test
+	public void fansOutOnTheExecutorOutsideOfATransaction() {
+		assertThat(shards.fanOut(repository -> Thread.currentThread().getName()),
+				is(Arrays.asList("shard-reader", "shard-reader")));
+	}
+
+	@Test
+	public void fansOutOnTheCallingThreadInsideATransaction() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		String caller = Thread.currentThread().getName();
+
+		assertThat(shards.fanOut(repository -> Thread.currentThread().getName()), is(Arrays.asList(caller, caller)));
+		assertThat(shards.count(), is(5L));
+	}
+
+	@Test
+	public void routesByIdentifier() {
+		assertThat(shards.getShardIndex(2L), is(0));
+		assertThat(shards.getShardIndex(3L), is(1));
+	}
+
+	@Test
+	public void rejectsDozerEntitiesWithoutIdentifier() {
+		try {
+			shards.getShardIndex(null);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage(), containsString("without an id"));
+		}
+		try {
+			shards.getShardIndexForNew(new Row("f"));
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage(), containsString("without an id"));
+		}
+	}
+
+	@Test
+	public void readsEachIdentifierFromItsShard() {
+		Map<Object, Object> resourceIdsByEntityId = new LinkedHashMap<Object, Object>();
+		resourceIdsByEntityId.put(1L, 1L);
+		resourceIdsByEntityId.put(2L, 2L);
+		// the shards are read in parallel
+		List<List<Object>> reads = new CopyOnWriteArrayList<List<Object>>();
+
+		List<Object> rows = shards.findAllById(resourceIdsByEntityId, (shard, entityIds) -> {
+			reads.add(entityIds);
+			return Lists.newArrayList(shard.findAllById(entityIds));
+		});
+
+		assertThat(names(rows), is(Arrays.asList("d", "b")));
+		assertThat(reads.size(), is(2));
+		assertThat(reads, hasItems(Arrays.<Object>asList(2L), Arrays.<Object>asList(1L)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void mergesByNestedProperties() {
+		PersistentEntity<Located, ?> persistentEntity = (PersistentEntity<Located, ?>) new InMemoryMappingContext()
+				.getRequiredPersistentEntity(Located.class);
+		List<Object> first = Arrays.asList(new Located(1L, "Berlin"), new Located(2L, "Rome"));
+		List<Object> second = Arrays.asList(new Located(3L, "Paris"), new Located(4L, "Sofia"));
+
+		List<Object> merged = ShardedAdaptedRepositories.merge(Arrays.asList(first, second), persistentEntity,
+				Sort.by("address.city"), 1, 2);
+
+		assertThat(merged.stream().map(located -> ((Located) located).address.city).collect(Collectors.toList()),
+				is(Arrays.asList("Paris", "Rome")));
+	}
+
+	static class Address {
+		String city;
+	}
+
+	static class Located {
+		@Id
+		Long id;
+		Address address = new Address();
+
+		Located(Long id, String city) {
+			this.id = id;
+			this.address.city = city;
+		}
+	}
+
+	private static List<String> names(List<Object> rows) {
+		return rows.stream().map(row -> ((Row) row).getName()).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,632 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.dozer.annotation.AdaptedMethod;
+import org.springframework.data.dozer.annotation.DozerEntity;
+import org.springframework.data.dozer.annotation.FetchProfile;
+import org.springframework.data.dozer.annotation.SecondarySource;
+import org.springframework.data.dozer.repository.DozerInMemoryExecutor;
+import org.springframework.data.dozer.repository.DozerRepository;
+import org.springframework.data.dozer.repository.FetchProfiles;
+import org.springframework.data.dozer.repository.KeysetSlice;
+import org.springframework.data.dozer.repository.PrimaryReads;
+import org.springframework.data.dozer.repository.DozerRepositoryStatistics.OperationStatistics;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.CountingTransactionManager;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.Customer;
+import org.springframework.data.dozer.repository.DozerUnitOfWorkTest.CustomerRow;
+import org.springframework.data.dozer.repository.config.DozerMetamodelMappingContextFactoryBean;
+import org.springframework.data.dozer.repository.inmemory.InMemoryMappingContext;
+import org.springframework.data.dozer.repository.inmemory.InMemoryRepositoryFactoryBean;
+import org.springframework.data.dozer.repository.inmemory.InMemoryRepositoryOperations;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.util.StringUtils;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import com.github.dozermapper.core.events.Event;
+import com.github.dozermapper.core.events.EventListener;
+import com.github.dozermapper.core.loader.api.BeanMappingBuilder;
+import com.github.dozermapper.core.loader.api.TypeMappingOptions;
+
+/**
+ * Unit tests for {@link SimpleDozerRepository}.
+ *
+ * @author kchobantonov
+ */
+public class SimpleDozerRepositoryTest {
+
+	public interface CustomerRepository extends DozerRepository<Customer, Long>, DozerInMemoryExecutor<Customer> {
+
+		@AdaptedMethod("findByName")
+		List<Customer> findNamed(String name);
+	}
+
+	@DozerEntity(adaptedDomainClass = CustomerRow.class, //
+			fetchProfiles = @FetchProfile(name = "summary", dozerMapId = "summary"))
+	public static class Contact {
+		@Id
+		private Long id;
+		@Version
+		private Long version;
+		private String name;
+
+		public Contact() {
+		}
+
+		public Contact(String name) {
+			this.name = name;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public Long getVersion() {
+			return version;
+		}
+
+		public void setVersion(Long version) {
+			this.version = version;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	public interface ContactRepository extends DozerRepository<Contact, Long> {
+	}
+
+	public interface CustomerRowRepository
+			extends PagingAndSortingRepository<CustomerRow, Long>, InMemoryRepositoryOperations {
+
+		default List<CustomerRow> findByName(String name) {
+			return StreamSupport.stream(findAll().spliterator(), false).filter(row -> name.equals(row.getName()))
+					.collect(Collectors.toList());
+		}
+	}
+
+	public interface MissingRowRepository extends PagingAndSortingRepository<CustomerRow, Long> {
+	}
+
+	@org.springframework.data.dozer.annotation.DozerRepository(adaptedReadRepositoryClass = MissingRowRepository.class)
+	public interface UnboundCustomerRepository extends DozerRepository<Customer, Long> {
+	}
+
+	@org.springframework.data.dozer.annotation.DozerRepository(findAllByIdChunkSize = 2, findAllByIdPreserveOrder = true)
+	public interface ChunkedCustomerRepository extends DozerRepository<Customer, Long> {
+	}
+
+	public interface CustomerReadRowRepository extends PagingAndSortingRepository<CustomerRow, Long> {
+	}
+
+	@org.springframework.data.dozer.annotation.DozerRepository(adaptedRepositoryClass = CustomerRowRepository.class,
+			adaptedReadRepositoryClass = CustomerReadRowRepository.class)
+	public interface ReplicatedCustomerRepository extends DozerRepository<Customer, Long> {
+	}
+
+	@org.springframework.data.dozer.annotation.DozerRepository(entityCache = true)
+	public interface CachedCustomerRepository extends DozerRepository<Customer, Long> {
+	}
+
+	@org.springframework.data.dozer.annotation.DozerRepository(batchFindById = true, batchFindByIdSize = 2,
+			batchFindByIdWindow = 60000)
+	public interface BatchedCustomerRepository extends DozerRepository<Customer, Long> {
+	}
+
+	@org.springframework.data.dozer.annotation.DozerRepository(batchFindById = true, batchFindByIdWindow = 200)
+	public interface CoalescingCustomerRepository extends DozerRepository<Customer, Long> {
+	}
+
+	@org.springframework.data.dozer.annotation.DozerRepository(warmUp = true, warmUpIterations = 10)
+	public interface WarmedUpCustomerRepository extends DozerRepository<Customer, Long> {
+	}
+
+	@DozerEntity(adaptedDomainClass = CustomerRow.class, //
+			secondarySources = @SecondarySource(property = "nickname", adaptedDomainClass = NicknameRow.class))
+	public static class Member {
+		@Id
+		private Long id;
+		@Version
+		private Long version;
+		private String name;
+		private NicknameRow nickname;
+
+		public Member() {
+		}
+
+		public Member(String name, NicknameRow nickname) {
+			this.name = name;
+			this.nickname = nickname;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public Long getVersion() {
+			return version;
+		}
+
+		public void setVersion(Long version) {
+			this.version = version;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public NicknameRow getNickname() {
+			return nickname;
+		}
+
+		public void setNickname(NicknameRow nickname) {
+			this.nickname = nickname;
+		}
+	}
+
+	public static class NicknameRow {
+		@Id
+		private Long id;
+		private String nickname;
+
+		public NicknameRow() {
+		}
+
+		public NicknameRow(String nickname) {
+			this.nickname = nickname;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public String getNickname() {
+			return nickname;
+		}
+	}
+
+	public interface NicknameRowRepository
+			extends PagingAndSortingRepository<NicknameRow, Long>, InMemoryRepositoryOperations {
+	}
+
+	@org.springframework.data.dozer.annotation.DozerRepository(warmUp = true, warmUpIterations = 10)
+	public interface MemberRepository extends DozerRepository<Member, Long> {
+	}
+
+	private final Set<String> mappingThreads = ConcurrentHashMap.newKeySet();
+	private AnnotationConfigApplicationContext context;
+	private CountingTransactionManager transactionManager;
+	private CustomerRepository customerRepository;
+	private CustomerRowRepository customerRowRepository;
+
+	@Before
+	public void setUp() {
+		customerRepository = refresh(CustomerRepository.class, customers -> {
+		});
+	}
+
+	/**
+	 * Refreshes a context with the given dozer repository of customers.
+	 * 
+	 * @param repositoryInterface     the dozer repository interface
+	 * @param customizer              customizes the dozer repository bean
+	 * @param rowRepositoryInterfaces additional in-memory repositories
+	 * @return the dozer repository
+	 */
+	private <R> R refresh(Class<R> repositoryInterface, Consumer<RootBeanDefinition> customizer,
+			Class<?>... rowRepositoryInterfaces) {
+		if (context != null) {
+			context.close();
+		}
+
+		context = new AnnotationConfigApplicationContext();
+		context.registerBean("dozerMapper", Mapper.class,
+				() -> DozerBeanMapperBuilder.create().withMappingBuilder(new BeanMappingBuilder() {
+					@Override
+					protected void configure() {
+						mapping(Customer.class, CustomerRow.class);
+						mapping(Contact.class, CustomerRow.class);
+						mapping(Member.class, CustomerRow.class);
+						mapping(CustomerRow.class, Contact.class, TypeMappingOptions.mapId("summary")).exclude("name");
+					}
+				}).withEventListener(new EventListener() {
+					@Override
+					public void onMappingStarted(Event event) {
+						mappingThreads.add(Thread.currentThread().getName());
+					}
+
+					@Override
+					public void onPreWritingDestinationValue(Event event) {
+					}
+
+					@Override
+					public void onPostWritingDestinationValue(Event event) {
+					}
+
+					@Override
+					public void onMappingFinished(Event event) {
+					}
+				}).build());
+		context.registerBean("defaultConversionService", ConversionService.class, DefaultConversionService::new);
+		if (transactionManager != null) {
+			context.registerBean("transactionManager", CountingTransactionManager.class, () -> transactionManager);
+		}
+		context.registerBean("dozerMappingContext", DozerMetamodelMappingContextFactoryBean.class);
+		context.registerBean("inMemoryMappingContext", InMemoryMappingContext.class);
+
+		registerRows(CustomerRowRepository.class);
+		for (Class<?> rowRepositoryInterface : rowRepositoryInterfaces) {
+			registerRows(rowRepositoryInterface);
+		}
+
+		RootBeanDefinition customers = new RootBeanDefinition(DozerRepositoryFactoryBean.class);
+		customers.getConstructorArgumentValues().addGenericArgumentValue(repositoryInterface);
+		customers.getPropertyValues().add("dozerMapper", new RuntimeBeanReference("dozerMapper"))
+				.add("conversionServiceName", "defaultConversionService")
+				.add("mappingContext", new RuntimeBeanReference("dozerMappingContext"));
+		customizer.accept(customers);
+		context.registerBeanDefinition("customerRepository", customers);
+
+		context.refresh();
+
+		customerRowRepository = context.getBean(CustomerRowRepository.class);
+		return context.getBean(repositoryInterface);
+	}
+
+	private void registerRows(Class<?> rowRepositoryInterface) {
+		RootBeanDefinition rows = new RootBeanDefinition(InMemoryRepositoryFactoryBean.class);
+		rows.getConstructorArgumentValues().addGenericArgumentValue(rowRepositoryInterface);
+		rows.getPropertyValues().add("mappingContext", new RuntimeBeanReference("inMemoryMappingContext"));
+		context.registerBeanDefinition(StringUtils.uncapitalize(rowRepositoryInterface.getSimpleName()), rows);
+	}
+
+	@After
+	public void tearDown() {
+		context.close();
+	}
+
+	@Test
+	public void completesTheWarmUpAfterTheRefresh() {
+		DozerRepositoryFactoryBean<?, ?, ?> factoryBean = getFactoryBean();
+
+		assertThat(factoryBean.getWarmUp().isDone(), is(true));
+		assertThat(factoryBean.getWarmUp().isCompletedExceptionally(), is(false));
+	}
+
+	@Test
+	public void warmsUpOnADaemonThreadWithoutExecutor() throws Exception {
+		mappingThreads.clear();
+		refresh(WarmedUpCustomerRepository.class, customers -> {
+		});
+
+		getFactoryBean().getWarmUp().get(10, TimeUnit.SECONDS);
+
+		assertThat(mappingThreads, is(Collections.singleton("dozer-repository-warm-up")));
+	}
+
+	@Test
+	public void doesNotReadTheSecondarySourcesDuringTheWarmUp() throws Exception {
+		MemberRepository repository = refresh(MemberRepository.class, members -> {
+		}, NicknameRowRepository.class);
+		NicknameRowRepository nicknames = context.getBean(NicknameRowRepository.class);
+
+		getFactoryBean().getWarmUp().get(10, TimeUnit.SECONDS);
+
+		nicknames.assertRoundTrips(0);
+
+		Member member = repository.save(new Member("a", new NicknameRow("ann")));
+		nicknames.resetRoundTrips();
+		assertThat(repository.findById(member.getId()).get().getNickname().getNickname(), is("ann"));
+		nicknames.assertRoundTrips(1);
+	}
+
+	@Test
+	public void doesNotRecordStatisticsByDefault() {
+		assertThat(getFactoryBean().getStatistics(), is(nullValue()));
+	}
+
+	@Test
+	public void recordsStatisticsWhenEnabled() {
+		customerRepository = refresh(CustomerRepository.class,
+				customers -> customers.getPropertyValues().add("recordStatistics", true));
+
+		customerRepository.save(new Customer(null, null, "a"));
+
+		Map<String, OperationStatistics> operations = getFactoryBean().getStatistics().getOperations();
+		assertThat(operations.keySet().stream().anyMatch(operation -> operation.startsWith("save(")), is(true));
+	}
+
+	@Test
+	public void invokesAdaptedMethods() {
+		customerRepository.save(new Customer(null, null, "a"));
+		customerRepository.save(new Customer(null, null, "b"));
+
+		List<Customer> customers = customerRepository.findNamed("b");
+
+		assertThat(customers.size(), is(1));
+		assertThat(customers.get(0).getName(), is("b"));
+		assertThat(customers.get(0).getId(), is(customerRowRepository.findByName("b").get(0).getId()));
+	}
+
+	@Test
+	public void filtersInMemoryThroughTheFragmentInterface() {
+		for (String name : Arrays.asList("a", "bb", "c", "dd")) {
+			customerRepository.save(new Customer(null, null, name));
+		}
+
+		Page<Customer> page = customerRepository.findAllInMemory(customer -> customer.getName().length() == 2,
+				PageRequest.of(0, 1, Sort.by(Direction.DESC, "name")));
+
+		assertThat(page.getTotalElements(), is(2L));
+		assertThat(page.getContent().get(0).getName(), is("dd"));
+	}
+
+	@Test
+	public void pagesWithKeysetCursors() {
+		for (String name : Arrays.asList("d", "b", "e", "a", "c")) {
+			customerRepository.save(new Customer(null, null, name));
+		}
+		customerRowRepository.resetRoundTrips();
+
+		List<String> names = new ArrayList<String>();
+		String cursor = null;
+		do {
+			KeysetSlice<Customer> slice = customerRepository.findAllAfter(Sort.by("name"), 2, cursor);
+			slice.forEach(customer -> names.add(customer.getName()));
+			cursor = slice.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(names, is(Arrays.asList("a", "b", "c", "d", "e")));
+		// one read per slice
+		customerRowRepository.assertRoundTrips(3);
+	}
+
+	@Test
+	public void resolvesTheBindingWhenTheContextIsRefreshed() {
+		try {
+			refresh(UnboundCustomerRepository.class, customers -> {
+			});
+			fail("Expected the refresh to fail");
+		} catch (RuntimeException e) {
+			assertThat(getRootCause(e).getMessage(), containsString(MissingRowRepository.class.getName()));
+		}
+	}
+
+	@Test
+	public void keepsTheBindingOfTheRefresh() {
+		SimpleDozerRepository<?, ?> target = getTarget(customerRepository);
+		DozerRepositoryBinding binding = target.getBinding();
+
+		customerRepository.save(new Customer(null, null, "a"));
+		customerRepository.findAll();
+
+		assertThat(target.getBinding(), is(sameInstance(binding)));
+	}
+
+	@Test
+	public void bindsALazyRepositoryOnFirstUse() {
+		// the refresh does not resolve the binding of a lazy repository
+		UnboundCustomerRepository unbound = refresh(UnboundCustomerRepository.class, customers -> {
+			customers.setLazyInit(true);
+			customers.getPropertyValues().add("bootstrapMode", BootstrapMode.LAZY);
+		});
+		try {
+			unbound.findAll();
+			fail("Expected the first use to fail");
+		} catch (RuntimeException e) {
+			assertThat(getRootCause(e).getMessage(), containsString(MissingRowRepository.class.getName()));
+		}
+
+		CustomerRepository repository = refresh(CustomerRepository.class, customers -> {
+			customers.setLazyInit(true);
+			customers.getPropertyValues().add("bootstrapMode", BootstrapMode.LAZY);
+		});
+		Long id = repository.save(new Customer(null, null, "a")).getId();
+
+		assertThat(repository.findById(id).get().getName(), is("a"));
+	}
+
+	@Test
+	public void readsIdentifiersInChunksAndReportsUnmappedOnes() {
+		ChunkedCustomerRepository repository = refresh(ChunkedCustomerRepository.class, customers -> {
+		});
+		List<Long> ids = new ArrayList<Long>();
+		for (String name : Arrays.asList("a", "b", "c")) {
+			ids.add(repository.save(new Customer(null, null, name)).getId());
+		}
+		customerRowRepository.resetRoundTrips();
+
+		List<Long> unmappedIds = new ArrayList<Long>();
+		List<Customer> customers = repository.findAllById(Arrays.asList(ids.get(2), null, ids.get(0), ids.get(1)),
+				unmappedIds);
+
+		assertThat(customers.stream().map(Customer::getName).collect(Collectors.toList()),
+				is(Arrays.asList("c", "a", "b")));
+		assertThat(unmappedIds, is(Arrays.asList((Long) null)));
+		assertThat(customerRowRepository.getRoundTripsByOperation().get("findAllById"), is(2L));
+	}
+
+	@Test
+	public void readsFromTheReadRepositoryUnlessPrimaryReadsAreRequested() {
+		ReplicatedCustomerRepository repository = refresh(ReplicatedCustomerRepository.class, customers -> {
+		}, CustomerReadRowRepository.class);
+
+		Long id = repository.save(new Customer(null, null, "a")).getId();
+
+		assertThat(customerRowRepository.existsById(id), is(true));
+		assertThat(repository.findById(id).isPresent(), is(false));
+		assertThat(PrimaryReads.call(() -> repository.findById(id)).get().getName(), is("a"));
+	}
+
+	@Test
+	public void savesAllDozerEntitiesInOneTransaction() {
+		transactionManager = new CountingTransactionManager();
+		customerRepository = refresh(CustomerRepository.class, customers -> {
+		});
+		Customer existing = customerRepository.save(new Customer(null, null, "a"));
+		transactionManager.commits.set(0);
+
+		customerRepository.saveAll(Arrays.asList(new Customer(null, null, "b"), new Customer(null, null, "c")));
+		assertThat(transactionManager.commits.get(), is(1));
+
+		try {
+			customerRepository.saveAll(Arrays.asList(new Customer(null, null, "d"),
+					new Customer(existing.getId(), existing.getVersion() + 1, "stale")));
+			fail("Expected OptimisticLockingFailureException");
+		} catch (OptimisticLockingFailureException e) {
+			// expected
+		}
+		assertThat(transactionManager.commits.get(), is(1));
+		assertThat(transactionManager.rollbacks.get(), is(1));
+	}
+
+	@Test
+	public void readsCopiesOfCachedDozerEntitiesUntilTheyAreWritten() {
+		CachedCustomerRepository repository = refresh(CachedCustomerRepository.class, customers -> {
+		});
+		Long id = repository.save(new Customer(null, null, "a")).getId();
+		Customer first = repository.findById(id).get();
+		customerRowRepository.resetRoundTrips();
+
+		Customer second = repository.findById(id).get();
+
+		customerRowRepository.assertRoundTrips(0);
+		assertThat(second, is(not(sameInstance(first))));
+		assertThat(repository.existsById(id), is(true));
+		customerRowRepository.assertRoundTrips(0);
+
+		second.setName("b");
+		repository.save(second);
+
+		assertThat(repository.findById(id).get().getName(), is("b"));
+	}
+
+	@Test
+	public void readsConcurrentFindByIdCallsWithOneRead() {
+		BatchedCustomerRepository repository = refresh(BatchedCustomerRepository.class, customers -> {
+		});
+		Long first = repository.save(new Customer(null, null, "a")).getId();
+		Long second = repository.save(new Customer(null, null, "b")).getId();
+		customerRowRepository.resetRoundTrips();
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CompletableFuture<Optional<Customer>> firstRead = CompletableFuture
+					.supplyAsync(() -> repository.findById(first), executor);
+			CompletableFuture<Optional<Customer>> secondRead = CompletableFuture
+					.supplyAsync(() -> repository.findById(second), executor);
+
+			assertThat(firstRead.join().get().getName(), is("a"));
+			assertThat(secondRead.join().get().getName(), is("b"));
+		} finally {
+			executor.shutdownNow();
+		}
+		customerRowRepository.assertRoundTrips(1);
+	}
+
+	@Test
+	public void returnsACopyToEveryCallerOfACoalescedFindById() {
+		CoalescingCustomerRepository repository = refresh(CoalescingCustomerRepository.class, customers -> {
+		});
+		Long id = repository.save(new Customer(null, null, "a")).getId();
+		customerRowRepository.resetRoundTrips();
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CompletableFuture<Optional<Customer>> firstRead = CompletableFuture
+					.supplyAsync(() -> repository.findById(id), executor);
+			CompletableFuture<Optional<Customer>> secondRead = CompletableFuture
+					.supplyAsync(() -> repository.findById(id), executor);
+
+			Customer first = firstRead.join().get();
+			Customer second = secondRead.join().get();
+			assertThat(first, is(not(sameInstance(second))));
+			first.setName("b");
+			assertThat(second.getName(), is("a"));
+		} finally {
+			executor.shutdownNow();
+		}
+		customerRowRepository.assertRoundTrips(1);
+	}
+
+	@Test
+	public void readsWithTheMappingOfTheFetchProfile() {
+		ContactRepository repository = refresh(ContactRepository.class, contacts -> {
+		});
+		Long id = repository.save(new Contact("a")).getId();
+
+		assertThat(repository.findById(id).get().getName(), is("a"));
+		assertThat(FetchProfiles.call("summary", () -> repository.findById(id)).get().getName(), is(nullValue()));
+	}
+
+	private static Throwable getRootCause(Throwable failure) {
+		while (failure.getCause() != null) {
+			failure = failure.getCause();
+		}
+		return failure;
+	}
+
+	private static SimpleDozerRepository<?, ?> getTarget(Object repository) {
+		try {
+			return (SimpleDozerRepository<?, ?>) ((Advised) repository).getTargetSource().getTarget();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private DozerRepositoryFactoryBean<?, ?, ?> getFactoryBean() {
+		return context.getBean("&customerRepository", DozerRepositoryFactoryBean.class);
+	}
+}
@@ -0,0 +1,77 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.dozer.repository.DozerRepositoryStatistics;
+import org.springframework.data.dozer.repository.DozerRepositoryStatistics.OperationStatistics;
+
+/**
+ * Unit tests for {@link StatisticsMethodInterceptor}.
+ *
+ * @author kchobantonov
+ */
+public class StatisticsMethodInterceptorTest {
+
+	public interface Lookup {
+		String find(Long id);
+
+		String find(String name);
+	}
+
+	private DozerRepositoryStatistics statistics;
+	private Lookup lookup;
+
+	@Before
+	public void setUp() {
+		statistics = new DozerRepositoryStatistics();
+		ProxyFactory proxyFactory = new ProxyFactory(new Lookup() {
+			@Override
+			public String find(Long id) {
+				return "id " + id;
+			}
+
+			@Override
+			public String find(String name) {
+				throw new IllegalArgumentException(name);
+			}
+		});
+		proxyFactory.addInterface(Lookup.class);
+		proxyFactory.addAdvice(new StatisticsMethodInterceptor(statistics));
+		lookup = (Lookup) proxyFactory.getProxy();
+	}
+
+	@Test
+	public void recordsOverloadedMethodsSeparately() {
+		assertThat(lookup.find(1L), is("id 1"));
+		assertThat(lookup.find(2L), is("id 2"));
+		try {
+			lookup.find("a");
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// recorded as failure
+		}
+
+		Map<String, OperationStatistics> operations = statistics.getOperations();
+		assertThat(operations.keySet(), hasItems("find(Long)", "find(String)"));
+		assertThat(operations.get("find(Long)").getInvocations(), is(2L));
+		assertThat(operations.get("find(Long)").getFailures(), is(0L));
+		assertThat(operations.get("find(String)").getInvocations(), is(1L));
+		assertThat(operations.get("find(String)").getFailures(), is(1L));
+	}
+
+	@Test
+	public void recordsTheDurationOfTheInvocation() {
+		lookup.find(1L);
+
+		OperationStatistics operation = statistics.getOperations().get("find(Long)");
+		assertThat(operation.getTotalNanos() > 0, is(true));
+		assertThat(operation.getMaxNanos(), is(operation.getTotalNanos()));
+		assertThat(operation.getP50Nanos() >= operation.getTotalNanos(), is(true));
+	}
+}
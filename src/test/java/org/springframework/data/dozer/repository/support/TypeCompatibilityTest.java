@@ -0,0 +1,84 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.springframework.data.dozer.repository.support.TypeCompatibility.Kind;
+
+import com.github.dozermapper.core.MappingException;
+
+/**
+ * Unit tests for {@link TypeCompatibility}.
+ *
+ * @author kchobantonov
+ */
+public class TypeCompatibilityTest {
+
+	enum Status {
+		ACTIVE
+	}
+
+	@Test
+	public void passesIdenticalValuesThrough() {
+		TypeCompatibility compatibility = TypeCompatibility.analyze(Long.class, Long.class);
+
+		assertThat(compatibility.getKind(), is(Kind.IDENTICAL));
+		assertThat(compatibility.getConverter().apply(1L), is((Object) 1L));
+	}
+
+	@Test
+	public void widensNumbers() {
+		TypeCompatibility compatibility = TypeCompatibility.analyze(int.class, Long.class);
+
+		assertThat(compatibility.getKind(), is(Kind.BOXING_WIDENING));
+		assertThat(compatibility.getConverter().apply(1), is((Object) 1L));
+		assertThat(compatibility.getConverter().apply(null), is(nullValue()));
+	}
+
+	@Test
+	public void convertsWellKnownTypes() {
+		UUID uuid = UUID.randomUUID();
+
+		assertThat(TypeCompatibility.analyze(String.class, UUID.class).getConverter().apply(uuid.toString()),
+				is((Object) uuid));
+		assertThat(TypeCompatibility.analyze(Status.class, String.class).getConverter().apply(Status.ACTIVE),
+				is((Object) "ACTIVE"));
+		assertThat(TypeCompatibility.analyze(String.class, Status.class).getConverter().apply(" ACTIVE "),
+				is((Object) Status.ACTIVE));
+		assertThat(TypeCompatibility.analyze(String.class, BigDecimal.class).getKind(), is(Kind.CHEAP_CONVERSION));
+	}
+
+	@Test
+	public void leavesOtherTypesToDozer() {
+		assertThat(TypeCompatibility.analyze(Object.class, String.class).getConverter(), is(nullValue()));
+		assertThat(TypeCompatibility.analyze(Object.class, String.class).getKind(), is(Kind.GENERAL));
+	}
+
+	@Test
+	public void rejectsUnparsableValuesWithTheField() {
+		try {
+			TypeCompatibility.analyze(String.class, BigDecimal.class, "Order.amount").getConverter().apply("x");
+			fail("Expected MappingException");
+		} catch (MappingException e) {
+			assertThat(e.getMessage(), containsString("Order.amount"));
+			assertThat(e.getMessage(), containsString("'x'"));
+			assertThat(e.getCause(), is(instanceOf(NumberFormatException.class)));
+		}
+	}
+
+	@Test
+	public void rejectsOverflowingValuesWithTheField() {
+		try {
+			TypeCompatibility.analyze(Long.class, Integer.class, "Order.id -> OrderRow.id").getConverter()
+					.apply(Long.MAX_VALUE);
+			fail("Expected MappingException");
+		} catch (MappingException e) {
+			assertThat(e.getMessage(), containsString("Order.id -> OrderRow.id"));
+			assertThat(e.getCause(), is(instanceOf(ArithmeticException.class)));
+		}
+	}
+}
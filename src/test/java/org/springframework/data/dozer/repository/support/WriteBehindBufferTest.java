@@ -0,0 +1,145 @@
+package org.springframework.data.dozer.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.data.dozer.repository.WriteBehindFailureHandler;
+import org.springframework.data.dozer.repository.support.WriteBehindBuffer.PendingSave;
+
+/**
+ * Unit tests for {@link WriteBehindBuffer}.
+ *
+ * @author kchobantonov
+ */
+public class WriteBehindBufferTest {
+
+	private final List<List<Object>> written = new CopyOnWriteArrayList<List<Object>>();
+	private final List<Object> failed = new CopyOnWriteArrayList<Object>();
+	private final WriteBehindFailureHandler failureHandler = (domainType, entities, failure) -> failed
+			.addAll(entities);
+	private WriteBehindBuffer buffer;
+
+	@After
+	public void tearDown() {
+		if (buffer != null) {
+			try {
+				buffer.close();
+			} catch (RuntimeException e) {
+				// expected for the failure tests
+			}
+		}
+	}
+
+	@Test
+	public void coalescesSavesOfTheSameIdentifier() {
+		buffer = new WriteBehindBuffer(String.class, 10, 60000, this::record, failureHandler);
+
+		CompletableFuture<String> first = buffer.add(1L, "a1");
+		CompletableFuture<String> second = buffer.add(1L, "a2");
+		buffer.add(null, "b");
+		buffer.add(null, "c");
+		assertThat(buffer.size(), is(3));
+
+		buffer.flush();
+
+		assertThat(writtenResources(), hasItems((Object) "a2", "b", "c"));
+		assertThat(writtenResources().contains("a1"), is(false));
+		assertThat(first.join(), is("a1"));
+		assertThat(second.join(), is("a2"));
+		assertThat(buffer.size(), is(0));
+	}
+
+	@Test
+	public void writesSavesOfAnIdentifierInOrder() {
+		buffer = new WriteBehindBuffer(String.class, 1, 60000, this::record, failureHandler);
+
+		buffer.add(1L, "a1");
+		// the full buffer writes the first save before accepting the second
+		buffer.add(2L, "b1");
+		buffer.add(1L, "a2");
+		buffer.flush();
+
+		assertThat(writtenResources(), is(Arrays.<Object>asList("a1", "b1", "a2")));
+	}
+
+	@Test
+	public void rethrowsFailuresFromFlush() {
+		IllegalStateException failure = new IllegalStateException("stale");
+		buffer = new WriteBehindBuffer(String.class, 10, 60000, failing(failure), failureHandler);
+
+		CompletableFuture<String> future = buffer.add(1L, "a");
+		try {
+			buffer.flush();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertThat(e, is(sameInstance(failure)));
+		}
+
+		assertThat(future.isCompletedExceptionally(), is(true));
+		assertThat(failed, is(Arrays.<Object>asList("a")));
+		assertThat(buffer.size(), is(0));
+	}
+
+	@Test
+	public void rethrowsFailuresFromClose() {
+		IllegalStateException failure = new IllegalStateException("stale");
+		buffer = new WriteBehindBuffer(String.class, 10, 60000, failing(failure), failureHandler);
+
+		buffer.add(1L, "a");
+		try {
+			buffer.close();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertThat(e, is(sameInstance(failure)));
+		}
+
+		try {
+			buffer.add(2L, "b");
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), containsString("closed"));
+		}
+	}
+
+	@Test
+	public void reportsFailuresOfFullStripesToTheirSaves() {
+		IllegalStateException failure = new IllegalStateException("stale");
+		buffer = new WriteBehindBuffer(String.class, 1, 60000, failing(failure), failureHandler);
+
+		CompletableFuture<String> first = buffer.add(1L, "a");
+		CompletableFuture<String> second = buffer.add(2L, "b");
+
+		assertThat(first.isCompletedExceptionally(), is(true));
+		assertThat(second.isDone(), is(false));
+		assertThat(failed, is(Arrays.<Object>asList("a")));
+	}
+
+	private void record(List<PendingSave> batch) {
+		List<Object> resources = new ArrayList<Object>();
+		for (PendingSave pendingSave : batch) {
+			resources.add(pendingSave.getResource());
+		}
+		written.add(resources);
+	}
+
+	private static Consumer<List<PendingSave>> failing(RuntimeException failure) {
+		return batch -> {
+			throw failure;
+		};
+	}
+
+	private List<Object> writtenResources() {
+		List<Object> result = new ArrayList<Object>();
+		written.forEach(result::addAll);
+		return result;
+	}
+}